@@ -81,7 +81,7 @@ subprojects {
         "testImplementation"("org.assertj:assertj-core:3.24.2")
     }
     
-    if (project.name == "masked4j-core" || project.name == "masked4j-spring-boot-starter") {
+    if (project.name == "masked4j-core" || project.name == "masked4j-spring-boot-starter" || project.name == "masked4j-processor" || project.name == "masked4j-logback" || project.name == "masked4j-log4j2") {
         val ossrhUsername = System.getenv("OSSRH_USERNAME")
         val ossrhPassword = System.getenv("OSSRH_PASSWORD")
         if (ossrhUsername != null) {
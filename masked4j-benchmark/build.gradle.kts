@@ -10,8 +10,14 @@ java {
 
 dependencies {
     implementation(project(":masked4j-core"))
+    implementation(project(":masked4j-logback"))
+    implementation("ch.qos.logback:logback-classic")
+    implementation(project(":masked4j-log4j2"))
+    implementation("org.apache.logging.log4j:log4j-core")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.17.0")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.17.0")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.17.0")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.17.0")
     
     jmh("org.openjdk.jmh:jmh-core:1.37")
     jmh("org.openjdk.jmh:jmh-generator-annprocess:1.37")
@@ -0,0 +1,179 @@
+package io.github.masked4j.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.core.MaskingEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the reflective field loop with generated hidden-class maskers on a flattened 40-field
+ * log event, using plain Jackson serialization of the same object as the reference cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClassMaskerBenchmark {
+
+  @Param({"false", "true"})
+  public boolean generate;
+
+  private MaskingEngine engine;
+  private ObjectMapper vanillaMapper;
+  private LogEventDto event;
+
+  @Setup
+  public void setup() {
+    engine = MaskingEngine.builder().generateClassMaskers(generate).build();
+    vanillaMapper = new ObjectMapper();
+    event = new LogEventDto();
+    event.reset();
+  }
+
+  @Benchmark
+  public LogEventDto mask() {
+    event.reset();
+    return engine.mask(event);
+  }
+
+  @Benchmark
+  public String serialize_baseline() throws JsonProcessingException {
+    event.reset();
+    return vanillaMapper.writeValueAsString(event);
+  }
+
+  public static class LogEventDto {
+    @Masked(MaskType.NAME)
+    public String masked1;
+
+    @Masked(MaskType.EMAIL)
+    public String masked2;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public String masked3;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String masked4;
+
+    @Masked(MaskType.IP_ADDRESS)
+    public String masked5;
+
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    public String masked6;
+
+    @Masked(MaskType.BANK_ACCOUNT)
+    public String masked7;
+
+    @Masked(MaskType.PASSPORT)
+    public String masked8;
+
+    @Masked(MaskType.NAME)
+    public String masked9;
+
+    @Masked(MaskType.EMAIL)
+    public String masked10;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public String masked11;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String masked12;
+
+    @Masked(MaskType.IP_ADDRESS)
+    public String masked13;
+
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    public String masked14;
+
+    @Masked(MaskType.BANK_ACCOUNT)
+    public String masked15;
+
+    @Masked(MaskType.PASSPORT)
+    public String masked16;
+
+    @Masked(MaskType.NAME)
+    public String masked17;
+
+    @Masked(MaskType.EMAIL)
+    public String masked18;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public String masked19;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String masked20;
+
+    @Masked(MaskType.IP_ADDRESS)
+    public String masked21;
+
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    public String masked22;
+
+    @Masked(MaskType.BANK_ACCOUNT)
+    public String masked23;
+
+    @Masked(MaskType.PASSPORT)
+    public String masked24;
+
+    public String plain1 = "value-1";
+
+    public String plain2 = "value-2";
+
+    public String plain3 = "value-3";
+
+    public String plain4 = "value-4";
+
+    public String plain5 = "value-5";
+
+    public String plain6 = "value-6";
+
+    public String plain7 = "value-7";
+
+    public String plain8 = "value-8";
+
+    public String plain9 = "value-9";
+
+    public String plain10 = "value-10";
+
+    public String plain11 = "value-11";
+
+    public String plain12 = "value-12";
+
+    public String plain13 = "value-13";
+
+    public String plain14 = "value-14";
+
+    public String plain15 = "value-15";
+
+    public String plain16 = "value-16";
+
+    void reset() {
+      masked1 = "Hong Gil Dong";
+      masked2 = "test@example.com";
+      masked3 = "010-1234-5678";
+      masked4 = "1234-5678-1234-5678";
+      masked5 = "192.168.0.1";
+      masked6 = "850209-1234567";
+      masked7 = "123-456-7890";
+      masked8 = "M12345678";
+      masked9 = "Hong Gil Dong";
+      masked10 = "test@example.com";
+      masked11 = "010-1234-5678";
+      masked12 = "1234-5678-1234-5678";
+      masked13 = "192.168.0.1";
+      masked14 = "850209-1234567";
+      masked15 = "123-456-7890";
+      masked16 = "M12345678";
+      masked17 = "Hong Gil Dong";
+      masked18 = "test@example.com";
+      masked19 = "010-1234-5678";
+      masked20 = "1234-5678-1234-5678";
+      masked21 = "192.168.0.1";
+      masked22 = "850209-1234567";
+      masked23 = "123-456-7890";
+      masked24 = "M12345678";
+    }
+  }
+}
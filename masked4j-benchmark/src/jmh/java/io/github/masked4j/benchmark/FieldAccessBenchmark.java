@@ -0,0 +1,146 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.core.FieldAccessStrategy;
+import io.github.masked4j.core.MaskingEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares {@link FieldAccessStrategy#REFLECTION} with {@link FieldAccessStrategy#METHOD_HANDLE} on
+ * a wide DTO (many annotated fields) and a deep DTO (a chain of nested objects).
+ *
+ * <p>Masking happens in place, so every invocation first restores the original values. The reset
+ * cost is identical for both strategies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FieldAccessBenchmark {
+
+  private static final int DEPTH = 16;
+
+  @Param({"REFLECTION", "METHOD_HANDLE"})
+  public FieldAccessStrategy strategy;
+
+  private MaskingEngine engine;
+  private WideDto wide;
+  private DeepDto deep;
+
+  @Setup
+  public void setup() {
+    engine = MaskingEngine.builder().fieldAccessStrategy(strategy).build();
+    wide = new WideDto();
+    deep = DeepDto.chain(DEPTH);
+  }
+
+  @Benchmark
+  public WideDto wide() {
+    wide.reset();
+    return engine.mask(wide);
+  }
+
+  @Benchmark
+  public DeepDto deep() {
+    for (DeepDto node = deep; node != null; node = node.child) {
+      node.reset();
+    }
+    return engine.mask(deep);
+  }
+
+  public static class WideDto {
+    @Masked(MaskType.NAME)
+    public String name1;
+
+    @Masked(MaskType.NAME)
+    public String name2;
+
+    @Masked(MaskType.EMAIL)
+    public String email1;
+
+    @Masked(MaskType.EMAIL)
+    public String email2;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String card1;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String card2;
+
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    public String rrn1;
+
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    public String rrn2;
+
+    @Masked(MaskType.BANK_ACCOUNT)
+    public String account1;
+
+    @Masked(MaskType.BANK_ACCOUNT)
+    public String account2;
+
+    @Masked(MaskType.PASSPORT)
+    public String passport1;
+
+    @Masked(MaskType.PASSPORT)
+    public String passport2;
+
+    @Masked public String secret1;
+
+    @Masked public String secret2;
+
+    @Masked public String secret3;
+
+    @Masked public String secret4;
+
+    public String plain1 = "plain";
+    public String plain2 = "plain";
+    public long id = 42L;
+    public int version = 1;
+
+    void reset() {
+      name1 = "Hong Gil Dong";
+      name2 = "Kim Chul Soo";
+      email1 = "test@example.com";
+      email2 = "user@example.org";
+      card1 = "1234-5678-1234-5678";
+      card2 = "4558-1234-5678-0116";
+      rrn1 = "850209-1234567";
+      rrn2 = "900101-2345678";
+      account1 = "123-456-7890";
+      account2 = "987-654-3210";
+      passport1 = "M12345678";
+      passport2 = "M87654321";
+      secret1 = "secret-one";
+      secret2 = "secret-two";
+      secret3 = "secret-three";
+      secret4 = "secret-four";
+    }
+  }
+
+  public static class DeepDto {
+    @Masked(MaskType.EMAIL)
+    public String email;
+
+    @Masked(MaskType.NAME)
+    public String name;
+
+    public DeepDto child;
+
+    static DeepDto chain(int depth) {
+      DeepDto root = null;
+      for (int i = 0; i < depth; i++) {
+        DeepDto node = new DeepDto();
+        node.child = root;
+        root = node;
+      }
+      return root;
+    }
+
+    void reset() {
+      email = "test@example.com";
+      name = "Hong Gil Dong";
+    }
+  }
+}
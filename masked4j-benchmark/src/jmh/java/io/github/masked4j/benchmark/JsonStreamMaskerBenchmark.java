@@ -0,0 +1,104 @@
+package io.github.masked4j.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.MaskerFactory;
+import io.github.masked4j.jackson.JsonNodeMasker;
+import io.github.masked4j.jackson.JsonStreamMasker;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Masks the email and phone fields of a JSON array of user records with {@link JsonStreamMasker},
+ * by reading the document into a tree masked with {@link JsonNodeMasker}, and, as a baseline, by
+ * reading it into a tree walked by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonStreamMaskerBenchmark {
+  private static final Masker EMAIL = MaskerFactory.getMasker(MaskType.EMAIL);
+  private static final Masker PHONE = MaskerFactory.getMasker(MaskType.PHONE_NUMBER);
+
+  @Param({"100", "10000"})
+  public int records;
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final JsonStreamMasker masker =
+      JsonStreamMasker.builder()
+          .field("email", MaskType.EMAIL)
+          .field("phone", MaskType.PHONE_NUMBER)
+          .build();
+  private final JsonNodeMasker treeMasker =
+      JsonNodeMasker.builder()
+          .field("email", MaskType.EMAIL)
+          .field("phone", MaskType.PHONE_NUMBER)
+          .build();
+  private String json;
+
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < records; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder
+          .append("{\"id\":")
+          .append(i)
+          .append(",\"name\":\"user")
+          .append(i)
+          .append("\",\"email\":\"user")
+          .append(i)
+          .append("@example.com\",\"contact\":{\"phone\":\"010-1234-5678\",\"city\":\"Seoul\"},")
+          .append("\"roles\":[\"admin\",\"user\"],\"active\":true}");
+    }
+    json = builder.append(']').toString();
+  }
+
+  @Benchmark
+  public String streaming() {
+    return masker.mask(json);
+  }
+
+  @Benchmark
+  public String readTreeAndMask() throws Exception {
+    JsonNode tree = mapper.readTree(json);
+    treeMasker.mask(tree);
+    return mapper.writeValueAsString(tree);
+  }
+
+  @Benchmark
+  public String readTreeAndWalk() throws Exception {
+    JsonNode tree = mapper.readTree(json);
+    walk(tree);
+    return mapper.writeValueAsString(tree);
+  }
+
+  private static void walk(JsonNode node) {
+    if (node instanceof ObjectNode) {
+      ObjectNode object = (ObjectNode) node;
+      Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        JsonNode value = field.getValue();
+        if (value.isTextual() && field.getKey().equals("email")) {
+          field.setValue(object.textNode(EMAIL.mask(value.textValue())));
+        } else if (value.isTextual() && field.getKey().equals("phone")) {
+          field.setValue(object.textNode(PHONE.mask(value.textValue())));
+        } else {
+          walk(value);
+        }
+      }
+    } else if (node instanceof ArrayNode) {
+      ArrayNode array = (ArrayNode) node;
+      array.forEach(JsonStreamMaskerBenchmark::walk);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.log4j2.MaskedPatternLayout;
+import io.github.masked4j.log4j2.MaskingRewritePolicy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Encodes a log event with a plain {@link PatternLayout} and with {@link MaskedPatternLayout}, and
+ * runs {@link MaskingRewritePolicy} over it, for an event without personal data and for one whose
+ * parameters hold personal data and a {@code @Masked} object. Run with {@code -prof gc} to check
+ * that the masked layout stays garbage-free.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Log4j2MaskingBenchmark {
+  private static final String PATTERN = "%level %logger{1} - %msg%n";
+
+  @Param({"plain", "personal"})
+  public String message;
+
+  private PatternLayout patternLayout;
+  private MaskedPatternLayout maskedLayout;
+  private MaskingRewritePolicy rewritePolicy;
+  private final Destination destination = new Destination();
+  private LogEvent event;
+
+  @Setup
+  public void setup() {
+    patternLayout =
+        PatternLayout.newBuilder().withPattern(PATTERN).withCharset(StandardCharsets.UTF_8).build();
+    maskedLayout = MaskedPatternLayout.createLayout(PATTERN, null, StandardCharsets.UTF_8, null);
+    rewritePolicy = MaskingRewritePolicy.createPolicy();
+    ParameterizedMessage logMessage =
+        "plain".equals(message)
+            ? new ParameterizedMessage(
+                "request took {} ms, {} rows, cache hit ratio {}", 12, 3, 0.97)
+            : new ParameterizedMessage(
+                "login ok phone={} user={}", "010-1234-5678", new UserDto("john.doe@example.com"));
+    event =
+        Log4jLogEvent.newBuilder()
+            .setLoggerName(Log4j2MaskingBenchmark.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(logMessage)
+            .build();
+  }
+
+  @Benchmark
+  public int patternLayout() {
+    patternLayout.encode(event, destination);
+    return destination.reset();
+  }
+
+  @Benchmark
+  public int maskedPatternLayout() {
+    maskedLayout.encode(event, destination);
+    return destination.reset();
+  }
+
+  @Benchmark
+  public LogEvent rewritePolicy() {
+    return rewritePolicy.rewrite(event);
+  }
+
+  /** Collects the encoded bytes in a fixed buffer, like an appender's output buffer. */
+  private static final class Destination implements ByteBufferDestination {
+    private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+      return buffer;
+    }
+
+    @Override
+    public ByteBuffer drain(ByteBuffer buf) {
+      buf.clear();
+      return buf;
+    }
+
+    @Override
+    public void writeBytes(ByteBuffer data) {
+      buffer.put(data);
+    }
+
+    @Override
+    public void writeBytes(byte[] data, int offset, int length) {
+      buffer.put(data, offset, length);
+    }
+
+    int reset() {
+      int written = buffer.position();
+      buffer.clear();
+      return written;
+    }
+  }
+
+  public static class UserDto {
+    @Masked(MaskType.EMAIL)
+    private String email;
+
+    public UserDto() {}
+
+    UserDto(String email) {
+      this.email = email;
+    }
+
+    @Override
+    public String toString() {
+      return "UserDto(" + email + ")";
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package io.github.masked4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.masked4j.logback.MaskingEncoder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Encodes a logging event with a plain {@link PatternLayoutEncoder} and with the same encoder
+ * wrapped in a {@link MaskingEncoder}, for a message without personal data, which the prefilter
+ * skips, and for one that has to be masked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogbackMaskingBenchmark {
+
+  @Param({"plain", "personal"})
+  public String message;
+
+  private PatternLayoutEncoder patternEncoder;
+  private MaskingEncoder maskingEncoder;
+  private LoggingEvent event;
+
+  @Setup
+  public void setup() {
+    LoggerContext context = new LoggerContext();
+    patternEncoder = newPatternEncoder(context);
+    maskingEncoder = new MaskingEncoder();
+    maskingEncoder.setContext(context);
+    maskingEncoder.setEncoder(newPatternEncoder(context));
+    maskingEncoder.start();
+
+    Logger logger = context.getLogger(LogbackMaskingBenchmark.class);
+    event =
+        "plain".equals(message)
+            ? new LoggingEvent(
+                Logger.class.getName(),
+                logger,
+                Level.INFO,
+                "request took {} ms, {} rows, cache hit ratio {}",
+                null,
+                new Object[] {12, 3, 0.97})
+            : new LoggingEvent(
+                Logger.class.getName(),
+                logger,
+                Level.INFO,
+                "login ok user={} phone={} ip={}",
+                null,
+                new Object[] {"john.doe@example.com", "010-1234-5678", "192.168.10.24"});
+    // Format the message once, as an AsyncAppender does before handing the event to its worker
+    event.prepareForDeferredProcessing();
+  }
+
+  @Benchmark
+  public byte[] patternEncoder() {
+    return patternEncoder.encode(event);
+  }
+
+  @Benchmark
+  public byte[] maskingEncoder() {
+    return maskingEncoder.encode(event);
+  }
+
+  private static PatternLayoutEncoder newPatternEncoder(LoggerContext context) {
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%level %logger{20} - %msg%n");
+    encoder.start();
+    return encoder;
+  }
+}
@@ -0,0 +1,62 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.MaskerFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures single built-in maskers on a typical value, through {@link Masker#mask(String)} and
+ * through {@link Masker#mask(CharSequence, StringBuilder)} with a reused buffer. Run with the gc
+ * profiler (configured in the build) to see the allocations per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MaskerBenchmark {
+
+  private static final Map<MaskType, String> VALUES =
+      Map.of(
+          MaskType.PHONE_NUMBER, "010-1234-5678",
+          MaskType.IP_ADDRESS, "192.168.0.1",
+          MaskType.DRIVERS_LICENSE, "서울-12-345678-10",
+          MaskType.ADDRESS, "서울시 성북구 북악산로 101동 1204호",
+          MaskType.EMAIL, "test.user@example.com",
+          MaskType.CREDIT_CARD, "4558-1234-5678-0116",
+          MaskType.NAME, "홍길동");
+
+  @Param({
+    "PHONE_NUMBER",
+    "IP_ADDRESS",
+    "DRIVERS_LICENSE",
+    "ADDRESS",
+    "EMAIL",
+    "CREDIT_CARD",
+    "NAME"
+  })
+  public MaskType type;
+
+  private Masker masker;
+  private String value;
+  private final StringBuilder buffer = new StringBuilder(64);
+
+  @Setup
+  public void setup() {
+    masker = MaskerFactory.getMasker(type);
+    value = VALUES.get(type);
+  }
+
+  @Benchmark
+  public String mask() {
+    return masker.mask(value);
+  }
+
+  @Benchmark
+  public StringBuilder maskIntoBuffer() {
+    buffer.setLength(0);
+    masker.mask(value, buffer);
+    return buffer;
+  }
+}
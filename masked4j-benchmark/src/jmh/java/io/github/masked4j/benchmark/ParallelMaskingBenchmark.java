@@ -0,0 +1,76 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.core.MaskingEngine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares sequential and parallel masking of an export-sized list of {@value #ROWS} rows. {@code
+ * parallelThreshold = 0} is the sequential baseline; the speedup of the other settings depends on
+ * the number of cores available to {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ *
+ * <p>Masking happens in place, so every invocation first restores the original values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelMaskingBenchmark {
+
+  private static final int ROWS = 50_000;
+
+  @Param({"0", "1024"})
+  public int parallelThreshold;
+
+  private MaskingEngine engine;
+  private List<Row> rows;
+
+  @Setup
+  public void setup() {
+    engine = MaskingEngine.builder().parallelThreshold(parallelThreshold).build();
+    rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      rows.add(new Row(i));
+    }
+  }
+
+  @Benchmark
+  public List<Row> maskRows() {
+    for (Row row : rows) {
+      row.reset();
+    }
+    return engine.mask(rows);
+  }
+
+  public static class Row {
+    public long id;
+
+    @Masked(MaskType.NAME)
+    public String name;
+
+    @Masked(MaskType.EMAIL)
+    public String email;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public String phone;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String card;
+
+    public String status = "ACTIVE";
+
+    Row(long id) {
+      this.id = id;
+    }
+
+    void reset() {
+      name = "Hong Gil Dong";
+      email = "test@example.com";
+      phone = "010-1234-5678";
+      card = "1234-5678-1234-5678";
+    }
+  }
+}
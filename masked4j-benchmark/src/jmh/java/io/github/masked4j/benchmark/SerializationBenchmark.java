@@ -1,7 +1,10 @@
 package io.github.masked4j.benchmark;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.masked4j.annotation.MaskType;
 import io.github.masked4j.annotation.Masked;
@@ -11,6 +14,10 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.*;
 
+/**
+ * Serializes masked and unmasked DTOs to JSON text, and to Smile and CBOR bytes to show the cost of
+ * masking against the binary baselines.
+ */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
@@ -18,6 +25,10 @@ public class SerializationBenchmark {
 
   private ObjectMapper vanillaMapper;
   private ObjectMapper maskedMapper;
+  private ObjectMapper vanillaSmileMapper;
+  private ObjectMapper maskedSmileMapper;
+  private ObjectMapper vanillaCborMapper;
+  private ObjectMapper maskedCborMapper;
   private UserDto userDto;
   private List<UserDto> userList;
 
@@ -30,6 +41,11 @@ public class SerializationBenchmark {
     maskedMapper.registerModule(new JavaTimeModule());
     maskedMapper.registerModule(new MaskedModule());
 
+    vanillaSmileMapper = newMapper(new SmileFactory(), false);
+    maskedSmileMapper = newMapper(new SmileFactory(), true);
+    vanillaCborMapper = newMapper(new CBORFactory(), false);
+    maskedCborMapper = newMapper(new CBORFactory(), true);
+
     userDto =
         new UserDto(
             "Hong Gil Dong",
@@ -65,6 +81,55 @@ public class SerializationBenchmark {
     return maskedMapper.writeValueAsString(userList);
   }
 
+  @Benchmark
+  public byte[] baseline_smile_single() throws JsonProcessingException {
+    return vanillaSmileMapper.writeValueAsBytes(userDto);
+  }
+
+  @Benchmark
+  public byte[] masked_smile_single() throws JsonProcessingException {
+    return maskedSmileMapper.writeValueAsBytes(userDto);
+  }
+
+  @Benchmark
+  public byte[] baseline_smile_list_1000() throws JsonProcessingException {
+    return vanillaSmileMapper.writeValueAsBytes(userList);
+  }
+
+  @Benchmark
+  public byte[] masked_smile_list_1000() throws JsonProcessingException {
+    return maskedSmileMapper.writeValueAsBytes(userList);
+  }
+
+  @Benchmark
+  public byte[] baseline_cbor_single() throws JsonProcessingException {
+    return vanillaCborMapper.writeValueAsBytes(userDto);
+  }
+
+  @Benchmark
+  public byte[] masked_cbor_single() throws JsonProcessingException {
+    return maskedCborMapper.writeValueAsBytes(userDto);
+  }
+
+  @Benchmark
+  public byte[] baseline_cbor_list_1000() throws JsonProcessingException {
+    return vanillaCborMapper.writeValueAsBytes(userList);
+  }
+
+  @Benchmark
+  public byte[] masked_cbor_list_1000() throws JsonProcessingException {
+    return maskedCborMapper.writeValueAsBytes(userList);
+  }
+
+  private static ObjectMapper newMapper(JsonFactory factory, boolean masked) {
+    ObjectMapper mapper = new ObjectMapper(factory);
+    mapper.registerModule(new JavaTimeModule());
+    if (masked) {
+      mapper.registerModule(new MaskedModule());
+    }
+    return mapper;
+  }
+
   public static class UserDto {
     @Masked(MaskType.NAME)
     public String name;
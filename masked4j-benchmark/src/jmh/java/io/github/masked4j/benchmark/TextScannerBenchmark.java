@@ -0,0 +1,85 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.MaskerFactory;
+import io.github.masked4j.core.TextScanner;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Masks log-like free text of 1 KB and 64 KB holding a mix of personal data, with {@link
+ * TextScanner} and with one regular expression per type run over the text in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextScannerBenchmark {
+
+  private static final String[] LINES = {
+    "2024-05-01 12:00:01 INFO  login ok user=john.doe@example.com ip=192.168.10.24\n",
+    "2024-05-01 12:00:02 WARN  payment declined card=4558-1234-5678-0116 order=20240501-77\n",
+    "2024-05-01 12:00:03 INFO  profile updated phone=010-1234-5678 rrn=850209-1234567\n",
+    "2024-05-01 12:00:04 DEBUG request took 12 ms, 3 rows, cache hit ratio 0.97\n",
+    "2024-05-01 12:00:05 INFO  refund to 110-123-456789 for business 123-45-67890\n",
+    "2024-05-01 12:00:06 DEBUG GET /api/v1/orders?page=2&size=50 -> 200\n"
+  };
+
+  // The pattern per type a regex-based implementation would use
+  private static final Map<MaskType, Pattern> PATTERNS = new LinkedHashMap<>();
+
+  static {
+    PATTERNS.put(MaskType.EMAIL, Pattern.compile("[\\w.%+-]+@[\\w-]+(\\.[\\w-]+)*\\.[A-Za-z]{2,}"));
+    PATTERNS.put(
+        MaskType.RESIDENT_REGISTRATION_NUMBER, Pattern.compile("\\b\\d{6}-?[1-8]\\d{6}\\b"));
+    PATTERNS.put(
+        MaskType.CREDIT_CARD, Pattern.compile("\\b\\d{4}([- ])\\d{4}\\1\\d{4}\\1\\d{4}\\b"));
+    PATTERNS.put(MaskType.PHONE_NUMBER, Pattern.compile("\\b0\\d{1,2}-\\d{3,4}-\\d{4}\\b"));
+    PATTERNS.put(MaskType.IP_ADDRESS, Pattern.compile("\\b\\d{1,3}(\\.\\d{1,3}){3}\\b"));
+    PATTERNS.put(
+        MaskType.BUSINESS_REGISTRATION_NUMBER, Pattern.compile("\\b\\d{3}-\\d{2}-\\d{5}\\b"));
+    PATTERNS.put(MaskType.PASSPORT, Pattern.compile("\\b[A-Z]\\d{8}\\b"));
+    PATTERNS.put(MaskType.BANK_ACCOUNT, Pattern.compile("\\b\\d{2,6}-\\d{2,6}-\\d{2,6}\\b"));
+  }
+
+  @Param({"1024", "65536"})
+  public int size;
+
+  private final TextScanner scanner = new TextScanner();
+  private String text;
+  private final StringBuilder buffer = new StringBuilder();
+
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder(size + 128);
+    for (int i = 0; builder.length() < size; i++) {
+      builder.append(LINES[i % LINES.length]);
+    }
+    text = builder.substring(0, size);
+  }
+
+  @Benchmark
+  public String textScanner() {
+    return scanner.mask(text);
+  }
+
+  @Benchmark
+  public StringBuilder textScannerIntoBuffer() {
+    buffer.setLength(0);
+    scanner.mask(text, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public String regexPerType() {
+    String masked = text;
+    for (Map.Entry<MaskType, Pattern> entry : PATTERNS.entrySet()) {
+      Masker masker = MaskerFactory.getMasker(entry.getKey());
+      masked = entry.getValue().matcher(masked).replaceAll(match -> masker.mask(match.group()));
+    }
+    return masked;
+  }
+}
@@ -0,0 +1,183 @@
+package io.github.masked4j.benchmark;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.core.MaskingEngine;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the traversal of large object graphs by the explicit-stack engine: a linked chain
+ * {@value #CHAIN_DEPTH} objects deep, which a recursive walk could not mask without a very large
+ * thread stack, a broad order payload (orders with line items and addresses), and a catalog payload
+ * where most of the graph (product details, UUIDs, timestamps, tags) holds no masked field and is
+ * skipped as mask-free.
+ *
+ * <p>Masking happens in place, so every invocation first restores the original values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TraversalBenchmark {
+
+  private static final int CHAIN_DEPTH = 10_000;
+  private static final int ORDERS = 500;
+  private static final int ITEMS_PER_ORDER = 10;
+
+  private MaskingEngine engine;
+  private Node chain;
+  private List<Order> orders;
+  private List<Listing> listings;
+
+  @Setup
+  public void setup() {
+    engine = MaskingEngine.builder().build();
+    chain = Node.chain(CHAIN_DEPTH);
+    orders = new ArrayList<>(ORDERS);
+    for (int i = 0; i < ORDERS; i++) {
+      orders.add(new Order(i, ITEMS_PER_ORDER));
+    }
+    listings = new ArrayList<>(ORDERS);
+    for (int i = 0; i < ORDERS; i++) {
+      listings.add(new Listing(ITEMS_PER_ORDER));
+    }
+  }
+
+  @Benchmark
+  public Node deepChain() {
+    for (Node node = chain; node != null; node = node.next) {
+      node.reset();
+    }
+    return engine.mask(chain);
+  }
+
+  @Benchmark
+  public List<Order> orderPayload() {
+    for (Order order : orders) {
+      order.reset();
+    }
+    return engine.mask(orders);
+  }
+
+  @Benchmark
+  public List<Listing> catalogPayload() {
+    for (Listing listing : listings) {
+      listing.reset();
+    }
+    return engine.mask(listings);
+  }
+
+  public static class Node {
+    @Masked(MaskType.EMAIL)
+    public String email;
+
+    public Node next;
+
+    static Node chain(int depth) {
+      Node root = null;
+      for (int i = 0; i < depth; i++) {
+        Node node = new Node();
+        node.next = root;
+        root = node;
+      }
+      return root;
+    }
+
+    void reset() {
+      email = "test@example.com";
+    }
+  }
+
+  public static class Order {
+    public long id;
+
+    @Masked(MaskType.NAME)
+    public String customerName;
+
+    public Address shippingAddress = new Address();
+
+    public List<LineItem> items = new ArrayList<>();
+
+    Order(long id, int itemCount) {
+      this.id = id;
+      for (int i = 0; i < itemCount; i++) {
+        items.add(new LineItem());
+      }
+    }
+
+    void reset() {
+      customerName = "Hong Gil Dong";
+      shippingAddress.reset();
+      for (LineItem item : items) {
+        item.reset();
+      }
+    }
+  }
+
+  public static class LineItem {
+    public String sku = "SKU-0001";
+    public int quantity = 1;
+
+    @Masked(MaskType.CREDIT_CARD)
+    public String paymentCard;
+
+    public Address pickupAddress = new Address();
+
+    void reset() {
+      paymentCard = "1234-5678-1234-5678";
+      pickupAddress.reset();
+    }
+  }
+
+  public static class Address {
+    @Masked(MaskType.ADDRESS)
+    public String fullAddress;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public String phone;
+
+    void reset() {
+      fullAddress = "서울시 강남구 테헤란로 123";
+      phone = "010-1234-5678";
+    }
+  }
+
+  public static class Listing {
+    @Masked(MaskType.EMAIL)
+    public String sellerEmail;
+
+    public List<Product> products = new ArrayList<>();
+
+    Listing(int productCount) {
+      for (int i = 0; i < productCount; i++) {
+        products.add(new Product(i));
+      }
+    }
+
+    void reset() {
+      sellerEmail = "seller@example.com";
+    }
+  }
+
+  public static class Product {
+    public UUID id = UUID.randomUUID();
+    public String title;
+    public Instant updatedAt = Instant.now();
+    public List<String> tags = List.of("new", "sale");
+    public Dimensions dimensions = new Dimensions();
+
+    Product(int index) {
+      this.title = "Product " + index;
+    }
+  }
+
+  public static class Dimensions {
+    public int width = 10;
+    public int height = 20;
+    public String unit = "cm";
+  }
+}
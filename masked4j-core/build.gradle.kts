@@ -1,4 +1,9 @@
 dependencies {
     api("com.fasterxml.jackson.core:jackson-databind:2.17.0")
     compileOnly("com.fasterxml.jackson.core:jackson-annotations:2.17.0")
+    compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.17.0")
+    compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.17.0")
+
+    testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.17.0")
+    testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.17.0")
 }
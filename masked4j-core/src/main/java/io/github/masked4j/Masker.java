@@ -1,5 +1,8 @@
 package io.github.masked4j;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Interface for all masking implementations.
  *
@@ -7,4 +10,55 @@ package io.github.masked4j;
  */
 public interface Masker {
   String mask(String input);
+
+  /**
+   * Masks a value and appends the result to a caller-supplied buffer, so callers such as
+   * serializers and log encoders can reuse one buffer instead of allocating a {@code String} per
+   * value.
+   *
+   * <p>The result must be the same as {@link #mask(String)} for the same input. The default
+   * implementation delegates to {@link #mask(String)}; the built-in maskers override it and append
+   * directly, without intermediate strings.
+   *
+   * @param input the value to mask, never {@code null}
+   * @param out the buffer the masked value is appended to
+   */
+  default void mask(CharSequence input, StringBuilder out) {
+    out.append(mask(input.toString()));
+  }
+
+  /**
+   * Masks a value held in a {@code char[]} in place, for callers that keep sensitive values out of
+   * immutable strings so they can be erased later.
+   *
+   * <p>The masked value is written to {@code buf} starting at {@code off} and its length is
+   * returned; it is the same as {@link #mask(String)} for the same characters. If it is shorter
+   * than {@code len}, the characters left over up to {@code off + len} are set to {@code '\0'}. It
+   * may also be longer, up to the end of the array. If it does not fit there, {@code buf} is left
+   * unchanged and the required length is returned, which callers detect as a result greater than
+   * {@code buf.length - off}.
+   *
+   * <p>The default implementation goes through {@link #mask(String)}, so it leaves the unmasked
+   * value in a {@code String} on the heap. The built-in maskers override it and work on the array
+   * directly, without copies.
+   *
+   * @param buf the array holding the value
+   * @param off the index of the first character of the value
+   * @param len the length of the value
+   * @return the length of the masked value
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} are outside of {@code buf}
+   */
+  default int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    String masked = mask(new String(buf, off, len));
+    int length = masked.length();
+    if (length > buf.length - off) {
+      return length;
+    }
+    masked.getChars(0, length, buf, off);
+    if (length < len) {
+      Arrays.fill(buf, off + length, off + len, '\0');
+    }
+    return length;
+  }
 }
@@ -0,0 +1,60 @@
+package io.github.masked4j;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Masker} that can also mask UTF-8 encoded bytes directly, without decoding them to a
+ * {@code String} first.
+ *
+ * <p>The result is the UTF-8 encoding of what {@link #mask(String)} returns for the decoded input,
+ * except that the built-in maskers never split a supplementary character (such as an emoji) where
+ * the {@code String} result would hold half of a surrogate pair. Both heap and direct buffers are
+ * supported, and no intermediate copy is made. The built-in maskers for fixed-format values
+ * implement this interface; use {@link #mask(Masker, ByteBuffer, ByteBuffer)} to mask bytes with
+ * any masker.
+ */
+public interface Utf8Masker extends Masker {
+
+  /**
+   * Masks the UTF-8 bytes between the position and the limit of {@code src} and writes the masked
+   * UTF-8 bytes to {@code dst}.
+   *
+   * <p>On success, the position of {@code src} is set to its limit and the position of {@code dst}
+   * is advanced past the written bytes. If {@code dst} is too small, a {@link
+   * BufferOverflowException} is thrown, the position of {@code src} is unchanged and {@code dst}
+   * may hold part of the output; reset it before retrying with a larger buffer. The built-in
+   * maskers never write more than {@code src.remaining() + 16} bytes.
+   *
+   * @param src the UTF-8 encoded value
+   * @param dst the buffer the masked UTF-8 bytes are written to
+   * @throws BufferOverflowException if {@code dst} has not enough space left
+   */
+  void maskUtf8(ByteBuffer src, ByteBuffer dst);
+
+  /**
+   * Masks UTF-8 bytes with any masker: natively if it is a {@link Utf8Masker}, otherwise by
+   * decoding the bytes, calling {@link Masker#mask(String)} and encoding the result.
+   *
+   * @param masker the masker to apply
+   * @param src the UTF-8 encoded value
+   * @param dst the buffer the masked UTF-8 bytes are written to
+   * @throws BufferOverflowException if {@code dst} has not enough space left
+   * @see #maskUtf8(ByteBuffer, ByteBuffer)
+   */
+  static void mask(Masker masker, ByteBuffer src, ByteBuffer dst) {
+    if (masker instanceof Utf8Masker) {
+      ((Utf8Masker) masker).maskUtf8(src, dst);
+      return;
+    }
+    int position = src.position();
+    String masked = masker.mask(StandardCharsets.UTF_8.decode(src).toString());
+    ByteBuffer encoded = StandardCharsets.UTF_8.encode(masked == null ? "" : masked);
+    if (encoded.remaining() > dst.remaining()) {
+      src.position(position);
+      throw new BufferOverflowException();
+    }
+    dst.put(encoded);
+  }
+}
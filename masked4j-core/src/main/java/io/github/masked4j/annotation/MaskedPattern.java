@@ -48,4 +48,12 @@ public @interface MaskedPattern {
    * @return the replacement string
    */
   String replacement();
+
+  /**
+   * The engine that runs the regex. {@link RegexEngine#LINEAR} guarantees matching time linear in
+   * the length of the value, for patterns within its supported subset.
+   *
+   * @return the regex engine, {@link RegexEngine#DEFAULT} to use the globally configured one
+   */
+  RegexEngine engine() default RegexEngine.DEFAULT;
 }
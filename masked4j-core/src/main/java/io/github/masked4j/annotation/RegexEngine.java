@@ -0,0 +1,28 @@
+package io.github.masked4j.annotation;
+
+/**
+ * The engine that runs the regular expression of a {@link MaskedPattern}.
+ *
+ * @see MaskedPattern#engine()
+ */
+public enum RegexEngine {
+  /**
+   * Uses the engine configured globally, e.g. with {@code MaskingEngine.Builder.regexEngine}, or
+   * {@link #JDK} if none is configured.
+   */
+  DEFAULT,
+
+  /**
+   * {@link java.util.regex.Pattern}, which supports the full Java regex syntax but backtracks, so
+   * some patterns take exponential time on crafted input.
+   */
+  JDK,
+
+  /**
+   * {@code io.github.masked4j.core.LinearPattern}, which matches in time linear in the length of
+   * the input and produces the same results as {@link #JDK}, but supports only a subset of the
+   * syntax: no backreferences, lookaround, atomic groups, possessive quantifiers, inline flags or
+   * Unicode properties. Patterns outside the subset are reported as configuration errors.
+   */
+  LINEAR
+}
@@ -1,8 +1,9 @@
 package io.github.masked4j.core;
 
 import io.github.masked4j.Masker;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for addresses.
@@ -11,32 +12,76 @@ import java.util.regex.Pattern;
  * 101동 1204호" -> "서울시 .. ***동 ****호"
  */
 public class AddressMasker implements Masker {
-  // Matches digits followed by specific suffixes (동, 호, 번지, 층, 가)
-  // Also attempts to match building numbers in road addresses (digits at the end
-  // or followed by whitespace)
-  // However, to be safe and follow the example "서울시 성북구 북악산로 ***동 ****호",
-  // we will primarily target the explicit suffixes and maybe standalone numbers
-  // if they look like detailed address parts.
-
-  // Regex: (\d+)(?=\s*(동|호|번지|층|가|읍|면))
-  private static final Pattern PATTERN = Pattern.compile("(\\d+)(?=\\s*(동|호|번지|층|가|읍|면))");
+  // Masks runs of digits followed by optional whitespace and a suffix, as the regex
+  // (\d+)(?=\s*(동|호|번지|층|가|읍|면)) would
 
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
-    Matcher matcher = PATTERN.matcher(input);
-    StringBuilder sb = new StringBuilder();
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int length = input.length();
+    int last = 0;
 
-    while (matcher.find()) {
-      String digits = matcher.group(1);
-      String masked = "*".repeat(digits.length());
-      matcher.appendReplacement(sb, masked);
+    for (int i = 0; i < length; ) {
+      int start = i;
+      while (i < length && CharSequences.isDigit(input.charAt(i))) {
+        i++;
+      }
+      if (i == start) {
+        i++;
+      } else if (hasSuffix(input, i)) {
+        out.append(input, last, start);
+        CharSequences.repeat(out, '*', i - start);
+        last = i;
+      }
     }
-    matcher.appendTail(sb);
+    out.append(input, last, length);
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    CharSequence input = CharBuffer.wrap(buf, off, len);
 
-    return sb.toString();
+    for (int i = 0; i < len; ) {
+      int start = i;
+      while (i < len && CharSequences.isDigit(buf[off + i])) {
+        i++;
+      }
+      if (i == start) {
+        i++;
+      } else if (hasSuffix(input, i)) {
+        // Suffixes are never digits, so masking does not change what later runs see
+        Arrays.fill(buf, off + start, off + i, '*');
+      }
+    }
+    return len;
+  }
+
+  /** Returns whether an address suffix follows {@code index}, after optional whitespace. */
+  private static boolean hasSuffix(CharSequence input, int index) {
+    int length = input.length();
+    while (index < length && CharSequences.isWhitespace(input.charAt(index))) {
+      index++;
+    }
+    if (index == length) {
+      return false;
+    }
+    char c = input.charAt(index);
+    return c == '동'
+        || c == '호'
+        || c == '층'
+        || c == '가'
+        || c == '읍'
+        || c == '면'
+        || (c == '번' && index + 1 < length && input.charAt(index + 1) == '지');
   }
 }
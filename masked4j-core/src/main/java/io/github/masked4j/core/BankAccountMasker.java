@@ -1,36 +1,59 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for bank account numbers.
  *
  * <p>Masks the last 4 digits of a bank account number. Example: "123-456-7890" -> "123-456-****"
  */
-public class BankAccountMasker implements Masker {
+public class BankAccountMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.length() < 6) {
-      return input;
+    if (input == null) {
+      return null;
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
-    // Mask last 4 digits? Or middle?
-    // Bank accounts vary wildly.
-    // Strategy: Keep first 3, mask middle, keep last 3? Or just mask last 4?
-    // Let's go with masking a significant portion of the middle or end.
-    // Simple safe approach: Mask last 4 digits if length > 6.
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int length = input.length();
+    if (length < 6) {
+      out.append(input);
+      return;
+    }
 
-    // If hyphenated, maybe preserve hyphens?
-    // Let's try to mask the last 4 characters (digits) but preserve format if
-    // possible.
-    // Actually, simple string replacement for last 4 chars is easiest and
-    // predictable.
+    // Bank accounts vary wildly, so the simple, predictable approach is to mask the last 4
+    // characters.
+    out.append(input, 0, length - 4).append("****");
+  }
 
-    int length = input.length();
-    if (length > 4) {
-      return input.substring(0, length - 4) + "****";
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    if (len >= 6) {
+      Arrays.fill(buf, off + len - 4, off + len, '*');
     }
+    return len;
+  }
 
-    return "****";
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int length = Utf8.charCount(src, from, to);
+    if (length < 6) {
+      Utf8.copy(src, from, to, dst);
+    } else {
+      Utf8.copy(src, from, Utf8.offset(src, from, to, length - 4), dst);
+      Utf8.repeat(dst, '*', 4);
+    }
+    src.position(to);
   }
 }
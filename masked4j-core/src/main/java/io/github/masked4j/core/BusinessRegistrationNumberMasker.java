@@ -1,36 +1,83 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for Business Registration Numbers (BRN).
  *
  * <p>Masks the last 5 digits of a BRN. Example: "123-45-67890" -> "123-45-*****"
  */
-public class BusinessRegistrationNumberMasker implements Masker {
+public class BusinessRegistrationNumberMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.length() < 10) {
-      return input;
+    if (input == null) {
+      return null;
+    }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int length = input.length();
+    if (length < 10) {
+      out.append(input);
+      return;
     }
 
     // Format: 123-45-67890 (10 digits, optional hyphens)
     // Mask last 5 digits
 
-    if (input.contains("-")) {
-      // e.g. 123-45-67890 -> 123-45-*****
-      int lastHyphen = input.lastIndexOf('-');
-      if (lastHyphen != -1 && lastHyphen + 1 < input.length()) {
-        return input.substring(0, lastHyphen + 1) + "*".repeat(input.length() - lastHyphen - 1);
-      }
+    // e.g. 123-45-67890 -> 123-45-*****
+    int lastHyphen = CharSequences.lastIndexOf(input, '-');
+    if (lastHyphen != -1 && lastHyphen + 1 < length) {
+      out.append(input, 0, lastHyphen + 1);
+      CharSequences.repeat(out, '*', length - lastHyphen - 1);
+      return;
     }
 
     // No hyphen or fallback: mask last 5 chars
-    int length = input.length();
-    if (length > 5) {
-      return input.substring(0, length - 5) + "*****";
+    out.append(input, 0, length - 5).append("*****");
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    if (len < 10) {
+      return len;
+    }
+
+    int end = off + len;
+    int lastHyphen = CharArrays.lastIndexOf(buf, off, end, '-');
+    if (lastHyphen != -1 && lastHyphen + 1 < end) {
+      Arrays.fill(buf, lastHyphen + 1, end, '*');
+    } else {
+      Arrays.fill(buf, end - 5, end, '*');
     }
+    return len;
+  }
 
-    return input;
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int length = Utf8.charCount(src, from, to);
+    if (length < 10) {
+      Utf8.copy(src, from, to, dst);
+    } else {
+      int lastHyphen = Utf8.lastIndexOf(src, from, to, '-');
+      if (lastHyphen != -1 && lastHyphen + 1 < to) {
+        Utf8.copy(src, from, lastHyphen + 1, dst);
+        Utf8.repeat(dst, '*', Utf8.charCount(src, lastHyphen + 1, to));
+      } else {
+        Utf8.copy(src, from, Utf8.offset(src, from, to, length - 5), dst);
+        Utf8.repeat(dst, '*', 5);
+      }
+    }
+    src.position(to);
   }
 }
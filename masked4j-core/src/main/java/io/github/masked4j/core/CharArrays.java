@@ -0,0 +1,47 @@
+package io.github.masked4j.core;
+
+import java.util.Arrays;
+
+/** Helpers for masking values in place in a {@code char[]}, used by the built-in maskers. */
+final class CharArrays {
+  private CharArrays() {}
+
+  static int indexOf(char[] buf, int from, int to, char c) {
+    for (int i = from; i < to; i++) {
+      if (buf[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int lastIndexOf(char[] buf, int from, int to, char c) {
+    for (int i = to - 1; i >= from; i--) {
+      if (buf[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Moves {@code buf[from, to)} to start at {@code index}; the ranges may overlap. */
+  static void move(char[] buf, int from, int to, int index) {
+    System.arraycopy(buf, from, buf, index, to - from);
+  }
+
+  static void put(char[] buf, int index, String value) {
+    value.getChars(0, value.length(), buf, index);
+  }
+
+  /**
+   * Clears the characters of the original value that follow the masked one.
+   *
+   * @return the length of the masked value
+   */
+  static int finish(char[] buf, int off, int len, int length) {
+    if (length < len) {
+      Arrays.fill(buf, off + length, off + len, '\0');
+    }
+    return length;
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.masked4j.core;
+
+/** {@link String} search helpers for any {@link CharSequence}, used by the built-in maskers. */
+final class CharSequences {
+  private CharSequences() {}
+
+  static int indexOf(CharSequence input, char c) {
+    for (int i = 0, length = input.length(); i < length; i++) {
+      if (input.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int lastIndexOf(CharSequence input, char c) {
+    for (int i = input.length() - 1; i >= 0; i--) {
+      if (input.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns whether {@code c} is an ASCII digit, as matched by the regex {@code \d}. */
+  static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /** Returns whether {@code [from, to)} holds only ASCII digits. */
+  static boolean isDigits(CharSequence input, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(input.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns whether {@code c} is whitespace as matched by the regex {@code \s}. */
+  static boolean isWhitespace(char c) {
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+
+  static void repeat(StringBuilder out, char c, int count) {
+    for (int i = 0; i < count; i++) {
+      out.append(c);
+    }
+  }
+}
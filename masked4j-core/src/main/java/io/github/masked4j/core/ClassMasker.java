@@ -0,0 +1,59 @@
+package io.github.masked4j.core;
+
+/**
+ * Masks the fields of one specific class without reflection.
+ *
+ * <p>{@link MaskingEngine} uses a {@code ClassMasker} instead of its reflective field loop when one
+ * is available for the runtime class of an object. Implementations mask the annotated {@code
+ * String} fields of the target directly, hand every other non-null field value that may contain
+ * masked data to {@link MaskingContext#maskNested(Object, String, Object)} together with the target
+ * and the field name, so failures inside the value are reported against that field, and report
+ * per-field failures through {@link MaskingContext#onFailure(Object, String, Object,
+ * RuntimeException)}.
+ *
+ * <p>Classes compiled with the masked4j annotation processor get a generated implementation named
+ * after {@link #generatedClassName(String)}, registered in {@code
+ * META-INF/services/io.github.masked4j.core.ClassMasker}. The engine finds it through {@link
+ * java.util.ServiceLoader} by its {@link #maskedClass()}, before doing any reflective scanning of
+ * the class.
+ *
+ * @param <T> the type of object this masker handles
+ */
+public interface ClassMasker<T> {
+
+  /** Suffix appended to the flattened class name to form the generated masker's name. */
+  String GENERATED_SUFFIX = "Masking";
+
+  /**
+   * Returns the binary name of the build-time generated masker for a class. Nested class names are
+   * flattened, e.g. {@code com.example.Outer$UserDto} maps to {@code
+   * com.example.Outer_UserDtoMasking}.
+   *
+   * @param binaryName the binary name of the masked class
+   * @return the binary name of its generated masker
+   */
+  static String generatedClassName(String binaryName) {
+    int lastDot = binaryName.lastIndexOf('.');
+    String packagePrefix = binaryName.substring(0, lastDot + 1);
+    String simpleName = binaryName.substring(lastDot + 1).replace('$', '_');
+    return packagePrefix + simpleName + GENERATED_SUFFIX;
+  }
+
+  /**
+   * Returns the class this masker handles. Maskers registered as services must override it, so the
+   * engine can tell which class each one is for without loading classes by name.
+   *
+   * @return the masked class, or {@code null} if this masker is not registered as a service
+   */
+  default Class<?> maskedClass() {
+    return null;
+  }
+
+  /**
+   * Masks the given object in place.
+   *
+   * @param target the object to mask, never {@code null}
+   * @param context the engine callbacks for nested values and failures
+   */
+  void mask(T target, MaskingContext context);
+}
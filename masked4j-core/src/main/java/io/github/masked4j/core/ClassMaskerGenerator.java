@@ -0,0 +1,446 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.Masker;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a dedicated {@link ClassMasker} per DTO class as a hidden class.
+ *
+ * <p>The generated {@code mask} method reads each planned field with {@code getfield}, calls the
+ * resolved {@link Masker} through its own call site and writes the result back with {@code
+ * putfield}. Each masked field is wrapped in its own exception handler that reports to {@link
+ * MaskingContext#onFailure}. Nested values are handed to {@link MaskingContext#maskNested}, which
+ * only schedules them, so they need no handler.
+ *
+ * <p>The code is straight-line apart from null checks, so the class is emitted as a version 49
+ * class file, which needs no {@code StackMapTable}. Generation is skipped (and the engine falls
+ * back to reflection) for records, final masked fields, fields the hidden class cannot access, or
+ * when the DTO's package cannot be looked up privately.
+ */
+final class ClassMaskerGenerator {
+  private static final String MASKER = "io/github/masked4j/Masker";
+  private static final String CONTEXT = "io/github/masked4j/core/MaskingContext";
+  private static final String CLASS_MASKER = "io/github/masked4j/core/ClassMasker";
+  private static final String OBJECT = "java/lang/Object";
+  private static final String RUNTIME_EXCEPTION = "java/lang/RuntimeException";
+
+  private ClassMaskerGenerator() {}
+
+  /**
+   * Generates a class masker for the given plan.
+   *
+   * @param type the DTO class
+   * @param fields the planned fields of the class
+   * @return the generated masker, or {@code null} if the class is not eligible
+   */
+  @SuppressWarnings("unchecked")
+  static ClassMasker<Object> generate(Class<?> type, FieldPlan[] fields) {
+    if (!isEligible(type, fields)) {
+      return null;
+    }
+    try {
+      Masker[] maskers = new Masker[fields.length];
+      for (int i = 0; i < fields.length; i++) {
+        FieldPlan plan = fields[i];
+        if (plan.action() == FieldPlan.Action.MASK) {
+          maskers[i] = plan.masker();
+        } else if (plan.action() == FieldPlan.Action.REGEX) {
+          maskers[i] = plan::replaceAll;
+        }
+      }
+      MethodHandles.Lookup lookup =
+          MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+              .defineHiddenClass(
+                  emit(type, fields), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+      return (ClassMasker<Object>)
+          lookup
+              .findConstructor(
+                  lookup.lookupClass(), MethodType.methodType(void.class, Masker[].class))
+              .invoke(maskers);
+    } catch (Throwable e) {
+      // e.g. the DTO's module is not open to masked4j: keep the reflective path
+      return null;
+    }
+  }
+
+  private static boolean isEligible(Class<?> type, FieldPlan[] fields) {
+    if (type.isRecord() || type.isHidden() || fields.length == 0) {
+      return false;
+    }
+    for (FieldPlan plan : fields) {
+      Field field = plan.field();
+      int modifiers = field.getModifiers();
+      if (plan.action() == FieldPlan.Action.INVALID || Modifier.isFinal(modifiers)) {
+        return false;
+      }
+      if ((plan.action() == FieldPlan.Action.MASK || plan.action() == FieldPlan.Action.REGEX)
+          && field.getType() != String.class) {
+        return false;
+      }
+      Class<?> owner = field.getDeclaringClass();
+      if (owner != type
+          && (Modifier.isPrivate(modifiers) || owner.getPackage() != type.getPackage())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] emit(Class<?> type, FieldPlan[] fields) throws IOException {
+    ConstantPool pool = new ConstantPool();
+    String dto = internalName(type);
+    String name = dto + "$$Masked4J";
+
+    int thisClass = pool.classRef(name);
+    int superClass = pool.classRef(OBJECT);
+    int iface = pool.classRef(CLASS_MASKER);
+    int maskersField = pool.fieldRef(name, "maskers", "[L" + MASKER + ";");
+    int objectInit = pool.methodRef(OBJECT, "<init>", "()V", false);
+    int dtoClass = pool.classRef(dto);
+    int maskMethod = pool.methodRef(MASKER, "mask", "(Ljava/lang/String;)Ljava/lang/String;", true);
+    int maskNested =
+        pool.methodRef(
+            CONTEXT,
+            "maskNested",
+            "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/Object;)V",
+            true);
+    int onFailure =
+        pool.methodRef(
+            CONTEXT,
+            "onFailure",
+            "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/Object;Ljava/lang/RuntimeException;)Z",
+            true);
+    int runtimeException = pool.classRef(RUNTIME_EXCEPTION);
+
+    // <init>(Masker[] maskers)
+    Code init = new Code();
+    init.op(0x2a); // aload_0
+    init.op(0xb7).u2(objectInit); // invokespecial Object.<init>
+    init.op(0x2a); // aload_0
+    init.op(0x2b); // aload_1
+    init.op(0xb5).u2(maskersField); // putfield maskers
+    init.op(0xb1); // return
+
+    // mask(Object target, MaskingContext context)
+    // locals: 0 this, 1 target, 2 context, 3 dto, 4 value, 5 exception
+    Code mask = new Code();
+    mask.op(0x2b); // aload_1
+    mask.op(0xc0).u2(dtoClass); // checkcast
+    mask.op(0x4e); // astore_3
+    for (int i = 0; i < fields.length; i++) {
+      FieldPlan plan = fields[i];
+      Field field = plan.field();
+      int fieldRef =
+          pool.fieldRef(
+              internalName(field.getDeclaringClass()),
+              field.getName(),
+              descriptor(field.getType()));
+      Label next = new Label();
+
+      mask.op(0x2d); // aload_3
+      mask.op(0xb4).u2(fieldRef); // getfield
+      mask.op(0x3a).u1(4); // astore 4
+      mask.op(0x19).u1(4); // aload 4
+      mask.jump(0xc6, next); // ifnull next
+
+      if (plan.action() == FieldPlan.Action.RECURSE) {
+        mask.op(0x2c); // aload_2
+        mask.op(0x2d); // aload_3
+        mask.op(0x13).u2(pool.string(field.getName())); // ldc_w field name
+        mask.op(0x19).u1(4); // aload 4
+        mask.op(0xb9).u2(maskNested).u1(4).u1(0); // invokeinterface maskNested
+        mask.bind(next);
+        continue;
+      }
+
+      int tryStart = mask.position();
+      mask.op(0x2d); // aload_3
+      mask.op(0x2a); // aload_0
+      mask.op(0xb4).u2(maskersField); // getfield maskers
+      mask.pushInt(i);
+      mask.op(0x32); // aaload
+      mask.op(0x19).u1(4); // aload 4
+      mask.op(0xb9).u2(maskMethod).u1(2).u1(0); // invokeinterface Masker.mask
+      mask.op(0xb5).u2(fieldRef); // putfield
+      int tryEnd = mask.position();
+      mask.jump(0xa7, next); // goto next
+
+      int handler = mask.position();
+      mask.handler(tryStart, tryEnd, handler, runtimeException);
+      mask.op(0x3a).u1(5); // astore 5
+      mask.op(0x2c); // aload_2
+      mask.op(0x2d); // aload_3
+      mask.op(0x13).u2(pool.string(field.getName())); // ldc_w field name
+      mask.op(0x19).u1(4); // aload 4
+      mask.op(0x19).u1(5); // aload 5
+      mask.op(0xb9).u2(onFailure).u1(5).u1(0); // invokeinterface onFailure
+      mask.jump(0x99, next); // ifeq next
+      mask.op(0x2d); // aload_3
+      mask.op(0x01); // aconst_null
+      mask.op(0xb5).u2(fieldRef); // putfield
+
+      mask.bind(next);
+    }
+    mask.op(0xb1); // return
+
+    int codeAttr = pool.utf8("Code");
+    int initName = pool.utf8("<init>");
+    int initDesc = pool.utf8("([L" + MASKER + ";)V");
+    int maskName = pool.utf8("mask");
+    int maskDesc = pool.utf8("(Ljava/lang/Object;L" + CONTEXT + ";)V");
+    int fieldName = pool.utf8("maskers");
+    int fieldDesc = pool.utf8("[L" + MASKER + ";");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(0xCAFEBABE);
+    out.writeShort(0); // minor
+    out.writeShort(49); // major: Java 5, verified without stack map frames
+    pool.writeTo(out);
+    out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+    out.writeShort(thisClass);
+    out.writeShort(superClass);
+    out.writeShort(1);
+    out.writeShort(iface);
+
+    out.writeShort(1); // fields
+    out.writeShort(0x0002 | 0x0010); // private final
+    out.writeShort(fieldName);
+    out.writeShort(fieldDesc);
+    out.writeShort(0);
+
+    out.writeShort(2); // methods
+    writeMethod(out, initName, initDesc, codeAttr, init, 2, 2);
+    writeMethod(out, maskName, maskDesc, codeAttr, mask, 5, 6);
+
+    out.writeShort(0); // class attributes
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static void writeMethod(
+      DataOutputStream out,
+      int name,
+      int desc,
+      int codeAttr,
+      Code code,
+      int maxStack,
+      int maxLocals)
+      throws IOException {
+    byte[] body = code.toByteArray();
+    out.writeShort(0x0001); // public
+    out.writeShort(name);
+    out.writeShort(desc);
+    out.writeShort(1);
+    out.writeShort(codeAttr);
+    out.writeInt(2 + 2 + 4 + body.length + 2 + code.handlers.size() * 8 + 2);
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(body.length);
+    out.write(body);
+    out.writeShort(code.handlers.size());
+    for (int[] handler : code.handlers) {
+      for (int value : handler) {
+        out.writeShort(value);
+      }
+    }
+    out.writeShort(0); // code attributes
+  }
+
+  private static String internalName(Class<?> type) {
+    return type.getName().replace('.', '/');
+  }
+
+  private static String descriptor(Class<?> type) {
+    if (type.isArray()) {
+      return internalName(type);
+    }
+    if (type.isPrimitive()) {
+      return MethodType.methodType(type).toMethodDescriptorString().substring(2);
+    }
+    return "L" + internalName(type) + ";";
+  }
+
+  /** A forward branch target inside a {@link Code} buffer. */
+  private static final class Label {
+    private int position = -1;
+    private final List<Integer> fixups = new ArrayList<>();
+  }
+
+  /** Bytecode buffer with forward-branch patching and an exception table. */
+  private static final class Code {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final List<int[]> handlers = new ArrayList<>();
+    private final List<Label> labels = new ArrayList<>();
+    private byte[] patched;
+
+    Code op(int opcode) {
+      bytes.write(opcode);
+      return this;
+    }
+
+    Code u1(int value) {
+      bytes.write(value);
+      return this;
+    }
+
+    Code u2(int value) {
+      bytes.write(value >>> 8);
+      bytes.write(value);
+      return this;
+    }
+
+    void pushInt(int value) {
+      if (value <= 5) {
+        op(0x03 + value); // iconst_<n>
+      } else if (value <= Byte.MAX_VALUE) {
+        op(0x10).u1(value); // bipush
+      } else {
+        op(0x11).u2(value); // sipush
+      }
+    }
+
+    int position() {
+      return bytes.size();
+    }
+
+    void jump(int opcode, Label target) {
+      int at = position();
+      op(opcode);
+      target.fixups.add(at);
+      if (target.fixups.size() == 1) {
+        labels.add(target);
+      }
+      u2(0);
+    }
+
+    void bind(Label label) {
+      label.position = position();
+    }
+
+    void handler(int start, int end, int handler, int catchType) {
+      handlers.add(new int[] {start, end, handler, catchType});
+    }
+
+    byte[] toByteArray() {
+      if (patched == null) {
+        patched = bytes.toByteArray();
+        for (Label label : labels) {
+          for (int at : label.fixups) {
+            int offset = label.position - at;
+            patched[at + 1] = (byte) (offset >>> 8);
+            patched[at + 2] = (byte) offset;
+          }
+        }
+      }
+      return patched;
+    }
+  }
+
+  /** Minimal constant pool writer for the entry kinds the generator needs. */
+  private static final class ConstantPool {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int count = 1;
+
+    int utf8(String value) {
+      return entry(
+          "U" + value,
+          () -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+          });
+    }
+
+    int classRef(String internalName) {
+      int name = utf8(internalName);
+      return entry(
+          "C" + internalName,
+          () -> {
+            out.writeByte(7);
+            out.writeShort(name);
+          });
+    }
+
+    int string(String value) {
+      int utf = utf8(value);
+      return entry(
+          "S" + value,
+          () -> {
+            out.writeByte(8);
+            out.writeShort(utf);
+          });
+    }
+
+    int fieldRef(String owner, String name, String descriptor) {
+      int ownerRef = classRef(owner);
+      int nameAndType = nameAndType(name, descriptor);
+      return entry(
+          "F" + owner + "." + name + ":" + descriptor,
+          () -> {
+            out.writeByte(9);
+            out.writeShort(ownerRef);
+            out.writeShort(nameAndType);
+          });
+    }
+
+    int methodRef(String owner, String name, String descriptor, boolean isInterface) {
+      int ownerRef = classRef(owner);
+      int nameAndType = nameAndType(name, descriptor);
+      return entry(
+          "M" + owner + "." + name + descriptor,
+          () -> {
+            out.writeByte(isInterface ? 11 : 10);
+            out.writeShort(ownerRef);
+            out.writeShort(nameAndType);
+          });
+    }
+
+    private int nameAndType(String name, String descriptor) {
+      int nameRef = utf8(name);
+      int descriptorRef = utf8(descriptor);
+      return entry(
+          "N" + name + ":" + descriptor,
+          () -> {
+            out.writeByte(12);
+            out.writeShort(nameRef);
+            out.writeShort(descriptorRef);
+          });
+    }
+
+    private int entry(String key, Writer writer) {
+      Integer index = entries.get(key);
+      if (index != null) {
+        return index;
+      }
+      try {
+        writer.write();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      entries.put(key, count);
+      return count++;
+    }
+
+    void writeTo(DataOutputStream target) throws IOException {
+      out.flush();
+      target.writeShort(count);
+      bytes.writeTo(target);
+    }
+
+    private interface Writer {
+      void write() throws IOException;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package io.github.masked4j.core;
+
+/**
+ * Immutable, precomputed masking plan for a single class.
+ *
+ * <p>Holds one {@link FieldPlan} for every field (including inherited ones) that is either
+ * annotated for masking or may contain nested masked fields. Plans are built once per class by
+ * {@link MaskingEngine} and shared by all threads.
+ *
+ * <p>When a {@link ClassMasker} is available for the class, the engine uses it instead of walking
+ * the field plans reflectively.
+ */
+final class ClassMaskingPlan {
+  private final Class<?> type;
+  private final FieldPlan[] fields;
+  private final ClassMasker<Object> classMasker;
+
+  ClassMaskingPlan(Class<?> type, FieldPlan[] fields, ClassMasker<Object> classMasker) {
+    this.type = type;
+    this.fields = fields;
+    this.classMasker = classMasker;
+  }
+
+  Class<?> type() {
+    return type;
+  }
+
+  FieldPlan[] fields() {
+    return fields;
+  }
+
+  /**
+   * Returns the class masker used instead of the reflective field loop.
+   *
+   * @return the class masker, or {@code null} to use the field plans
+   */
+  ClassMasker<Object> classMasker() {
+    return classMasker;
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.masked4j.core;
+
+/**
+ * Thread-safe identity-based set shared by the tasks of a parallel masking traversal.
+ *
+ * <p>Lock striping over several {@link IdentitySet}s: each object is assigned to a stripe by its
+ * identity hash code, and only that stripe is locked while adding, so tasks working on different
+ * parts of a collection rarely contend.
+ */
+final class ConcurrentIdentitySet {
+  private final IdentitySet[] stripes;
+  private final int shift;
+
+  /**
+   * Creates a set sized for the given number of concurrent writers.
+   *
+   * @param parallelism the expected number of threads adding elements
+   */
+  ConcurrentIdentitySet(int parallelism) {
+    int bits = 32 - Integer.numberOfLeadingZeros(Math.max(parallelism, 1) * 4 - 1);
+    stripes = new IdentitySet[1 << bits];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new IdentitySet();
+    }
+    shift = 32 - bits;
+  }
+
+  /**
+   * Adds an object, compared by identity.
+   *
+   * @param element the object to add, never {@code null}
+   * @return {@code true} if the object was not yet present
+   */
+  boolean add(Object element) {
+    // Select the stripe from the high bits; IdentitySet indexes its table by the low bits
+    int h = System.identityHashCode(element) * 0x9E3779B9;
+    IdentitySet stripe = stripes[h >>> shift];
+    synchronized (stripe) {
+      return stripe.add(element);
+    }
+  }
+}
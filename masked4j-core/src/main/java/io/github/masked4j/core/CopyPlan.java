@@ -0,0 +1,77 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.exception.MaskingProcessException;
+import java.lang.reflect.Constructor;
+
+/**
+ * Precomputed plan for building masked copies of a single class.
+ *
+ * <p>Holds the masking {@link FieldPlan}s (always the reflective ones, since generated {@link
+ * ClassMasker}s only mask in place), an accessor for every instance field to make shallow copies,
+ * and the no-arg constructor used to instantiate them. Built once per class by {@link
+ * MaskingEngine}.
+ */
+final class CopyPlan {
+  private final Class<?> type;
+  private final FieldPlan[] fields;
+  private final FieldAccessor[] allFields;
+  private final Constructor<?> constructor;
+  private final String error;
+
+  private CopyPlan(
+      Class<?> type,
+      FieldPlan[] fields,
+      FieldAccessor[] allFields,
+      Constructor<?> constructor,
+      String error) {
+    this.type = type;
+    this.fields = fields;
+    this.allFields = allFields;
+    this.constructor = constructor;
+    this.error = error;
+  }
+
+  static CopyPlan of(
+      Class<?> type, FieldPlan[] fields, FieldAccessor[] allFields, Constructor<?> constructor) {
+    return new CopyPlan(type, fields, allFields, constructor, null);
+  }
+
+  /**
+   * Creates a plan for a class whose masked fields can be computed but that cannot be copied. The
+   * error is raised only if a copy is actually needed.
+   */
+  static CopyPlan uncopyable(Class<?> type, FieldPlan[] fields, String error) {
+    return new CopyPlan(type, fields, null, null, error);
+  }
+
+  Class<?> type() {
+    return type;
+  }
+
+  FieldPlan[] fields() {
+    return fields;
+  }
+
+  /**
+   * Creates a new instance holding the same field values as the original.
+   *
+   * @param original the object to copy
+   * @return the shallow copy
+   * @throws MaskingProcessException if the class cannot be copied
+   */
+  Object shallowCopy(Object original) {
+    if (error != null) {
+      throw new MaskingProcessException(error);
+    }
+    try {
+      Object copy = constructor.newInstance();
+      for (FieldAccessor accessor : allFields) {
+        accessor.set(copy, accessor.get(original));
+      }
+      return copy;
+    } catch (ReflectiveOperationException e) {
+      throw new MaskingProcessException(
+          String.format("Failed to copy instance of class '%s'", type.getName()), e);
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 
 /**
  * Masker for credit card numbers.
@@ -8,30 +10,77 @@ import io.github.masked4j.Masker;
  * <p>Masks the 7th to 12th digits of a credit card number. Example: "4558-1234-5678-0116" ->
  * "4558-12**-****-0116"
  */
-public class CreditCardMasker implements Masker {
+public class CreditCardMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
-    StringBuilder sb = new StringBuilder();
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
     int digitCount = 0;
 
-    for (char c : input.toCharArray()) {
+    for (int i = 0, length = input.length(); i < length; i++) {
+      char c = input.charAt(i);
       if (Character.isDigit(c)) {
         digitCount++;
         // Mask 7th to 12th digits
         if (digitCount >= 7 && digitCount <= 12) {
-          sb.append('*');
+          out.append('*');
         } else {
-          sb.append(c);
+          out.append(c);
         }
       } else {
-        sb.append(c);
+        out.append(c);
+      }
+    }
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    int digitCount = 0;
+
+    for (int i = off, end = off + len; i < end; i++) {
+      if (Character.isDigit(buf[i])) {
+        digitCount++;
+        // Mask 7th to 12th digits
+        if (digitCount >= 7 && digitCount <= 12) {
+          buf[i] = '*';
+        }
       }
     }
+    return len;
+  }
+
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int digitCount = 0;
 
-    return sb.toString();
+    for (int i = from; i < to; ) {
+      int length = Utf8.sequenceLength(src.get(i));
+      int end = Math.min(i + length, to);
+      // Four-byte sequences are surrogate pairs, which are never digits
+      int codePoint = length < 4 ? Utf8.codePointAt(src, i, to) : -1;
+      boolean digit = codePoint >= 0 && Character.isDigit(codePoint);
+      if (digit) {
+        digitCount++;
+      }
+      // Mask 7th to 12th digits
+      if (digit && digitCount >= 7 && digitCount <= 12) {
+        Utf8.repeat(dst, '*', 1);
+      } else {
+        Utf8.copy(src, i, end, dst);
+      }
+      i = end;
+    }
+    src.position(to);
   }
 }
@@ -1,32 +1,80 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Default masker for generic strings.
  *
  * <p>Masks all characters except the first and last. Example: "secret" -> "s***t"
  */
-public class DefaultStringMasker implements Masker {
+public class DefaultStringMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
     if (input == null) {
       return "***";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
-    int length = input.codePointCount(0, input.length());
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int end = input.length();
+    int length = Character.codePointCount(input, 0, end);
 
     if (length <= 2) {
-      return "***";
+      out.append("***");
+      return;
     }
 
-    int firstCodePoint = input.codePointAt(0);
-    int lastCodePoint = input.codePointBefore(input.length());
+    int firstCodePoint = Character.codePointAt(input, 0);
+    int lastCodePoint = Character.codePointBefore(input, end);
 
-    return new StringBuilder()
-        .appendCodePoint(firstCodePoint)
-        .append("***")
-        .appendCodePoint(lastCodePoint)
-        .toString();
+    out.appendCodePoint(firstCodePoint).append("***").appendCodePoint(lastCodePoint);
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    int end = off + len;
+    if (Character.codePointCount(buf, off, len) <= 2) {
+      if (3 > buf.length - off) {
+        return 3;
+      }
+      Arrays.fill(buf, off, off + 3, '*');
+      return CharArrays.finish(buf, off, len, 3);
+    }
+
+    int firstLength = Character.charCount(Character.codePointAt(buf, off, end));
+    int lastLength = Character.charCount(Character.codePointBefore(buf, end, off));
+    int length = firstLength + 3 + lastLength;
+    if (length > buf.length - off) {
+      return length;
+    }
+    CharArrays.move(buf, end - lastLength, end, off + firstLength + 3);
+    Arrays.fill(buf, off + firstLength, off + firstLength + 3, '*');
+    return CharArrays.finish(buf, off, len, length);
+  }
+
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    // Each UTF-8 sequence is one code point
+    int firstEnd = from < to ? Math.min(from + Utf8.sequenceLength(src.get(from)), to) : to;
+    int lastStart = firstEnd < to ? Utf8.lastSequence(src, firstEnd, to) : to;
+    if (lastStart <= firstEnd) {
+      // At most two code points
+      Utf8.repeat(dst, '*', 3);
+    } else {
+      Utf8.copy(src, from, firstEnd, dst);
+      Utf8.repeat(dst, '*', 3);
+      Utf8.copy(src, lastStart, to, dst);
+    }
+    src.position(to);
   }
 }
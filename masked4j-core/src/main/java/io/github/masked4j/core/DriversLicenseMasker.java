@@ -1,39 +1,204 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for Driver's License numbers.
  *
  * <p>Masks the 6-digit serial number. Example: "서울-12-345678-10" -> "서울-12-******-10"
  */
-public class DriversLicenseMasker implements Masker {
+public class DriversLicenseMasker implements Utf8Masker {
   // Format: Region-YY-XXXXXX-XY (e.g., 서울-12-345678-10)
-  // Mask the 6-digit serial number part
-
-  private static final Pattern PATTERN =
-      Pattern.compile("^([가-힣]{2}|\\d{2})[-\\s]?(\\d{2})[-\\s]?(\\d{6})[-\\s]?(\\d{2})$");
+  // Mask the 6-digit serial number part. Accepted values are
+  // ^([가-힣]{2}|\d{2})[-\s]?(\d{2})[-\s]?(\d{6})[-\s]?(\d{2})$
 
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    if (!matches(input)) {
+      out.append(input);
+      return;
+    }
+
+    char separator =
+        CharSequences.indexOf(input, '-') != -1
+            ? '-'
+            : (CharSequences.indexOf(input, ' ') != -1 ? ' ' : 0);
+    // The region and every group are two characters, except the six digit serial number
+    int yearStart = isSeparator(input.charAt(2)) ? 3 : 2;
+    int length = input.length();
+
+    out.append(input, 0, 2);
+    appendSeparator(out, separator);
+    out.append(input, yearStart, yearStart + 2);
+    appendSeparator(out, separator);
+    out.append("******");
+    appendSeparator(out, separator);
+    out.append(input, length - 2, length);
+  }
+
+  private static void appendSeparator(StringBuilder out, char separator) {
+    if (separator != 0) {
+      out.append(separator);
+    }
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    if (!matches(CharBuffer.wrap(buf, off, len))) {
+      return len;
+    }
+
+    int end = off + len;
+    char separator =
+        CharArrays.indexOf(buf, off, end, '-') != -1
+            ? '-'
+            : (CharArrays.indexOf(buf, off, end, ' ') != -1 ? ' ' : 0);
+    int gap = separator != 0 ? 1 : 0;
+    int year = off + 2 + gap;
+    int serial = year + 2 + gap;
+    int check = serial + 6 + gap;
+    int length = check + 2 - off;
+    if (length > buf.length - off) {
+      return length;
+    }
+    // The region stays where it is. Of the two groups that may move, one moving right is moved
+    // after the group to its right, so neither overwrites the other before it is moved.
+    int yearFrom = isSeparator(buf[off + 2]) ? off + 3 : off + 2;
+    if (year > yearFrom) {
+      CharArrays.move(buf, end - 2, end, check);
+      CharArrays.move(buf, yearFrom, yearFrom + 2, year);
+    } else {
+      CharArrays.move(buf, yearFrom, yearFrom + 2, year);
+      CharArrays.move(buf, end - 2, end, check);
+    }
+    Arrays.fill(buf, serial, serial + 6, '*');
+    if (separator != 0) {
+      buf[year - 1] = separator;
+      buf[serial - 1] = separator;
+      buf[check - 1] = separator;
+    }
+    return CharArrays.finish(buf, off, len, length);
+  }
+
+  /** Returns whether the value is a driver's license number. */
+  private static boolean matches(CharSequence input) {
+    int length = input.length();
+    if (length < 12 || length > 15) {
+      return false;
+    }
+    char first = input.charAt(0);
+    char second = input.charAt(1);
+    boolean region =
+        (isHangulSyllable(first) && isHangulSyllable(second))
+            || (CharSequences.isDigit(first) && CharSequences.isDigit(second));
+    if (!region) {
+      return false;
+    }
+    int index = digitsEnd(input, skipSeparator(input, 2), 2);
+    index = index == -1 ? -1 : digitsEnd(input, skipSeparator(input, index), 6);
+    index = index == -1 ? -1 : digitsEnd(input, skipSeparator(input, index), 2);
+    return index == length;
+  }
+
+  private static boolean isHangulSyllable(char c) {
+    return c >= '가' && c <= '힣';
+  }
 
-    Matcher matcher = PATTERN.matcher(input);
-    if (matcher.matches()) {
-      String region = matcher.group(1);
-      String year = matcher.group(2);
-      String serial = matcher.group(3);
-      String code = matcher.group(4);
+  private static boolean isSeparator(char c) {
+    return c == '-' || CharSequences.isWhitespace(c);
+  }
 
-      String separator = input.contains("-") ? "-" : (input.contains(" ") ? " " : "");
+  /** Skips one optional separator matched by {@code [-\s]}. */
+  private static int skipSeparator(CharSequence input, int index) {
+    return index < input.length() && isSeparator(input.charAt(index)) ? index + 1 : index;
+  }
 
-      return region + separator + year + separator + "******" + separator + code;
+  /** Returns the end of {@code count} digits starting at {@code index}, or -1. */
+  private static int digitsEnd(CharSequence input, int index, int count) {
+    if (index + count > input.length() || !CharSequences.isDigits(input, index, index + count)) {
+      return -1;
     }
+    return index + count;
+  }
 
-    return input;
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    // Same structure as matches: region, year, serial and code with optional separators
+    int regionEnd;
+    if (isHangulSyllable(src, from, to) && isHangulSyllable(src, from + 3, to)) {
+      regionEnd = from + 6;
+    } else if (from + 2 <= to && Utf8.isDigits(src, from, from + 2)) {
+      regionEnd = from + 2;
+    } else {
+      regionEnd = -1;
+    }
+    int yearStart = regionEnd == -1 ? -1 : skipSeparator(src, regionEnd, to);
+    int serialStart = digitsEnd(src, yearStart, to, 2);
+    serialStart = serialStart == -1 ? -1 : skipSeparator(src, serialStart, to);
+    int codeStart = digitsEnd(src, serialStart, to, 6);
+    codeStart = codeStart == -1 ? -1 : skipSeparator(src, codeStart, to);
+
+    if (codeStart == -1 || digitsEnd(src, codeStart, to, 2) != to) {
+      Utf8.copy(src, from, to, dst);
+      src.position(to);
+      return;
+    }
+
+    String separator =
+        Utf8.indexOf(src, from, to, '-') != -1
+            ? "-"
+            : (Utf8.indexOf(src, from, to, ' ') != -1 ? " " : "");
+    Utf8.copy(src, from, regionEnd, dst);
+    Utf8.put(dst, separator);
+    Utf8.copy(src, yearStart, yearStart + 2, dst);
+    Utf8.put(dst, separator);
+    Utf8.repeat(dst, '*', 6);
+    Utf8.put(dst, separator);
+    Utf8.copy(src, codeStart, to, dst);
+    src.position(to);
+  }
+
+  private static boolean isHangulSyllable(ByteBuffer src, int index, int to) {
+    if (index >= to) {
+      return false;
+    }
+    int codePoint = Utf8.codePointAt(src, index, to);
+    return codePoint >= '가' && codePoint <= '힣';
+  }
+
+  /** Skips one optional separator matched by {@code [-\s]}. */
+  private static int skipSeparator(ByteBuffer src, int index, int to) {
+    if (index < to) {
+      byte b = src.get(index);
+      if (b == '-' || b == ' ' || (b >= '\t' && b <= '\r')) {
+        return index + 1;
+      }
+    }
+    return index;
+  }
+
+  /** Returns the end of {@code count} digits starting at {@code index}, or -1. */
+  private static int digitsEnd(ByteBuffer src, int index, int to, int count) {
+    if (index == -1 || index + count > to || !Utf8.isDigits(src, index, index + count)) {
+      return -1;
+    }
+    return index + count;
   }
 }
@@ -1,6 +1,9 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for email addresses.
@@ -8,16 +11,66 @@ import io.github.masked4j.Masker;
  * <p>Masks the local part of the email address, revealing only the first 2 characters. Example:
  * "test@example.com" -> "te***@example.com"
  */
-public class EmailMasker implements Masker {
+public class EmailMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || !input.contains("@")) {
+    if (input == null) {
       return "***";
     }
-    int atIndex = input.indexOf("@");
-    if (atIndex <= 2) {
-      return "***" + input.substring(atIndex);
+    StringBuilder out = new StringBuilder(input.length() + 3);
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int atIndex = CharSequences.indexOf(input, '@');
+    if (atIndex < 0) {
+      out.append("***");
+      return;
+    }
+    if (atIndex > 2) {
+      out.append(input, 0, 2);
+    }
+    out.append("***").append(input, atIndex, input.length());
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    int end = off + len;
+    int atIndex = CharArrays.indexOf(buf, off, end, '@');
+    if (atIndex == -1) {
+      if (3 > buf.length - off) {
+        return 3;
+      }
+      Arrays.fill(buf, off, off + 3, '*');
+      return CharArrays.finish(buf, off, len, 3);
+    }
+    int prefix = atIndex - off > 2 ? 2 : 0;
+    int length = prefix + 3 + end - atIndex;
+    if (length > buf.length - off) {
+      return length;
+    }
+    CharArrays.move(buf, atIndex, end, off + prefix + 3);
+    Arrays.fill(buf, off + prefix, off + prefix + 3, '*');
+    return CharArrays.finish(buf, off, len, length);
+  }
+
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int atIndex = Utf8.indexOf(src, from, to, '@');
+    if (atIndex == -1) {
+      Utf8.repeat(dst, '*', 3);
+    } else {
+      if (Utf8.charCount(src, from, atIndex) > 2) {
+        Utf8.copy(src, from, Utf8.offset(src, from, atIndex, 2), dst);
+      }
+      Utf8.repeat(dst, '*', 3);
+      Utf8.copy(src, atIndex, to, dst);
     }
-    return input.substring(0, 2) + "***" + input.substring(atIndex);
+    src.position(to);
   }
 }
@@ -0,0 +1,18 @@
+package io.github.masked4j.core;
+
+/**
+ * Defines how {@link MaskingEngine} reads and writes field values.
+ *
+ * <p>The accessor for each field is created once and cached in the per-class masking plan.
+ */
+public enum FieldAccessStrategy {
+  /**
+   * Uses {@link java.lang.invoke.MethodHandle} getters and setters obtained through {@link
+   * java.lang.invoke.MethodHandles#privateLookupIn}. The JIT can inline these, which makes them the
+   * fastest option on warm code paths. Falls back to {@link #REFLECTION} for fields that cannot be
+   * unreflected. This is the default.
+   */
+  METHOD_HANDLE,
+  /** Uses {@link java.lang.reflect.Field#get} and {@link java.lang.reflect.Field#set}. */
+  REFLECTION
+}
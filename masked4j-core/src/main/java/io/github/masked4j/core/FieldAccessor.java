@@ -0,0 +1,160 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.exception.MaskingProcessException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Reads and writes a single instance field.
+ *
+ * <p>Instances are created once per field by {@link MaskingEngine} and stored in the field's {@link
+ * FieldPlan}. The field must already be accessible ({@link Field#setAccessible}).
+ */
+abstract class FieldAccessor {
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  abstract Object get(Object target) throws IllegalAccessException;
+
+  abstract void set(Object target, Object value) throws IllegalAccessException;
+
+  /**
+   * Creates an accessor for the given field.
+   *
+   * @param field the accessible field
+   * @param strategy the preferred access strategy
+   * @return the accessor, falling back to reflection if method handles cannot be created
+   */
+  static FieldAccessor of(Field field, FieldAccessStrategy strategy) {
+    if (strategy == FieldAccessStrategy.METHOD_HANDLE && ConstantHandles.TEMPLATE != null) {
+      try {
+        MethodHandles.Lookup lookup =
+            MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        MethodHandle setter;
+        try {
+          setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+          // Final fields of records and hidden classes can be read but never written
+          setter = null;
+        }
+        return ConstantHandles.accessor(field, getter, setter);
+      } catch (Throwable e) {
+        // e.g. closed modules: reflection reports these per call
+      }
+    }
+    return new ReflectiveAccessor(field);
+  }
+
+  private static final class ReflectiveAccessor extends FieldAccessor {
+    private final Field field;
+
+    ReflectiveAccessor(Field field) {
+      this.field = field;
+    }
+
+    @Override
+    Object get(Object target) throws IllegalAccessException {
+      return field.get(target);
+    }
+
+    @Override
+    void set(Object target, Object value) throws IllegalAccessException {
+      field.set(target, value);
+    }
+  }
+
+  /**
+   * Defines one hidden copy of {@link MethodHandleAccessor} per field, with the field's getter and
+   * setter as class data. Held in static final fields of their own class, the handles are constants
+   * to the JIT, which can then compile an access down to a plain field read or write.
+   */
+  private static final class ConstantHandles {
+    // Class file of the template, or null if it cannot be read (e.g. in a native image)
+    static final byte[] TEMPLATE = readTemplate();
+
+    static FieldAccessor accessor(Field field, MethodHandle getter, MethodHandle setter)
+        throws Throwable {
+      MethodHandles.Lookup hidden =
+          MethodHandles.lookup()
+              .defineHiddenClassWithClassData(TEMPLATE, Arrays.asList(getter, setter), true);
+      return (FieldAccessor)
+          hidden
+              .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class, Field.class))
+              .invoke(field);
+    }
+
+    private static byte[] readTemplate() {
+      String name = MethodHandleAccessor.class.getName();
+      try (InputStream in =
+          FieldAccessor.class.getResourceAsStream(
+              name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+        return in == null ? null : in.readAllBytes();
+      } catch (IOException e) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Template of the method handle accessors. Never initialized itself; each field gets a hidden
+   * class defined from its bytes, whose handles are read from that class's data.
+   */
+  static final class MethodHandleAccessor extends FieldAccessor {
+    private static final MethodHandle GETTER = handle(0);
+    private static final MethodHandle SETTER = handle(1);
+
+    private final Field field;
+
+    MethodHandleAccessor(Field field) {
+      this.field = field;
+    }
+
+    @Override
+    Object get(Object target) {
+      try {
+        return (Object) GETTER.invokeExact(target);
+      } catch (Throwable t) {
+        throw rethrow(t);
+      }
+    }
+
+    @Override
+    void set(Object target, Object value) throws IllegalAccessException {
+      if (SETTER == null) {
+        throw new IllegalAccessException("Cannot write final field " + field);
+      }
+      try {
+        SETTER.invokeExact(target, value);
+      } catch (Throwable t) {
+        throw rethrow(t);
+      }
+    }
+
+    private static MethodHandle handle(int index) {
+      try {
+        return MethodHandles.classDataAt(
+            MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+      } catch (IllegalAccessException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+      if (t instanceof RuntimeException) {
+        return (RuntimeException) t;
+      }
+      if (t instanceof Error) {
+        throw (Error) t;
+      }
+      return new MaskingProcessException("Failed to access field through method handle", t);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import java.lang.reflect.Field;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed masking instruction for a single field.
+ *
+ * <p>All annotation lookups, masker resolution and regex compilation happen once when the plan is
+ * built, so {@link MaskingEngine} only has to read the field and apply the resolved action.
+ */
+final class FieldPlan {
+
+  /** What the engine does with a non-null value of the field. */
+  enum Action {
+    /**
+     * Apply the resolved {@link Masker} to a {@code String} value, or to the strings held by the
+     * value, see {@code MaskingEngine#maskValue}.
+     */
+    MASK,
+    /**
+     * Apply the compiled {@link Pattern} or {@link LinearPattern} and replacement to a {@code
+     * String} value, or to the strings held by the value.
+     */
+    REGEX,
+    /** Descend into the value looking for nested masked fields. */
+    RECURSE,
+    /** The field is misconfigured; raise the recorded error when a value is present. */
+    INVALID
+  }
+
+  private final Field field;
+  private final FieldAccessor accessor;
+  private final Action action;
+  private final Masker masker;
+  private final Pattern pattern;
+  private final LinearPattern linearPattern;
+  private final String replacement;
+  private final String errorMessage;
+  private final Throwable errorCause;
+  private final boolean holdsText;
+
+  private FieldPlan(
+      Field field,
+      FieldAccessor accessor,
+      Action action,
+      Masker masker,
+      Pattern pattern,
+      LinearPattern linearPattern,
+      String replacement,
+      String errorMessage,
+      Throwable errorCause) {
+    this.field = field;
+    this.accessor = accessor;
+    this.action = action;
+    this.masker = masker;
+    this.pattern = pattern;
+    this.linearPattern = linearPattern;
+    this.replacement = replacement;
+    this.errorMessage = errorMessage;
+    this.errorCause = errorCause;
+    this.holdsText = field.getType().isAssignableFrom(String.class);
+  }
+
+  static FieldPlan mask(Field field, FieldAccessor accessor, Masker masker) {
+    return new FieldPlan(field, accessor, Action.MASK, masker, null, null, null, null, null);
+  }
+
+  static FieldPlan regex(Field field, FieldAccessor accessor, Pattern pattern, String replacement) {
+    return new FieldPlan(
+        field, accessor, Action.REGEX, null, pattern, null, replacement, null, null);
+  }
+
+  static FieldPlan regex(
+      Field field, FieldAccessor accessor, LinearPattern pattern, String replacement) {
+    return new FieldPlan(
+        field, accessor, Action.REGEX, null, null, pattern, replacement, null, null);
+  }
+
+  static FieldPlan recurse(Field field, FieldAccessor accessor) {
+    return new FieldPlan(field, accessor, Action.RECURSE, null, null, null, null, null, null);
+  }
+
+  static FieldPlan invalid(Field field, FieldAccessor accessor, String message, Throwable cause) {
+    return new FieldPlan(field, accessor, Action.INVALID, null, null, null, null, message, cause);
+  }
+
+  Field field() {
+    return field;
+  }
+
+  FieldAccessor accessor() {
+    return accessor;
+  }
+
+  Action action() {
+    return action;
+  }
+
+  Masker masker() {
+    return masker;
+  }
+
+  /**
+   * Returns whether the field can hold a {@code String}, so that values such as numbers can be
+   * replaced by their masked text.
+   */
+  boolean holdsText() {
+    return holdsText;
+  }
+
+  /** Returns the regex of an {@link Action#REGEX} field. */
+  String regex() {
+    return pattern != null ? pattern.pattern() : linearPattern.pattern();
+  }
+
+  String replacement() {
+    return replacement;
+  }
+
+  /**
+   * Replaces every match of the regex of an {@link Action#REGEX} field with its replacement.
+   *
+   * @param value the value to mask
+   * @return the masked value
+   */
+  String replaceAll(String value) {
+    return pattern != null
+        ? pattern.matcher(value).replaceAll(replacement)
+        : linearPattern.replaceAll(value, replacement);
+  }
+
+  /**
+   * Creates a fresh exception describing why this field cannot be masked.
+   *
+   * @return the configuration exception for an {@link Action#INVALID} field
+   */
+  MaskingConfigurationException configurationError() {
+    return errorCause == null
+        ? new MaskingConfigurationException(errorMessage)
+        : new MaskingConfigurationException(errorMessage, errorCause);
+  }
+}
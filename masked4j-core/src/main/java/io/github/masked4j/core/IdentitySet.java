@@ -0,0 +1,96 @@
+package io.github.masked4j.core;
+
+import java.util.Arrays;
+
+/**
+ * Minimal identity-based set used to track visited objects during one masking traversal.
+ *
+ * <p>Uses open addressing with linear probing over a plain {@code Object[]}, so adding an element
+ * never allocates an entry object. Instances are not thread-safe and are meant to be reused: {@link
+ * #clear()} keeps the table unless it grew unusually large.
+ */
+final class IdentitySet {
+  private static final int INITIAL_CAPACITY = 64;
+  // Tables larger than this are dropped on clear() instead of being retained per thread
+  private static final int MAX_RETAINED_CAPACITY = 1 << 13;
+
+  private Object[] table = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds an object, compared by identity.
+   *
+   * @param element the object to add, never {@code null}
+   * @return {@code true} if the object was not yet present
+   */
+  boolean add(Object element) {
+    Object[] tab = table;
+    int mask = tab.length - 1;
+    int i = index(element, mask);
+    Object existing;
+    while ((existing = tab[i]) != null) {
+      if (existing == element) {
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    tab[i] = element;
+    // Keep the load factor at or below 1/2 so probe sequences stay short
+    if (++size << 1 > tab.length) {
+      resize();
+    }
+    return true;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds every element of this set to a concurrent set, used when a traversal switches to parallel
+   * masking.
+   *
+   * @param target the set to add to
+   */
+  void copyTo(ConcurrentIdentitySet target) {
+    for (Object element : table) {
+      if (element != null) {
+        target.add(element);
+      }
+    }
+  }
+
+  /** Removes all elements, releasing the references held by the table. */
+  void clear() {
+    if (size == 0) {
+      return;
+    }
+    if (table.length > MAX_RETAINED_CAPACITY) {
+      table = new Object[INITIAL_CAPACITY];
+    } else {
+      Arrays.fill(table, null);
+    }
+    size = 0;
+  }
+
+  private void resize() {
+    Object[] old = table;
+    Object[] tab = new Object[old.length << 1];
+    int mask = tab.length - 1;
+    for (Object element : old) {
+      if (element != null) {
+        int i = index(element, mask);
+        while (tab[i] != null) {
+          i = (i + 1) & mask;
+        }
+        tab[i] = element;
+      }
+    }
+    table = tab;
+  }
+
+  private static int index(Object element, int mask) {
+    int h = System.identityHashCode(element);
+    return (h ^ (h >>> 16)) & mask;
+  }
+}
@@ -1,8 +1,10 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for IP addresses.
@@ -10,11 +12,10 @@ import java.util.regex.Pattern;
  * <p>Supports both IPv4 and IPv6. IPv4: Masks the 3rd octet (Class C). Example: "192.168.0.1" ->
  * "192.168.***.1" IPv6: Masks the last 16 bits.
  */
-public class IpMasker implements Masker {
+public class IpMasker implements Utf8Masker {
 
-  // IPv4: 4 groups of digits separated by dots
-  private static final Pattern IPV4_PATTERN =
-      Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
+  // IPv4: 4 groups of 1-3 digits separated by dots, i.e.
+  // ^(\d{1,3})\.(\d{1,3})\.(\d{1,3})\.(\d{1,3})$
 
   // IPv6: Simplified pattern for standard full IPv6 (8 groups of hex)
   // Handling compressed IPv6 (::) is complex with regex alone, so we might need
@@ -25,32 +26,133 @@ public class IpMasker implements Masker {
 
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
     // Try IPv4
-    Matcher ipv4Matcher = IPV4_PATTERN.matcher(input);
-    if (ipv4Matcher.matches()) {
+    int thirdDot = ipv4ThirdDot(input);
+    if (thirdDot != -1) {
       // Mask 3rd octet (17-24 bits)
-      return ipv4Matcher.group(1) + "." + ipv4Matcher.group(2) + ".***." + ipv4Matcher.group(4);
+      int secondDot = thirdDot - 1;
+      while (input.charAt(secondDot) != '.') {
+        secondDot--;
+      }
+      out.append(input, 0, secondDot).append(".***.");
+      out.append(input, thirdDot + 1, input.length());
+      return;
     }
 
     // Try IPv6
-    // Simple heuristic: contains ':'
-    if (input.contains(":")) {
-      // If it's a full address, it has 7 colons.
-      // If compressed, fewer.
-      // The requirement is "113-128 bits", which is the LAST 16 bits.
-      // In a string representation, this is usually the last segment after the last
-      // colon.
+    // The requirement is "113-128 bits", which is the LAST 16 bits. In a string representation,
+    // this is usually the last segment after the last colon, compressed (::) or not.
+    int lastColonIndex = CharSequences.lastIndexOf(input, ':');
+    if (lastColonIndex != -1 && lastColonIndex < input.length() - 1) {
+      out.append(input, 0, lastColonIndex + 1).append("****");
+      return;
+    }
+
+    out.append(input);
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    int end = off + len;
+    int thirdDot = ipv4ThirdDot(CharBuffer.wrap(buf, off, len));
+    if (thirdDot != -1) {
+      int secondDot = CharArrays.lastIndexOf(buf, off, off + thirdDot, '.');
+      int length = secondDot - off + 5 + len - thirdDot - 1;
+      if (length > buf.length - off) {
+        return length;
+      }
+      CharArrays.move(buf, off + thirdDot + 1, end, secondDot + 5);
+      CharArrays.put(buf, secondDot, ".***.");
+      return CharArrays.finish(buf, off, len, length);
+    }
 
-      int lastColonIndex = input.lastIndexOf(':');
-      if (lastColonIndex != -1 && lastColonIndex < input.length() - 1) {
-        return input.substring(0, lastColonIndex + 1) + "****";
+    int lastColonIndex = CharArrays.lastIndexOf(buf, off, end, ':');
+    if (lastColonIndex != -1 && lastColonIndex < end - 1) {
+      int length = lastColonIndex + 1 + 4 - off;
+      if (length > buf.length - off) {
+        return length;
       }
+      Arrays.fill(buf, lastColonIndex + 1, lastColonIndex + 5, '*');
+      return CharArrays.finish(buf, off, len, length);
     }
+    return len;
+  }
 
-    return input;
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int thirdDot = ipv4ThirdDot(src, from, to);
+    if (thirdDot != -1) {
+      // Mask 3rd octet (17-24 bits)
+      Utf8.copy(src, from, Utf8.lastIndexOf(src, from, thirdDot, '.'), dst);
+      Utf8.put(dst, ".***.");
+      Utf8.copy(src, thirdDot + 1, to, dst);
+    } else {
+      int lastColonIndex = Utf8.lastIndexOf(src, from, to, ':');
+      if (lastColonIndex != -1 && lastColonIndex < to - 1) {
+        Utf8.copy(src, from, lastColonIndex + 1, dst);
+        Utf8.repeat(dst, '*', 4);
+      } else {
+        Utf8.copy(src, from, to, dst);
+      }
+    }
+    src.position(to);
+  }
+
+  /** Returns the index of the third dot if the value is an IPv4 address, or -1. */
+  private static int ipv4ThirdDot(CharSequence input) {
+    int length = input.length();
+    int i = 0;
+    int thirdDot = -1;
+    for (int group = 0; group < 4; group++) {
+      int start = i;
+      while (i < length && i - start < 3 && CharSequences.isDigit(input.charAt(i))) {
+        i++;
+      }
+      if (i == start) {
+        return -1;
+      }
+      if (group < 3) {
+        if (i == length || input.charAt(i) != '.') {
+          return -1;
+        }
+        thirdDot = i++;
+      }
+    }
+    return i == length ? thirdDot : -1;
+  }
+
+  /** Returns the index of the third dot if the bytes form an IPv4 address, or -1. */
+  private static int ipv4ThirdDot(ByteBuffer src, int from, int to) {
+    int i = from;
+    int thirdDot = -1;
+    for (int group = 0; group < 4; group++) {
+      int start = i;
+      while (i < to && i - start < 3 && Utf8.isDigit(src, i)) {
+        i++;
+      }
+      if (i == start) {
+        return -1;
+      }
+      if (group < 3) {
+        if (i == to || src.get(i) != '.') {
+          return -1;
+        }
+        thirdDot = i++;
+      }
+    }
+    return i == to ? thirdDot : -1;
   }
 }
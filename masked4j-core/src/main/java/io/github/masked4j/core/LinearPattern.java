@@ -0,0 +1,542 @@
+package io.github.masked4j.core;
+
+import static io.github.masked4j.core.LinearPatternCompiler.ASSERT;
+import static io.github.masked4j.core.LinearPatternCompiler.BEGIN;
+import static io.github.masked4j.core.LinearPatternCompiler.CHAR;
+import static io.github.masked4j.core.LinearPatternCompiler.DOLLAR;
+import static io.github.masked4j.core.LinearPatternCompiler.END;
+import static io.github.masked4j.core.LinearPatternCompiler.EXIT_IF_EMPTY;
+import static io.github.masked4j.core.LinearPatternCompiler.JMP;
+import static io.github.masked4j.core.LinearPatternCompiler.MARK;
+import static io.github.masked4j.core.LinearPatternCompiler.MATCH;
+import static io.github.masked4j.core.LinearPatternCompiler.SAVE;
+import static io.github.masked4j.core.LinearPatternCompiler.SET;
+import static io.github.masked4j.core.LinearPatternCompiler.SPLIT;
+import static io.github.masked4j.core.LinearPatternCompiler.WORD_BOUNDARY;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A compiled regular expression that is matched in time linear in the length of the input.
+ *
+ * <p>{@link java.util.regex.Pattern} backtracks, so a pattern such as {@code (a+)+b} takes
+ * exponential time on an input like {@code "aaaaaaaaaaaaaaaaaaaaaaaaaaaa!"}. A {@code
+ * LinearPattern} instead runs all the ways the pattern can match in lockstep (a Pike VM), so
+ * searching for a match takes at most {@code O(m * n)} steps for a pattern compiling to {@code m}
+ * instructions and an input of {@code n} characters, with {@code m} capped at {@value
+ * LinearPatternCompiler#MAX_PROGRAM_SIZE}. It finds the same matches and groups as {@code Pattern},
+ * so {@link #replaceAll(CharSequence, String)} returns what {@link
+ * java.util.regex.Matcher#replaceAll(String)} would.
+ *
+ * <p>The supported subset covers what masking patterns use: literals and escapes, {@code .},
+ * character classes with ranges, negation and {@code \d \w \s} (and their negations), capturing,
+ * named and non-capturing groups, alternation, greedy and lazy quantifiers including {@code {n,m}}
+ * with counts up to 1000, and the anchors {@code ^ $ \A \z \Z \b \B}. Backreferences, lookahead,
+ * lookbehind, atomic groups, possessive quantifiers, inline flags, Unicode properties such as
+ * {@code \p{L}}, nested classes and intersections are rejected.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class LinearPattern {
+  // Whether java.util.regex's \b counts non-ASCII letters and digits as word characters, as it did
+  // before JDK 19; newer JDKs use the ASCII \w, and replacements must equal the running JDK's
+  private static final boolean UNICODE_WORD_BOUNDARY = Pattern.compile("\\b").matcher("가").find();
+
+  private final String regex;
+  // The program: an opcode with its argument and branch target per instruction
+  private final int[] ops;
+  private final int[] args;
+  private final int[] targets;
+  // Registers of the repeated groups enclosing each instruction, see Search.addThread
+  private final int[][] guards;
+  private final int states;
+  private final int[][] sets;
+  private final int groupCount;
+  private final Map<String, Integer> groupNames;
+  // Group start and end positions, followed by the registers of the empty iteration checks
+  private final int slotCount;
+  private final boolean supplementary;
+
+  LinearPattern(
+      String regex,
+      int[] ops,
+      int[] args,
+      int[] targets,
+      int[][] guards,
+      int maxGuardDepth,
+      int[][] sets,
+      int groupCount,
+      Map<String, Integer> groupNames,
+      int slotCount,
+      boolean supplementary) {
+    this.regex = regex;
+    this.ops = ops;
+    this.args = args;
+    this.targets = targets;
+    this.guards = guards;
+    this.states = maxGuardDepth + 1;
+    this.sets = sets;
+    this.groupCount = groupCount;
+    this.groupNames = groupNames;
+    this.slotCount = slotCount;
+    this.supplementary = supplementary;
+  }
+
+  /**
+   * Compiles a regex.
+   *
+   * @param regex the regex, in the syntax of {@link java.util.regex.Pattern}
+   * @return the compiled pattern
+   * @throws PatternSyntaxException if the regex is invalid, or uses a construct outside the
+   *     supported subset; the description then names the construct
+   */
+  public static LinearPattern compile(String regex) {
+    return LinearPatternCompiler.compile(regex);
+  }
+
+  /**
+   * Returns the regex this pattern was compiled from.
+   *
+   * @return the regex
+   */
+  public String pattern() {
+    return regex;
+  }
+
+  /**
+   * Returns the number of capturing groups.
+   *
+   * @return the group count
+   */
+  public int groupCount() {
+    return groupCount;
+  }
+
+  /**
+   * Replaces every match in the input, like {@link java.util.regex.Matcher#replaceAll(String)}.
+   *
+   * @param input the input
+   * @param replacement the replacement, which may refer to groups as {@code $n} or {@code ${name}}
+   *     and escape characters with {@code \}
+   * @return the input with every match replaced
+   * @throws IllegalArgumentException if the replacement is malformed and the input has a match
+   * @throws IndexOutOfBoundsException if the replacement refers to a missing group and the input
+   *     has a match
+   */
+  public String replaceAll(CharSequence input, String replacement) {
+    StringBuilder out = new StringBuilder(input.length() + 16);
+    replaceAll(input, replacement, out);
+    return out.toString();
+  }
+
+  /**
+   * Appends the input with every match replaced to a buffer.
+   *
+   * @param input the input
+   * @param replacement the replacement, as for {@link #replaceAll(CharSequence, String)}
+   * @param out the buffer to append to
+   * @throws IllegalArgumentException if the replacement is malformed and the input has a match
+   * @throws IndexOutOfBoundsException if the replacement refers to a missing group and the input
+   *     has a match
+   */
+  public void replaceAll(CharSequence input, String replacement, StringBuilder out) {
+    Search search = new Search(input);
+    Replacement parsed = null;
+    int length = input.length();
+    int appended = 0;
+    int from = 0;
+    while (from <= length && search.find(from)) {
+      int[] match = search.match;
+      if (parsed == null) {
+        parsed = new Replacement(replacement);
+      }
+      out.append(input, appended, match[0]);
+      parsed.appendTo(out, input, match);
+      appended = match[1];
+      // Like Matcher.find, step over empty matches by one char
+      from = match[1] == match[0] ? match[1] + 1 : match[1];
+    }
+    out.append(input, appended, length);
+  }
+
+  @Override
+  public String toString() {
+    return regex;
+  }
+
+  /** The threads at one input position, in priority order, with their group positions. */
+  private static final class ThreadList {
+    final int[] pcs;
+    final int[][] slots;
+    // Threads that consumed a supplementary code point skip one position
+    final boolean[] pending;
+    int size;
+    // Instructions already visited at this position, and pcs of pending threads
+    final int[] visited;
+    final int[] pendingVisited;
+    int generation;
+
+    ThreadList(int programSize, int states, int slotCount) {
+      pcs = new int[2 * programSize];
+      slots = new int[2 * programSize][slotCount];
+      pending = new boolean[2 * programSize];
+      visited = new int[programSize * states];
+      pendingVisited = new int[programSize];
+    }
+
+    void clear() {
+      size = 0;
+      generation++;
+    }
+
+    void add(int pc, int[] threadSlots, boolean isPending) {
+      pcs[size] = pc;
+      pending[size] = isPending;
+      System.arraycopy(threadSlots, 0, slots[size], 0, threadSlots.length);
+      size++;
+    }
+  }
+
+  /** The state of the matcher for one input, reused across the searches of a replacement. */
+  private final class Search {
+    final CharSequence input;
+    final int length;
+    ThreadList current;
+    ThreadList next;
+    final int[] work;
+    int[] stack = new int[32];
+    final int[] match;
+
+    Search(CharSequence input) {
+      this.input = input;
+      this.length = input.length();
+      this.current = new ThreadList(ops.length, states, slotCount);
+      this.next = new ThreadList(ops.length, states, slotCount);
+      this.work = new int[slotCount];
+      this.match = new int[slotCount];
+      current.generation = 1;
+      next.generation = 1;
+    }
+
+    /**
+     * Finds the leftmost match starting at or after {@code from}, preferring alternatives and
+     * quantifier choices in the order {@code java.util.regex} tries them.
+     *
+     * @return whether a match was found; its group positions are then in {@link #match}
+     */
+    boolean find(int from) {
+      current.clear();
+      boolean matched = false;
+      int nextStart = from;
+      for (int i = from; ; i++) {
+        if (!matched && i == nextStart) {
+          // A new thread for a match starting here, with the lowest priority
+          Arrays.fill(work, -1);
+          addThread(current, 0, i);
+          nextStart = supplementary && i < length - 1 && isSurrogatePair(i) ? i + 2 : i + 1;
+        }
+        if (current.size == 0) {
+          if (matched || nextStart > length) {
+            return matched;
+          }
+          current.clear();
+          i = nextStart - 1;
+          continue;
+        }
+        next.clear();
+        int codePoint = i < length ? Character.codePointAt(input, i) : -1;
+        for (int t = 0; t < current.size; t++) {
+          int pc = current.pcs[t];
+          int[] slots = current.slots[t];
+          if (current.pending[t]) {
+            System.arraycopy(slots, 0, work, 0, slotCount);
+            addThread(next, pc, i + 1);
+            continue;
+          }
+          int op = ops[pc];
+          if (op == MATCH) {
+            System.arraycopy(slots, 0, match, 0, slotCount);
+            matched = true;
+            // Threads after this one have a lower priority
+            break;
+          }
+          if (codePoint >= 0
+              && (op == CHAR ? codePoint == args[pc] : contains(args[pc], codePoint))) {
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+              System.arraycopy(slots, 0, work, 0, slotCount);
+              addThread(next, pc + 1, i + 1);
+            } else if (next.pendingVisited[pc + 1] != next.generation) {
+              next.pendingVisited[pc + 1] = next.generation;
+              next.add(pc + 1, slots, true);
+            }
+          }
+        }
+        ThreadList swap = current;
+        current = next;
+        next = swap;
+        if (i == length) {
+          return matched;
+        }
+      }
+    }
+
+    /**
+     * Adds the thread at {@code pc} to a list, following jumps, splits and assertions in priority
+     * order until each path reaches an instruction that consumes input or matches. The thread's
+     * slots are in {@link #work}, which is restored before returning.
+     *
+     * <p>A path reaching an instruction already visited at this position is dropped, since the
+     * earlier path has a higher priority and the same future. Inside repeated groups that can match
+     * the empty string, the future also depends on which iterations started at this position, so an
+     * instruction is visited once per number of such iterations.
+     */
+    void addThread(ThreadList list, int pc, int position) {
+      int top = 0;
+      push(top++, pc);
+      while (top > 0) {
+        int entry = stack[--top];
+        if (entry < 0) {
+          // Undo a slot write
+          work[~entry] = stack[--top];
+          continue;
+        }
+        pc = entry;
+        while (true) {
+          int op = ops[pc];
+          int state = pc * states;
+          if (op != CHAR && op != SET && op != MATCH) {
+            for (int register : guards[pc]) {
+              if (work[register] == position) {
+                state++;
+              }
+            }
+          }
+          if (list.visited[state] == list.generation) {
+            break;
+          }
+          list.visited[state] = list.generation;
+          if (op == JMP) {
+            pc = args[pc];
+          } else if (op == SPLIT) {
+            push(top++, targets[pc]);
+            pc = args[pc];
+          } else if (op == SAVE || op == MARK) {
+            push(top++, work[args[pc]]);
+            push(top++, ~args[pc]);
+            work[args[pc]] = position;
+            pc++;
+          } else if (op == EXIT_IF_EMPTY) {
+            pc = work[args[pc]] == position ? targets[pc] : pc + 1;
+          } else if (op == ASSERT) {
+            if (!holds(args[pc], position)) {
+              break;
+            }
+            pc++;
+          } else {
+            list.add(pc, work, false);
+            break;
+          }
+        }
+      }
+    }
+
+    private void push(int index, int value) {
+      if (index == stack.length) {
+        stack = Arrays.copyOf(stack, index * 2);
+      }
+      stack[index] = value;
+    }
+
+    private boolean isSurrogatePair(int i) {
+      return Character.isHighSurrogate(input.charAt(i))
+          && Character.isLowSurrogate(input.charAt(i + 1));
+    }
+
+    private boolean holds(int assertion, int i) {
+      switch (assertion) {
+        case BEGIN:
+          return i == 0;
+        case END:
+          return i == length;
+        case DOLLAR:
+          return isDollar(i);
+        default:
+          boolean boundary = isWordBefore(i) != isWordAt(i);
+          return boundary == (assertion == WORD_BOUNDARY);
+      }
+    }
+
+    /** Matches at the end, or before a line terminator ending the input, like {@code $}. */
+    private boolean isDollar(int i) {
+      if (i == length) {
+        return true;
+      }
+      if (i == length - 2) {
+        return input.charAt(i) == '\r' && input.charAt(i + 1) == '\n';
+      }
+      if (i != length - 1) {
+        return false;
+      }
+      char c = input.charAt(i);
+      if (c == '\n') {
+        return i == 0 || input.charAt(i - 1) != '\r';
+      }
+      return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private boolean isWordBefore(int i) {
+      if (i == 0) {
+        return false;
+      }
+      int c = Character.codePointBefore(input, i);
+      return isWord(c) || isMark(c) && hasBaseCharacter(i - 1);
+    }
+
+    private boolean isWordAt(int i) {
+      if (i == length) {
+        return false;
+      }
+      int c = Character.codePointAt(input, i);
+      return isWord(c) || isMark(c) && hasBaseCharacter(i);
+    }
+
+    /** Whether a non-spacing mark at {@code i} follows a letter or digit, as for {@code \b}. */
+    private boolean hasBaseCharacter(int i) {
+      for (int x = i; x >= 0; x--) {
+        int c = Character.codePointAt(input, x);
+        if (Character.isLetterOrDigit(c)) {
+          return true;
+        }
+        if (!isMark(c)) {
+          return false;
+        }
+      }
+      return false;
+    }
+  }
+
+  private boolean contains(int set, int codePoint) {
+    int[] ranges = sets[set];
+    int low = 0;
+    int high = ranges.length / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (codePoint < ranges[2 * mid]) {
+        high = mid - 1;
+      } else if (codePoint > ranges[2 * mid + 1]) {
+        low = mid + 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWord(int c) {
+    return c == '_' || (c < 0x80 || UNICODE_WORD_BOUNDARY) && Character.isLetterOrDigit(c);
+  }
+
+  private static boolean isMark(int c) {
+    return Character.getType(c) == Character.NON_SPACING_MARK;
+  }
+
+  /**
+   * A replacement string split into literal text and group references, with the syntax and errors
+   * of {@link java.util.regex.Matcher#appendReplacement}.
+   */
+  private final class Replacement {
+    // texts[k] precedes groups[k]; the last text follows the last group
+    private final String[] texts;
+    private final int[] groups;
+
+    Replacement(String replacement) {
+      StringBuilder text = new StringBuilder();
+      String[] textParts = new String[replacement.length() + 1];
+      int[] groupParts = new int[replacement.length()];
+      int count = 0;
+      int cursor = 0;
+      while (cursor < replacement.length()) {
+        char c = replacement.charAt(cursor++);
+        if (c == '\\') {
+          if (cursor == replacement.length()) {
+            throw new IllegalArgumentException("character to be escaped is missing");
+          }
+          text.append(replacement.charAt(cursor++));
+        } else if (c == '$') {
+          if (cursor == replacement.length()) {
+            throw new IllegalArgumentException("Illegal group reference: group index is missing");
+          }
+          int group;
+          if (replacement.charAt(cursor) == '{') {
+            int end = cursor + 1;
+            while (end < replacement.length() && isAsciiLetterOrDigit(replacement.charAt(end))) {
+              end++;
+            }
+            String name = replacement.substring(cursor + 1, end);
+            if (name.isEmpty()) {
+              throw new IllegalArgumentException("named capturing group has 0 length name");
+            }
+            if (end == replacement.length() || replacement.charAt(end) != '}') {
+              throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+            }
+            if (name.charAt(0) >= '0' && name.charAt(0) <= '9') {
+              throw new IllegalArgumentException(
+                  "capturing group name {" + name + "} starts with digit character");
+            }
+            Integer index = groupNames.get(name);
+            if (index == null) {
+              throw new IllegalArgumentException("No group with name {" + name + "}");
+            }
+            group = index;
+            cursor = end + 1;
+          } else {
+            group = replacement.charAt(cursor) - '0';
+            if (group < 0 || group > 9) {
+              throw new IllegalArgumentException("Illegal group reference");
+            }
+            cursor++;
+            // Take further digits while they still name an existing group
+            while (cursor < replacement.length()) {
+              int digit = replacement.charAt(cursor) - '0';
+              if (digit < 0 || digit > 9 || group * 10 + digit > groupCount) {
+                break;
+              }
+              group = group * 10 + digit;
+              cursor++;
+            }
+            if (group > groupCount) {
+              throw new IndexOutOfBoundsException("No group " + group);
+            }
+          }
+          textParts[count] = text.toString();
+          groupParts[count++] = group;
+          text.setLength(0);
+        } else {
+          text.append(c);
+        }
+      }
+      textParts[count] = text.toString();
+      this.texts = Arrays.copyOf(textParts, count + 1);
+      this.groups = Arrays.copyOf(groupParts, count);
+    }
+
+    void appendTo(StringBuilder out, CharSequence input, int[] match) {
+      for (int k = 0; k < groups.length; k++) {
+        out.append(texts[k]);
+        int start = match[2 * groups[k]];
+        int end = match[2 * groups[k] + 1];
+        if (start >= 0 && end >= 0) {
+          out.append(input, start, end);
+        }
+      }
+      out.append(texts[groups.length]);
+    }
+  }
+
+  private static boolean isAsciiLetterOrDigit(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+  }
+}
@@ -0,0 +1,762 @@
+package io.github.masked4j.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Parses a regex in the subset supported by {@link LinearPattern} and compiles it into a program
+ * for its matcher.
+ *
+ * <p>Every construct is given the meaning {@link Pattern} gives it, including its code point
+ * handling and its rule that a repeated group stops repeating after an iteration that matched the
+ * empty string. Constructs that cannot be matched in linear time, or whose semantics are not
+ * reproduced, are rejected with a {@link PatternSyntaxException} naming the construct.
+ */
+final class LinearPatternCompiler {
+
+  // Opcodes. CHAR and SET consume a code point, the others only move between instructions.
+  static final int CHAR = 0;
+  static final int SET = 1;
+  static final int SPLIT = 2;
+  static final int JMP = 3;
+  static final int SAVE = 4;
+  static final int ASSERT = 5;
+  static final int MARK = 6;
+  static final int EXIT_IF_EMPTY = 7;
+  static final int MATCH = 8;
+
+  // Assertion kinds
+  static final int BEGIN = 0;
+  static final int END = 1;
+  static final int DOLLAR = 2;
+  static final int WORD_BOUNDARY = 3;
+  static final int NOT_WORD_BOUNDARY = 4;
+
+  /** Upper bound on instructions, which bounds the work per input character. */
+  static final int MAX_PROGRAM_SIZE = 5_000;
+
+  private static final int MAX_REPETITION = 1_000;
+
+  private static final int[] DIGIT = {'0', '9'};
+  private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+  private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+  private static final int[] DOT =
+      complement(new int[] {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029});
+
+  private final String regex;
+  private int pos;
+  private int groupCount;
+  private int registerCount;
+  // Whether java.util.regex would search by code point rather than by char, see below
+  private boolean supplementary;
+  private final Map<String, Integer> groupNames = new LinkedHashMap<>();
+
+  // Program under construction
+  private int[] ops = new int[16];
+  private int[] args = new int[16];
+  private int[] targets = new int[16];
+  // Registers of the repeated groups enclosing each instruction, innermost last
+  private int[][] guards = new int[16][];
+  private int[] activeGuards = new int[0];
+  private int maxGuardDepth;
+  private int size;
+  private final List<int[]> sets = new ArrayList<>();
+
+  private LinearPatternCompiler(String regex) {
+    this.regex = regex;
+  }
+
+  /**
+   * Compiles a regex.
+   *
+   * @param regex the regex
+   * @return the compiled pattern
+   * @throws PatternSyntaxException if the regex is invalid or outside the supported subset
+   */
+  static LinearPattern compile(String regex) {
+    // Report invalid regexes exactly like java.util.regex, so that parse errors below can only
+    // mean an unsupported construct
+    Pattern.compile(regex);
+    return new LinearPatternCompiler(regex).compile();
+  }
+
+  private LinearPattern compile() {
+    Node root = parseAlternation();
+    if (pos < regex.length()) {
+      throw unsupported("unbalanced parenthesis");
+    }
+    emit(SAVE, 0, 0);
+    emit(root);
+    emit(SAVE, 1, 0);
+    emit(MATCH, 0, 0);
+    // java.util.regex tries each char index as a match start, but only each code point once the
+    // pattern contains surrogates or a character class that can match a supplementary code point
+    supplementary |= regex.chars().anyMatch(c -> Character.isSurrogate((char) c));
+    return new LinearPattern(
+        regex,
+        Arrays.copyOf(ops, size),
+        Arrays.copyOf(args, size),
+        Arrays.copyOf(targets, size),
+        Arrays.copyOf(guards, size),
+        maxGuardDepth,
+        sets.toArray(new int[0][]),
+        groupCount,
+        Collections.unmodifiableMap(groupNames),
+        2 * (groupCount + 1) + registerCount,
+        supplementary);
+  }
+
+  // --- Parsing ---------------------------------------------------------------------------------
+
+  private interface Node {}
+
+  private record Literal(int codePoint) implements Node {}
+
+  /** Sorted, disjoint, inclusive code point ranges. */
+  private record CharClass(int[] ranges) implements Node {}
+
+  /** A group, capturing if {@code index} is positive. */
+  private record Group(Node body, int index) implements Node {}
+
+  private record Concat(List<Node> items) implements Node {}
+
+  private record Alternation(List<Node> alternatives) implements Node {}
+
+  /** A quantified atom; {@code max} is -1 if unbounded, {@code register} -1 if not guarded. */
+  private record Repeat(Node body, int min, int max, boolean greedy, int register)
+      implements Node {}
+
+  private record Assertion(int kind) implements Node {}
+
+  private Node parseAlternation() {
+    List<Node> alternatives = new ArrayList<>();
+    alternatives.add(parseConcat());
+    while (pos < regex.length() && regex.charAt(pos) == '|') {
+      pos++;
+      alternatives.add(parseConcat());
+    }
+    return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+  }
+
+  private Node parseConcat() {
+    List<Node> items = new ArrayList<>();
+    while (pos < regex.length()) {
+      char c = regex.charAt(pos);
+      if (c == '|' || c == ')') {
+        break;
+      }
+      if (regex.startsWith("\\Q", pos)) {
+        parseQuoted(items);
+        continue;
+      }
+      items.add(parseQuantifier(parseAtom()));
+    }
+    markSupplementaryLiterals(items);
+    return items.size() == 1 ? items.get(0) : new Concat(items);
+  }
+
+  /** Parses {@code \Q...\E} into literals. */
+  private void parseQuoted(List<Node> items) {
+    int end = regex.indexOf("\\E", pos + 2);
+    String quoted = regex.substring(pos + 2, end < 0 ? regex.length() : end);
+    pos = end < 0 ? regex.length() : end + 2;
+    quoted.codePoints().forEach(cp -> items.add(literal(cp)));
+    if (isQuantifier()) {
+      throw unsupported("quantifier after \\Q...\\E");
+    }
+  }
+
+  private Node parseAtom() {
+    char c = regex.charAt(pos);
+    switch (c) {
+      case '(':
+        return parseGroup();
+      case '[':
+        return parseClass();
+      case '.':
+        pos++;
+        return new CharClass(DOT);
+      case '^':
+        pos++;
+        return new Assertion(BEGIN);
+      case '$':
+        pos++;
+        return new Assertion(DOLLAR);
+      case '*':
+      case '+':
+      case '?':
+      case '{':
+        throw unsupported("quantifier without a preceding element");
+      case '\\':
+        return parseEscape();
+      default:
+        int cp = regex.codePointAt(pos);
+        pos += Character.charCount(cp);
+        return literal(cp);
+    }
+  }
+
+  private Node parseGroup() {
+    pos++;
+    int index = -1;
+    if (regex.startsWith("?", pos)) {
+      if (regex.startsWith("?:", pos)) {
+        pos += 2;
+      } else if (regex.startsWith("?<", pos)
+          && pos + 2 < regex.length()
+          && isAsciiLetter(regex.charAt(pos + 2))) {
+        int nameStart = pos + 2;
+        int nameEnd = regex.indexOf('>', nameStart);
+        index = ++groupCount;
+        groupNames.put(regex.substring(nameStart, nameEnd), index);
+        pos = nameEnd + 1;
+      } else if (regex.startsWith("?=", pos)
+          || regex.startsWith("?!", pos)
+          || regex.startsWith("?<=", pos)
+          || regex.startsWith("?<!", pos)) {
+        throw unsupported("lookaround");
+      } else if (regex.startsWith("?>", pos)) {
+        throw unsupported("atomic group");
+      } else {
+        throw unsupported("inline flags");
+      }
+    } else {
+      index = ++groupCount;
+    }
+    Node body = parseAlternation();
+    if (pos >= regex.length() || regex.charAt(pos) != ')') {
+      throw unsupported("unbalanced parenthesis");
+    }
+    pos++;
+    return new Group(body, index);
+  }
+
+  private boolean isQuantifier() {
+    if (pos >= regex.length()) {
+      return false;
+    }
+    char c = regex.charAt(pos);
+    return c == '*' || c == '+' || c == '?' || c == '{';
+  }
+
+  private Node parseQuantifier(Node atom) {
+    if (!isQuantifier()) {
+      return atom;
+    }
+    if (atom instanceof Assertion) {
+      throw unsupported("quantified assertion");
+    }
+    if (atom instanceof Group && hasCapturingGroup(((Group) atom).body())) {
+      // java.util.regex may report such a group as captured by an iteration it backtracked out of
+      throw unsupported("a capturing group inside a repeated group");
+    }
+    int start = pos;
+    int min;
+    int max;
+    char c = regex.charAt(pos++);
+    if (c == '*') {
+      min = 0;
+      max = -1;
+    } else if (c == '+') {
+      min = 1;
+      max = -1;
+    } else if (c == '?') {
+      min = 0;
+      max = 1;
+    } else {
+      min = parseCount();
+      max = min;
+      if (regex.charAt(pos) == ',') {
+        pos++;
+        max = regex.charAt(pos) == '}' ? -1 : parseCount();
+      }
+      pos++;
+    }
+    boolean greedy = true;
+    if (pos < regex.length() && regex.charAt(pos) == '?') {
+      greedy = false;
+      pos++;
+    } else if (pos < regex.length() && regex.charAt(pos) == '+') {
+      pos = start;
+      throw unsupported("possessive quantifier");
+    }
+    if (isQuantifier()) {
+      throw unsupported("nested quantifier");
+    }
+    // Give repeated groups that can match the empty string a register for the empty iteration
+    // check of java.util.regex
+    int register = atom instanceof Group && isNullable(atom) ? registerCount++ : -1;
+    return new Repeat(atom, min, max, greedy, register);
+  }
+
+  private int parseCount() {
+    int count = 0;
+    while (isAsciiDigit(regex.charAt(pos))) {
+      count = count * 10 + regex.charAt(pos++) - '0';
+      if (count > MAX_REPETITION) {
+        throw unsupported("repetition count above " + MAX_REPETITION);
+      }
+    }
+    return count;
+  }
+
+  private Node parseEscape() {
+    char c = regex.charAt(pos + 1);
+    switch (c) {
+      case 'd':
+      case 'D':
+      case 'w':
+      case 'W':
+      case 's':
+      case 'S':
+        pos += 2;
+        return new CharClass(predefined(c));
+      case 'b':
+        if (regex.startsWith("{", pos + 2)) {
+          throw unsupported("\\b{g}");
+        }
+        pos += 2;
+        return new Assertion(WORD_BOUNDARY);
+      case 'B':
+        pos += 2;
+        return new Assertion(NOT_WORD_BOUNDARY);
+      case 'A':
+        pos += 2;
+        return new Assertion(BEGIN);
+      case 'z':
+        pos += 2;
+        return new Assertion(END);
+      case 'Z':
+        pos += 2;
+        return new Assertion(DOLLAR);
+      default:
+        if (isAsciiDigit(c) && c != '0' || c == 'k') {
+          throw unsupported("backreference");
+        }
+        return literal(parseEscapedCodePoint());
+    }
+  }
+
+  /** Parses an escape that stands for a single code point, as {@code Pattern.escape} does. */
+  private int parseEscapedCodePoint() {
+    int cp = regex.codePointAt(pos + 1);
+    pos += 1 + Character.charCount(cp);
+    switch (cp) {
+      case '0':
+        return parseOctal();
+      case 'a':
+        return '\u0007';
+      case 'e':
+        return '\u001B';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'c':
+        int control = regex.codePointAt(pos);
+        pos += Character.charCount(control);
+        return control ^ 64;
+      case 'x':
+        return parseHexEscape();
+      case 'u':
+        return parseUnicodeEscape();
+      default:
+        if (isAsciiLetter(cp)) {
+          pos -= 2;
+          throw unsupported("\\" + (char) cp);
+        }
+        return cp;
+    }
+  }
+
+  private int parseOctal() {
+    int n = regex.charAt(pos++) - '0';
+    if (pos < regex.length() && isOctalDigit(regex.charAt(pos))) {
+      int m = regex.charAt(pos++) - '0';
+      if (n <= 3 && pos < regex.length() && isOctalDigit(regex.charAt(pos))) {
+        return n * 64 + m * 8 + (regex.charAt(pos++) - '0');
+      }
+      return n * 8 + m;
+    }
+    return n;
+  }
+
+  private int parseHexEscape() {
+    if (regex.charAt(pos) == '{') {
+      int end = regex.indexOf('}', pos);
+      int cp = Integer.parseInt(regex, pos + 1, end, 16);
+      pos = end + 1;
+      return cp;
+    }
+    pos += 2;
+    return Integer.parseInt(regex, pos - 2, pos, 16);
+  }
+
+  private int parseUnicodeEscape() {
+    char high = (char) Integer.parseInt(regex, pos, pos + 4, 16);
+    pos += 4;
+    // Like java.util.regex, a surrogate pair written as two escapes is a single code point
+    if (Character.isHighSurrogate(high)
+        && regex.startsWith("\\u", pos)
+        && pos + 6 <= regex.length()
+        && isHex(regex, pos + 2, pos + 6)) {
+      char low = (char) Integer.parseInt(regex, pos + 2, pos + 6, 16);
+      if (Character.isLowSurrogate(low)) {
+        pos += 6;
+        return Character.toCodePoint(high, low);
+      }
+    }
+    return high;
+  }
+
+  private Node parseClass() {
+    int start = pos++;
+    boolean negated = false;
+    if (regex.charAt(pos) == '^') {
+      negated = true;
+      pos++;
+    }
+    List<int[]> ranges = new ArrayList<>();
+    boolean empty = true;
+    boolean bmp = !negated;
+    while (true) {
+      char c = regex.charAt(pos);
+      if (c == ']' && !empty) {
+        pos++;
+        break;
+      }
+      if (c == '[') {
+        throw unsupported("nested character class");
+      }
+      if (regex.startsWith("&&", pos)) {
+        throw unsupported("character class intersection");
+      }
+      empty = false;
+      int first;
+      if (c == '\\') {
+        char e = regex.charAt(pos + 1);
+        if (e == 'd' || e == 'D' || e == 'w' || e == 'W' || e == 's' || e == 'S') {
+          ranges.add(predefined(e));
+          bmp &= Character.isLowerCase(e);
+          pos += 2;
+          continue;
+        }
+        if (e == 'Q') {
+          throw unsupported("\\Q in a character class");
+        }
+        first = parseEscapedCodePoint();
+      } else {
+        first = regex.codePointAt(pos);
+        pos += Character.charCount(first);
+      }
+      int last = first;
+      if (regex.charAt(pos) == '-'
+          && regex.charAt(pos + 1) != ']'
+          && regex.charAt(pos + 1) != '[') {
+        pos++;
+        if (regex.charAt(pos) == '\\') {
+          last = parseEscapedCodePoint();
+        } else {
+          last = regex.codePointAt(pos);
+          pos += Character.charCount(last);
+        }
+      }
+      if (first <= Character.MAX_LOW_SURROGATE && last >= Character.MIN_HIGH_SURROGATE) {
+        // java.util.regex matches such classes char by char rather than by code point
+        pos = start;
+        throw unsupported("surrogate characters in a character class");
+      }
+      ranges.add(new int[] {first, last});
+      bmp &= last < Character.MIN_SUPPLEMENTARY_CODE_POINT;
+    }
+    supplementary |= !bmp;
+    int[] set = normalize(ranges);
+    return new CharClass(negated ? complement(set) : set);
+  }
+
+  private Node literal(int cp) {
+    if (cp >= Character.MIN_HIGH_SURROGATE && cp <= Character.MAX_LOW_SURROGATE) {
+      pos = 0;
+      throw unsupported("an unpaired surrogate");
+    }
+    return new Literal(cp);
+  }
+
+  /**
+   * java.util.regex merges consecutive literals into one node, and only a literal standing alone or
+   * quantified makes it search by code point.
+   */
+  private void markSupplementaryLiterals(List<Node> items) {
+    for (int i = 0; i < items.size(); i++) {
+      Node item = items.get(i);
+      if (item instanceof Repeat) {
+        item = ((Repeat) item).body();
+      } else if (i > 0 && items.get(i - 1) instanceof Literal
+          || i < items.size() - 1 && items.get(i + 1) instanceof Literal) {
+        continue;
+      }
+      if (item instanceof Literal) {
+        supplementary |= ((Literal) item).codePoint() >= Character.MIN_SUPPLEMENTARY_CODE_POINT;
+      }
+    }
+  }
+
+  private int[] predefined(char c) {
+    supplementary |= Character.isUpperCase(c);
+    switch (c) {
+      case 'd':
+        return DIGIT;
+      case 'D':
+        return complement(DIGIT);
+      case 'w':
+        return WORD;
+      case 'W':
+        return complement(WORD);
+      case 's':
+        return SPACE;
+      default:
+        return complement(SPACE);
+    }
+  }
+
+  /** Merges ranges, given as {@code int[]} pairs or flattened range lists, into a set. */
+  private static int[] normalize(List<int[]> ranges) {
+    List<int[]> pairs = new ArrayList<>();
+    for (int[] range : ranges) {
+      for (int i = 0; i < range.length; i += 2) {
+        pairs.add(new int[] {range[i], range[i + 1]});
+      }
+    }
+    pairs.sort((a, b) -> Integer.compare(a[0], b[0]));
+    int[] set = new int[pairs.size() * 2];
+    int length = 0;
+    for (int[] pair : pairs) {
+      if (length > 0 && pair[0] <= set[length - 1] + 1) {
+        set[length - 1] = Math.max(set[length - 1], pair[1]);
+      } else {
+        set[length++] = pair[0];
+        set[length++] = pair[1];
+      }
+    }
+    return Arrays.copyOf(set, length);
+  }
+
+  private static int[] complement(int[] set) {
+    int[] result = new int[set.length + 2];
+    int length = 0;
+    int next = 0;
+    for (int i = 0; i < set.length; i += 2) {
+      if (set[i] > next) {
+        result[length++] = next;
+        result[length++] = set[i] - 1;
+      }
+      next = set[i + 1] + 1;
+    }
+    if (next <= Character.MAX_CODE_POINT) {
+      result[length++] = next;
+      result[length++] = Character.MAX_CODE_POINT;
+    }
+    return Arrays.copyOf(result, length);
+  }
+
+  private static boolean isNullable(Node node) {
+    if (node instanceof Literal || node instanceof CharClass) {
+      return false;
+    }
+    if (node instanceof Group) {
+      Group group = (Group) node;
+      return isNullable(group.body());
+    }
+    if (node instanceof Concat) {
+      Concat concat = (Concat) node;
+      return concat.items().stream().allMatch(LinearPatternCompiler::isNullable);
+    }
+    if (node instanceof Alternation) {
+      Alternation alternation = (Alternation) node;
+      return alternation.alternatives().stream().anyMatch(LinearPatternCompiler::isNullable);
+    }
+    if (node instanceof Repeat) {
+      Repeat repeat = (Repeat) node;
+      return repeat.min() == 0 || isNullable(repeat.body());
+    }
+    return true;
+  }
+
+  private static boolean hasCapturingGroup(Node node) {
+    if (node instanceof Group) {
+      Group group = (Group) node;
+      return group.index() > 0 || hasCapturingGroup(group.body());
+    }
+    if (node instanceof Concat) {
+      Concat concat = (Concat) node;
+      return concat.items().stream().anyMatch(LinearPatternCompiler::hasCapturingGroup);
+    }
+    if (node instanceof Alternation) {
+      Alternation alternation = (Alternation) node;
+      return alternation.alternatives().stream().anyMatch(LinearPatternCompiler::hasCapturingGroup);
+    }
+    return node instanceof Repeat && hasCapturingGroup(((Repeat) node).body());
+  }
+
+  private static boolean isAsciiDigit(int c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isOctalDigit(int c) {
+    return c >= '0' && c <= '7';
+  }
+
+  private static boolean isAsciiLetter(int c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isHex(String s, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (Character.digit(s.charAt(i), 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private PatternSyntaxException unsupported(String construct) {
+    return new PatternSyntaxException(
+        construct + " is not supported by the linear-time engine", regex, pos);
+  }
+
+  // --- Code generation -------------------------------------------------------------------------
+
+  private int emit(int op, int arg, int target) {
+    if (size == MAX_PROGRAM_SIZE) {
+      pos = 0;
+      throw unsupported("a pattern compiling to more than " + MAX_PROGRAM_SIZE + " instructions");
+    }
+    if (size == ops.length) {
+      ops = Arrays.copyOf(ops, size * 2);
+      args = Arrays.copyOf(args, size * 2);
+      targets = Arrays.copyOf(targets, size * 2);
+      guards = Arrays.copyOf(guards, size * 2);
+    }
+    ops[size] = op;
+    args[size] = arg;
+    targets[size] = target;
+    guards[size] = activeGuards;
+    return size++;
+  }
+
+  private void emit(Node node) {
+    if (node instanceof Literal) {
+      Literal literal = (Literal) node;
+      emit(CHAR, literal.codePoint(), 0);
+    } else if (node instanceof CharClass) {
+      CharClass charClass = (CharClass) node;
+      sets.add(charClass.ranges());
+      emit(SET, sets.size() - 1, 0);
+    } else if (node instanceof Assertion) {
+      Assertion assertion = (Assertion) node;
+      emit(ASSERT, assertion.kind(), 0);
+    } else if (node instanceof Group) {
+      Group group = (Group) node;
+      if (group.index() > 0) {
+        emit(SAVE, 2 * group.index(), 0);
+      }
+      emit(group.body());
+      if (group.index() > 0) {
+        emit(SAVE, 2 * group.index() + 1, 0);
+      }
+    } else if (node instanceof Concat) {
+      Concat concat = (Concat) node;
+      for (Node item : concat.items()) {
+        emit(item);
+      }
+    } else if (node instanceof Alternation) {
+      Alternation alternation = (Alternation) node;
+      List<Node> alternatives = alternation.alternatives();
+      int[] jumps = new int[alternatives.size() - 1];
+      for (int i = 0; i < jumps.length; i++) {
+        int split = emit(SPLIT, size + 1, 0);
+        emit(alternatives.get(i));
+        jumps[i] = emit(JMP, 0, 0);
+        targets[split] = size;
+      }
+      emit(alternatives.get(jumps.length));
+      for (int jump : jumps) {
+        args[jump] = size;
+      }
+    } else {
+      emitRepeat((Repeat) node);
+    }
+  }
+
+  /**
+   * Emits a repetition as {@code min} copies of its body followed by optional copies or a loop.
+   * SPLIT prefers its {@code arg} over its {@code target}, so the order of the two encodes
+   * greediness. Exits from the empty iteration check are patched once the end is known.
+   */
+  private void emitRepeat(Repeat repeat) {
+    List<Integer> exits = new ArrayList<>();
+    for (int i = 0; i < repeat.min(); i++) {
+      emitIteration(repeat, exits);
+    }
+    if (repeat.max() < 0) {
+      int loop = size;
+      int split = emit(SPLIT, 0, 0);
+      emitIteration(repeat, exits);
+      emit(JMP, loop, 0);
+      branch(split, loop + 1, repeat.greedy());
+      exits.add(split);
+    } else {
+      for (int i = repeat.min(); i < repeat.max(); i++) {
+        int split = emit(SPLIT, 0, 0);
+        branch(split, split + 1, repeat.greedy());
+        exits.add(split);
+        emitIteration(repeat, exits);
+      }
+    }
+    for (int exit : exits) {
+      if (ops[exit] == SPLIT) {
+        if (repeat.greedy()) {
+          targets[exit] = size;
+        } else {
+          args[exit] = size;
+        }
+      } else {
+        targets[exit] = size;
+      }
+    }
+  }
+
+  private void branch(int split, int body, boolean greedy) {
+    if (greedy) {
+      args[split] = body;
+    } else {
+      targets[split] = body;
+    }
+  }
+
+  private void emitIteration(Repeat repeat, List<Integer> exits) {
+    if (repeat.register() < 0) {
+      emit(repeat.body());
+      return;
+    }
+    int register = 2 * (groupCount + 1) + repeat.register();
+    emit(MARK, register, 0);
+    int[] enclosing = activeGuards;
+    activeGuards = Arrays.copyOf(enclosing, enclosing.length + 1);
+    activeGuards[enclosing.length] = register;
+    maxGuardDepth = Math.max(maxGuardDepth, activeGuards.length);
+    emit(repeat.body());
+    exits.add(emit(EXIT_IF_EMPTY, register, 0));
+    activeGuards = enclosing;
+  }
+}
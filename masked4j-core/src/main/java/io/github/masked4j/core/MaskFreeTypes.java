@@ -0,0 +1,180 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Decides which types can be skipped during traversal because no value reachable from them can hold
+ * a {@link Masked} or {@link MaskedPattern} field. Such types are called mask-free.
+ *
+ * <p>A class is mask-free when none of its fields is annotated and the declared type of every field
+ * is mask-free too. A declared type is only trusted when it fixes the runtime type: final classes
+ * (including records), enums, sealed hierarchies, arrays of those, and JDK collections or maps
+ * whose element type is one of those. Fields of other types ({@code Object}, interfaces, non-final
+ * classes, raw or wildcard collections) make their class not mask-free. Their values are checked
+ * again by their runtime type when they are reached.
+ *
+ * <p>JDK classes never declare masked fields, so all of them except collections and maps are
+ * mask-free and never reflected into.
+ *
+ * <p>Classes for which the annotation processor generated a {@link ClassMasker} are known to
+ * declare masked fields, so they are not reflected into either.
+ *
+ * <p>Results are computed once per class and cached. Instances are thread-safe.
+ */
+final class MaskFreeTypes {
+  private final Map<Class<?>, Boolean> cache = new ConcurrentHashMap<>();
+  private final Predicate<Class<?>> hasGeneratedMasker;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param hasGeneratedMasker whether a class has a build-time generated {@link ClassMasker}
+   */
+  MaskFreeTypes(Predicate<Class<?>> hasGeneratedMasker) {
+    this.hasGeneratedMasker = hasGeneratedMasker;
+  }
+
+  /**
+   * Returns whether an instance of exactly this class can be skipped.
+   *
+   * @param type the runtime class of a value
+   * @return {@code true} if nothing reachable from such an instance can be masked
+   */
+  boolean isMaskFree(Class<?> type) {
+    Boolean known = cache.get(type);
+    if (known != null) {
+      return known;
+    }
+    Set<Class<?>> seen = new HashSet<>();
+    boolean free = classFree(type, seen);
+    remember(type, seen, free);
+    return free;
+  }
+
+  /**
+   * Returns whether every value a field can hold is mask-free, judging by its declared type.
+   *
+   * @param field the field
+   * @return {@code true} if the field never needs to be traversed
+   */
+  boolean isMaskFree(Field field) {
+    Set<Class<?>> seen = new HashSet<>();
+    boolean free = typeFree(field.getGenericType(), seen);
+    if (free) {
+      remember(null, seen, true);
+    }
+    return free;
+  }
+
+  /**
+   * Caches a result. A class visited while computing a mask-free result is mask-free as well;
+   * otherwise only the class asked for is known, since the others were evaluated assuming the
+   * classes still in progress were mask-free.
+   */
+  private void remember(Class<?> type, Set<Class<?>> seen, boolean free) {
+    if (free) {
+      for (Class<?> clazz : seen) {
+        cache.put(clazz, Boolean.TRUE);
+      }
+    } else if (type != null) {
+      cache.put(type, Boolean.FALSE);
+    }
+  }
+
+  private boolean classFree(Class<?> type, Set<Class<?>> seen) {
+    Boolean known = cache.get(type);
+    if (known != null) {
+      return known;
+    }
+    if (!seen.add(type)) {
+      // In progress further up, or already found mask-free in this computation
+      return true;
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (type.isArray()) {
+      return typeFree(type.getComponentType(), seen);
+    }
+    if (Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+      // Elements are only known at runtime
+      return false;
+    }
+    if (hasGeneratedMasker.test(type)) {
+      return false;
+    }
+    for (Class<?> current = type;
+        current != null && !isJdkType(current);
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        if (field.isAnnotationPresent(Masked.class)
+            || field.isAnnotationPresent(MaskedPattern.class)
+            || !typeFree(field.getGenericType(), seen)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Returns whether every value of a declared type is mask-free. */
+  private boolean typeFree(Type type, Set<Class<?>> seen) {
+    if (type instanceof Class) {
+      Class<?> clazz = (Class<?>) type;
+      if (clazz.isArray()) {
+        return typeFree(clazz.getComponentType(), seen);
+      }
+      if (clazz.isSealed()) {
+        for (Class<?> permitted : clazz.getPermittedSubclasses()) {
+          if (!typeFree(permitted, seen)) {
+            return false;
+          }
+        }
+        return clazz.isInterface() || classFree(clazz, seen);
+      }
+      boolean exact =
+          clazz.isPrimitive() || clazz.isEnum() || Modifier.isFinal(clazz.getModifiers());
+      return exact && classFree(clazz, seen);
+    }
+    if (type instanceof ParameterizedType) {
+      Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+      Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+      if (Map.class.isAssignableFrom(raw)) {
+        // Only map values are traversed; subclasses outside the JDK may declare more fields
+        return isJdkType(raw) && arguments.length == 2 && typeFree(arguments[1], seen);
+      }
+      if (Iterable.class.isAssignableFrom(raw)) {
+        return isJdkType(raw) && arguments.length == 1 && typeFree(arguments[0], seen);
+      }
+      return typeFree(raw, seen);
+    }
+    if (type instanceof GenericArrayType) {
+      return typeFree(((GenericArrayType) type).getGenericComponentType(), seen);
+    }
+    // Type variables and wildcards
+    return false;
+  }
+
+  private static boolean isJdkType(Class<?> clazz) {
+    String name = clazz.getName();
+    return name.startsWith("java.")
+        || name.startsWith("javax.")
+        || name.startsWith("jdk.")
+        || name.startsWith("sun.")
+        || name.startsWith("com.sun.");
+  }
+}
@@ -1,6 +1,7 @@
 package io.github.masked4j.core;
 
 import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.annotation.RegexEngine;
 import io.github.masked4j.exception.MaskingConfigurationException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -22,6 +23,9 @@ import java.util.regex.PatternSyntaxException;
  *     Masked4JValidator.validatePatterns(UserDto.class, OrderDto.class);
  * }
  * }</pre>
+ *
+ * <p>Patterns run by the {@link RegexEngine#LINEAR linear-time engine} are also checked against the
+ * subset it supports.
  */
 public final class Masked4JValidator {
 
@@ -34,16 +38,71 @@ public final class Masked4JValidator {
    *
    * <p>Scans each class for fields annotated with {@link MaskedPattern} and attempts to compile the
    * regex pattern. If any pattern is invalid, throws {@link MaskingConfigurationException} with
-   * details about all invalid patterns found.
+   * details about all invalid patterns found. Patterns annotated with {@code engine =
+   * RegexEngine.LINEAR} must also be within the subset supported by {@link LinearPattern}.
    *
    * @param classes the classes to validate
    * @throws MaskingConfigurationException if any regex patterns are invalid
    */
   public static void validatePatterns(Class<?>... classes) {
+    collectPatterns(RegexEngine.DEFAULT, classes);
+  }
+
+  /**
+   * Validates all {@link MaskedPattern} annotations in the given classes like {@link
+   * #validatePatterns(Class[])}, treating patterns that use {@link RegexEngine#DEFAULT} as if they
+   * used {@link RegexEngine#LINEAR}. Use this when the engine is configured to run patterns with
+   * the linear-time engine by default, e.g. with {@link
+   * MaskingEngine.Builder#regexEngine(RegexEngine)}, to report every pattern that falls outside the
+   * supported subset.
+   *
+   * @param classes the classes to validate
+   * @throws MaskingConfigurationException if any regex patterns are invalid or not supported by the
+   *     linear-time engine
+   */
+  public static void validateLinearPatterns(Class<?>... classes) {
+    collectPatterns(RegexEngine.LINEAR, classes);
+  }
+
+  /**
+   * Validates all {@link MaskedPattern} annotations in the given classes like {@link
+   * #validatePatterns(Class[])}, then compiles their regexes into the given cache, so the first
+   * masking calls do not pay for compilation.
+   *
+   * <pre>{@code
+   * Masked4JValidator.prewarmPatterns(PatternCache.shared(), UserDto.class, OrderDto.class);
+   * }</pre>
+   *
+   * <p>Patterns annotated with {@code engine = RegexEngine.LINEAR} are compiled as {@link
+   * LinearPattern}s, the others as {@link java.util.regex.Pattern}s.
+   *
+   * @param cache the cache to fill, usually {@link PatternCache#shared()}
+   * @param classes the classes to validate
+   * @throws MaskingConfigurationException if any regex patterns are invalid; nothing is cached then
+   */
+  public static void prewarmPatterns(PatternCache cache, Class<?>... classes) {
+    List<MaskedPattern> annotations = collectPatterns(RegexEngine.DEFAULT, classes);
+    List<String> regexes = new ArrayList<>();
+    List<String> linearRegexes = new ArrayList<>();
+    for (MaskedPattern annotation : annotations) {
+      (annotation.engine() == RegexEngine.LINEAR ? linearRegexes : regexes).add(annotation.regex());
+    }
+    cache.prewarm(regexes);
+    cache.prewarmLinear(linearRegexes);
+  }
+
+  /**
+   * Validates the classes and returns their annotations, or throws if any is invalid.
+   *
+   * @param defaultEngine the engine assumed for annotations using {@link RegexEngine#DEFAULT}
+   */
+  private static List<MaskedPattern> collectPatterns(
+      RegexEngine defaultEngine, Class<?>... classes) {
     List<String> errors = new ArrayList<>();
+    List<MaskedPattern> annotations = new ArrayList<>();
 
     for (Class<?> clazz : classes) {
-      validateClass(clazz, errors);
+      validateClass(clazz, defaultEngine, errors, annotations);
     }
 
     if (!errors.isEmpty()) {
@@ -51,21 +110,31 @@ public final class Masked4JValidator {
           String.format(
               "Invalid @MaskedPattern configuration found:%n%s", String.join("\n", errors)));
     }
+    return annotations;
   }
 
   /**
    * Validates a single class and its superclasses for @MaskedPattern annotations.
    *
    * @param clazz the class to validate
+   * @param defaultEngine the engine assumed for annotations using {@link RegexEngine#DEFAULT}
    * @param errors list to collect error messages
+   * @param annotations list to collect the annotations found
    */
-  private static void validateClass(Class<?> clazz, List<String> errors) {
+  private static void validateClass(
+      Class<?> clazz,
+      RegexEngine defaultEngine,
+      List<String> errors,
+      List<MaskedPattern> annotations) {
     Class<?> current = clazz;
     while (current != null && current != Object.class) {
       for (Field field : current.getDeclaredFields()) {
         MaskedPattern annotation = field.getAnnotation(MaskedPattern.class);
         if (annotation != null) {
-          validatePattern(clazz, field, annotation, errors);
+          RegexEngine engine =
+              annotation.engine() == RegexEngine.DEFAULT ? defaultEngine : annotation.engine();
+          validatePattern(clazz, field, annotation, engine, errors);
+          annotations.add(annotation);
         }
       }
       current = current.getSuperclass();
@@ -78,48 +147,91 @@ public final class Masked4JValidator {
    * @param clazz the class containing the field
    * @param field the annotated field
    * @param annotation the annotation to validate
+   * @param engine the engine the pattern runs on
    * @param errors list to collect error messages
    */
   private static void validatePattern(
-      Class<?> clazz, Field field, MaskedPattern annotation, List<String> errors) {
-    String regex = annotation.regex();
+      Class<?> clazz,
+      Field field,
+      MaskedPattern annotation,
+      RegexEngine engine,
+      List<String> errors) {
+    for (String problem : validatePattern(annotation.regex(), annotation.replacement(), engine)) {
+      errors.add(String.format("  - %s.%s: %s", clazz.getSimpleName(), field.getName(), problem));
+    }
+  }
+
+  /**
+   * Validates a regex and replacement pair as used by {@link MaskedPattern}.
+   *
+   * <p>This is the check behind {@link #validatePatterns(Class[])}. It works on plain strings so
+   * that build-time tooling such as the masked4j annotation processor can apply exactly the same
+   * rules without loading the annotated classes.
+   *
+   * @param regex the regex pattern
+   * @param replacement the replacement string
+   * @return a description of each problem found, or an empty list if the pair is valid
+   */
+  public static List<String> validatePattern(String regex, String replacement) {
+    return validatePattern(regex, replacement, RegexEngine.DEFAULT);
+  }
+
+  /**
+   * Validates a regex and replacement pair as used by {@link MaskedPattern} with the given engine.
+   * For {@link RegexEngine#LINEAR}, a valid regex that uses a construct the linear-time engine does
+   * not support is reported as a problem as well.
+   *
+   * @param regex the regex pattern
+   * @param replacement the replacement string
+   * @param engine the engine the pattern runs on
+   * @return a description of each problem found, or an empty list if the pair is valid
+   */
+  public static List<String> validatePattern(String regex, String replacement, RegexEngine engine) {
+    List<String> problems = new ArrayList<>();
 
     // Check for empty regex
     if (regex == null || regex.isEmpty()) {
-      errors.add(
-          String.format(
-              "  - %s.%s: regex pattern is empty", clazz.getSimpleName(), field.getName()));
-      return;
+      problems.add("regex pattern is empty");
+      return problems;
     }
 
     // Try to compile the pattern
+    boolean compiled = true;
     try {
       java.util.regex.Pattern.compile(regex);
     } catch (PatternSyntaxException e) {
-      errors.add(
-          String.format(
-              "  - %s.%s: invalid regex '%s' - %s",
-              clazz.getSimpleName(), field.getName(), regex, e.getMessage()));
+      problems.add(String.format("invalid regex '%s' - %s", regex, e.getMessage()));
+      compiled = false;
+    }
+
+    // Check that the linear-time engine can run it
+    if (compiled && engine == RegexEngine.LINEAR) {
+      try {
+        LinearPattern.compile(regex);
+      } catch (PatternSyntaxException e) {
+        problems.add(
+            String.format(
+                "regex '%s' is outside the linear-time subset - %s near index %d",
+                regex, e.getDescription(), e.getIndex()));
+      }
     }
 
     // Validate replacement for group references
-    String replacement = annotation.replacement();
     if (replacement != null) {
-      validateReplacementGroups(clazz, field, regex, replacement, errors);
+      validateReplacementGroups(regex, replacement, problems);
     }
+    return problems;
   }
 
   /**
    * Validates that replacement string group references are valid.
    *
-   * @param clazz the class containing the field
-   * @param field the annotated field
    * @param regex the regex pattern
    * @param replacement the replacement string
-   * @param errors list to collect error messages
+   * @param problems list to collect problem descriptions
    */
   private static void validateReplacementGroups(
-      Class<?> clazz, Field field, String regex, String replacement, List<String> errors) {
+      String regex, String replacement, List<String> problems) {
     // Count groups in regex
     int groupCount = countGroups(regex);
 
@@ -129,10 +241,10 @@ public final class Masked4JValidator {
     while (matcher.find()) {
       int groupRef = Integer.parseInt(matcher.group(1));
       if (groupRef > groupCount) {
-        errors.add(
+        problems.add(
             String.format(
-                "  - %s.%s: replacement references group $%d but regex only has %d groups",
-                clazz.getSimpleName(), field.getName(), groupRef, groupCount));
+                "replacement references group $%d but regex only has %d groups",
+                groupRef, groupCount));
       }
     }
   }
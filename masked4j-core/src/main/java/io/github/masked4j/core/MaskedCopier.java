@@ -0,0 +1,523 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.exception.MaskingException;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Builds the masked copy of an object graph for {@link MaskingEngine#maskedCopy(Object)}.
+ *
+ * <p>The graph is walked depth-first with an explicit stack holding one frame per object,
+ * collection, map or array. A frame collects the new values of its slots (fields, elements or map
+ * values). When it completes, it is copied only if a slot changed, and the result is handed to its
+ * parent frame. This way unchanged subtrees are never duplicated.
+ *
+ * <p>Objects reached again are resolved from an identity map, so shared references stay shared in
+ * the copy. An object referenced again while its frame is still open (a cycle) is copied right
+ * away, so the reference can point to the copy, and its remaining slots are filled in when it
+ * completes.
+ *
+ * <p>One instance is used per call; it is not thread-safe.
+ */
+final class MaskedCopier {
+  // Returned by resolve() when a frame was pushed and the result is not known yet
+  private static final Object PENDING = new Object();
+  // Returned by Frame.mask() when the slot value has to be resolved as a nested value
+  private static final Object NESTED = new Object();
+
+  private static final ClassValue<Optional<Constructor<?>>> PUBLIC_CONSTRUCTORS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+          if (!Modifier.isPublic(type.getModifiers())) {
+            return Optional.empty();
+          }
+          try {
+            return Optional.of(type.getConstructor());
+          } catch (NoSuchMethodException | SecurityException e) {
+            return Optional.empty();
+          }
+        }
+      };
+
+  private final MaskingEngine engine;
+  private final int maxDepth;
+  // Original -> result (the copy, or the original if unchanged); open frames map to themselves
+  private final Map<Object, Object> results;
+  private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+  private Object rootResult;
+
+  MaskedCopier(MaskingEngine engine, boolean detectCycles, int maxDepth) {
+    this.engine = engine;
+    this.maxDepth = maxDepth;
+    this.results = detectCycles ? new IdentityHashMap<>() : null;
+  }
+
+  /**
+   * Builds the masked copy of a root value. Failures on the root itself propagate as is.
+   *
+   * @param root the value to copy, never {@code null}
+   * @return the masked copy, or the root itself if nothing was masked
+   */
+  Object copy(Object root) {
+    Object result = resolve(root, null, 0, 0);
+    if (result != PENDING) {
+      return result;
+    }
+    run();
+    return rootResult;
+  }
+
+  private void run() {
+    while (!stack.isEmpty()) {
+      Frame frame = stack.peek();
+      if (frame.cursor == frame.size()) {
+        stack.pop();
+        complete(frame);
+        continue;
+      }
+      int slot = frame.cursor++;
+      try {
+        Object value = frame.read(slot);
+        if (value == null) {
+          continue;
+        }
+        Object result = frame.mask(slot, value);
+        if (result == NESTED) {
+          result = resolve(value, frame, slot, frame.depth + 1);
+        }
+        if (result != PENDING) {
+          frame.set(slot, result);
+        }
+      } catch (RuntimeException e) {
+        fail(frame, slot, e);
+      }
+    }
+  }
+
+  /**
+   * Resolves a value to its result right away, or pushes a frame for it.
+   *
+   * @return the result, or {@link #PENDING} if a frame was pushed
+   */
+  private Object resolve(Object value, Frame parent, int parentSlot, int depth) {
+    Class<?> clazz = value.getClass();
+    if (!(value instanceof Iterable || value instanceof Map) && engine.isMaskFree(clazz)) {
+      return value;
+    }
+    if (results != null) {
+      Object known = results.get(value);
+      if (known instanceof Frame) {
+        // Cycle back to an open frame: copy it now so the reference can point to the copy
+        return ((Frame) known).preallocate();
+      }
+      if (known != null) {
+        return known;
+      }
+    }
+    if (depth > maxDepth) {
+      throw new MaskingProcessException(
+          String.format(
+              "Maximum masking depth of %d exceeded at an instance of '%s'",
+              maxDepth, clazz.getName()));
+    }
+
+    Frame frame;
+    if (value instanceof Object[]) {
+      frame = new ArrayFrame((Object[]) value);
+    } else if (value instanceof Map) {
+      frame = new MapFrame((Map<?, ?>) value);
+    } else if (value instanceof Iterable) {
+      frame = new IterableFrame((Iterable<?>) value);
+    } else if (clazz.isRecord()) {
+      RecordPlan plan = engine.getRecordPlan(clazz);
+      if (!plan.hasMaskedComponents()) {
+        return value;
+      }
+      frame = new RecordFrame(value, plan);
+    } else {
+      CopyPlan plan = engine.getCopyPlan(clazz);
+      if (plan.fields().length == 0) {
+        return value;
+      }
+      frame = new ObjectFrame(value, plan);
+    }
+    frame.parent = parent;
+    frame.parentSlot = parentSlot;
+    frame.depth = depth;
+    if (results != null) {
+      results.put(value, frame);
+    }
+    stack.push(frame);
+    return PENDING;
+  }
+
+  private void complete(Frame frame) {
+    Object result;
+    try {
+      result = frame.changed ? frame.build() : frame.original;
+    } catch (RuntimeException e) {
+      if (results != null) {
+        results.remove(frame.original);
+      }
+      if (frame.parent == null) {
+        throw e;
+      }
+      fail(frame.parent, frame.parentSlot, e);
+      return;
+    }
+    if (results != null) {
+      results.put(frame.original, result);
+    }
+    if (frame.parent == null) {
+      rootResult = result;
+    } else {
+      frame.parent.set(frame.parentSlot, result);
+    }
+  }
+
+  /**
+   * Applies the failure strategy to a slot: {@code REPLACE_WITH_NULL} sets it to {@code null} in
+   * the copy, {@code IGNORE} keeps the original value.
+   */
+  private void fail(Frame frame, int slot, RuntimeException e) {
+    MaskingException failure =
+        engine.fieldFailure(frame.ownerType(), frame.slotName(slot), frame.values[slot], e);
+    if (engine.handleException(failure)) {
+      frame.set(slot, null);
+    }
+  }
+
+  /**
+   * Creates an empty collection like the given one: of the same class if it has a public no-arg
+   * constructor, otherwise a {@code TreeSet}, {@code LinkedHashSet} or {@code ArrayList}.
+   */
+  @SuppressWarnings("unchecked")
+  static Collection<Object> newCollection(Collection<?> original) {
+    if (original instanceof SortedSet) {
+      return new TreeSet<>((Comparator<Object>) ((SortedSet<?>) original).comparator());
+    }
+    Object instance = newInstance(original.getClass());
+    if (instance instanceof Collection) {
+      return (Collection<Object>) instance;
+    }
+    return original instanceof Set
+        ? new LinkedHashSet<>(original.size() * 2)
+        : new ArrayList<>(original.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<Object, Object> newMap(Map<?, ?> original) {
+    if (original instanceof SortedMap) {
+      return new TreeMap<>((Comparator<Object>) ((SortedMap<?, ?>) original).comparator());
+    }
+    Object instance = newInstance(original.getClass());
+    if (instance instanceof Map) {
+      return (Map<Object, Object>) instance;
+    }
+    return new LinkedHashMap<>(original.size() * 2);
+  }
+
+  /** Instantiates a container class through its public no-arg constructor, if it has one. */
+  private static Object newInstance(Class<?> type) {
+    Optional<Constructor<?>> constructor = PUBLIC_CONSTRUCTORS.get(type);
+    if (constructor.isEmpty()) {
+      return null;
+    }
+    try {
+      return constructor.get().newInstance();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /** A value being copied, with the new values of its slots. */
+  private abstract static class Frame {
+    final Object original;
+    final Object[] values;
+    Frame parent;
+    int parentSlot;
+    int depth;
+    int cursor;
+    boolean changed;
+    // Copy created before completion, when a cycle leads back to this frame
+    Object copy;
+
+    Frame(Object original, Object[] values) {
+      this.original = original;
+      this.values = values;
+    }
+
+    int size() {
+      return values.length;
+    }
+
+    Object read(int slot) {
+      return values[slot];
+    }
+
+    /** Masks a slot value directly, or returns {@link #NESTED} to resolve it as a nested value. */
+    Object mask(int slot, Object value) {
+      return NESTED;
+    }
+
+    void set(int slot, Object result) {
+      if (result != values[slot]) {
+        values[slot] = result;
+        changed = true;
+      }
+    }
+
+    Object preallocate() {
+      if (copy == null) {
+        copy = allocate();
+        changed = true;
+      }
+      return copy;
+    }
+
+    /** Creates the copy, before its slots are filled in. */
+    abstract Object allocate();
+
+    /** Returns the copy holding the new slot values. */
+    abstract Object build();
+
+    Class<?> ownerType() {
+      return original.getClass();
+    }
+
+    String slotName(int slot) {
+      return "[" + slot + "]";
+    }
+  }
+
+  private final class ObjectFrame extends Frame {
+    private final CopyPlan plan;
+
+    ObjectFrame(Object original, CopyPlan plan) {
+      super(original, new Object[plan.fields().length]);
+      this.plan = plan;
+    }
+
+    @Override
+    Object read(int slot) {
+      FieldPlan fieldPlan = plan.fields()[slot];
+      try {
+        values[slot] = fieldPlan.accessor().get(original);
+      } catch (IllegalAccessException e) {
+        throw new MaskingProcessException(
+            String.format(
+                "Failed to access field '%s' in class '%s'",
+                fieldPlan.field().getName(), plan.type().getName()),
+            e);
+      }
+      return values[slot];
+    }
+
+    @Override
+    Object mask(int slot, Object value) {
+      FieldPlan fieldPlan = plan.fields()[slot];
+      switch (fieldPlan.action()) {
+        case MASK:
+        case REGEX:
+          return engine.maskValue(value, fieldPlan, plan.type(), true);
+        case RECURSE:
+          return NESTED;
+        case INVALID:
+        default:
+          throw fieldPlan.configurationError();
+      }
+    }
+
+    @Override
+    Object allocate() {
+      return plan.shallowCopy(original);
+    }
+
+    @Override
+    Object build() {
+      Object target = copy != null ? copy : allocate();
+      FieldPlan[] fields = plan.fields();
+      try {
+        for (int i = 0; i < fields.length; i++) {
+          fields[i].accessor().set(target, values[i]);
+        }
+      } catch (IllegalAccessException e) {
+        throw new MaskingProcessException(
+            String.format("Failed to copy instance of class '%s'", plan.type().getName()), e);
+      }
+      return target;
+    }
+
+    @Override
+    Class<?> ownerType() {
+      return plan.type();
+    }
+
+    @Override
+    String slotName(int slot) {
+      return plan.fields()[slot].field().getName();
+    }
+  }
+
+  private final class RecordFrame extends Frame {
+    private final RecordPlan plan;
+
+    RecordFrame(Object original, RecordPlan plan) {
+      super(original, plan.read(original));
+      this.plan = plan;
+    }
+
+    @Override
+    Object mask(int slot, Object value) {
+      FieldPlan fieldPlan = plan.plan(slot);
+      if (fieldPlan == null) {
+        return value;
+      }
+      switch (fieldPlan.action()) {
+        case MASK:
+        case REGEX:
+          return engine.maskValue(value, fieldPlan, plan.type(), true);
+        case RECURSE:
+          return NESTED;
+        case INVALID:
+        default:
+          throw fieldPlan.configurationError();
+      }
+    }
+
+    @Override
+    Object allocate() {
+      // A record is created with all its components, so it cannot be referenced before that
+      throw new MaskingProcessException(
+          String.format(
+              "Cannot create a masked copy of record '%s' that is part of a reference cycle",
+              plan.type().getName()));
+    }
+
+    @Override
+    Object build() {
+      return plan.newInstance(values.clone());
+    }
+
+    @Override
+    Class<?> ownerType() {
+      return plan.type();
+    }
+
+    @Override
+    String slotName(int slot) {
+      return plan.type().getRecordComponents()[slot].getName();
+    }
+  }
+
+  private static final class ArrayFrame extends Frame {
+    ArrayFrame(Object[] original) {
+      // The clone doubles as the copy
+      super(original, original.clone());
+    }
+
+    @Override
+    Object allocate() {
+      return ((Object[]) original).clone();
+    }
+
+    @Override
+    Object build() {
+      if (copy == null) {
+        return values;
+      }
+      System.arraycopy(values, 0, copy, 0, values.length);
+      return copy;
+    }
+  }
+
+  private static final class IterableFrame extends Frame {
+    IterableFrame(Iterable<?> original) {
+      super(original, snapshot(original));
+    }
+
+    private static Object[] snapshot(Iterable<?> iterable) {
+      if (iterable instanceof Collection) {
+        return ((Collection<?>) iterable).toArray();
+      }
+      List<Object> elements = new ArrayList<>();
+      for (Object element : iterable) {
+        elements.add(element);
+      }
+      return elements.toArray();
+    }
+
+    @Override
+    Object allocate() {
+      if (!(original instanceof Collection)) {
+        throw new MaskingProcessException(
+            String.format(
+                "Cannot create a masked copy of iterable type '%s'",
+                original.getClass().getName()));
+      }
+      return newCollection((Collection<?>) original);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Object build() {
+      Collection<Object> target = (Collection<Object>) (copy != null ? copy : allocate());
+      for (Object value : values) {
+        target.add(value);
+      }
+      return target;
+    }
+  }
+
+  private static final class MapFrame extends Frame {
+    private final Object[] keys;
+
+    MapFrame(Map<?, ?> original) {
+      super(original, new Object[original.size()]);
+      keys = new Object[values.length];
+      int i = 0;
+      for (Map.Entry<?, ?> entry : original.entrySet()) {
+        keys[i] = entry.getKey();
+        values[i] = entry.getValue();
+        i++;
+      }
+    }
+
+    @Override
+    Object allocate() {
+      return newMap((Map<?, ?>) original);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Object build() {
+      Map<Object, Object> target = (Map<Object, Object>) (copy != null ? copy : allocate());
+      for (int i = 0; i < keys.length; i++) {
+        target.put(keys[i], values[i]);
+      }
+      return target;
+    }
+
+    @Override
+    String slotName(int slot) {
+      return "[" + keys[slot] + "]";
+    }
+  }
+}
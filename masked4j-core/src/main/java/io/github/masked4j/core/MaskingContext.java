@@ -0,0 +1,35 @@
+package io.github.masked4j.core;
+
+/**
+ * Callbacks that {@link MaskingEngine} provides to a {@link ClassMasker}.
+ *
+ * <p>Keeps traversal and failure handling inside the engine, so a {@link ClassMasker} only deals
+ * with the fields of its own class.
+ */
+public interface MaskingContext {
+
+  /**
+   * Schedules a nested value (object, collection, map or array) for masking using the engine's
+   * traversal rules, including cycle detection and the maximum depth. The value may be masked after
+   * this method returns; failures while masking it are handled by the engine and reported against
+   * the given field.
+   *
+   * @param target the object owning the field
+   * @param fieldName the name of the field holding the value
+   * @param value the nested value, never {@code null}
+   */
+  void maskNested(Object target, String fieldName, Object value);
+
+  /**
+   * Reports a failure while masking a field and applies the engine's {@link
+   * io.github.masked4j.exception.MaskingFailureStrategy}.
+   *
+   * @param target the object owning the field
+   * @param fieldName the name of the field
+   * @param value the original field value
+   * @param cause the failure
+   * @return {@code true} if the caller must set the field to {@code null}
+   * @throws io.github.masked4j.exception.MaskingException if the strategy is {@code FAIL_FAST}
+   */
+  boolean onFailure(Object target, String fieldName, Object value, RuntimeException cause);
+}
@@ -4,16 +4,36 @@ import io.github.masked4j.Masker;
 import io.github.masked4j.annotation.MaskType;
 import io.github.masked4j.annotation.Masked;
 import io.github.masked4j.annotation.MaskedPattern;
-import io.github.masked4j.exception.MaskingConfigurationException;
+import io.github.masked4j.annotation.RegexEngine;
 import io.github.masked4j.exception.MaskingException;
 import io.github.masked4j.exception.MaskingFailureStrategy;
 import io.github.masked4j.exception.MaskingProcessException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.PatternSyntaxException;
 
 /**
@@ -24,109 +44,310 @@ import java.util.regex.PatternSyntaxException;
  * recursive masking for nested objects.
  */
 public class MaskingEngine {
-  // Cache for fields that need masking per class
-  private final Map<Class<?>, List<Field>> fieldCache = new ConcurrentHashMap<>();
-  // Cache for compiled regex patterns
-  private final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+  /**
+   * Default maximum nesting depth, see {@link Builder#maxDepth(int)}. Far above real payloads,
+   * since the traversal does not use the call stack; it only stops runaway graphs, such as cycles
+   * when cycle detection is disabled.
+   */
+  public static final int DEFAULT_MAX_DEPTH = 100_000;
+
+  // Smallest number of elements handed to a single parallel task
+  private static final int MIN_PARALLEL_CHUNK = 256;
+
+  // Cache for precomputed masking plans per class
+  private final Map<Class<?>, ClassMaskingPlan> planCache = new ConcurrentHashMap<>();
+  // Cache for plans used by maskedCopy, built on first use
+  private final Map<Class<?>, CopyPlan> copyPlanCache = new ConcurrentHashMap<>();
+  // Cache for record rebuild plans
+  private final Map<Class<?>, RecordPlan> recordPlanCache = new ConcurrentHashMap<>();
+  // Accessors for fields handled by class maskers, resolved by name when a nested value needs them
+  private final Map<Class<?>, Map<String, FieldAccessor>> namedAccessors =
+      new ConcurrentHashMap<>();
+  // Maskers generated by the annotation processor, per class loader and keyed by masked class
+  private final Map<ClassLoader, Map<Class<?>, ClassMasker<Object>>> generatedClassMaskers =
+      new ConcurrentHashMap<>();
+  // Types whose values can be skipped because nothing reachable from them is masked
+  private final MaskFreeTypes maskFreeTypes =
+      new MaskFreeTypes(type -> findGeneratedClassMasker(type) != null);
+  // Compiled regex patterns, shared with other engines and regex maskers by default
+  private final PatternCache patternCache;
+  // Engine for @MaskedPattern regexes that do not choose one, never DEFAULT
+  private final RegexEngine regexEngine;
   private final MaskingFailureStrategy failureStrategy;
+  private final FieldAccessStrategy fieldAccessStrategy;
+  private final boolean generateClassMaskers;
+  private final boolean detectCycles;
+  private final boolean maskCharArrays;
+  private final int maxDepth;
+  private final int parallelThreshold;
+  private final ForkJoinPool parallelPool;
+  // Per-thread traversal state, reused across calls to avoid allocating a visited set each time
+  private final ThreadLocal<Traversal> traversals = ThreadLocal.withInitial(Traversal::new);
 
   public MaskingEngine() {
     this(MaskingFailureStrategy.FAIL_FAST);
   }
 
   public MaskingEngine(MaskingFailureStrategy failureStrategy) {
-    this.failureStrategy = failureStrategy;
+    this(builder().failureStrategy(failureStrategy));
+  }
+
+  private MaskingEngine(Builder builder) {
+    this.failureStrategy = builder.failureStrategy;
+    this.fieldAccessStrategy = builder.fieldAccessStrategy;
+    this.generateClassMaskers = builder.generateClassMaskers;
+    this.detectCycles = builder.detectCycles;
+    this.maskCharArrays = builder.maskCharArrays;
+    this.maxDepth = builder.maxDepth;
+    this.parallelThreshold = builder.parallelThreshold;
+    this.parallelPool = builder.parallelPool;
+    this.patternCache = builder.patternCache;
+    this.regexEngine = builder.regexEngine;
+  }
+
+  /**
+   * Creates a builder for configuring a {@link MaskingEngine}.
+   *
+   * @return a new builder with default settings
+   */
+  public static Builder builder() {
+    return new Builder();
   }
 
   /**
    * Masks the fields of the given object based on {@link io.github.masked4j.annotation.Masked}
    * annotations.
    *
-   * <p>This method modifies the object in-place.
+   * <p>This method modifies the object in-place. Each object in the graph is masked at most once
+   * per call, so shared and cyclic references are safe unless cycle detection was disabled.
+   *
+   * <p>Records cannot be modified, so a record with masked components is rebuilt through its
+   * canonical constructor and replaces the original in the field, element or map value holding it.
+   * If {@code object} itself is such a record, the rebuilt record is returned and must be used
+   * instead of the argument.
    *
    * @param object the object to mask
    * @param <T> the type of the object
-   * @return the masked object
+   * @return the masked object, or a rebuilt instance if {@code object} is a record
    */
   public <T> T mask(T object) {
     if (object == null) {
       return null;
     }
 
+    Traversal traversal = acquireTraversal();
+    traversal.root = object;
+    try {
+      traversal.push(object, null, null, null, -1, 0);
+      drain(traversal);
+      @SuppressWarnings("unchecked")
+      T result = (T) traversal.root;
+      return result;
+    } finally {
+      traversal.reset();
+    }
+  }
+
+  /**
+   * Returns a masked copy of the given object, leaving the original untouched.
+   *
+   * <p>The copy is built in a single pass. Only objects on a path to a masked value are copied;
+   * everything else, including strings, boxed primitives, {@code java.time} values and subtrees
+   * without masked fields, is shared with the original. Shared and cyclic references are preserved
+   * in the copy. Copied classes need a no-arg constructor; collections and maps are copied into the
+   * same type when it has a public no-arg constructor, otherwise into an {@code ArrayList}, {@code
+   * LinkedHashSet} or {@code LinkedHashMap}.
+   *
+   * <p>Failures follow the configured {@link MaskingFailureStrategy}: {@code REPLACE_WITH_NULL}
+   * leaves the value {@code null} in the copy, {@code IGNORE} keeps the original value. Parallel
+   * masking does not apply to copies.
+   *
+   * @param object the object to copy
+   * @param <T> the type of the object
+   * @return the masked copy, or the object itself if it contains nothing to mask
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T maskedCopy(T object) {
+    if (object == null) {
+      return null;
+    }
+    return (T) new MaskedCopier(this, detectCycles, maxDepth).copy(object);
+  }
+
+  /**
+   * Quickly checks whether masking a value could change anything, without traversing it. The result
+   * is cached per class, so callers such as logging integrations can skip {@link #mask(Object)} or
+   * {@link #maskedCopy(Object)} for most values without allocating.
+   *
+   * @param object the value to check, may be {@code null}
+   * @return {@code false} if the value is {@code null} or its class cannot reach a masked field;
+   *     {@code true} for collections and maps, whose elements are only known by traversing them
+   */
+  public boolean mayContainMaskedValues(Object object) {
+    if (object == null) {
+      return false;
+    }
+    return object instanceof Iterable || object instanceof Map || !isMaskFree(object.getClass());
+  }
+
+  private Traversal acquireTraversal() {
+    Traversal traversal = traversals.get();
+    if (traversal.active) {
+      // Re-entrant call, e.g. from a custom masker or a stolen parallel task: keep the outer
+      // traversal state intact
+      traversal = new Traversal();
+    }
+    traversal.active = true;
+    return traversal;
+  }
+
+  /**
+   * Runs the traversal loop. Values are popped from the explicit stack and their children pushed
+   * back in reverse, which keeps the depth-first, field-order visit of a recursive walk without
+   * growing the Java stack, no matter how deep the object graph is.
+   */
+  private void drain(Traversal traversal) {
+    while (traversal.size > 0) {
+      int top = --traversal.size;
+      Object value = traversal.values[top];
+      Object owner = traversal.owners[top];
+      Object slot = traversal.slots[top];
+      Object container = traversal.containers[top];
+      int index = traversal.indexes[top];
+      int depth = traversal.depths[top];
+      traversal.values[top] = null;
+      traversal.owners[top] = null;
+      traversal.slots[top] = null;
+      traversal.containers[top] = null;
+
+      try {
+        if (value instanceof RecordState) {
+          completeRecord((RecordState) value, owner, slot, container, index, traversal);
+        } else {
+          visit(value, owner, slot, container, index, depth, traversal);
+        }
+      } catch (RuntimeException e) {
+        // Report the user's record rather than its internal rebuild state
+        Object failed = value instanceof RecordState ? ((RecordState) value).original : value;
+        if (owner == null) {
+          rootFailure(failed, container, index, e);
+        } else {
+          nestedFailure(owner, slot, failed, e);
+        }
+      }
+      traversal.reverse(top);
+    }
+  }
+
+  /**
+   * Masks one value and pushes its nested values. Elements of collections, maps and arrays keep the
+   * owner and slot of the container, so a failure while masking them is reported against the field
+   * that holds the container. {@code container} and {@code index} locate the value inside a
+   * collection, map entry, array or record being rebuilt, so a rebuilt record can replace it.
+   */
+  private void visit(
+      Object object,
+      Object owner,
+      Object slot,
+      Object container,
+      int index,
+      int depth,
+      Traversal traversal) {
+    Class<?> clazz = object.getClass();
+    if (!(object instanceof Iterable || object instanceof Map) && isMaskFree(clazz)) {
+      // Basic and JDK types, primitive arrays, and classes that cannot reach a masked field
+      return;
+    }
+    if (depth > maxDepth) {
+      throw new MaskingProcessException(
+          String.format(
+              "Maximum masking depth of %d exceeded at an instance of '%s'",
+              maxDepth, clazz.getName()));
+    }
+    if (!traversal.enter(object)) {
+      // Already masked, or scheduled earlier in this traversal
+      if (clazz.isRecord()) {
+        revisitRecord(object, owner, slot, container, index, traversal);
+      }
+      return;
+    }
+
+    if (parallelThreshold > 0) {
+      if (object instanceof Object[] && ((Object[]) object).length >= parallelThreshold) {
+        maskParallel(Arrays.asList((Object[]) object), owner, slot, depth + 1, traversal);
+        return;
+      }
+      if (object instanceof List
+          && object instanceof RandomAccess
+          && ((List<?>) object).size() >= parallelThreshold) {
+        maskParallel((List<?>) object, owner, slot, depth + 1, traversal);
+        return;
+      }
+    }
+
     if (object instanceof Iterable) {
+      boolean list = object instanceof List;
+      int i = 0;
       for (Object element : (Iterable<?>) object) {
-        mask(element);
+        traversal.push(element, owner, slot, object, list ? i++ : -1, depth + 1);
       }
-      return object;
+      return;
     }
 
     if (object instanceof Map) {
-      for (Object value : ((Map<?, ?>) object).values()) {
-        mask(value);
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+        traversal.push(entry.getValue(), owner, slot, entry, -1, depth + 1);
       }
-      return object;
+      return;
     }
 
-    if (object.getClass().isArray()) {
-      if (object instanceof Object[]) {
-        for (Object element : (Object[]) object) {
-          mask(element);
-        }
+    if (object instanceof Object[]) {
+      Object[] array = (Object[]) object;
+      for (int i = 0; i < array.length; i++) {
+        traversal.push(array[i], owner, slot, array, i, depth + 1);
       }
-      return object;
+      return;
     }
 
-    if (isBasicType(object.getClass())) {
-      return object;
+    if (clazz.isRecord()) {
+      visitRecord(object, owner, slot, container, index, depth, traversal);
+      return;
     }
 
-    Class<?> clazz = object.getClass();
-    List<Field> maskedFields = getMaskedFields(clazz);
+    ClassMaskingPlan plan = getPlan(clazz);
 
-    for (Field field : maskedFields) {
+    ClassMasker<Object> classMasker = plan.classMasker();
+    if (classMasker != null) {
+      traversal.depth = depth;
+      classMasker.mask(object, traversal);
+      return;
+    }
+
+    for (FieldPlan fieldPlan : plan.fields()) {
+      Field field = fieldPlan.field();
+      FieldAccessor accessor = fieldPlan.accessor();
       Object value = null;
       try {
-        value = field.get(object);
+        value = accessor.get(object);
         if (value == null) {
           continue;
         }
 
-        // Check for annotation conflicts
-        boolean hasMasked = field.isAnnotationPresent(Masked.class);
-        boolean hasMaskedPattern = field.isAnnotationPresent(MaskedPattern.class);
-
-        if (hasMasked && hasMaskedPattern) {
-          throw new MaskingConfigurationException(
-              String.format(
-                  "Field '%s' in class '%s' has both @Masked and @MaskedPattern annotations. Only one masking annotation is allowed per field.",
-                  field.getName(), clazz.getName()));
-        }
-
-        if (hasMaskedPattern) {
-          // Handle @MaskedPattern
-          if (value instanceof String) {
-            MaskedPattern annotation = field.getAnnotation(MaskedPattern.class);
-            String maskedValue = applyRegexMask((String) value, annotation, field, clazz);
-            field.set(object, maskedValue);
-          }
-        } else if (hasMasked) {
-          // Handle @Masked
-          Masked annotation = field.getAnnotation(Masked.class);
-          Masker masker;
-
-          if (annotation.value() == MaskType.CUSTOM) {
-            masker = MaskerFactory.getMasker(annotation.masker());
-          } else {
-            masker = MaskerFactory.getMasker(annotation.value());
-          }
-
-          if (value instanceof String) {
-            String maskedValue = masker.mask((String) value);
-            field.set(object, maskedValue);
-          }
-        } else {
-          // Recursive call for non-annotated fields that might contain masked fields
-          mask(value);
+        switch (fieldPlan.action()) {
+          case MASK:
+          case REGEX:
+            Object masked = maskValue(value, fieldPlan, clazz, false);
+            if (masked != value) {
+              accessor.set(object, masked);
+            }
+            break;
+          case RECURSE:
+            // Non-annotated fields that might contain masked fields are visited later
+            traversal.push(value, object, fieldPlan, null, -1, depth + 1);
+            break;
+          case INVALID:
+          default:
+            throw fieldPlan.configurationError();
         }
       } catch (IllegalAccessException e) {
         handleException(
@@ -134,119 +355,1218 @@ public class MaskingEngine {
                 String.format(
                     "Failed to access field '%s' in class '%s'", field.getName(), clazz.getName()),
                 e),
-            field,
+            fieldPlan,
             object);
-      } catch (MaskingConfigurationException e) {
-        handleException(e, field, object);
+      } catch (MaskingException e) {
+        handleException(e, fieldPlan, object);
       } catch (Exception e) {
-        handleException(
-            new MaskingProcessException(
+        handleException(fieldFailure(clazz, field.getName(), value, e), fieldPlan, object);
+      }
+    }
+  }
+
+  /**
+   * Masks the components of a record. Masked strings are replaced in a copy of the component
+   * values; nested values are pushed with the record's {@link RecordState} as their container,
+   * followed by the state itself, which rebuilds the record once all nested values are done.
+   */
+  private void visitRecord(
+      Object record,
+      Object owner,
+      Object slot,
+      Object container,
+      int index,
+      int depth,
+      Traversal traversal) {
+    RecordPlan plan = getRecordPlan(record.getClass());
+    if (!plan.hasMaskedComponents()) {
+      return;
+    }
+    RecordState state = new RecordState(record, plan);
+    traversal.registerRecord(record, state);
+    Object[] components = state.components;
+    for (int i = 0; i < components.length; i++) {
+      FieldPlan fieldPlan = plan.plan(i);
+      Object value = components[i];
+      if (fieldPlan == null || value == null) {
+        continue;
+      }
+      try {
+        switch (fieldPlan.action()) {
+          case MASK:
+          case REGEX:
+            state.replace(i, maskValue(value, fieldPlan, plan.type(), false));
+            break;
+          case RECURSE:
+            traversal.push(value, state, fieldPlan, state, i, depth + 1);
+            break;
+          case INVALID:
+          default:
+            throw fieldPlan.configurationError();
+        }
+      } catch (RuntimeException e) {
+        if (handleException(fieldFailure(plan.type(), fieldPlan.field().getName(), value, e))) {
+          state.replace(i, null);
+        }
+      }
+    }
+    // Pushed last so it is popped after all nested values of the record
+    traversal.push(state, owner, slot, container, index, depth);
+  }
+
+  /** Rebuilds a record once its nested values are masked, and puts it in place of the original. */
+  private void completeRecord(
+      RecordState state,
+      Object owner,
+      Object slot,
+      Object container,
+      int index,
+      Traversal traversal) {
+    Object original = state.original;
+    Object result;
+    try {
+      result = state.build();
+    } catch (RuntimeException e) {
+      state.complete(original);
+      throw e;
+    }
+    List<Object[]> revisits = state.complete(result);
+    if (result == original) {
+      return;
+    }
+    replace(owner, slot, container, index, original, result, traversal);
+    for (Object[] target : revisits) {
+      replaceOrFail(target, original, result, traversal);
+    }
+  }
+
+  /**
+   * Handles a record reached again: points the new location to the rebuilt record, or registers it
+   * to be updated once the record is rebuilt.
+   */
+  private void revisitRecord(
+      Object record, Object owner, Object slot, Object container, int index, Traversal traversal) {
+    RecordState state = traversal.record(record);
+    if (state == null) {
+      return;
+    }
+    Object[] target = {owner, slot, container, index};
+    Object result = state.resultOrRegister(target);
+    if (result != null && result != record) {
+      replaceOrFail(target, record, result, traversal);
+    }
+  }
+
+  private void replaceOrFail(Object[] target, Object original, Object result, Traversal traversal) {
+    Object owner = target[0];
+    try {
+      replace(owner, target[1], target[2], (Integer) target[3], original, result, traversal);
+    } catch (RuntimeException e) {
+      if (owner == null) {
+        rootFailure(original, target[2], (Integer) target[3], e);
+      } else {
+        nestedFailure(owner, target[1], original, e);
+      }
+    }
+  }
+
+  /** Puts a rebuilt record where the original was found. */
+  private void replace(
+      Object owner,
+      Object slot,
+      Object container,
+      int index,
+      Object original,
+      Object result,
+      Traversal traversal) {
+    if (container instanceof RecordState) {
+      ((RecordState) container).replace(index, result);
+    } else if (container instanceof Object[]) {
+      ((Object[]) container)[index] = result;
+    } else if (container instanceof List) {
+      @SuppressWarnings("unchecked")
+      List<Object> list = (List<Object>) container;
+      list.set(index, result);
+    } else if (container instanceof Map.Entry) {
+      @SuppressWarnings("unchecked")
+      Map.Entry<Object, Object> entry = (Map.Entry<Object, Object>) container;
+      entry.setValue(result);
+    } else if (container instanceof Collection) {
+      @SuppressWarnings("unchecked")
+      Collection<Object> collection = (Collection<Object>) container;
+      collection.remove(original);
+      collection.add(result);
+    } else if (container != null) {
+      throw new MaskingProcessException(
+          String.format(
+              "Cannot replace a rebuilt record inside an instance of '%s'",
+              container.getClass().getName()));
+    } else if (owner == null) {
+      traversal.root = result;
+    } else {
+      try {
+        slotAccessor(owner, slot).set(owner, result);
+      } catch (IllegalAccessException e) {
+        throw new MaskingProcessException(
+            String.format("Failed to replace record in class '%s'", owner.getClass().getName()), e);
+      }
+    }
+  }
+
+  /**
+   * Masks the elements of a large random-access list concurrently in {@link #parallelPool}, and
+   * waits for all of them. From here on the traversal shares its visited set with the tasks, so
+   * every object is still masked only once.
+   */
+  private void maskParallel(
+      List<?> elements, Object owner, Object slot, int elementDepth, Traversal traversal) {
+    ConcurrentIdentitySet shared = traversal.share();
+    Map<Object, RecordState> records = traversal.records;
+    int chunkSize =
+        Math.max(MIN_PARALLEL_CHUNK, elements.size() / (parallelPool.getParallelism() * 4));
+    ParallelMaskTask task =
+        new ParallelMaskTask(
+            elements, 0, elements.size(), chunkSize, owner, slot, elementDepth, shared, records);
+    parallelPool.invoke(task);
+    RuntimeException failure = task.failure.get();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Applies the failure strategy to a failure raised while masking a nested value, replacing the
+   * owning field with {@code null} if required.
+   *
+   * @param owner the object holding the field the value was reached through
+   * @param slot the {@link FieldPlan} of that field, or its name when pushed by a {@link
+   *     ClassMasker}
+   * @param value the nested value that failed
+   * @param e the failure
+   */
+  private void nestedFailure(Object owner, Object slot, Object value, RuntimeException e) {
+    if (owner instanceof RecordState) {
+      RecordState state = (RecordState) owner;
+      FieldPlan fieldPlan = (FieldPlan) slot;
+      if (handleException(fieldFailure(state.plan.type(), fieldPlan.field().getName(), value, e))) {
+        state.replace(state.plan.indexOf(fieldPlan), null);
+      }
+      return;
+    }
+    if (slot instanceof FieldPlan) {
+      FieldPlan fieldPlan = (FieldPlan) slot;
+      handleException(
+          fieldFailure(owner.getClass(), fieldPlan.field().getName(), value, e), fieldPlan, owner);
+      return;
+    }
+    String fieldName = (String) slot;
+    if (handleException(fieldFailure(owner.getClass(), fieldName, value, e))) {
+      try {
+        slotAccessor(owner, fieldName).set(owner, null);
+      } catch (IllegalAccessException | RuntimeException ex) {
+        throw new MaskingProcessException("Failed to set field to null during error handling", ex);
+      }
+    }
+  }
+
+  /**
+   * Applies the failure strategy to a failure raised while masking the root value or an element of
+   * a root collection, map or array, which are not reached through a field. Failures on the root
+   * value itself propagate as is; a failing element is replaced with {@code null} in its list, map
+   * entry or array if required.
+   *
+   * @param value the value that failed
+   * @param container the list, map entry or array holding it, or {@code null} for the root value
+   * @param index the index of the value in a list or array
+   * @param e the failure
+   */
+  private void rootFailure(Object value, Object container, int index, RuntimeException e) {
+    if (container == null) {
+      throw e;
+    }
+    MaskingException failure =
+        e instanceof MaskingException
+            ? (MaskingException) e
+            : new MaskingProcessException(
                 String.format(
-                    "Error masking field '%s' in class '%s'. Value: '%s'",
-                    field.getName(), clazz.getName(), value),
-                e),
-            field,
-            object);
+                    "Error masking an element of '%s'. Value: '%s'",
+                    container.getClass().getName(), value),
+                e);
+    if (!handleException(failure)) {
+      return;
+    }
+    try {
+      if (container instanceof Object[]) {
+        ((Object[]) container)[index] = null;
+      } else if (container instanceof List && index >= 0) {
+        ((List<?>) container).set(index, null);
+      } else if (container instanceof Map.Entry) {
+        ((Map.Entry<?, ?>) container).setValue(null);
       }
+    } catch (RuntimeException ex) {
+      throw new MaskingProcessException("Failed to set element to null during error handling", ex);
     }
-    return object;
   }
 
-  private void handleException(MaskingException e, Field field, Object object) {
+  /**
+   * Returns the accessor for the field a nested value was reached through.
+   *
+   * @param owner the object holding the field
+   * @param slot the field's {@link FieldPlan}, or its name when pushed by a {@link ClassMasker}
+   */
+  private FieldAccessor slotAccessor(Object owner, Object slot) {
+    if (slot instanceof FieldPlan) {
+      return ((FieldPlan) slot).accessor();
+    }
+    Class<?> clazz = owner.getClass();
+    return namedAccessors
+        .computeIfAbsent(clazz, c -> new ConcurrentHashMap<>())
+        .computeIfAbsent((String) slot, name -> findAccessor(clazz, name));
+  }
+
+  /** Resolves a field accessor by name, for fields handled by class maskers. */
+  private FieldAccessor findAccessor(Class<?> clazz, String fieldName) {
+    for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.getName().equals(fieldName) && !Modifier.isStatic(field.getModifiers())) {
+          field.setAccessible(true);
+          return FieldAccessor.of(field, fieldAccessStrategy);
+        }
+      }
+    }
+    throw new MaskingProcessException(
+        String.format("Field '%s' not found in class '%s'", fieldName, clazz.getName()));
+  }
+
+  MaskingException fieldFailure(Class<?> clazz, String fieldName, Object value, Exception e) {
+    if (e instanceof MaskingException) {
+      // Configuration errors and failures raised by nested objects already carry their context
+      return (MaskingException) e;
+    }
+    return new MaskingProcessException(
+        String.format(
+            "Error masking field '%s' in class '%s'. Value: '%s'",
+            fieldName, clazz.getName(), value),
+        e);
+  }
+
+  private void handleException(MaskingException e, FieldPlan fieldPlan, Object object) {
+    if (handleException(e)) {
+      try {
+        fieldPlan.accessor().set(object, null);
+      } catch (IllegalAccessException ex) {
+        // If we can't even set null, we must fail
+        throw new MaskingProcessException("Failed to set field to null during error handling", ex);
+      }
+    }
+  }
+
+  /**
+   * Applies the failure strategy.
+   *
+   * @return {@code true} if the failing field must be replaced with {@code null}
+   */
+  boolean handleException(MaskingException e) {
     switch (failureStrategy) {
       case FAIL_FAST:
         throw e;
       case REPLACE_WITH_NULL:
-        try {
-          field.set(object, null);
-        } catch (IllegalAccessException ex) {
-          // If we can't even set null, we must fail
-          throw new MaskingProcessException(
-              "Failed to set field to null during error handling", ex);
-        }
-        break;
+        return true;
       case IGNORE:
       default:
         // Log warning (using System.err for now as we don't have a logger dependency in
         // core)
         System.err.println("[Masked4J] Warning: " + e.getMessage());
-        break;
+        return false;
+    }
+  }
+
+  /**
+   * Masks the non-null value of a {@link Masked} or {@link MaskedPattern} field by its runtime
+   * type:
+   *
+   * <ul>
+   *   <li>a {@code String} is masked, as is the {@code String} held by an {@code Optional};
+   *   <li>the {@code String} elements of a collection or an object array are masked, in place
+   *       unless {@code copy} is set or the collection cannot be modified;
+   *   <li>other character sequences and numbers are masked by their string form, if the field can
+   *       hold a {@code String}; an {@code Integer} or {@code long} field keeps its value, since it
+   *       cannot hold masked text;
+   *   <li>a {@code char[]} is masked with {@link Masker#mask(char[], int, int)} if enabled.
+   * </ul>
+   *
+   * @param value the value to mask
+   * @param fieldPlan the plan of the field holding it
+   * @param clazz the class containing the field (for error reporting)
+   * @param copy whether the value must not be modified, as for {@link #maskedCopy(Object)}
+   * @return the masked value, or {@code value} if it was masked in place or cannot be masked
+   */
+  Object maskValue(Object value, FieldPlan fieldPlan, Class<?> clazz, boolean copy) {
+    if (value instanceof String) {
+      return maskText((String) value, fieldPlan, clazz);
+    }
+    if (value instanceof Optional) {
+      Object content = ((Optional<?>) value).orElse(null);
+      return content instanceof String
+          ? Optional.of(maskText((String) content, fieldPlan, clazz))
+          : value;
+    }
+    if (value instanceof Collection) {
+      return maskElements((Collection<?>) value, fieldPlan, clazz, copy);
+    }
+    if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      for (int i = 0; i < array.length; i++) {
+        if (array[i] instanceof String) {
+          String masked = maskText((String) array[i], fieldPlan, clazz);
+          if (copy && array == value) {
+            array = array.clone();
+          }
+          array[i] = masked;
+        }
+      }
+      return array;
+    }
+    if (value instanceof char[]) {
+      if (!maskCharArrays || fieldPlan.action() != FieldPlan.Action.MASK) {
+        return value;
+      }
+      char[] chars = (char[]) value;
+      return maskChars(copy ? chars.clone() : chars, fieldPlan.masker());
+    }
+    if ((value instanceof CharSequence || value instanceof Number) && fieldPlan.holdsText()) {
+      return maskText(value.toString(), fieldPlan, clazz);
     }
+    return value;
+  }
+
+  /**
+   * Masks the {@code String} elements of a collection. Lists are updated element by element and
+   * other collections are refilled; a copy is returned if {@code copy} is set or the collection
+   * rejects the update, such as one created by {@code List.of}.
+   */
+  private Object maskElements(
+      Collection<?> collection, FieldPlan fieldPlan, Class<?> clazz, boolean copy) {
+    Object[] elements = null;
+    int index = 0;
+    for (Object element : collection) {
+      if (element instanceof String) {
+        String masked = maskText((String) element, fieldPlan, clazz);
+        if (elements == null) {
+          elements = collection.toArray();
+        }
+        elements[index] = masked;
+      }
+      index++;
+    }
+    if (elements == null) {
+      return collection;
+    }
+    @SuppressWarnings("unchecked")
+    Collection<Object> target = (Collection<Object>) collection;
+    if (!copy) {
+      try {
+        if (target instanceof List) {
+          ListIterator<Object> iterator = ((List<Object>) target).listIterator();
+          for (Object element : elements) {
+            iterator.next();
+            iterator.set(element);
+          }
+        } else {
+          target.clear();
+          Collections.addAll(target, elements);
+        }
+        return collection;
+      } catch (UnsupportedOperationException e) {
+        // Unmodifiable, so the field gets a modifiable copy if its type allows
+        Collection<Object> masked = MaskedCopier.newCollection(target);
+        if (!fieldPlan.field().getType().isInstance(masked)) {
+          throw e;
+        }
+        Collections.addAll(masked, elements);
+        return masked;
+      }
+    }
+    Collection<Object> masked = MaskedCopier.newCollection(target);
+    Collections.addAll(masked, elements);
+    return masked;
+  }
+
+  /** Masks a string with the field's masker or regex. */
+  private String maskText(String value, FieldPlan fieldPlan, Class<?> clazz) {
+    return fieldPlan.action() == FieldPlan.Action.REGEX
+        ? applyRegexMask(value, fieldPlan, clazz)
+        : fieldPlan.masker().mask(value);
   }
 
   /**
    * Applies regex-based masking to a string value.
    *
    * @param value the string value to mask
-   * @param annotation the @MaskedPattern annotation
-   * @param field the field being masked (for error reporting)
+   * @param fieldPlan the plan holding the compiled pattern and replacement
    * @param clazz the class containing the field (for error reporting)
    * @return the masked value
    */
-  private String applyRegexMask(
-      String value, MaskedPattern annotation, Field field, Class<?> clazz) {
-    String regex = annotation.regex();
-    String replacement = annotation.replacement();
-
+  String applyRegexMask(String value, FieldPlan fieldPlan, Class<?> clazz) {
     try {
-      // Get or compile pattern (with caching)
-      Pattern pattern =
-          patternCache.computeIfAbsent(
-              regex,
-              r -> {
-                try {
-                  return Pattern.compile(r);
-                } catch (PatternSyntaxException e) {
-                  throw new MaskingConfigurationException(
-                      String.format(
-                          "Invalid regex pattern '%s' for field '%s' in class '%s': %s",
-                          r, field.getName(), clazz.getName(), e.getMessage()),
-                      e);
-                }
-              });
-
-      // Apply masking
-      return pattern.matcher(value).replaceAll(replacement);
-    } catch (MaskingConfigurationException e) {
-      // Re-throw configuration exceptions
-      throw e;
+      return fieldPlan.replaceAll(value);
     } catch (Exception e) {
       throw new MaskingProcessException(
           String.format(
               "Failed to apply regex mask to field '%s' in class '%s'. Regex: '%s', Replacement: '%s'",
-              field.getName(), clazz.getName(), regex, replacement),
+              fieldPlan.field().getName(),
+              clazz.getName(),
+              fieldPlan.regex(),
+              fieldPlan.replacement()),
           e);
     }
   }
 
-  private boolean isBasicType(Class<?> clazz) {
+  /**
+   * Returns whether values of exactly this class can be skipped, because no field reachable from
+   * them is masked.
+   */
+  boolean isMaskFree(Class<?> clazz) {
+    return maskFreeTypes.isMaskFree(clazz);
+  }
+
+  /**
+   * Masks a {@code char[]} value in place with {@link Masker#mask(char[], int, int)}.
+   *
+   * @return {@code chars} if the masked value has the same length, otherwise a new array holding
+   *     it, in which case {@code chars} is cleared
+   */
+  char[] maskChars(char[] chars, Masker masker) {
+    int length = masker.mask(chars, 0, chars.length);
+    if (length == chars.length) {
+      return chars;
+    }
+    char[] masked = Arrays.copyOf(chars, length);
+    if (length > chars.length) {
+      // Did not fit, so nothing was written: mask the copy, which has room for the result
+      masker.mask(masked, 0, chars.length);
+    }
+    Arrays.fill(chars, '\0');
+    return masked;
+  }
+
+  boolean isBasicType(Class<?> clazz) {
     return clazz.isPrimitive()
         || clazz.getName().startsWith("java.lang.")
         || clazz.getName().startsWith("java.math.")
         || clazz.getName().startsWith("java.time.");
   }
 
-  private List<Field> getMaskedFields(Class<?> clazz) {
-    return fieldCache.computeIfAbsent(
-        clazz,
-        k -> {
-          List<Field> fields = new ArrayList<>();
-          Class<?> current = k;
-          while (current != null && !isBasicType(current)) {
-            for (Field field : current.getDeclaredFields()) {
-              field.setAccessible(true);
-              // Add field if it has @Masked, @MaskedPattern, OR if it's a complex type that
-              // might need
-              // recursion
-              if (field.isAnnotationPresent(Masked.class)
-                  || field.isAnnotationPresent(MaskedPattern.class)
-                  || !isBasicType(field.getType())) {
-                fields.add(field);
-              }
-            }
-            current = current.getSuperclass();
-          }
-          return fields;
-        });
+  private ClassMaskingPlan getPlan(Class<?> clazz) {
+    return planCache.computeIfAbsent(clazz, this::buildPlan);
+  }
+
+  /**
+   * Builds the masking plan for a class. Every annotation lookup, masker resolution and regex
+   * compilation happens here, once per class.
+   */
+  private ClassMaskingPlan buildPlan(Class<?> clazz) {
+    ClassMasker<Object> generated =
+        regexEngine == RegexEngine.LINEAR && hasDefaultEnginePattern(clazz)
+            ? null
+            : findGeneratedClassMasker(clazz);
+    if (generated != null) {
+      return new ClassMaskingPlan(clazz, new FieldPlan[0], generated);
+    }
+
+    FieldPlan[] plans = buildFieldPlans(clazz);
+    ClassMasker<Object> classMasker =
+        generateClassMaskers ? ClassMaskerGenerator.generate(clazz, plans) : null;
+    return new ClassMaskingPlan(clazz, plans, classMasker);
+  }
+
+  /** Resolves the reflective field plans of a class, including inherited fields. */
+  private FieldPlan[] buildFieldPlans(Class<?> clazz) {
+    List<FieldPlan> fields = new ArrayList<>();
+    Class<?> current = clazz;
+    while (current != null && !isBasicType(current)) {
+      for (Field field : current.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        Masked masked = field.getAnnotation(Masked.class);
+        MaskedPattern maskedPattern = field.getAnnotation(MaskedPattern.class);
+        // Add field if it has @Masked, @MaskedPattern, OR if its type might reach a masked
+        // field
+        if (masked == null && maskedPattern == null && maskFreeTypes.isMaskFree(field)) {
+          continue;
+        }
+        field.setAccessible(true);
+        FieldAccessor accessor = FieldAccessor.of(field, fieldAccessStrategy);
+        fields.add(planField(clazz, field, accessor, masked, maskedPattern));
+      }
+      current = current.getSuperclass();
+    }
+    return fields.toArray(new FieldPlan[0]);
+  }
+
+  CopyPlan getCopyPlan(Class<?> clazz) {
+    return copyPlanCache.computeIfAbsent(clazz, this::buildCopyPlan);
+  }
+
+  /**
+   * Builds the plan for masked copies of a class: its field plans plus what is needed to make a
+   * shallow copy. Classes without a no-arg constructor get a plan that fails only when a copy is
+   * required.
+   */
+  private CopyPlan buildCopyPlan(Class<?> clazz) {
+    FieldPlan[] plans = buildFieldPlans(clazz);
+    Constructor<?> constructor;
+    try {
+      constructor = clazz.getDeclaredConstructor();
+      constructor.setAccessible(true);
+    } catch (NoSuchMethodException | RuntimeException e) {
+      return CopyPlan.uncopyable(
+          clazz,
+          plans,
+          String.format(
+              "Cannot create a masked copy of class '%s': no accessible no-arg constructor",
+              clazz.getName()));
+    }
+    List<FieldAccessor> allFields = new ArrayList<>();
+    for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          field.setAccessible(true);
+          allFields.add(FieldAccessor.of(field, fieldAccessStrategy));
+        }
+      }
+    }
+    return CopyPlan.of(clazz, plans, allFields.toArray(new FieldAccessor[0]), constructor);
+  }
+
+  RecordPlan getRecordPlan(Class<?> clazz) {
+    return recordPlanCache.computeIfAbsent(clazz, this::buildRecordPlan);
+  }
+
+  /**
+   * Builds the rebuild plan of a record class. Components are planned like fields, and the
+   * canonical constructor is adapted to take all components as one {@code Object[]}.
+   */
+  private RecordPlan buildRecordPlan(Class<?> clazz) {
+    RecordComponent[] recordComponents = clazz.getRecordComponents();
+    Class<?>[] types = new Class<?>[recordComponents.length];
+    FieldAccessor[] components = new FieldAccessor[recordComponents.length];
+    FieldPlan[] plans = new FieldPlan[recordComponents.length];
+    for (int i = 0; i < recordComponents.length; i++) {
+      types[i] = recordComponents[i].getType();
+      Field field;
+      try {
+        field = clazz.getDeclaredField(recordComponents[i].getName());
+      } catch (NoSuchFieldException e) {
+        throw new MaskingProcessException(
+            String.format(
+                "Record component '%s' of '%s' has no field",
+                recordComponents[i].getName(), clazz.getName()),
+            e);
+      }
+      field.setAccessible(true);
+      components[i] = FieldAccessor.of(field, fieldAccessStrategy);
+      Masked masked = field.getAnnotation(Masked.class);
+      MaskedPattern maskedPattern = field.getAnnotation(MaskedPattern.class);
+      if (masked != null || maskedPattern != null || !maskFreeTypes.isMaskFree(field)) {
+        plans[i] = planField(clazz, field, components[i], masked, maskedPattern);
+      }
+    }
+    try {
+      MethodHandle constructor =
+          MethodHandles.privateLookupIn(clazz, MethodHandles.lookup())
+              .findConstructor(clazz, MethodType.methodType(void.class, types))
+              .asSpreader(Object[].class, types.length)
+              .asType(MethodType.methodType(Object.class, Object[].class));
+      return new RecordPlan(clazz, components, plans, constructor);
+    } catch (ReflectiveOperationException e) {
+      throw new MaskingProcessException(
+          String.format("Cannot access the canonical constructor of record '%s'", clazz.getName()),
+          e);
+    }
+  }
+
+  /**
+   * Finds the masker generated for a class by the masked4j annotation processor, if present.
+   *
+   * @param clazz the class to mask
+   * @return the generated masker, or {@code null} if none was generated or it cannot be used
+   */
+  private ClassMasker<Object> findGeneratedClassMasker(Class<?> clazz) {
+    ClassLoader loader = clazz.getClassLoader();
+    if (loader == null) {
+      // JDK classes
+      return null;
+    }
+    return generatedClassMaskers
+        .computeIfAbsent(loader, MaskingEngine::loadGeneratedClassMaskers)
+        .get(clazz);
+  }
+
+  /**
+   * Instantiates the maskers that the annotation processor registered as {@link ClassMasker}
+   * services, visible from a class loader.
+   *
+   * @return the maskers keyed by the class they mask
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<Class<?>, ClassMasker<Object>> loadGeneratedClassMaskers(ClassLoader loader) {
+    Map<Class<?>, ClassMasker<Object>> maskers = new HashMap<>();
+    Iterator<?> providers = ServiceLoader.load(ClassMasker.class, loader).iterator();
+    while (true) {
+      ClassMasker<Object> masker;
+      try {
+        if (!providers.hasNext()) {
+          break;
+        }
+        masker = (ClassMasker<Object>) providers.next();
+      } catch (ServiceConfigurationError e) {
+        // e.g. a custom masker that cannot be instantiated: the reflective plan reports such
+        // problems per field
+        continue;
+      }
+      if (masker.maskedClass() != null) {
+        maskers.putIfAbsent(masker.maskedClass(), masker);
+      }
+    }
+    return maskers;
+  }
+
+  /**
+   * Returns whether a class declares or inherits a {@link MaskedPattern} field that uses the
+   * globally configured engine. Maskers generated by the annotation processor always run such
+   * fields on {@link RegexEngine#JDK}, so they cannot be used when the global engine differs.
+   */
+  private static boolean hasDefaultEnginePattern(Class<?> clazz) {
+    for (Class<?> current = clazz;
+        current != null && current != Object.class;
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        MaskedPattern maskedPattern = field.getAnnotation(MaskedPattern.class);
+        if (maskedPattern != null && maskedPattern.engine() == RegexEngine.DEFAULT) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private FieldPlan planField(
+      Class<?> clazz,
+      Field field,
+      FieldAccessor accessor,
+      Masked masked,
+      MaskedPattern maskedPattern) {
+    if (masked != null && maskedPattern != null) {
+      return FieldPlan.invalid(
+          field,
+          accessor,
+          String.format(
+              "Field '%s' in class '%s' has both @Masked and @MaskedPattern annotations. Only one masking annotation is allowed per field.",
+              field.getName(), clazz.getName()),
+          null);
+    }
+
+    if (maskedPattern != null) {
+      String regex = maskedPattern.regex();
+      RegexEngine engine =
+          maskedPattern.engine() == RegexEngine.DEFAULT ? regexEngine : maskedPattern.engine();
+      try {
+        return engine == RegexEngine.LINEAR
+            ? FieldPlan.regex(
+                field, accessor, patternCache.getLinear(regex), maskedPattern.replacement())
+            : FieldPlan.regex(
+                field, accessor, patternCache.get(regex), maskedPattern.replacement());
+      } catch (PatternSyntaxException e) {
+        return FieldPlan.invalid(
+            field,
+            accessor,
+            String.format(
+                "Invalid regex pattern '%s' for field '%s' in class '%s': %s",
+                regex, field.getName(), clazz.getName(), e.getMessage()),
+            e);
+      }
+    }
+
+    if (masked != null) {
+      try {
+        Masker masker =
+            masked.value() == MaskType.CUSTOM
+                ? MaskerFactory.getMasker(masked.masker())
+                : MaskerFactory.getMasker(masked.value());
+        return FieldPlan.mask(field, accessor, masker);
+      } catch (MaskingException e) {
+        return FieldPlan.invalid(
+            field,
+            accessor,
+            String.format(
+                "Failed to resolve masker for field '%s' in class '%s': %s",
+                field.getName(), clazz.getName(), e.getMessage()),
+            e);
+      }
+    }
+
+    return FieldPlan.recurse(field, accessor);
+  }
+
+  /**
+   * A record being rebuilt during one traversal. Holds the component values, replaced as nested
+   * values are masked, and the other places the record was found at, which are updated once it is
+   * rebuilt. Synchronized since parallel tasks may reach the same record.
+   */
+  private static final class RecordState {
+    final Object original;
+    final RecordPlan plan;
+    final Object[] components;
+    private boolean changed;
+    private boolean done;
+    private Object result;
+    private List<Object[]> pending;
+
+    RecordState(Object original, RecordPlan plan) {
+      this.original = original;
+      this.plan = plan;
+      this.components = plan.read(original);
+    }
+
+    synchronized void replace(int index, Object value) {
+      if (components[index] != value) {
+        components[index] = value;
+        changed = true;
+      }
+    }
+
+    synchronized Object build() {
+      return changed ? plan.newInstance(components.clone()) : original;
+    }
+
+    /** Records the rebuilt record and returns the places still holding the original. */
+    synchronized List<Object[]> complete(Object rebuilt) {
+      done = true;
+      result = rebuilt;
+      List<Object[]> targets = pending == null ? List.of() : pending;
+      pending = null;
+      return targets;
+    }
+
+    /**
+     * Returns the rebuilt record, or registers a place to update if it is not rebuilt yet.
+     *
+     * @param target owner, slot, container and index of the place holding the original
+     */
+    synchronized Object resultOrRegister(Object[] target) {
+      if (done) {
+        return result;
+      }
+      if (pending == null) {
+        pending = new ArrayList<>();
+      }
+      pending.add(target);
+      return null;
+    }
+  }
+
+  /**
+   * State of a single {@link #mask(Object)} call: the objects visited so far and the explicit stack
+   * of values still to visit. Also serves as the {@link MaskingContext} handed to {@link
+   * ClassMasker}s. The stack is kept as parallel arrays so pushing a value does not allocate.
+   */
+  private final class Traversal implements MaskingContext {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final IdentitySet visited = detectCycles ? new IdentitySet() : null;
+    // Set shared with parallel tasks; replaces visited once the traversal goes parallel
+    private ConcurrentIdentitySet shared;
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    // Object holding the field each value was reached through, null for the root
+    private Object[] owners = new Object[INITIAL_CAPACITY];
+    // FieldPlan of that field, or its name when pushed by a ClassMasker
+    private Object[] slots = new Object[INITIAL_CAPACITY];
+    // Collection, map entry, array or RecordState directly holding the value, null for fields
+    private Object[] containers = new Object[INITIAL_CAPACITY];
+    // Position of the value in a list, array or record, -1 otherwise
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private int[] depths = new int[INITIAL_CAPACITY];
+    // Records being rebuilt or already rebuilt, created on first use
+    private Map<Object, RecordState> records;
+    // The root value, replaced if it is a rebuilt record
+    private Object root;
+    private int size;
+    // Depth of the object currently handled by a ClassMasker
+    private int depth;
+    private boolean active;
+
+    /** Returns {@code false} if the object was already visited during this traversal. */
+    boolean enter(Object object) {
+      if (shared != null) {
+        return shared.add(object);
+      }
+      return visited == null || visited.add(object);
+    }
+
+    /**
+     * Returns the visited set to share with parallel tasks, switching this traversal to it.
+     *
+     * @return the shared set, or {@code null} if cycle detection is disabled
+     */
+    ConcurrentIdentitySet share() {
+      if (shared == null && visited != null) {
+        shared = new ConcurrentIdentitySet(parallelPool.getParallelism());
+        visited.copyTo(shared);
+        records = Collections.synchronizedMap(records == null ? new IdentityHashMap<>() : records);
+      }
+      return shared;
+    }
+
+    void push(
+        Object value, Object owner, Object slot, Object container, int index, int valueDepth) {
+      if (value == null) {
+        return;
+      }
+      if (size == values.length) {
+        int capacity = size << 1;
+        values = Arrays.copyOf(values, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+        containers = Arrays.copyOf(containers, capacity);
+        indexes = Arrays.copyOf(indexes, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+      }
+      values[size] = value;
+      owners[size] = owner;
+      slots[size] = slot;
+      containers[size] = container;
+      indexes[size] = index;
+      depths[size] = valueDepth;
+      size++;
+    }
+
+    void registerRecord(Object record, RecordState state) {
+      if (visited == null && shared == null) {
+        // Without cycle detection every reference is rebuilt on its own
+        return;
+      }
+      if (records == null) {
+        records = new IdentityHashMap<>();
+      }
+      records.put(record, state);
+    }
+
+    RecordState record(Object record) {
+      return records == null ? null : records.get(record);
+    }
+
+    /** Reverses the entries pushed since {@code from}, so the first child is visited first. */
+    void reverse(int from) {
+      for (int i = from, j = size - 1; i < j; i++, j--) {
+        swap(values, i, j);
+        swap(owners, i, j);
+        swap(slots, i, j);
+        swap(containers, i, j);
+        int k = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = k;
+        int d = depths[i];
+        depths[i] = depths[j];
+        depths[j] = d;
+      }
+    }
+
+    private void swap(Object[] array, int i, int j) {
+      Object tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+    }
+
+    @Override
+    public void maskNested(Object target, String fieldName, Object value) {
+      push(value, target, fieldName, null, -1, depth + 1);
+    }
+
+    @Override
+    public boolean onFailure(
+        Object target, String fieldName, Object value, RuntimeException cause) {
+      return handleException(fieldFailure(target.getClass(), fieldName, value, cause));
+    }
+
+    void reset() {
+      if (visited != null) {
+        visited.clear();
+      }
+      Arrays.fill(values, 0, size, null);
+      Arrays.fill(owners, 0, size, null);
+      Arrays.fill(slots, 0, size, null);
+      Arrays.fill(containers, 0, size, null);
+      shared = null;
+      records = null;
+      root = null;
+      size = 0;
+      depth = 0;
+      active = false;
+    }
+  }
+
+  /**
+   * Masks a range of list elements, splitting it in halves until it is at most {@code chunkSize}
+   * long. The first failure that escapes the failure strategy is recorded and stops the remaining
+   * chunks; {@link #maskParallel} rethrows it on the calling thread.
+   */
+  private final class ParallelMaskTask extends RecursiveAction {
+    private final List<?> elements;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+    private final Object owner;
+    private final Object slot;
+    private final int depth;
+    private final ConcurrentIdentitySet shared;
+    private final Map<Object, RecordState> records;
+    private final AtomicReference<RuntimeException> failure;
+
+    ParallelMaskTask(
+        List<?> elements,
+        int from,
+        int to,
+        int chunkSize,
+        Object owner,
+        Object slot,
+        int depth,
+        ConcurrentIdentitySet shared,
+        Map<Object, RecordState> records) {
+      this(
+          elements,
+          from,
+          to,
+          chunkSize,
+          owner,
+          slot,
+          depth,
+          shared,
+          records,
+          new AtomicReference<>());
+    }
+
+    private ParallelMaskTask(
+        List<?> elements,
+        int from,
+        int to,
+        int chunkSize,
+        Object owner,
+        Object slot,
+        int depth,
+        ConcurrentIdentitySet shared,
+        Map<Object, RecordState> records,
+        AtomicReference<RuntimeException> failure) {
+      this.elements = elements;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+      this.owner = owner;
+      this.slot = slot;
+      this.depth = depth;
+      this.shared = shared;
+      this.records = records;
+      this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+      if (failure.get() != null) {
+        return;
+      }
+      if (to - from > chunkSize) {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new ParallelMaskTask(
+                elements, from, mid, chunkSize, owner, slot, depth, shared, records, failure),
+            new ParallelMaskTask(
+                elements, mid, to, chunkSize, owner, slot, depth, shared, records, failure));
+        return;
+      }
+      Traversal traversal = acquireTraversal();
+      traversal.shared = shared;
+      traversal.records = records;
+      try {
+        for (int i = from; i < to && failure.get() == null; i++) {
+          traversal.push(elements.get(i), owner, slot, elements, i, depth);
+          drain(traversal);
+        }
+      } catch (RuntimeException e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        traversal.reset();
+      }
+    }
+  }
+
+  /** Builder for {@link MaskingEngine}. */
+  public static final class Builder {
+    private MaskingFailureStrategy failureStrategy = MaskingFailureStrategy.FAIL_FAST;
+    private FieldAccessStrategy fieldAccessStrategy = FieldAccessStrategy.METHOD_HANDLE;
+    private boolean generateClassMaskers;
+    private boolean detectCycles = true;
+    private boolean maskCharArrays;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private int parallelThreshold;
+    private ForkJoinPool parallelPool = ForkJoinPool.commonPool();
+    private PatternCache patternCache = PatternCache.shared();
+    private RegexEngine regexEngine = RegexEngine.JDK;
+
+    private Builder() {}
+
+    /**
+     * Sets the strategy for handling masking failures. Defaults to {@link
+     * MaskingFailureStrategy#FAIL_FAST}.
+     *
+     * @param failureStrategy the failure strategy
+     * @return this builder
+     */
+    public Builder failureStrategy(MaskingFailureStrategy failureStrategy) {
+      this.failureStrategy = failureStrategy;
+      return this;
+    }
+
+    /**
+     * Sets how field values are read and written. Defaults to {@link
+     * FieldAccessStrategy#METHOD_HANDLE}.
+     *
+     * @param fieldAccessStrategy the field access strategy
+     * @return this builder
+     */
+    public Builder fieldAccessStrategy(FieldAccessStrategy fieldAccessStrategy) {
+      this.fieldAccessStrategy = fieldAccessStrategy;
+      return this;
+    }
+
+    /**
+     * Enables runtime generation of a dedicated {@link ClassMasker} per DTO class, defined as a
+     * hidden class in the DTO's package. Classes that cannot be generated (records, final masked
+     * fields, inaccessible inherited fields, closed modules) keep using the reflective path.
+     * Disabled by default.
+     *
+     * @param generateClassMaskers whether to generate class maskers
+     * @return this builder
+     */
+    public Builder generateClassMaskers(boolean generateClassMaskers) {
+      this.generateClassMaskers = generateClassMaskers;
+      return this;
+    }
+
+    /**
+     * Sets whether objects already visited during a call are skipped. This makes cyclic graphs
+     * (e.g. bidirectional entity relations) safe and masks shared objects only once. Enabled by
+     * default.
+     *
+     * @param detectCycles whether to track visited objects by identity
+     * @return this builder
+     */
+    public Builder detectCycles(boolean detectCycles) {
+      this.detectCycles = detectCycles;
+      return this;
+    }
+
+    /**
+     * Enables masking of {@code char[]} fields annotated with {@link Masked}, which are otherwise
+     * left untouched. Arrays are masked in place with {@link Masker#mask(char[], int, int)}, so no
+     * {@code String} copy of the value is created by the built-in maskers. If the masked value has
+     * a different length, the field is set to a new array and the original array is cleared. Masked
+     * copies mask a copy of the array. Disabled by default.
+     *
+     * @param maskCharArrays whether to mask {@code char[]} fields
+     * @return this builder
+     */
+    public Builder maskCharArrays(boolean maskCharArrays) {
+      this.maskCharArrays = maskCharArrays;
+      return this;
+    }
+
+    /**
+     * Sets the maximum nesting depth of the object graph. The root object is at depth 0 and every
+     * nested object, collection, map or array adds one level. Exceeding the limit is a masking
+     * failure handled by the configured {@link MaskingFailureStrategy}. Defaults to {@value
+     * MaskingEngine#DEFAULT_MAX_DEPTH}.
+     *
+     * @param maxDepth the maximum depth, zero or greater
+     * @return this builder
+     */
+    public Builder maxDepth(int maxDepth) {
+      if (maxDepth < 0) {
+        throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+      }
+      this.maxDepth = maxDepth;
+      return this;
+    }
+
+    /**
+     * Enables parallel masking of large collections. Random-access lists and object arrays with at
+     * least this many elements are split into chunks whose elements are masked concurrently in the
+     * {@link #parallelPool(ForkJoinPool) parallel pool}; the calling thread waits for all of them.
+     * Other iterables and maps are always masked sequentially. {@code 0} (the default) disables
+     * parallel masking.
+     *
+     * <p>Elements must be safe to mask from different threads, which holds for independent DTOs.
+     *
+     * @param parallelThreshold the minimum collection size to mask in parallel, or {@code 0}
+     * @return this builder
+     */
+    public Builder parallelThreshold(int parallelThreshold) {
+      if (parallelThreshold < 0) {
+        throw new IllegalArgumentException(
+            "parallelThreshold must not be negative: " + parallelThreshold);
+      }
+      this.parallelThreshold = parallelThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the pool used for parallel masking. Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param parallelPool the pool to run parallel masking tasks in
+     * @return this builder
+     */
+    public Builder parallelPool(ForkJoinPool parallelPool) {
+      this.parallelPool = Objects.requireNonNull(parallelPool, "parallelPool");
+      return this;
+    }
+
+    /**
+     * Sets the cache {@code @MaskedPattern} regexes are compiled through. Defaults to {@link
+     * PatternCache#shared()}, which {@link RegexMasker} uses as well.
+     *
+     * @param patternCache the pattern cache
+     * @return this builder
+     */
+    public Builder patternCache(PatternCache patternCache) {
+      this.patternCache = Objects.requireNonNull(patternCache, "patternCache");
+      return this;
+    }
+
+    /**
+     * Sets the engine that runs {@code @MaskedPattern} regexes which do not choose one themselves.
+     * Defaults to {@link RegexEngine#JDK}; {@link RegexEngine#DEFAULT} selects the default as well.
+     *
+     * <p>With {@link RegexEngine#LINEAR}, masking takes time linear in the length of each value, so
+     * a pattern that would backtrack catastrophically cannot stall the caller. Patterns outside the
+     * supported subset fail like invalid regexes; {@link
+     * Masked4JValidator#validateLinearPatterns(Class[])} reports them at startup.
+     *
+     * @param regexEngine the regex engine
+     * @return this builder
+     */
+    public Builder regexEngine(RegexEngine regexEngine) {
+      Objects.requireNonNull(regexEngine, "regexEngine");
+      this.regexEngine = regexEngine == RegexEngine.DEFAULT ? RegexEngine.JDK : regexEngine;
+      return this;
+    }
+
+    /**
+     * Builds the configured engine.
+     *
+     * @return a new masking engine
+     */
+    public MaskingEngine build() {
+      return new MaskingEngine(this);
+    }
   }
 }
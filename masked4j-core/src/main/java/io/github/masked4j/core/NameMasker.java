@@ -1,39 +1,83 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for names.
  *
  * <p>Masks the middle character(s) of a name. Supports Korean names. Example: "홍길동" -> "홍*동"
  */
-public class NameMasker implements Masker {
+public class NameMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
 
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
     int length = input.length();
 
+    if (length == 0) {
+      return;
+    }
+
     if (length == 1) {
-      return "*";
+      out.append('*');
+      return;
     }
 
     if (length == 2) {
-      return input.charAt(0) + "*";
+      out.append(input.charAt(0)).append('*');
+      return;
     }
 
     // For length >= 3
-    StringBuilder masked = new StringBuilder();
-    masked.append(input.charAt(0));
+    out.append(input.charAt(0));
+    CharSequences.repeat(out, '*', length - 2);
+    out.append(input.charAt(length - 1));
+  }
 
-    for (int i = 1; i < length - 1; i++) {
-      masked.append('*');
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    if (len == 1) {
+      buf[off] = '*';
+    } else if (len == 2) {
+      buf[off + 1] = '*';
+    } else if (len > 2) {
+      Arrays.fill(buf, off + 1, off + len - 1, '*');
     }
+    return len;
+  }
 
-    masked.append(input.charAt(length - 1));
-
-    return masked.toString();
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int length = Utf8.charCount(src, from, to);
+    if (length == 1) {
+      Utf8.repeat(dst, '*', 1);
+    } else if (length > 1) {
+      // Characters are kept whole, so a supplementary character is never split
+      int firstEnd = Math.min(from + Utf8.sequenceLength(src.get(from)), to);
+      int lastStart = firstEnd < to ? Utf8.lastSequence(src, firstEnd, to) : to;
+      Utf8.copy(src, from, firstEnd, dst);
+      if (lastStart <= firstEnd) {
+        // Two characters
+        Utf8.repeat(dst, '*', 1);
+      } else {
+        Utf8.repeat(dst, '*', Utf8.charCount(src, firstEnd, lastStart));
+        Utf8.copy(src, lastStart, to, dst);
+      }
+    }
+    src.position(to);
   }
 }
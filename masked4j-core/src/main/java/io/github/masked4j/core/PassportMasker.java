@@ -1,23 +1,59 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for passport numbers.
  *
  * <p>Masks the last 4 digits of a passport number. Example: "M12345678" -> "M1234****"
  */
-public class PassportMasker implements Masker {
+public class PassportMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.length() < 8) {
-      return input;
+    if (input == null) {
+      return null;
+    }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int length = input.length();
+    if (length < 8) {
+      out.append(input);
+      return;
     }
 
     // Mask last 4 digits
     // e.g. M12345678 -> M123****
+    out.append(input, 0, length - 4).append("****");
+  }
 
-    int length = input.length();
-    return input.substring(0, length - 4) + "****";
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    if (len >= 8) {
+      Arrays.fill(buf, off + len - 4, off + len, '*');
+    }
+    return len;
+  }
+
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    int length = Utf8.charCount(src, from, to);
+    if (length < 8) {
+      Utf8.copy(src, from, to, dst);
+    } else {
+      Utf8.copy(src, from, Utf8.offset(src, from, to, length - 4), dst);
+      Utf8.repeat(dst, '*', 4);
+    }
+    src.position(to);
   }
 }
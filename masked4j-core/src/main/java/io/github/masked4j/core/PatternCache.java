@@ -0,0 +1,231 @@
+package io.github.masked4j.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A bounded cache of compiled regex {@link Pattern}s and {@link LinearPattern}s, shared by {@link
+ * MaskingEngine} and {@link RegexMasker}.
+ *
+ * <p>Patterns are keyed by regex, flags and engine. Once the cache holds its maximum number of
+ * patterns, adding another one evicts the least recently used. Masking plans and {@link
+ * RegexMasker} instances keep the pattern they resolved, so an eviction only means that the next
+ * masker or class using the same regex compiles it again.
+ *
+ * <p>Hits, misses and evictions are counted for monitoring. Instances are thread-safe; patterns are
+ * compiled outside the lock, so a slow compilation does not block other lookups.
+ */
+public final class PatternCache {
+  /** Maximum number of patterns held by {@link #shared()}. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+  private static final PatternCache SHARED = new PatternCache(DEFAULT_MAXIMUM_SIZE);
+
+  private final int maximumSize;
+  // Access-ordered, so the eldest entry is the least recently used one. Guarded by this.
+  private final Map<Object, Object> patterns;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maximumSize the maximum number of patterns to keep, at least 1
+   */
+  public PatternCache(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+    this.patterns =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            if (size() > PatternCache.this.maximumSize) {
+              evictionCount++;
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Returns the cache used by default by {@link MaskingEngine} and {@link RegexMasker}, holding at
+   * most {@value #DEFAULT_MAXIMUM_SIZE} patterns.
+   *
+   * @return the shared cache
+   */
+  public static PatternCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the compiled pattern for a regex, compiling and caching it on first use.
+   *
+   * @param regex the regex
+   * @return the compiled pattern
+   * @throws PatternSyntaxException if the regex is invalid; invalid regexes are not cached
+   */
+  public Pattern get(String regex) {
+    return get(regex, 0);
+  }
+
+  /**
+   * Returns the compiled pattern for a regex and flags, compiling and caching it on first use.
+   *
+   * @param regex the regex
+   * @param flags the match flags, as for {@link Pattern#compile(String, int)}
+   * @return the compiled pattern
+   * @throws PatternSyntaxException if the regex is invalid; invalid regexes are not cached
+   */
+  public Pattern get(String regex, int flags) {
+    Key key = new Key(regex, flags, false);
+    Object cached = lookup(key);
+    return cached != null ? (Pattern) cached : (Pattern) add(key, Pattern.compile(regex, flags));
+  }
+
+  /**
+   * Returns the linear-time pattern for a regex, compiling and caching it on first use.
+   *
+   * @param regex the regex
+   * @return the compiled pattern
+   * @throws PatternSyntaxException if the regex is invalid or outside the subset supported by
+   *     {@link LinearPattern}; such regexes are not cached
+   */
+  public LinearPattern getLinear(String regex) {
+    Key key = new Key(regex, 0, true);
+    Object cached = lookup(key);
+    return cached != null
+        ? (LinearPattern) cached
+        : (LinearPattern) add(key, LinearPattern.compile(regex));
+  }
+
+  /**
+   * Returns an object built around a regex, such as a masker or a serializer wrapping one, creating
+   * and caching it on first use. Such objects count towards the maximum size and are evicted like
+   * patterns, so callers sharing them per regex stay bounded as well.
+   *
+   * @param key identifies the object, with {@code equals} and {@code hashCode}; must not equal the
+   *     key of another type of object
+   * @param type the type of the object
+   * @param factory creates the object on a miss; objects it fails to create are not cached
+   * @param <T> the type of the object
+   * @return the cached or created object
+   */
+  public <T> T computeIfAbsent(Object key, Class<T> type, Supplier<? extends T> factory) {
+    Object cached = lookup(key);
+    return type.cast(cached != null ? cached : add(key, factory.get()));
+  }
+
+  private synchronized Object lookup(Object key) {
+    Object pattern = patterns.get(key);
+    if (pattern != null) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+    return pattern;
+  }
+
+  /**
+   * Compiles regexes into the cache ahead of their first use, without counting hits or misses.
+   * Invalid regexes are skipped; {@link Masked4JValidator#prewarmPatterns(PatternCache, Class[])}
+   * reports them instead.
+   *
+   * @param regexes the regexes to compile, with no flags
+   */
+  public void prewarm(Iterable<String> regexes) {
+    for (String regex : regexes) {
+      Key key = new Key(regex, 0, false);
+      synchronized (this) {
+        if (patterns.containsKey(key)) {
+          continue;
+        }
+      }
+      try {
+        add(key, Pattern.compile(regex));
+      } catch (PatternSyntaxException e) {
+        // Not cached, like any invalid regex
+      }
+    }
+  }
+
+  /**
+   * Compiles regexes into the cache as {@link LinearPattern}s ahead of their first use, without
+   * counting hits or misses. Invalid regexes and regexes outside the supported subset are skipped.
+   *
+   * @param regexes the regexes to compile
+   */
+  public void prewarmLinear(Iterable<String> regexes) {
+    for (String regex : regexes) {
+      Key key = new Key(regex, 0, true);
+      synchronized (this) {
+        if (patterns.containsKey(key)) {
+          continue;
+        }
+      }
+      try {
+        add(key, LinearPattern.compile(regex));
+      } catch (PatternSyntaxException e) {
+        // Not cached, like any invalid regex
+      }
+    }
+  }
+
+  private synchronized Object add(Object key, Object pattern) {
+    Object existing = patterns.putIfAbsent(key, pattern);
+    return existing != null ? existing : pattern;
+  }
+
+  /**
+   * Returns the maximum number of patterns this cache keeps.
+   *
+   * @return the maximum size
+   */
+  public int maximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of patterns, and objects built around them, currently cached.
+   *
+   * @return the current size
+   */
+  public synchronized int size() {
+    return patterns.size();
+  }
+
+  /**
+   * Returns how many lookups found their pattern in the cache.
+   *
+   * @return the hit count
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns how many lookups had to compile their pattern, including lookups of invalid regexes.
+   *
+   * @return the miss count
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns how many patterns were evicted to stay within the maximum size.
+   *
+   * @return the eviction count
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  private record Key(String regex, int flags, boolean linear) {}
+}
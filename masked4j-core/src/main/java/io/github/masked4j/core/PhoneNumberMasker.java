@@ -1,49 +1,147 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for phone numbers.
  *
  * <p>Masks the middle digits of a phone number. Example: "010-1234-5678" -> "010-****-5678"
  */
-public class PhoneNumberMasker implements Masker {
-  // Matches 2-3 digits prefix, 3-4 digits middle, 4 digits suffix
-  // Supports optional hyphens
-  private static final Pattern PHONE_PATTERN =
-      Pattern.compile("^(\\d{2,3})-?(\\d{3,4})-?(\\d{4})$");
+public class PhoneNumberMasker implements Utf8Masker {
+  // Accepts 2-3 digits prefix, 3-4 digits middle, 4 digits suffix with optional hyphens, i.e.
+  // ^(\d{2,3})-?(\d{3,4})-?(\d{4})$
 
   @Override
   public String mask(String input) {
-    if (input == null || input.isEmpty()) {
+    if (input == null) {
       return "";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    int prefix = prefixLength(input);
+    if (prefix == -1) {
+      // Leave values that are not phone numbers untouched rather than destroying them
+      out.append(input);
+      return;
+    }
+
+    int length = input.length();
+    int middleStart = input.charAt(prefix) == '-' ? prefix + 1 : prefix;
+    int middleEnd = input.charAt(length - 5) == '-' ? length - 5 : length - 4;
+    boolean hyphenated = middleStart > prefix || middleEnd < length - 4;
+    out.append(input, 0, prefix);
+    if (hyphenated) {
+      out.append('-');
+    }
+    CharSequences.repeat(out, '*', middleEnd - middleStart);
+    if (hyphenated) {
+      out.append('-');
+    }
+    out.append(input, length - 4, length);
+  }
+
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    int prefix = prefixLength(CharBuffer.wrap(buf, off, len));
+    if (prefix == -1) {
+      return len;
+    }
 
-    Matcher matcher = PHONE_PATTERN.matcher(input);
-    if (matcher.matches()) {
-      String prefix = matcher.group(1);
-      String middle = matcher.group(2);
-      String suffix = matcher.group(3);
+    int end = off + len;
+    int middleStart = buf[off + prefix] == '-' ? off + prefix + 1 : off + prefix;
+    int middleEnd = buf[end - 5] == '-' ? end - 5 : end - 4;
+    int separator = middleStart > off + prefix || middleEnd < end - 4 ? 1 : 0;
+    int middle = off + prefix + separator;
+    int suffix = middle + middleEnd - middleStart + separator;
+    int length = suffix + 4 - off;
+    if (length > buf.length - off) {
+      return length;
+    }
+    // The prefix stays where it is; the suffix moves if hyphens are added or removed
+    CharArrays.move(buf, end - 4, end, suffix);
+    Arrays.fill(buf, middle, suffix - separator, '*');
+    if (separator == 1) {
+      buf[middle - 1] = '-';
+      buf[suffix - 1] = '-';
+    }
+    return CharArrays.finish(buf, off, len, length);
+  }
 
-      String maskedMiddle = "*".repeat(middle.length());
+  /**
+   * Returns the length of the prefix if the value is a phone number, or -1. Group lengths are tried
+   * longest first, so the groups are the ones the regex above would capture.
+   */
+  private static int prefixLength(CharSequence input) {
+    int length = input.length();
+    for (int prefix = 3; prefix >= 2; prefix--) {
+      int middleStart = prefix;
+      if (middleStart > length || !CharSequences.isDigits(input, 0, middleStart)) {
+        continue;
+      }
+      if (middleStart < length && input.charAt(middleStart) == '-') {
+        middleStart++;
+      }
+      for (int middle = 4; middle >= 3; middle--) {
+        int suffixStart = middleStart + middle;
+        if (suffixStart > length || !CharSequences.isDigits(input, middleStart, suffixStart)) {
+          continue;
+        }
+        if (suffixStart < length && input.charAt(suffixStart) == '-') {
+          suffixStart++;
+        }
+        if (length - suffixStart == 4 && CharSequences.isDigits(input, suffixStart, length)) {
+          return prefix;
+        }
+      }
+    }
+    return -1;
+  }
 
-      if (input.contains("-")) {
-        return prefix + "-" + maskedMiddle + "-" + suffix;
-      } else {
-        return prefix + maskedMiddle + suffix;
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    // Same groups as prefixLength, trying the longest ones first
+    for (int prefix = 3; prefix >= 2; prefix--) {
+      int middleStart = from + prefix;
+      if (middleStart > to || !Utf8.isDigits(src, from, middleStart)) {
+        continue;
+      }
+      if (middleStart < to && src.get(middleStart) == '-') {
+        middleStart++;
+      }
+      for (int middle = 4; middle >= 3; middle--) {
+        int suffixStart = middleStart + middle;
+        if (suffixStart > to || !Utf8.isDigits(src, middleStart, suffixStart)) {
+          continue;
+        }
+        if (suffixStart < to && src.get(suffixStart) == '-') {
+          suffixStart++;
+        }
+        if (to - suffixStart == 4 && Utf8.isDigits(src, suffixStart, to)) {
+          String separator = Utf8.indexOf(src, from, to, '-') != -1 ? "-" : "";
+          Utf8.copy(src, from, from + prefix, dst);
+          Utf8.put(dst, separator);
+          Utf8.repeat(dst, '*', middle);
+          Utf8.put(dst, separator);
+          Utf8.copy(src, suffixStart, to, dst);
+          src.position(to);
+          return;
+        }
       }
     }
 
-    // Return original if it doesn't match the pattern (or handle as default string
-    // masking?)
-    // For now, let's return it as is or maybe mask everything?
-    // Let's return as is to avoid destroying non-phone data, or maybe
-    // DefaultStringMasker logic?
-    // Let's stick to returning as is for now, or maybe masking all but last 4?
-    // Given the specific request "middle digits masking", if we can't find middle
-    // digits, maybe we shouldn't touch it.
-    return input;
+    Utf8.copy(src, from, to, dst);
+    src.position(to);
   }
 }
@@ -0,0 +1,114 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.exception.MaskingProcessException;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Precomputed plan for rebuilding a record with masked components.
+ *
+ * <p>Records cannot be modified in place, so {@link MaskingEngine} reads all components, masks the
+ * planned ones and creates a new instance through the canonical constructor. The constructor is
+ * resolved once per record class as a method handle taking the components as an {@code Object[]}.
+ */
+final class RecordPlan {
+  private final Class<?> type;
+  private final FieldAccessor[] components;
+  private final FieldPlan[] plans;
+  private final MethodHandle constructor;
+  private final boolean masked;
+
+  /**
+   * Creates a record plan.
+   *
+   * @param type the record class
+   * @param components accessors for all components, in canonical order
+   * @param plans the masking plan of each component, {@code null} for components copied as is
+   * @param constructor the canonical constructor, of type {@code (Object[])Object}
+   */
+  RecordPlan(
+      Class<?> type, FieldAccessor[] components, FieldPlan[] plans, MethodHandle constructor) {
+    this.type = type;
+    this.components = components;
+    this.plans = plans;
+    this.constructor = constructor;
+    boolean any = false;
+    for (FieldPlan plan : plans) {
+      any |= plan != null;
+    }
+    this.masked = any;
+  }
+
+  Class<?> type() {
+    return type;
+  }
+
+  int size() {
+    return components.length;
+  }
+
+  /**
+   * Returns the masking plan of a component.
+   *
+   * @param index the component index
+   * @return the plan, or {@code null} if the component is copied as is
+   */
+  FieldPlan plan(int index) {
+    return plans[index];
+  }
+
+  /**
+   * Returns the index of the component a plan belongs to.
+   *
+   * @param plan a component plan of this record
+   * @return the component index, or {@code -1} if the plan belongs to another class
+   */
+  int indexOf(FieldPlan plan) {
+    for (int i = 0; i < plans.length; i++) {
+      if (plans[i] == plan) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns whether any component is masked or may contain masked values. */
+  boolean hasMaskedComponents() {
+    return masked;
+  }
+
+  /**
+   * Reads all component values of a record.
+   *
+   * @param record the record instance
+   * @return a new array with the component values in canonical order
+   */
+  Object[] read(Object record) {
+    Object[] values = new Object[components.length];
+    try {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = components[i].get(record);
+      }
+    } catch (IllegalAccessException e) {
+      throw new MaskingProcessException(
+          String.format("Failed to read components of record '%s'", type.getName()), e);
+    }
+    return values;
+  }
+
+  /**
+   * Creates a record through its canonical constructor.
+   *
+   * @param values the component values in canonical order
+   * @return the new record
+   */
+  Object newInstance(Object[] values) {
+    try {
+      return (Object) constructor.invokeExact(values);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new MaskingProcessException(
+          String.format("Failed to create record '%s'", type.getName()), t);
+    }
+  }
+}
@@ -1,10 +1,11 @@
 package io.github.masked4j.core;
 
 import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.RegexEngine;
 import io.github.masked4j.exception.MaskingConfigurationException;
 import io.github.masked4j.exception.MaskingProcessException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -13,16 +14,68 @@ import java.util.regex.PatternSyntaxException;
  *
  * <p>This class is used to support {@link io.github.masked4j.annotation.MaskedPattern} in contexts
  * where a {@link Masker} instance is required (e.g., Jackson serialization).
+ *
+ * <p>The regex is compiled on first use through a {@link PatternCache}, so maskers created for the
+ * same regex share one compiled pattern, and kept by the masker from then on. It runs on {@link
+ * java.util.regex.Pattern} unless the masker is created for {@link RegexEngine#LINEAR}, which runs
+ * it on a {@link LinearPattern} in time linear in the length of the value.
  */
 public class RegexMasker implements Masker {
-  private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
-
   private final String regex;
   private final String replacement;
+  private final boolean linear;
+  private final PatternCache patternCache;
+  private volatile Pattern pattern;
+  private volatile LinearPattern linearPattern;
 
+  /**
+   * Creates a masker that compiles its regex through {@link PatternCache#shared()}.
+   *
+   * @param regex the regex to find
+   * @param replacement the replacement, which may refer to groups as {@code $n}
+   */
   public RegexMasker(String regex, String replacement) {
+    this(regex, replacement, PatternCache.shared());
+  }
+
+  /**
+   * Creates a masker that compiles its regex through the given cache, e.g. one bounded per tenant
+   * when regexes are supplied at runtime.
+   *
+   * @param regex the regex to find
+   * @param replacement the replacement, which may refer to groups as {@code $n}
+   * @param patternCache the cache to compile the regex through
+   */
+  public RegexMasker(String regex, String replacement, PatternCache patternCache) {
+    this(regex, replacement, RegexEngine.JDK, patternCache);
+  }
+
+  /**
+   * Creates a masker that runs its regex on the given engine, compiling it through {@link
+   * PatternCache#shared()}.
+   *
+   * @param regex the regex to find
+   * @param replacement the replacement, which may refer to groups as {@code $n}
+   * @param engine the regex engine; {@link RegexEngine#DEFAULT} selects {@link RegexEngine#JDK}
+   */
+  public RegexMasker(String regex, String replacement, RegexEngine engine) {
+    this(regex, replacement, engine, PatternCache.shared());
+  }
+
+  /**
+   * Creates a masker that runs its regex on the given engine, compiling it through the given cache.
+   *
+   * @param regex the regex to find
+   * @param replacement the replacement, which may refer to groups as {@code $n}
+   * @param engine the regex engine; {@link RegexEngine#DEFAULT} selects {@link RegexEngine#JDK}
+   * @param patternCache the cache to compile the regex through
+   */
+  public RegexMasker(
+      String regex, String replacement, RegexEngine engine, PatternCache patternCache) {
     this.regex = regex;
     this.replacement = replacement;
+    this.linear = Objects.requireNonNull(engine, "engine") == RegexEngine.LINEAR;
+    this.patternCache = Objects.requireNonNull(patternCache, "patternCache");
   }
 
   @Override
@@ -30,13 +83,29 @@ public class RegexMasker implements Masker {
     if (value == null) {
       return null;
     }
+    StringBuilder out = new StringBuilder(value.length());
+    mask(value, out);
+    return out.toString();
+  }
 
+  @Override
+  public void mask(CharSequence value, StringBuilder out) {
+    int start = out.length();
     try {
-      Pattern pattern = PATTERN_CACHE.computeIfAbsent(regex, this::compilePattern);
-      return pattern.matcher(value).replaceAll(replacement);
+      if (linear) {
+        linearPattern().replaceAll(value, replacement, out);
+        return;
+      }
+      Matcher matcher = pattern().matcher(value);
+      while (matcher.find()) {
+        matcher.appendReplacement(out, replacement);
+      }
+      matcher.appendTail(out);
     } catch (MaskingConfigurationException e) {
       throw e;
     } catch (Exception e) {
+      // Drop any partial output
+      out.setLength(start);
       throw new MaskingProcessException(
           String.format(
               "Failed to apply regex mask. Regex: '%s', Replacement: '%s', Value: '%s'",
@@ -45,9 +114,30 @@ public class RegexMasker implements Masker {
     }
   }
 
-  private Pattern compilePattern(String regex) {
+  private Pattern pattern() {
+    Pattern resolved = pattern;
+    if (resolved != null) {
+      return resolved;
+    }
+    try {
+      resolved = patternCache.get(regex);
+      pattern = resolved;
+      return resolved;
+    } catch (PatternSyntaxException e) {
+      throw new MaskingConfigurationException(
+          String.format("Invalid regex pattern '%s': %s", regex, e.getMessage()), e);
+    }
+  }
+
+  private LinearPattern linearPattern() {
+    LinearPattern resolved = linearPattern;
+    if (resolved != null) {
+      return resolved;
+    }
     try {
-      return Pattern.compile(regex);
+      resolved = patternCache.getLinear(regex);
+      linearPattern = resolved;
+      return resolved;
     } catch (PatternSyntaxException e) {
       throw new MaskingConfigurationException(
           String.format("Invalid regex pattern '%s': %s", regex, e.getMessage()), e);
@@ -1,32 +1,74 @@
 package io.github.masked4j.core;
 
-import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Masker for Resident Registration Numbers (RRN).
  *
  * <p>Masks the last 6 digits of an RRN. Example: "850209-1234567" -> "850209-1******"
  */
-public class RrnMasker implements Masker {
+public class RrnMasker implements Utf8Masker {
   @Override
   public String mask(String input) {
-    if (input == null || input.length() < 13) {
+    if (input == null) {
       return "*************";
     }
+    StringBuilder out = new StringBuilder(input.length());
+    mask(input, out);
+    return out.toString();
+  }
+
+  @Override
+  public void mask(CharSequence input, StringBuilder out) {
+    if (input.length() < 13) {
+      out.append("*************");
+      return;
+    }
 
-    if (input.contains("-")) {
+    int hyphenIndex = CharSequences.indexOf(input, '-');
+    if (hyphenIndex != -1) {
       // Format: 850209-1234567 -> 850209-*******
-      int hyphenIndex = input.indexOf('-');
-      if (hyphenIndex + 1 <= input.length()) {
-        return input.substring(0, hyphenIndex + 1) + "*******";
-      }
+      out.append(input, 0, hyphenIndex + 1).append("*******");
     } else {
       // Format: 8502091234567 -> 850209*******
-      if (input.length() >= 6) {
-        return input.substring(0, 6) + "*******";
-      }
+      out.append(input, 0, 6).append("*******");
     }
+  }
 
-    return "*************";
+  @Override
+  public int mask(char[] buf, int off, int len) {
+    Objects.checkFromIndexSize(off, len, buf.length);
+    // Short values become 13 asterisks; otherwise everything after the birth date is masked
+    int kept = 0;
+    int masked = 13;
+    if (len >= 13) {
+      int hyphenIndex = CharArrays.indexOf(buf, off, off + len, '-');
+      kept = hyphenIndex != -1 ? hyphenIndex + 1 - off : 6;
+      masked = 7;
+    }
+    int length = kept + masked;
+    if (length > buf.length - off) {
+      return length;
+    }
+    Arrays.fill(buf, off + kept, off + length, '*');
+    return CharArrays.finish(buf, off, len, length);
+  }
+
+  @Override
+  public void maskUtf8(ByteBuffer src, ByteBuffer dst) {
+    int from = src.position();
+    int to = src.limit();
+    if (Utf8.charCount(src, from, to) < 13) {
+      Utf8.repeat(dst, '*', 13);
+    } else {
+      int hyphenIndex = Utf8.indexOf(src, from, to, '-');
+      int end = hyphenIndex != -1 ? hyphenIndex + 1 : Utf8.offset(src, from, to, 6);
+      Utf8.copy(src, from, end, dst);
+      Utf8.repeat(dst, '*', 7);
+    }
+    src.position(to);
   }
 }
@@ -0,0 +1,676 @@
+package io.github.masked4j.core;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Finds personal data anywhere in free text, such as log messages, exception messages or notes, and
+ * masks every occurrence with the built-in {@link Masker} of its {@link MaskType}.
+ *
+ * <p>All types are detected together in a single left-to-right pass: each candidate token is read
+ * once and classified by its shape, instead of running one regular expression per type over the
+ * text. Scanning takes time linear in the length of the text. The recognized formats are:
+ *
+ * <ul>
+ *   <li>{@link MaskType#EMAIL}: {@code local@domain.tld}, with a top-level domain of at least two
+ *       letters
+ *   <li>{@link MaskType#RESIDENT_REGISTRATION_NUMBER}: {@code 850209-1234567} or {@code
+ *       8502091234567}, with a valid month, day and gender digit
+ *   <li>{@link MaskType#CREDIT_CARD}: four groups of four digits separated by {@code -} or spaces,
+ *       or 16 digits passing the Luhn check
+ *   <li>{@link MaskType#PHONE_NUMBER}: {@code 010-1234-5678}, {@code 02-123-4567} or {@code
+ *       01012345678}
+ *   <li>{@link MaskType#IP_ADDRESS}: dotted IPv4 addresses and IPv6 addresses, full or compressed
+ *   <li>{@link MaskType#BUSINESS_REGISTRATION_NUMBER}: {@code 123-45-67890}
+ *   <li>{@link MaskType#DRIVERS_LICENSE}: {@code 11-22-333333-44}, or with a two-letter region such
+ *       as {@code 서울-12-345678-10}
+ *   <li>{@link MaskType#PASSPORT}: an uppercase letter followed by eight digits, or the {@code
+ *       M123A4567} format
+ *   <li>{@link MaskType#BANK_ACCOUNT}: other numbers of three or four hyphenated groups with 10 to
+ *       14 digits in total
+ * </ul>
+ *
+ * <p>A token is only detected when it is not part of a longer word or number: the characters around
+ * it must not be ASCII letters, digits, {@code _} or {@code @}, so Korean particles such as {@code
+ * 010-1234-5678로} do not prevent detection. {@link MaskType#STRING}, {@link MaskType#NAME} and
+ * {@link MaskType#ADDRESS} have no recognizable format and cannot be scanned for.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class TextScanner {
+  private static final Set<MaskType> DETECTABLE_TYPES =
+      Collections.unmodifiableSet(
+          EnumSet.of(
+              MaskType.EMAIL,
+              MaskType.RESIDENT_REGISTRATION_NUMBER,
+              MaskType.CREDIT_CARD,
+              MaskType.PHONE_NUMBER,
+              MaskType.IP_ADDRESS,
+              MaskType.BUSINESS_REGISTRATION_NUMBER,
+              MaskType.DRIVERS_LICENSE,
+              MaskType.PASSPORT,
+              MaskType.BANK_ACCOUNT));
+
+  // Numbers with more groups are read to their end but never match
+  private static final int MAX_GROUPS = 4;
+  // Group lengths of the hyphenated formats, see Scan.shape
+  private static final int RRN_SHAPE = shape(6, 7);
+  private static final int BRN_SHAPE = shape(3, 2, 5);
+  private static final int CARD_SHAPE = shape(4, 4, 4, 4);
+  private static final int LICENSE_SHAPE = shape(2, 2, 6, 2);
+  private static final int REGION_LICENSE_SHAPE = shape(2, 6, 2);
+
+  private final Set<MaskType> types;
+  // Indexed by MaskType ordinal, null for types not scanned for
+  private final Masker[] maskers = new Masker[MaskType.values().length];
+  // Reused by mask(CharSequence, StringBuilder) so masking into a buffer allocates nothing
+  private final ThreadLocal<Scan> scans = ThreadLocal.withInitial(Scan::new);
+
+  /** Creates a scanner for every {@link #detectableTypes() detectable type}. */
+  public TextScanner() {
+    this(DETECTABLE_TYPES.toArray(new MaskType[0]));
+  }
+
+  /**
+   * Creates a scanner for the given types only.
+   *
+   * @param types the types to detect and mask
+   * @throws IllegalArgumentException if a type is not {@link #detectableTypes() detectable}
+   */
+  public TextScanner(MaskType... types) {
+    Set<MaskType> selected = EnumSet.noneOf(MaskType.class);
+    for (MaskType type : types) {
+      if (!DETECTABLE_TYPES.contains(type)) {
+        throw new IllegalArgumentException("MaskType " + type + " cannot be detected in text");
+      }
+      selected.add(type);
+      maskers[type.ordinal()] = MaskerFactory.getMasker(type);
+    }
+    this.types = Collections.unmodifiableSet(selected);
+  }
+
+  /**
+   * Returns the types that can be detected in free text.
+   *
+   * @return the detectable types
+   */
+  public static Set<MaskType> detectableTypes() {
+    return DETECTABLE_TYPES;
+  }
+
+  /**
+   * Returns the types this scanner detects.
+   *
+   * @return the scanned types
+   */
+  public Set<MaskType> types() {
+    return types;
+  }
+
+  /**
+   * Masks every occurrence of personal data in a text.
+   *
+   * @param text the text to scan, may be {@code null}
+   * @return the masked text, the same instance if nothing was found, or {@code null} if {@code
+   *     text} is {@code null}
+   */
+  public String mask(String text) {
+    if (text == null) {
+      return null;
+    }
+    if (!hasCandidates(text)) {
+      return text;
+    }
+    StringBuilder out = new Scan().run(text, null);
+    return out == null ? text : out.toString();
+  }
+
+  /**
+   * Appends a text with every occurrence of personal data masked to a buffer. Apart from growing
+   * {@code out}, this allocates nothing once a thread has used the scanner.
+   *
+   * @param text the text to scan
+   * @param out the buffer to append to
+   */
+  public void mask(CharSequence text, StringBuilder out) {
+    if (!hasCandidates(text)) {
+      out.append(text);
+      return;
+    }
+    Scan scan = scans.get();
+    if (scan.text != null) {
+      // Re-entrant call from a masker: leave the outer scan intact
+      scan = new Scan();
+    }
+    scan.run(text, out);
+  }
+
+  /**
+   * Quickly checks whether a text may contain personal data, without classifying anything. Most log
+   * messages are rejected after one cheap loop over their characters: a text can only hold a match
+   * if it contains an {@code @}, a {@code ::}, or a run of digits, hex letters and the separators
+   * {@code - . : } and space with at least four digits or seven colons. {@link #mask(String)} runs
+   * this check first, so calling it separately is only useful to skip other work.
+   *
+   * @param text the text to check
+   * @return {@code false} if the text certainly holds nothing to mask
+   */
+  public boolean hasCandidates(CharSequence text) {
+    int digits = 0;
+    int colons = 0;
+    char previous = 0;
+    for (int i = 0, length = text.length(); i < length; i++) {
+      char c = text.charAt(i);
+      if (CharSequences.isDigit(c)) {
+        if (++digits == 4) {
+          return true;
+        }
+      } else if (c == ':') {
+        if (previous == ':' || ++colons == 7) {
+          return true;
+        }
+      } else if (c == '@') {
+        return true;
+      } else if (c != '-' && c != '.' && c != ' ' && !isHex(c)) {
+        digits = 0;
+        colons = 0;
+      }
+      previous = c;
+    }
+    return false;
+  }
+
+  /** Packs the number and lengths of digit groups into an int, for comparing number formats. */
+  private static int shape(int... lengths) {
+    int shape = lengths.length;
+    for (int length : lengths) {
+      shape = shape << 5 | Math.min(length, 31);
+    }
+    return shape;
+  }
+
+  /** Returns whether {@code c} joins the characters around it into one word or number. */
+  private static boolean isJoiner(char c) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || CharSequences.isDigit(c)
+        || c == '_'
+        || c == '@';
+  }
+
+  private static boolean isHex(char c) {
+    return CharSequences.isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isHangul(char c) {
+    return c >= '가' && c <= '힣';
+  }
+
+  /** Returns whether {@code c} may appear in the local part of an email address. */
+  private static boolean isLocal(char c) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || CharSequences.isDigit(c)
+        || c == '.'
+        || c == '_'
+        || c == '%'
+        || c == '+'
+        || c == '-';
+  }
+
+  /** Returns whether {@code c} may appear in a label of an email domain. */
+  private static boolean isDomain(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || CharSequences.isDigit(c) || c == '-';
+  }
+
+  /** The state of scanning one text, reusable for the next text once a scan has finished. */
+  private final class Scan {
+    // Null while no scan is running
+    private CharSequence text;
+    private int length;
+    // Created on the first match when masking a String, so unchanged text is not copied
+    private StringBuilder out;
+    // End of the text already appended to out
+    private int copied;
+    // The match handed to its masker
+    private final Window window = new Window();
+
+    // The number read by readNumber
+    private final int[] groups = new int[MAX_GROUPS];
+    private int groupCount;
+    private int digitCount;
+    private char separator;
+
+    // The start and type of the match found by the last successful check
+    private int matchStart;
+    private MaskType matchType;
+
+    /** Scans a text and returns the buffer holding the result, or null if nothing was found. */
+    StringBuilder run(CharSequence text, StringBuilder out) {
+      this.text = text;
+      this.length = text.length();
+      this.out = out;
+      this.copied = 0;
+      try {
+        return scan();
+      } finally {
+        // Do not keep the text or buffer reachable from the thread
+        this.text = null;
+        this.out = null;
+        window.text = null;
+      }
+    }
+
+    private StringBuilder scan() {
+      int i = 0;
+      while (i < length) {
+        char c = text.charAt(i);
+        int end = -1;
+        if (c == '@') {
+          end = email(i);
+        } else if (startsToken(i)) {
+          if (CharSequences.isDigit(c)) {
+            end = number(i);
+          } else if (c >= 'A' && c <= 'Z') {
+            end = passport(i);
+          } else if (isHangul(c)) {
+            end = regionLicense(i);
+          }
+          if (end < 0 && isHex(c)) {
+            end = ipv6(i);
+          }
+        }
+        if (end >= 0 && maskers[matchType.ordinal()] != null) {
+          emit(end);
+          i = end;
+        } else {
+          i++;
+        }
+      }
+      if (out != null) {
+        out.append(text, copied, length);
+      }
+      return out;
+    }
+
+    private void emit(int end) {
+      if (out == null) {
+        out = new StringBuilder(length + 16);
+      }
+      out.append(text, copied, matchStart);
+      window.text = text;
+      window.start = matchStart;
+      window.end = end;
+      maskers[matchType.ordinal()].mask(window, out);
+      copied = end;
+    }
+
+    /** Returns whether a token may start at {@code i}, i.e. it does not continue a word. */
+    private boolean startsToken(int i) {
+      if (i == 0) {
+        return true;
+      }
+      char previous = text.charAt(i - 1);
+      return !isJoiner(previous) && previous != '.' && previous != '-';
+    }
+
+    /** Returns whether a token may end at {@code end}, i.e. no word or number continues it. */
+    private boolean endsToken(int end) {
+      if (end == length) {
+        return true;
+      }
+      char next = text.charAt(end);
+      if (isJoiner(next)) {
+        return false;
+      }
+      // A trailing period ends a sentence, but "1.2.3.4.5" or "12-34-5" go on
+      return !((next == '.' || next == '-')
+          && end + 1 < length
+          && CharSequences.isDigit(text.charAt(end + 1)));
+    }
+
+    private int match(int start, int end, MaskType type) {
+      matchStart = start;
+      matchType = type;
+      return end;
+    }
+
+    /**
+     * Reads digit groups separated by a single kind of separator ({@code -} or {@code .}) and
+     * returns the end of the number.
+     */
+    private int readNumber(int from) {
+      int pos = from;
+      groupCount = 0;
+      digitCount = 0;
+      separator = 0;
+      while (true) {
+        int start = pos;
+        while (pos < length && CharSequences.isDigit(text.charAt(pos))) {
+          pos++;
+        }
+        if (groupCount < MAX_GROUPS) {
+          groups[groupCount] = pos - start;
+        }
+        groupCount++;
+        digitCount += pos - start;
+        if (pos + 1 < length
+            && CharSequences.isDigit(text.charAt(pos + 1))
+            && (text.charAt(pos) == '-' || text.charAt(pos) == '.')
+            && (separator == 0 || separator == text.charAt(pos))) {
+          separator = text.charAt(pos);
+          pos++;
+        } else {
+          return pos;
+        }
+      }
+    }
+
+    /** Returns the shape of the number read last, like {@link TextScanner#shape(int...)}. */
+    private int shape() {
+      if (groupCount > MAX_GROUPS) {
+        return -1;
+      }
+      int shape = groupCount;
+      for (int i = 0; i < groupCount; i++) {
+        shape = shape << 5 | Math.min(groups[i], 31);
+      }
+      return shape;
+    }
+
+    private int number(int from) {
+      int end = readNumber(from);
+      if (separator == 0 && digitCount == 4) {
+        // Card numbers are also written in groups of four separated by spaces
+        int spaced = spacedCardNumber(end);
+        if (spaced > 0 && endsToken(spaced)) {
+          return match(from, spaced, MaskType.CREDIT_CARD);
+        }
+      }
+      if (!endsToken(end)) {
+        return -1;
+      }
+      MaskType type;
+      switch (separator) {
+        case '.':
+          type = isIpv4(from) ? MaskType.IP_ADDRESS : null;
+          break;
+        case '-':
+          type = hyphenatedType(from);
+          break;
+        default:
+          type = plainType(from, end);
+      }
+      return type == null ? -1 : match(from, end, type);
+    }
+
+    /** Returns the end of " dddd dddd dddd" starting at {@code pos}, or -1. */
+    private int spacedCardNumber(int pos) {
+      int end = pos + 15;
+      if (end > length) {
+        return -1;
+      }
+      for (int i = pos; i < end; i += 5) {
+        if (text.charAt(i) != ' ' || !CharSequences.isDigits(text, i + 1, i + 5)) {
+          return -1;
+        }
+      }
+      return end;
+    }
+
+    private boolean isIpv4(int from) {
+      if (groupCount != 4) {
+        return false;
+      }
+      int pos = from;
+      for (int i = 0; i < 4; i++) {
+        if (groups[i] > 3) {
+          return false;
+        }
+        int octet = 0;
+        for (int end = pos + groups[i]; pos < end; pos++) {
+          octet = octet * 10 + (text.charAt(pos) - '0');
+        }
+        if (octet > 255) {
+          return false;
+        }
+        pos++;
+      }
+      return true;
+    }
+
+    private MaskType hyphenatedType(int from) {
+      int shape = shape();
+      if (shape == -1) {
+        return null;
+      }
+      if (shape == RRN_SHAPE) {
+        return isRrn(from, from + 7) ? MaskType.RESIDENT_REGISTRATION_NUMBER : null;
+      }
+      if (shape == BRN_SHAPE) {
+        return MaskType.BUSINESS_REGISTRATION_NUMBER;
+      }
+      if (shape == CARD_SHAPE) {
+        return MaskType.CREDIT_CARD;
+      }
+      if (shape == LICENSE_SHAPE) {
+        return MaskType.DRIVERS_LICENSE;
+      }
+      if (groupCount == 3
+          && text.charAt(from) == '0'
+          && (groups[0] == 2 || groups[0] == 3)
+          && (groups[1] == 3 || groups[1] == 4)
+          && groups[2] == 4) {
+        return MaskType.PHONE_NUMBER;
+      }
+      if (groupCount >= 3 && digitCount >= 10 && digitCount <= 14) {
+        for (int i = 0; i < groupCount; i++) {
+          if (groups[i] < 2) {
+            return null;
+          }
+        }
+        return MaskType.BANK_ACCOUNT;
+      }
+      return null;
+    }
+
+    private MaskType plainType(int from, int end) {
+      int digits = end - from;
+      if (digits == 13 && isRrn(from, from + 6)) {
+        return MaskType.RESIDENT_REGISTRATION_NUMBER;
+      }
+      if (digits == 16 && passesLuhn(from, end)) {
+        return MaskType.CREDIT_CARD;
+      }
+      if ((digits == 10 || digits == 11)
+          && text.charAt(from) == '0'
+          && text.charAt(from + 1) == '1') {
+        return MaskType.PHONE_NUMBER;
+      }
+      return null;
+    }
+
+    /** Checks the birth date at {@code from} and the gender digit at {@code genderAt}. */
+    private boolean isRrn(int from, int genderAt) {
+      int month = digit(from + 2) * 10 + digit(from + 3);
+      int day = digit(from + 4) * 10 + digit(from + 5);
+      int gender = digit(genderAt);
+      return month >= 1 && month <= 12 && day >= 1 && day <= 31 && gender >= 1 && gender <= 8;
+    }
+
+    private boolean passesLuhn(int from, int end) {
+      int sum = 0;
+      boolean doubled = false;
+      for (int i = end - 1; i >= from; i--) {
+        int d = digit(i);
+        if (doubled) {
+          d *= 2;
+          if (d > 9) {
+            d -= 9;
+          }
+        }
+        sum += d;
+        doubled = !doubled;
+      }
+      return sum % 10 == 0;
+    }
+
+    private int digit(int i) {
+      return text.charAt(i) - '0';
+    }
+
+    /** Matches {@code A12345678} and {@code M123A4567}. */
+    private int passport(int from) {
+      int end = from + 9;
+      if (end > length || !endsToken(end)) {
+        return -1;
+      }
+      boolean valid =
+          CharSequences.isDigits(text, from + 1, end)
+              || (CharSequences.isDigits(text, from + 1, from + 4)
+                  && text.charAt(from + 4) >= 'A'
+                  && text.charAt(from + 4) <= 'Z'
+                  && CharSequences.isDigits(text, from + 5, end));
+      return valid ? match(from, end, MaskType.PASSPORT) : -1;
+    }
+
+    /** Matches a driver's license number after a two-letter region, e.g. 서울-12-345678-10. */
+    private int regionLicense(int from) {
+      if (from > 0 && Character.isLetter(text.charAt(from - 1))) {
+        return -1;
+      }
+      int pos = from + 2;
+      if (pos >= length || !isHangul(text.charAt(from + 1))) {
+        return -1;
+      }
+      if (text.charAt(pos) == '-' || text.charAt(pos) == ' ') {
+        pos++;
+      }
+      if (pos >= length || !CharSequences.isDigit(text.charAt(pos))) {
+        return -1;
+      }
+      int end = readNumber(pos);
+      return separator == '-' && shape() == REGION_LICENSE_SHAPE && endsToken(end)
+          ? match(from, end, MaskType.DRIVERS_LICENSE)
+          : -1;
+    }
+
+    /**
+     * Matches an IPv6 address of eight groups, or fewer with one {@code ::}. The compressed form
+     * needs a digit or at least three groups, so words such as {@code dead::beef} are not taken for
+     * addresses.
+     */
+    private int ipv6(int from) {
+      int pos = from;
+      int count = 0;
+      boolean compressed = false;
+      boolean digit = false;
+      while (count < 8) {
+        int start = pos;
+        while (pos < length && pos - start <= 4 && isHex(text.charAt(pos))) {
+          digit |= CharSequences.isDigit(text.charAt(pos));
+          pos++;
+        }
+        if (pos == start || pos - start > 4) {
+          return -1;
+        }
+        count++;
+        if (pos + 1 < length && text.charAt(pos) == ':' && isHex(text.charAt(pos + 1))) {
+          pos++;
+        } else if (pos + 2 < length
+            && text.charAt(pos) == ':'
+            && text.charAt(pos + 1) == ':'
+            && isHex(text.charAt(pos + 2))
+            && !compressed) {
+          compressed = true;
+          pos += 2;
+        } else {
+          break;
+        }
+      }
+      // A ninth group ends the loop right after a separator
+      boolean valid =
+          (compressed ? count <= 7 && (digit || count >= 3) : count == 8)
+              && text.charAt(pos - 1) != ':';
+      return valid && endsToken(pos) ? match(from, pos, MaskType.IP_ADDRESS) : -1;
+    }
+
+    /** Matches an email address around the {@code @} at {@code at}. */
+    private int email(int at) {
+      int start = at;
+      while (start > copied && isLocal(text.charAt(start - 1))) {
+        start--;
+      }
+      while (start < at && text.charAt(start) == '.') {
+        start++;
+      }
+      if (start == at) {
+        return -1;
+      }
+      int pos = at + 1;
+      int labels = 0;
+      int lastLabel;
+      while (true) {
+        lastLabel = pos;
+        while (pos < length && isDomain(text.charAt(pos))) {
+          pos++;
+        }
+        if (pos == lastLabel) {
+          return -1;
+        }
+        labels++;
+        if (pos + 1 < length && text.charAt(pos) == '.' && isDomain(text.charAt(pos + 1))) {
+          pos++;
+        } else {
+          break;
+        }
+      }
+      if (labels < 2 || pos - lastLabel < 2 || !endsToken(pos)) {
+        return -1;
+      }
+      for (int i = lastLabel; i < pos; i++) {
+        char c = text.charAt(i);
+        if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+          return -1;
+        }
+      }
+      return match(start, pos, MaskType.EMAIL);
+    }
+  }
+
+  /** A part of a text, handed to a masker without copying it. */
+  private static final class Window implements CharSequence {
+    private CharSequence text;
+    private int start;
+    private int end;
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return text.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      if (from < 0 || from > to || to > end - start) {
+        throw new IndexOutOfBoundsException();
+      }
+      return text.subSequence(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      return text.subSequence(start, end).toString();
+    }
+  }
+}
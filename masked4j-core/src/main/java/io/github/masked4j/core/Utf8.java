@@ -0,0 +1,157 @@
+package io.github.masked4j.core;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 helpers for the built-in {@link io.github.masked4j.Utf8Masker} implementations.
+ *
+ * <p>All reads use absolute indexes, so the position of the source buffer is left alone. Lengths
+ * and offsets are counted in UTF-16 chars, like the {@code String} based maskers; a four-byte
+ * sequence counts as two chars but is never split. Input is expected to be valid UTF-8; a malformed
+ * byte counts as one char.
+ */
+final class Utf8 {
+  private Utf8() {}
+
+  /** Returns the length of the sequence starting with this lead byte, 1 if it is malformed. */
+  static int sequenceLength(byte lead) {
+    if (lead >= 0) {
+      return 1;
+    }
+    if ((lead & 0xE0) == 0xC0) {
+      return 2;
+    }
+    if ((lead & 0xF0) == 0xE0) {
+      return 3;
+    }
+    if ((lead & 0xF8) == 0xF0) {
+      return 4;
+    }
+    return 1;
+  }
+
+  /** Returns the number of UTF-16 chars encoded in {@code [from, to)}. */
+  static int charCount(ByteBuffer src, int from, int to) {
+    int count = 0;
+    for (int i = from; i < to; ) {
+      int length = sequenceLength(src.get(i));
+      count += length == 4 ? 2 : 1;
+      i += length;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the index of the byte following the first {@code chars} UTF-16 chars after {@code
+   * from}, or {@code to} if there are fewer.
+   */
+  static int offset(ByteBuffer src, int from, int to, int chars) {
+    int i = from;
+    while (chars > 0 && i < to) {
+      int length = sequenceLength(src.get(i));
+      chars -= length == 4 ? 2 : 1;
+      i += length;
+    }
+    return Math.min(i, to);
+  }
+
+  /** Returns the index of the start of the last sequence in {@code [from, to)}. */
+  static int lastSequence(ByteBuffer src, int from, int to) {
+    int i = to - 1;
+    while (i > from && (src.get(i) & 0xC0) == 0x80) {
+      i--;
+    }
+    return i;
+  }
+
+  /**
+   * Decodes the code point of the sequence at {@code index}.
+   *
+   * @return the code point, or {@code -1} if the sequence is malformed or truncated
+   */
+  static int codePointAt(ByteBuffer src, int index, int to) {
+    byte lead = src.get(index);
+    int length = sequenceLength(lead);
+    if (length == 1) {
+      return lead >= 0 ? lead : -1;
+    }
+    if (index + length > to) {
+      return -1;
+    }
+    int codePoint = lead & (0xFF >> (length + 1));
+    for (int i = 1; i < length; i++) {
+      byte b = src.get(index + i);
+      if ((b & 0xC0) != 0x80) {
+        return -1;
+      }
+      codePoint = (codePoint << 6) | (b & 0x3F);
+    }
+    return codePoint;
+  }
+
+  /** ASCII bytes never occur inside multi-byte sequences, so they can be searched directly. */
+  static int indexOf(ByteBuffer src, int from, int to, char ascii) {
+    for (int i = from; i < to; i++) {
+      if (src.get(i) == ascii) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int lastIndexOf(ByteBuffer src, int from, int to, char ascii) {
+    for (int i = to - 1; i >= from; i--) {
+      if (src.get(i) == ascii) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static boolean isDigit(ByteBuffer src, int index) {
+    byte b = src.get(index);
+    return b >= '0' && b <= '9';
+  }
+
+  /** Returns whether {@code [from, to)} holds only ASCII digits. */
+  static boolean isDigits(ByteBuffer src, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(src, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Copies {@code [from, to)} of {@code src} to {@code dst}. */
+  static void copy(ByteBuffer src, int from, int to, ByteBuffer dst) {
+    int length = to - from;
+    if (length > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    int position = dst.position();
+    dst.put(position, src, from, length);
+    dst.position(position + length);
+  }
+
+  /** Writes ASCII text, such as a mask or separator, to {@code dst}. */
+  static void put(ByteBuffer dst, String ascii) {
+    int length = ascii.length();
+    if (length > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < length; i++) {
+      dst.put((byte) ascii.charAt(i));
+    }
+  }
+
+  static void repeat(ByteBuffer dst, char ascii, int count) {
+    if (count > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < count; i++) {
+      dst.put((byte) ascii);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package io.github.masked4j.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.annotation.RegexEngine;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import java.io.IOException;
+
+/**
+ * Placeholder serializer {@link MaskedAnnotationIntrospector} returns for masked properties. When
+ * Jackson contextualizes it for a property, it resolves the property's annotations to the shared
+ * {@link MaskingSerializer}, so introspection itself neither validates nor builds anything.
+ */
+final class ContextualMaskingSerializer extends StdSerializer<Object>
+    implements ContextualSerializer {
+  private final RegexEngine regexEngine;
+
+  ContextualMaskingSerializer(RegexEngine regexEngine) {
+    super(Object.class);
+    this.regexEngine = regexEngine;
+  }
+
+  @Override
+  public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) {
+    if (property == null) {
+      return this;
+    }
+    Masked masked = property.getAnnotation(Masked.class);
+    MaskedPattern maskedPattern = property.getAnnotation(MaskedPattern.class);
+
+    if (masked != null && maskedPattern != null) {
+      throw new MaskingConfigurationException(
+          String.format(
+              "Field '%s' has both @Masked and @MaskedPattern annotations. Only one masking"
+                  + " annotation is allowed per field.",
+              property.getName()));
+    }
+    if (maskedPattern != null) {
+      RegexEngine engine =
+          maskedPattern.engine() == RegexEngine.DEFAULT ? regexEngine : maskedPattern.engine();
+      return MaskingSerializer.shared(maskedPattern.regex(), maskedPattern.replacement(), engine);
+    }
+    if (masked != null) {
+      return MaskingSerializer.shared(
+          masked.value() == MaskType.CUSTOM ? masked.masker() : masked.value().getMaskerClass());
+    }
+    return this;
+  }
+
+  @Override
+  public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    // Not contextualized for a masked property, so there is nothing to mask by
+    provider.defaultSerializeValue(value, gen);
+  }
+}
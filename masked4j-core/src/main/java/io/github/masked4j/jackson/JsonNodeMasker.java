@@ -0,0 +1,267 @@
+package io.github.masked4j.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.MaskerFactory;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Masks {@link JsonNode} trees in place, such as {@code ObjectNode}s built on the fly for audit
+ * events or dynamic forms, which no annotation can reach.
+ *
+ * <pre>{@code
+ * JsonNodeMasker masker = JsonNodeMasker.builder()
+ *     .field("email", MaskType.EMAIL)
+ *     .path("$.payment.card", MaskType.CREDIT_CARD)
+ *     .build();
+ * masker.mask(tree);
+ * }</pre>
+ *
+ * <p>Rules are the same as for {@link JsonStreamMasker}: JSON paths or field names matched at any
+ * depth, with the first rule added winning. They are compiled into a trie of path steps whose field
+ * names are looked up character by character, so no map is consulted per node. Selected text and
+ * number values are replaced with masked {@link TextNode}s; a new node is only created when masking
+ * changes the value. Selecting an object or array masks every value inside it.
+ *
+ * <p>Instances are immutable and thread-safe; a tree must not be modified concurrently while it is
+ * masked.
+ */
+public final class JsonNodeMasker {
+  private final JsonPathRules rules;
+
+  private JsonNodeMasker(Builder builder) {
+    this.rules = builder.rules.build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Masks a tree in place.
+   *
+   * @param root the tree, may be {@code null}
+   * @return {@code root}, or a masked node replacing it if {@code root} itself is a selected text
+   *     or number value
+   * @throws MaskingProcessException if a masker fails
+   */
+  public JsonNode mask(JsonNode root) {
+    if (root == null) {
+      return null;
+    }
+    return new Walk().run(root);
+  }
+
+  /** The state of masking one tree; its arrays grow with the nesting depth only. */
+  private final class Walk {
+    private final int stateSize = rules.size();
+    // Per nesting depth: the container, its rule state and inherited masker, and its position
+    private JsonNode[] containers = new JsonNode[8];
+    private int[][] states = new int[8][];
+    private int[] counts = new int[8];
+    private Masker[] maskers = new Masker[8];
+    private int[] indexes = new int[8];
+    private FieldCursor[] fields = new FieldCursor[8];
+
+    private final StringBuilder text = new StringBuilder(64);
+
+    JsonNode run(JsonNode root) {
+      int[] state = state(0);
+      counts[0] = rules.root(state);
+      Masker masker = rules.masker(state, counts[0]);
+      if (!root.isContainerNode()) {
+        JsonNode masked = masker == null ? null : maskValue(root, masker, null);
+        return masked == null ? root : masked;
+      }
+      push(0, root, masker);
+      int depth = 1;
+      while (depth > 0) {
+        int parent = depth - 1;
+        JsonNode container = containers[parent];
+        Map.Entry<String, JsonNode> field = null;
+        JsonNode child;
+        int index = indexes[parent];
+        if (container.isObject()) {
+          Iterator<Map.Entry<String, JsonNode>> iterator = fields[parent].iterator;
+          if (!iterator.hasNext()) {
+            pop(parent);
+            depth--;
+            continue;
+          }
+          field = iterator.next();
+          child = field.getValue();
+        } else {
+          if (index >= container.size()) {
+            pop(parent);
+            depth--;
+            continue;
+          }
+          child = container.get(index);
+        }
+        indexes[parent]++;
+
+        masker = maskers[parent];
+        if (masker == null) {
+          String name = field == null ? null : field.getKey();
+          int[] childState = state(depth);
+          counts[depth] = rules.next(states[parent], counts[parent], name, index, childState);
+          masker = rules.masker(childState, counts[depth]);
+        } else {
+          // Inside a selected object or array, which is masked as a whole
+          counts[depth] = 0;
+        }
+
+        if (child.isContainerNode()) {
+          if (masker != null || counts[depth] > 0) {
+            push(depth, child, masker);
+            depth++;
+          }
+        } else if (masker != null) {
+          JsonNode masked = maskValue(child, masker, field == null ? null : field.getKey());
+          if (masked == null) {
+            continue;
+          }
+          if (field != null) {
+            field.setValue(masked);
+          } else {
+            ((ArrayNode) container).set(index, masked);
+          }
+        }
+      }
+      return root;
+    }
+
+    /** Returns the masked replacement of a value, or {@code null} if it stays as it is. */
+    private JsonNode maskValue(JsonNode value, Masker masker, String name) {
+      if (!value.isTextual() && !value.isNumber()) {
+        return null;
+      }
+      String original = value.isTextual() ? value.textValue() : value.asText();
+      text.setLength(0);
+      try {
+        masker.mask(original, text);
+      } catch (RuntimeException e) {
+        throw new MaskingProcessException(
+            String.format("Failed to mask the value of '%s'", name), e);
+      }
+      if (value.isTextual() && original.contentEquals(text)) {
+        return null;
+      }
+      return TextNode.valueOf(text.toString());
+    }
+
+    private void push(int depth, JsonNode container, Masker masker) {
+      ensureDepth(depth);
+      containers[depth] = container;
+      maskers[depth] = masker;
+      indexes[depth] = 0;
+      if (container instanceof ObjectNode) {
+        ObjectNode object = (ObjectNode) container;
+        if (fields[depth] == null) {
+          fields[depth] = new FieldCursor();
+        }
+        fields[depth].iterator = object.fields();
+      }
+    }
+
+    private void pop(int depth) {
+      containers[depth] = null;
+      if (fields[depth] != null) {
+        fields[depth].iterator = null;
+      }
+    }
+
+    private int[] state(int depth) {
+      ensureDepth(depth);
+      if (states[depth] == null) {
+        states[depth] = new int[stateSize];
+      }
+      return states[depth];
+    }
+
+    private void ensureDepth(int depth) {
+      if (depth >= counts.length) {
+        int length = Math.max(depth + 1, counts.length << 1);
+        containers = Arrays.copyOf(containers, length);
+        states = Arrays.copyOf(states, length);
+        counts = Arrays.copyOf(counts, length);
+        maskers = Arrays.copyOf(maskers, length);
+        indexes = Arrays.copyOf(indexes, length);
+        fields = Arrays.copyOf(fields, length);
+      }
+    }
+  }
+
+  /** The remaining fields of an object being walked, reused for every object at its depth. */
+  private static final class FieldCursor {
+    private Iterator<Map.Entry<String, JsonNode>> iterator;
+  }
+
+  /** Builder for {@link JsonNodeMasker}. */
+  public static final class Builder {
+    private final JsonPathRules.Builder rules = JsonPathRules.builder();
+
+    private Builder() {}
+
+    /**
+     * Masks the values a JSON path selects with the built-in masker of a type.
+     *
+     * @param path the JSON path, such as {@code $.user.email} or {@code $.items[*].card}
+     * @param type the mask type
+     * @return this builder
+     * @throws io.github.masked4j.exception.MaskingConfigurationException if the path is invalid
+     */
+    public Builder path(String path, MaskType type) {
+      return path(path, MaskerFactory.getMasker(type));
+    }
+
+    /**
+     * Masks the values a JSON path selects with a masker.
+     *
+     * @param path the JSON path
+     * @param masker the masker
+     * @return this builder
+     * @throws io.github.masked4j.exception.MaskingConfigurationException if the path is invalid
+     */
+    public Builder path(String path, Masker masker) {
+      rules.path(path, Objects.requireNonNull(masker, "masker"));
+      return this;
+    }
+
+    /**
+     * Masks the values of every field with the given name, at any depth, with the built-in masker
+     * of a type.
+     *
+     * @param name the field name
+     * @param type the mask type
+     * @return this builder
+     */
+    public Builder field(String name, MaskType type) {
+      return field(name, MaskerFactory.getMasker(type));
+    }
+
+    /**
+     * Masks the values of every field with the given name, at any depth, with a masker.
+     *
+     * @param name the field name
+     * @param masker the masker
+     * @return this builder
+     */
+    public Builder field(String name, Masker masker) {
+      rules.field(Objects.requireNonNull(name, "name"), Objects.requireNonNull(masker, "masker"));
+      return this;
+    }
+
+    public JsonNodeMasker build() {
+      return new JsonNodeMasker(this);
+    }
+  }
+}
@@ -0,0 +1,376 @@
+package io.github.masked4j.jackson;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Masking rules for JSON documents, compiled from JSON paths into a trie of path steps.
+ *
+ * <p>A document is matched top-down: the rule nodes a value can be reached by form its state, and
+ * the state of a child is computed from its parent's state and the child's field name or array
+ * index by {@link #next}. A state entry is a node id shifted left by one, with the low bit set when
+ * the node only carries a descendant search ({@code ..}) further down. Field names are looked up in
+ * a {@link NameTrie} per node. The supported path syntax is:
+ *
+ * <ul>
+ *   <li>{@code $} the root, which every path starts with
+ *   <li>{@code .name} or {@code ['name']} a field
+ *   <li>{@code .*} or {@code [*]} every field or element
+ *   <li>{@code [2]} an array element
+ *   <li>{@code ..name}, {@code ..['name']} or {@code ..*} a field, or every value, at any depth
+ * </ul>
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+final class JsonPathRules {
+  private static final int NONE = -1;
+  // Low bit of a state entry whose node only continues a descendant search
+  private static final int SEARCH = 1;
+
+  private final NameTrie[] fields;
+  private final int[] anyChild;
+  // Pairs of array index and node, sorted by index
+  private final int[][] indexChildren;
+  private final NameTrie[] descendantFields;
+  private final int[] descendantAny;
+  private final Masker[] maskers;
+  // The rule a node's masker comes from, so the first declared rule wins
+  private final int[] rules;
+
+  private JsonPathRules(List<Builder.Node> nodes) {
+    int count = nodes.size();
+    fields = new NameTrie[count];
+    anyChild = new int[count];
+    indexChildren = new int[count][];
+    descendantFields = new NameTrie[count];
+    descendantAny = new int[count];
+    maskers = new Masker[count];
+    rules = new int[count];
+    for (Builder.Node node : nodes) {
+      int id = node.id;
+      fields[id] = NameTrie.of(ids(node.fields));
+      anyChild[id] = id(node.any);
+      indexChildren[id] =
+          node.indices.entrySet().stream()
+              .sorted(Map.Entry.comparingByKey())
+              .flatMapToInt(entry -> Arrays.stream(new int[] {entry.getKey(), entry.getValue().id}))
+              .toArray();
+      descendantFields[id] = NameTrie.of(ids(node.descendantFields));
+      descendantAny[id] = id(node.descendantAny);
+      maskers[id] = node.masker;
+      rules[id] = node.rule;
+    }
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the largest size a state can have. */
+  int size() {
+    return maskers.length * 2;
+  }
+
+  /**
+   * Writes the initial state, the state of the root value, to {@code out}.
+   *
+   * @param out receives the node ids
+   * @return the number of nodes written
+   */
+  int root(int[] out) {
+    out[0] = 0;
+    return 1;
+  }
+
+  /**
+   * Computes the state of a child value.
+   *
+   * @param state the parent's nodes
+   * @param count the number of nodes in {@code state}
+   * @param name the child's field name, or {@code null} for an array element
+   * @param index the child's array index, ignored for fields
+   * @param out receives the child's nodes, at least {@link #size()} long
+   * @return the number of nodes written
+   */
+  int next(int[] state, int count, String name, int index, int[] out) {
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      int node = state[i] >>> 1;
+      if ((state[i] & SEARCH) == 0) {
+        if (name != null) {
+          size = add(out, size, lookup(fields[node], name));
+        } else {
+          size = add(out, size, index(indexChildren[node], index));
+        }
+        size = add(out, size, anyChild[node]);
+      }
+      if (descendantFields[node] != null || descendantAny[node] != NONE) {
+        size = addEntry(out, size, node << 1 | SEARCH);
+        if (name != null) {
+          size = add(out, size, lookup(descendantFields[node], name));
+        }
+        size = add(out, size, descendantAny[node]);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the masker for a value in the given state.
+   *
+   * @return the masker of the first declared rule matching the value, or {@code null}
+   */
+  Masker masker(int[] state, int count) {
+    Masker masker = null;
+    int rule = Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      if ((state[i] & SEARCH) != 0) {
+        continue;
+      }
+      int node = state[i] >>> 1;
+      if (maskers[node] != null && rules[node] < rule) {
+        masker = maskers[node];
+        rule = rules[node];
+      }
+    }
+    return masker;
+  }
+
+  private static int add(int[] out, int size, int node) {
+    return node == NONE ? size : addEntry(out, size, node << 1);
+  }
+
+  private static int addEntry(int[] out, int size, int entry) {
+    for (int i = 0; i < size; i++) {
+      if (out[i] == entry) {
+        return size;
+      }
+    }
+    out[size] = entry;
+    return size + 1;
+  }
+
+  private static int lookup(NameTrie names, String name) {
+    return names == null ? NONE : names.get(name);
+  }
+
+  private static int index(int[] children, int index) {
+    for (int i = 0; i < children.length; i += 2) {
+      if (children[i] == index) {
+        return children[i + 1];
+      }
+    }
+    return NONE;
+  }
+
+  private static Map<String, Integer> ids(Map<String, Builder.Node> nodes) {
+    Map<String, Integer> ids = new LinkedHashMap<>();
+    nodes.forEach((name, node) -> ids.put(name, node.id));
+    return ids;
+  }
+
+  private static int id(Builder.Node node) {
+    return node == null ? NONE : node.id;
+  }
+
+  /** Collects rules and compiles them. */
+  static final class Builder {
+    private final List<Node> nodes = new ArrayList<>();
+    private final Node root = newNode();
+    private int ruleCount;
+
+    private Builder() {}
+
+    /**
+     * Adds a rule masking the values a JSON path selects.
+     *
+     * @param path the path
+     * @param masker the masker
+     * @return this builder
+     * @throws MaskingConfigurationException if the path is invalid
+     */
+    Builder path(String path, Masker masker) {
+      Node node = new PathParser(path).parse();
+      if (node.masker == null) {
+        node.masker = masker;
+        node.rule = ruleCount;
+      }
+      ruleCount++;
+      return this;
+    }
+
+    /**
+     * Adds a rule masking the values of every field with the given name, at any depth.
+     *
+     * @param name the field name
+     * @param masker the masker
+     * @return this builder
+     */
+    Builder field(String name, Masker masker) {
+      Node node = root.descendantFields.computeIfAbsent(name, key -> newNode());
+      if (node.masker == null) {
+        node.masker = masker;
+        node.rule = ruleCount;
+      }
+      ruleCount++;
+      return this;
+    }
+
+    JsonPathRules build() {
+      return new JsonPathRules(nodes);
+    }
+
+    private Node newNode() {
+      Node node = new Node(nodes.size());
+      nodes.add(node);
+      return node;
+    }
+
+    /** A node of the path trie being built. */
+    private static final class Node {
+      private final int id;
+      private final Map<String, Node> fields = new LinkedHashMap<>();
+      private Node any;
+      private final Map<Integer, Node> indices = new LinkedHashMap<>();
+      private final Map<String, Node> descendantFields = new LinkedHashMap<>();
+      private Node descendantAny;
+      private Masker masker;
+      private int rule;
+
+      private Node(int id) {
+        this.id = id;
+      }
+    }
+
+    /** Parses one path and adds its steps to the trie. */
+    private final class PathParser {
+      private final String path;
+      private int pos;
+
+      PathParser(String path) {
+        this.path = path;
+      }
+
+      Node parse() {
+        if (path == null || !path.startsWith("$")) {
+          throw error("must start with '$'");
+        }
+        pos = 1;
+        Node node = root;
+        while (pos < path.length()) {
+          char c = path.charAt(pos);
+          if (path.startsWith("..", pos)) {
+            pos += 2;
+            node = descendant(node);
+          } else if (c == '.') {
+            pos++;
+            node = dotted(node);
+          } else if (c == '[') {
+            node = bracketed(node);
+          } else {
+            throw error("expected '.' or '['");
+          }
+        }
+        return node;
+      }
+
+      private Node dotted(Node node) {
+        if (pos < path.length() && path.charAt(pos) == '*') {
+          pos++;
+          return node.any == null ? node.any = newNode() : node.any;
+        }
+        return node.fields.computeIfAbsent(name(), key -> newNode());
+      }
+
+      private Node descendant(Node node) {
+        if (pos < path.length() && path.charAt(pos) == '*') {
+          pos++;
+          return node.descendantAny == null ? node.descendantAny = newNode() : node.descendantAny;
+        }
+        if (pos < path.length() && path.charAt(pos) == '[') {
+          pos++;
+          if (pos < path.length() && path.charAt(pos) == '*') {
+            pos++;
+            expect(']');
+            return node.descendantAny == null ? node.descendantAny = newNode() : node.descendantAny;
+          }
+          String name = quoted();
+          expect(']');
+          return node.descendantFields.computeIfAbsent(name, key -> newNode());
+        }
+        return node.descendantFields.computeIfAbsent(name(), key -> newNode());
+      }
+
+      private Node bracketed(Node node) {
+        pos++;
+        if (pos >= path.length()) {
+          throw error("unclosed '['");
+        }
+        char c = path.charAt(pos);
+        Node next;
+        if (c == '*') {
+          pos++;
+          next = node.any == null ? node.any = newNode() : node.any;
+        } else if (c >= '0' && c <= '9') {
+          int start = pos;
+          while (pos < path.length() && Character.isDigit(path.charAt(pos))) {
+            pos++;
+          }
+          int index;
+          try {
+            index = Integer.parseInt(path.substring(start, pos));
+          } catch (NumberFormatException e) {
+            throw error("array index out of range");
+          }
+          next = node.indices.computeIfAbsent(index, key -> newNode());
+        } else {
+          next = node.fields.computeIfAbsent(quoted(), key -> newNode());
+        }
+        expect(']');
+        return next;
+      }
+
+      private String name() {
+        int start = pos;
+        while (pos < path.length() && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+          pos++;
+        }
+        if (pos == start) {
+          throw error("expected a field name");
+        }
+        return path.substring(start, pos);
+      }
+
+      private String quoted() {
+        char quote = pos < path.length() ? path.charAt(pos) : 0;
+        if (quote != '\'' && quote != '"') {
+          throw error("expected a quoted field name, an index or '*'");
+        }
+        int end = path.indexOf(quote, pos + 1);
+        if (end < 0) {
+          throw error("unclosed quote");
+        }
+        String name = path.substring(pos + 1, end);
+        pos = end + 1;
+        return name;
+      }
+
+      private void expect(char c) {
+        if (pos >= path.length() || path.charAt(pos) != c) {
+          throw error("expected '" + c + "'");
+        }
+        pos++;
+      }
+
+      private MaskingConfigurationException error(String reason) {
+        return new MaskingConfigurationException(
+            String.format("Invalid JSON path '%s': %s at index %d", path, reason, pos));
+      }
+    }
+  }
+}
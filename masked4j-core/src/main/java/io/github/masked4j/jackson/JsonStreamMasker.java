@@ -0,0 +1,358 @@
+package io.github.masked4j.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.MaskerFactory;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Masks raw JSON without data binding, by copying it token by token from a {@link JsonParser} to a
+ * {@link JsonGenerator} and masking the values selected by JSON paths or field names.
+ *
+ * <pre>{@code
+ * JsonStreamMasker masker = JsonStreamMasker.builder()
+ *     .path("$.user.email", MaskType.EMAIL)
+ *     .path("$.orders[*].card", MaskType.CREDIT_CARD)
+ *     .field("phone", MaskType.PHONE_NUMBER) // any "phone" field, like "$..phone"
+ *     .build();
+ * String masked = masker.mask(json);
+ * }</pre>
+ *
+ * <p>Paths support {@code $}, {@code .name}, {@code ['name']}, {@code .*}, {@code [*]}, {@code
+ * [index]} and the descendant forms {@code ..name} and {@code ..*}. When several rules select the
+ * same value, the first one added wins. Selected strings and numbers are written as masked strings;
+ * {@code null} and booleans are kept. A selected object or array has every string and number inside
+ * it masked.
+ *
+ * <p>No tree is built: memory use depends only on the nesting depth and the length of the longest
+ * masked value, so documents and NDJSON streams of any size are masked in constant memory. Subtrees
+ * no rule can reach are copied with {@link JsonGenerator#copyCurrentStructure}.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class JsonStreamMasker {
+  private final JsonPathRules rules;
+  private final JsonFactory jsonFactory;
+
+  private JsonStreamMasker(Builder builder) {
+    this.rules = builder.rules.build();
+    this.jsonFactory = builder.jsonFactory;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Copies every value from a parser to a generator, masking the selected values. Multiple root
+   * values, such as NDJSON lines, are copied one after another, separated by the generator's root
+   * value separator. Neither the parser nor the generator is closed.
+   *
+   * @param parser the parser to read from, positioned before or on the first value
+   * @param generator the generator to write to
+   * @throws IOException if reading or writing fails
+   * @throws MaskingProcessException if a masker fails
+   */
+  public void mask(JsonParser parser, JsonGenerator generator) throws IOException {
+    Copy copy = new Copy(parser, generator);
+    JsonToken token = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+    while (token != null) {
+      copy.root(token);
+      token = parser.nextToken();
+    }
+  }
+
+  /**
+   * Masks a JSON document.
+   *
+   * @param json the document
+   * @return the masked document
+   * @throws UncheckedIOException if the document is not valid JSON
+   */
+  public String mask(String json) {
+    StringWriter writer = new StringWriter(json.length());
+    try (JsonParser parser = jsonFactory.createParser(json);
+        JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+      mask(parser, generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Masks newline-delimited JSON, writing each value on its own line. The streams are not closed.
+   *
+   * @param in the NDJSON input
+   * @param out receives the masked NDJSON, in UTF-8
+   * @throws IOException if reading or writing fails
+   */
+  public void maskNdjson(InputStream in, OutputStream out) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(in);
+        JsonGenerator generator = jsonFactory.createGenerator(out)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      Copy copy = new Copy(parser, generator);
+      for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        copy.root(token);
+        generator.writeRaw('\n');
+      }
+    }
+  }
+
+  /** The state of copying one stream; its arrays grow with the nesting depth only. */
+  private final class Copy {
+    private final JsonParser parser;
+    private final JsonGenerator generator;
+    private final int stateSize = rules.size();
+    // Rule states, counts, array indexes and inherited maskers per nesting depth
+    private int[][] states = new int[8][];
+    private int[] counts = new int[8];
+    private int[] indexes = new int[8];
+    private Masker[] maskers = new Masker[8];
+    private final CharWindow window = new CharWindow();
+    private final StringBuilder text = new StringBuilder(64);
+    private char[] chars = new char[64];
+
+    Copy(JsonParser parser, JsonGenerator generator) {
+      this.parser = parser;
+      this.generator = generator;
+    }
+
+    /** Copies the root value starting at {@code token}. */
+    void root(JsonToken token) throws IOException {
+      int[] state = state(0);
+      counts[0] = rules.root(state);
+      Masker masker = rules.masker(state, counts[0]);
+      if (!value(token, 0, masker)) {
+        return;
+      }
+      int depth = 1;
+      while (depth > 0) {
+        token = parser.nextToken();
+        if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+          generator.copyCurrentEvent(parser);
+          depth--;
+          continue;
+        }
+        if (token == null) {
+          throw new IOException("Unexpected end of JSON input");
+        }
+        int parent = depth - 1;
+        String name = null;
+        if (token == JsonToken.FIELD_NAME) {
+          name = parser.currentName();
+          generator.copyCurrentEvent(parser);
+          token = parser.nextToken();
+        }
+        masker = maskers[parent];
+        if (masker == null) {
+          int[] child = state(depth);
+          counts[depth] = rules.next(states[parent], counts[parent], name, indexes[parent], child);
+          masker = rules.masker(child, counts[depth]);
+        } else {
+          // Inside a selected object or array, which is masked as a whole
+          counts[depth] = 0;
+        }
+        indexes[parent]++;
+        if (value(token, depth, masker)) {
+          depth++;
+        }
+      }
+    }
+
+    /**
+     * Copies or masks a value whose rule state is at {@code depth}. Returns whether a container was
+     * started whose content still has to be copied.
+     */
+    private boolean value(JsonToken token, int depth, Masker masker) throws IOException {
+      switch (token) {
+        case START_OBJECT:
+        case START_ARRAY:
+          if (masker == null && counts[depth] == 0) {
+            // No rule can select anything inside
+            generator.copyCurrentStructure(parser);
+            return false;
+          }
+          generator.copyCurrentEvent(parser);
+          ensureDepth(depth);
+          maskers[depth] = masker;
+          indexes[depth] = 0;
+          return true;
+        case VALUE_STRING:
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+          if (masker != null) {
+            writeMasked(masker);
+            return false;
+          }
+          generator.copyCurrentEvent(parser);
+          return false;
+        default:
+          generator.copyCurrentEvent(parser);
+          return false;
+      }
+    }
+
+    private void writeMasked(Masker masker) throws IOException {
+      window.set(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+      text.setLength(0);
+      try {
+        masker.mask(window, text);
+      } catch (RuntimeException e) {
+        JsonLocation location = parser.currentLocation();
+        throw new MaskingProcessException(
+            String.format(
+                "Failed to mask the value of '%s' at line %d, column %d",
+                parser.currentName(), location.getLineNr(), location.getColumnNr()),
+            e);
+      }
+      int length = text.length();
+      if (chars.length < length) {
+        chars = new char[Math.max(length, chars.length << 1)];
+      }
+      text.getChars(0, length, chars, 0);
+      generator.writeString(chars, 0, length);
+    }
+
+    private int[] state(int depth) {
+      ensureDepth(depth);
+      if (states[depth] == null) {
+        states[depth] = new int[stateSize];
+      }
+      return states[depth];
+    }
+
+    private void ensureDepth(int depth) {
+      if (depth >= counts.length) {
+        int length = Math.max(depth + 1, counts.length << 1);
+        states = Arrays.copyOf(states, length);
+        counts = Arrays.copyOf(counts, length);
+        indexes = Arrays.copyOf(indexes, length);
+        maskers = Arrays.copyOf(maskers, length);
+      }
+    }
+  }
+
+  /** A value in the parser's character buffer, handed to a masker without copying it. */
+  private static final class CharWindow implements CharSequence {
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    void set(char[] chars, int offset, int length) {
+      this.chars = chars;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, offset, length);
+    }
+  }
+
+  /** Builder for {@link JsonStreamMasker}. */
+  public static final class Builder {
+    private final JsonPathRules.Builder rules = JsonPathRules.builder();
+    private JsonFactory jsonFactory = new JsonFactory();
+
+    private Builder() {}
+
+    /**
+     * Masks the values a JSON path selects with the built-in masker of a type.
+     *
+     * @param path the JSON path, such as {@code $.user.email} or {@code $.items[*].card}
+     * @param type the mask type
+     * @return this builder
+     * @throws io.github.masked4j.exception.MaskingConfigurationException if the path is invalid
+     */
+    public Builder path(String path, MaskType type) {
+      return path(path, MaskerFactory.getMasker(type));
+    }
+
+    /**
+     * Masks the values a JSON path selects with a masker.
+     *
+     * @param path the JSON path
+     * @param masker the masker
+     * @return this builder
+     * @throws io.github.masked4j.exception.MaskingConfigurationException if the path is invalid
+     */
+    public Builder path(String path, Masker masker) {
+      rules.path(path, Objects.requireNonNull(masker, "masker"));
+      return this;
+    }
+
+    /**
+     * Masks the values of every field with the given name, at any depth, with the built-in masker
+     * of a type.
+     *
+     * @param name the field name
+     * @param type the mask type
+     * @return this builder
+     */
+    public Builder field(String name, MaskType type) {
+      return field(name, MaskerFactory.getMasker(type));
+    }
+
+    /**
+     * Masks the values of every field with the given name, at any depth, with a masker.
+     *
+     * @param name the field name
+     * @param masker the masker
+     * @return this builder
+     */
+    public Builder field(String name, Masker masker) {
+      rules.field(Objects.requireNonNull(name, "name"), Objects.requireNonNull(masker, "masker"));
+      return this;
+    }
+
+    /**
+     * Sets the factory {@link #mask(String)} and {@link #maskNdjson} create parsers and generators
+     * with, for example to configure parser features. Defaults to a plain {@link JsonFactory}.
+     *
+     * @param jsonFactory the factory
+     * @return this builder
+     */
+    public Builder jsonFactory(JsonFactory jsonFactory) {
+      this.jsonFactory = Objects.requireNonNull(jsonFactory, "jsonFactory");
+      return this;
+    }
+
+    public JsonStreamMasker build() {
+      return new JsonStreamMasker(this);
+    }
+  }
+}
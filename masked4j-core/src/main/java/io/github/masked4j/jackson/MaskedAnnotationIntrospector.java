@@ -2,51 +2,43 @@ package io.github.masked4j.jackson;
 
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
-import io.github.masked4j.Masker;
-import io.github.masked4j.annotation.MaskType;
 import io.github.masked4j.annotation.Masked;
 import io.github.masked4j.annotation.MaskedPattern;
-import io.github.masked4j.core.MaskerFactory;
-import io.github.masked4j.core.RegexMasker;
-import io.github.masked4j.exception.MaskingConfigurationException;
-import io.github.masked4j.exception.MaskingException;
+import io.github.masked4j.annotation.RegexEngine;
+import java.util.Objects;
 
 /**
  * Jackson AnnotationIntrospector to detect {@link Masked} annotations.
  *
  * <p>This class ensures that fields annotated with {@link Masked} are serialized using {@link
- * MaskingSerializer}.
+ * MaskingSerializer}. Introspection only marks masked properties; the annotations are validated and
+ * resolved to a shared serializer per masker or pattern when Jackson contextualizes the property's
+ * serializer, and conflicting annotations are reported there.
  */
 public class MaskedAnnotationIntrospector extends NopAnnotationIntrospector {
-  @Override
-  public Object findSerializer(Annotated am) {
-    Masked masked = am.getAnnotation(Masked.class);
-    MaskedPattern maskedPattern = am.getAnnotation(MaskedPattern.class);
+  private final ContextualMaskingSerializer contextualSerializer;
 
-    if (masked != null && maskedPattern != null) {
-      throw new MaskingConfigurationException(
-          String.format(
-              "Field '%s' has both @Masked and @MaskedPattern annotations. Only one masking annotation is allowed per field.",
-              am.getName()));
-    }
+  /** Creates an introspector that runs {@link MaskedPattern} regexes on {@link RegexEngine#JDK}. */
+  public MaskedAnnotationIntrospector() {
+    this(RegexEngine.JDK);
+  }
 
-    if (maskedPattern != null) {
-      return new MaskingSerializer(
-          new RegexMasker(maskedPattern.regex(), maskedPattern.replacement()));
-    }
+  /**
+   * Creates an introspector that runs {@link MaskedPattern} regexes which do not choose an engine
+   * on the given one.
+   *
+   * @param regexEngine the default regex engine
+   */
+  public MaskedAnnotationIntrospector(RegexEngine regexEngine) {
+    this.contextualSerializer =
+        new ContextualMaskingSerializer(Objects.requireNonNull(regexEngine, "regexEngine"));
+  }
 
-    if (masked != null) {
-      try {
-        Masker masker;
-        if (masked.value() == MaskType.CUSTOM) {
-          masker = MaskerFactory.getMasker(masked.masker());
-        } else {
-          masker = MaskerFactory.getMasker(masked.value());
-        }
-        return new MaskingSerializer(masker);
-      } catch (Exception e) {
-        throw new MaskingException("Failed to create MaskingSerializer", e);
-      }
+  @Override
+  public Object findSerializer(Annotated am) {
+    if (am.hasAnnotation(Masked.class) || am.hasAnnotation(MaskedPattern.class)) {
+      // Resolved per property, to a shared serializer, once Jackson contextualizes it
+      return contextualSerializer;
     }
     return null;
   }
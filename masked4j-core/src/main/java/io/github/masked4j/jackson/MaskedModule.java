@@ -1,12 +1,31 @@
 package io.github.masked4j.jackson;
 
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.masked4j.annotation.RegexEngine;
+import java.util.Objects;
 
 /** Jackson Module that registers the {@link MaskedAnnotationIntrospector}. */
 public class MaskedModule extends SimpleModule {
+  private final RegexEngine regexEngine;
+
+  /** Creates a module that runs {@code @MaskedPattern} regexes on {@link RegexEngine#JDK}. */
+  public MaskedModule() {
+    this(RegexEngine.JDK);
+  }
+
+  /**
+   * Creates a module that runs {@code @MaskedPattern} regexes which do not choose an engine on the
+   * given one.
+   *
+   * @param regexEngine the default regex engine
+   */
+  public MaskedModule(RegexEngine regexEngine) {
+    this.regexEngine = Objects.requireNonNull(regexEngine, "regexEngine");
+  }
+
   @Override
   public void setupModule(SetupContext context) {
     super.setupModule(context);
-    context.insertAnnotationIntrospector(new MaskedAnnotationIntrospector());
+    context.insertAnnotationIntrospector(new MaskedAnnotationIntrospector(regexEngine));
   }
 }
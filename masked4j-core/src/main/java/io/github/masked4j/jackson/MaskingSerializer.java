@@ -1,18 +1,47 @@
 package io.github.masked4j.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.RegexEngine;
+import io.github.masked4j.core.MaskerFactory;
+import io.github.masked4j.core.PatternCache;
+import io.github.masked4j.core.RegexMasker;
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Jackson serializer that applies masking logic during JSON serialization.
  *
  * <p>This serializer is registered for fields annotated with {@link
  * io.github.masked4j.annotation.Masked}.
+ *
+ * <p>Values are masked into a per-thread buffer through {@link Masker#mask(CharSequence,
+ * StringBuilder)} and written with {@link JsonGenerator#writeString(char[], int, int)}, so no
+ * intermediate {@code String} is created for the masked value. Integral numbers are masked from
+ * their digits in the same buffer, {@code BigDecimal} from its plain string and other values from
+ * their {@code toString()} form; all are written as strings. An {@code Optional} is written as its
+ * masked content or {@code null}, and collections and arrays as arrays of masked elements.
+ *
+ * <p>Binary generators that copy UTF-8 strings as they are (CBOR, and Smile without shared string
+ * values) get masked values that are ASCII-only as bytes, which they write without encoding them.
+ * Other values and generators are written as characters.
+ *
+ * <p>Serializers hold no per-property state, so {@link MaskedAnnotationIntrospector} shares one
+ * instance per masker class and per pattern across all properties and object mappers.
  */
-public class MaskingSerializer extends JsonSerializer<String> {
+public class MaskingSerializer extends StdSerializer<Object> {
+  private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+  // Bounded by the masker classes present in the code
+  private static final Map<Class<?>, MaskingSerializer> SHARED = new ConcurrentHashMap<>();
+
   private final Masker masker;
 
   /**
@@ -21,12 +50,217 @@ public class MaskingSerializer extends JsonSerializer<String> {
    * @param masker the masker to use
    */
   public MaskingSerializer(Masker masker) {
+    super(Object.class);
     this.masker = masker;
   }
 
+  /**
+   * Returns the shared serializer for a masker class.
+   *
+   * @param maskerClass the masker class, instantiated through {@link MaskerFactory}
+   * @return the serializer
+   */
+  static MaskingSerializer shared(Class<? extends Masker> maskerClass) {
+    MaskingSerializer serializer = SHARED.get(maskerClass);
+    if (serializer == null) {
+      serializer =
+          SHARED.computeIfAbsent(
+              maskerClass, key -> new MaskingSerializer(MaskerFactory.getMasker(maskerClass)));
+    }
+    return serializer;
+  }
+
+  /**
+   * Returns the shared serializer for a regex replacement. It is cached in {@link
+   * PatternCache#shared()} along with the compiled regex, so serializers for regexes supplied at
+   * runtime are evicted instead of accumulating.
+   *
+   * @param regex the regex
+   * @param replacement the replacement
+   * @param engine the engine to run the regex on
+   * @return the serializer
+   */
+  static MaskingSerializer shared(String regex, String replacement, RegexEngine engine) {
+    return PatternCache.shared()
+        .computeIfAbsent(
+            new PatternKey(regex, replacement, engine),
+            MaskingSerializer.class,
+            () -> new MaskingSerializer(new RegexMasker(regex, replacement, engine)));
+  }
+
+  @Override
+  public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers)
+      throws IOException {
+    if (value == null) {
+      gen.writeString(masker.mask(null));
+    } else if (value instanceof Optional) {
+      writeElement(((Optional<?>) value).orElse(null), gen, serializers);
+    } else if (value instanceof Collection) {
+      Collection<?> collection = (Collection<?>) value;
+      gen.writeStartArray(value, collection.size());
+      for (Object element : collection) {
+        writeElement(element, gen, serializers);
+      }
+      gen.writeEndArray();
+    } else if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      gen.writeStartArray(value, array.length);
+      for (Object element : array) {
+        writeElement(element, gen, serializers);
+      }
+      gen.writeEndArray();
+    } else if (value.getClass().isArray() && !(value instanceof char[])) {
+      int length = Array.getLength(value);
+      gen.writeStartArray(value, length);
+      for (int i = 0; i < length; i++) {
+        writeMasked(Array.get(value, i), gen);
+      }
+      gen.writeEndArray();
+    } else {
+      writeMasked(value, gen);
+    }
+  }
+
   @Override
-  public void serialize(String value, JsonGenerator gen, SerializerProvider serializers)
+  public boolean isEmpty(SerializerProvider provider, Object value) {
+    if (value instanceof Optional) {
+      return ((Optional<?>) value).isEmpty();
+    }
+    if (value instanceof Collection) {
+      return ((Collection<?>) value).isEmpty();
+    }
+    if (value instanceof CharSequence) {
+      return ((CharSequence) value).length() == 0;
+    }
+    return value == null || (value.getClass().isArray() && Array.getLength(value) == 0);
+  }
+
+  private void writeElement(Object element, JsonGenerator gen, SerializerProvider serializers)
       throws IOException {
-    gen.writeString(masker.mask(value));
+    if (element == null) {
+      gen.writeNull();
+    } else {
+      serialize(element, gen, serializers);
+    }
+  }
+
+  private void writeMasked(Object value, JsonGenerator gen) throws IOException {
+    Buffer buffer = BUFFERS.get();
+    StringBuilder text = buffer.text;
+    text.setLength(0);
+    masker.mask(buffer.source(value), text);
+    int length = text.length();
+    char[] chars = buffer.chars(length);
+    text.getChars(0, length, chars, 0);
+    byte[] ascii = Utf8Generators.acceptsUtf8(gen) ? buffer.ascii(chars, length) : null;
+    if (ascii != null) {
+      gen.writeUTF8String(ascii, 0, length);
+    } else {
+      gen.writeString(chars, 0, length);
+    }
+    buffer.trim();
+  }
+
+  /** Cache key of a regex serializer. */
+  private static final class PatternKey {
+    private final String regex;
+    private final String replacement;
+    private final RegexEngine engine;
+
+    PatternKey(String regex, String replacement, RegexEngine engine) {
+      this.regex = regex;
+      this.replacement = replacement;
+      this.engine = engine;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof PatternKey)) {
+        return false;
+      }
+      PatternKey other = (PatternKey) o;
+      return regex.equals(other.regex)
+          && replacement.equals(other.replacement)
+          && engine == other.engine;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regex, replacement, engine);
+    }
+  }
+
+  /** Reusable per-thread buffers for the masked characters. */
+  private static final class Buffer {
+    private static final int INITIAL_CAPACITY = 128;
+    // Buffers grown beyond this by an unusually long value are not retained
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private StringBuilder source = new StringBuilder(INITIAL_CAPACITY);
+    private StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    /** Returns the characters to mask for a value that is not a container. */
+    CharSequence source(Object value) {
+      if (value instanceof CharSequence) {
+        return (CharSequence) value;
+      }
+      source.setLength(0);
+      if (value instanceof Long
+          || value instanceof Integer
+          || value instanceof Short
+          || value instanceof Byte) {
+        source.append(((Number) value).longValue());
+      } else if (value instanceof BigDecimal) {
+        // Not in exponent notation, which would hide digits from the masker
+        source.append(((BigDecimal) value).toPlainString());
+      } else if (value instanceof char[]) {
+        source.append((char[]) value);
+      } else {
+        source.append(value);
+      }
+      return source;
+    }
+
+    char[] chars(int length) {
+      if (chars.length < length) {
+        chars = new char[Math.max(length, chars.length << 1)];
+      }
+      return chars;
+    }
+
+    /**
+     * Returns the characters as bytes if they are all ASCII, which is also their UTF-8 form,
+     * otherwise {@code null}.
+     */
+    byte[] ascii(char[] text, int length) {
+      if (bytes.length < length) {
+        bytes = new byte[Math.max(length, bytes.length << 1)];
+      }
+      for (int i = 0; i < length; i++) {
+        char c = text[i];
+        if (c >= 0x80) {
+          return null;
+        }
+        bytes[i] = (byte) c;
+      }
+      return bytes;
+    }
+
+    void trim() {
+      if (source.capacity() > MAX_RETAINED_CAPACITY) {
+        source = new StringBuilder(INITIAL_CAPACITY);
+      }
+      if (text.capacity() > MAX_RETAINED_CAPACITY) {
+        text = new StringBuilder(INITIAL_CAPACITY);
+      }
+      if (chars.length > MAX_RETAINED_CAPACITY) {
+        chars = new char[INITIAL_CAPACITY];
+      }
+      if (bytes.length > MAX_RETAINED_CAPACITY) {
+        bytes = new byte[INITIAL_CAPACITY];
+      }
+    }
   }
 }
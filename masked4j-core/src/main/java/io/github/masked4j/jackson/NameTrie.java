@@ -0,0 +1,116 @@
+package io.github.masked4j.jackson;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Field names compiled into a character trie stored in flat arrays, so a name is looked up by
+ * walking its characters instead of hashing it.
+ */
+final class NameTrie {
+  static final int NOT_FOUND = -1;
+
+  // Edges of trie node i are edgeChars/edgeTargets[edgeStart[i], edgeStart[i + 1]), by character
+  private final int[] edgeStart;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  // The value of the name ending at each trie node, or NOT_FOUND
+  private final int[] values;
+
+  private NameTrie(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] values) {
+    this.edgeStart = edgeStart;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.values = values;
+  }
+
+  /**
+   * Compiles names and their values into a trie.
+   *
+   * @param names the names and their non-negative values
+   * @return the trie, or {@code null} if there are no names
+   */
+  static NameTrie of(Map<String, Integer> names) {
+    if (names.isEmpty()) {
+      return null;
+    }
+    Node root = new Node();
+    for (Map.Entry<String, Integer> entry : names.entrySet()) {
+      Node node = root;
+      for (int i = 0; i < entry.getKey().length(); i++) {
+        node = node.children.computeIfAbsent(entry.getKey().charAt(i), c -> new Node());
+      }
+      node.value = entry.getValue();
+    }
+
+    // Number the nodes breadth-first, then lay out their edges in that order
+    List<Node> nodes = new ArrayList<>();
+    Deque<Node> queue = new ArrayDeque<>();
+    queue.add(root);
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      node.id = nodes.size();
+      nodes.add(node);
+      queue.addAll(node.children.values());
+    }
+    int[] edgeStart = new int[nodes.size() + 1];
+    char[] edgeChars = new char[nodes.size() - 1];
+    int[] edgeTargets = new int[nodes.size() - 1];
+    int[] values = new int[nodes.size()];
+    int edge = 0;
+    for (Node node : nodes) {
+      edgeStart[node.id] = edge;
+      values[node.id] = node.value;
+      for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+        edgeChars[edge] = child.getKey();
+        edgeTargets[edge++] = child.getValue().id;
+      }
+    }
+    edgeStart[nodes.size()] = edge;
+    return new NameTrie(edgeStart, edgeChars, edgeTargets, values);
+  }
+
+  /**
+   * Looks a name up.
+   *
+   * @param name the name
+   * @return its value, or {@link #NOT_FOUND}
+   */
+  int get(CharSequence name) {
+    int node = 0;
+    for (int i = 0, length = name.length(); i < length; i++) {
+      node = child(node, name.charAt(i));
+      if (node < 0) {
+        return NOT_FOUND;
+      }
+    }
+    return values[node];
+  }
+
+  private int child(int node, char c) {
+    int low = edgeStart[node];
+    int high = edgeStart[node + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      char edge = edgeChars[mid];
+      if (edge < c) {
+        low = mid + 1;
+      } else if (edge > c) {
+        high = mid - 1;
+      } else {
+        return edgeTargets[mid];
+      }
+    }
+    return -1;
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> children = new TreeMap<>();
+    private int value = NOT_FOUND;
+    private int id;
+  }
+}
@@ -0,0 +1,61 @@
+package io.github.masked4j.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Detects generators that take string values as UTF-8 bytes through {@link
+ * JsonGenerator#writeUTF8String(byte[], int, int)} and copy them as they are, so masked values can
+ * skip the generator's character encoding.
+ *
+ * <p>Smile and CBOR are optional dependencies; their generator classes are only referenced when
+ * present on the classpath. Other generators, including JSON and MessagePack, are given characters.
+ */
+final class Utf8Generators {
+  private static final boolean SMILE =
+      isPresent("com.fasterxml.jackson.dataformat.smile.SmileGenerator");
+  private static final boolean CBOR =
+      isPresent("com.fasterxml.jackson.dataformat.cbor.CBORGenerator");
+
+  private Utf8Generators() {}
+
+  /**
+   * Returns whether a string value can be written to the generator as UTF-8 bytes.
+   *
+   * @param gen the generator
+   * @return {@code true} for CBOR generators, and for Smile generators that do not share string
+   *     values, which rejects raw UTF-8 writes
+   */
+  static boolean acceptsUtf8(JsonGenerator gen) {
+    if (!gen.canWriteBinaryNatively()) {
+      // Text formats escape UTF-8 input or do not support it at all
+      return false;
+    }
+    return (CBOR && Cbor.accepts(gen)) || (SMILE && Smile.accepts(gen));
+  }
+
+  private static boolean isPresent(String className) {
+    try {
+      Class.forName(className, false, Utf8Generators.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  // Separate classes, so the format's generator is only loaded when present
+
+  private static final class Cbor {
+    static boolean accepts(JsonGenerator gen) {
+      return gen instanceof CBORGenerator;
+    }
+  }
+
+  private static final class Smile {
+    static boolean accepts(JsonGenerator gen) {
+      return gen instanceof SmileGenerator
+          && !((SmileGenerator) gen).isEnabled(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+    }
+  }
+}
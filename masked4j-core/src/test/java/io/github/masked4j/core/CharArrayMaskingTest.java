@@ -0,0 +1,153 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CharArrayMaskingTest {
+
+  private static final List<String> INPUTS =
+      List.of(
+          "",
+          "a",
+          "ab",
+          "test@example.com",
+          "ab@example.com",
+          "no-at-sign",
+          "4558-1234-5678-0116",
+          "홍길동",
+          "850209-1234567",
+          "8502091234567",
+          "1234567890-1234",
+          "서울시 성북구 북악산로 123동 456호",
+          "010-1234-5678",
+          "01012345678",
+          "0101234-5678",
+          "192.168.0.1",
+          "2001:db8::1",
+          "123-45-67890",
+          "서울-12-345678-10",
+          "12-34 567890-11",
+          "M12345678",
+          "110-123-456789",
+          "😊Hello🌏");
+
+  private final MaskingEngine engine = MaskingEngine.builder().maskCharArrays(true).build();
+
+  @Test
+  @DisplayName("Should mask in place to the same result as mask(String) for every built-in masker")
+  void shouldMatchStringResult() {
+    for (MaskType type : MaskType.values()) {
+      if (type == MaskType.CUSTOM) {
+        continue;
+      }
+      Masker masker = MaskerFactory.getMasker(type);
+      for (String input : INPUTS) {
+        String expected = masker.mask(input);
+        // Room on both sides, so values may grow and nothing outside the result may change
+        char[] buf = ("<<" + input + "0123456789abcdef>").toCharArray();
+
+        int length = masker.mask(buf, 2, input.length());
+
+        assertThat(length).isEqualTo(expected.length());
+        assertThat(new String(buf, 2, length)).isEqualTo(expected);
+        assertThat(new String(buf, 0, 2)).isEqualTo("<<");
+        for (int i = 2 + length; i < 2 + input.length(); i++) {
+          assertThat(buf[i]).isEqualTo('\0');
+        }
+        assertThat(buf[buf.length - 1]).isEqualTo('>');
+      }
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "Should return the required length and leave the array unchanged when it is too short")
+  void shouldReportRequiredLength() {
+    char[] email = "test@example.com".toCharArray();
+    char[] rrn = "850209".toCharArray();
+    Masker custom = input -> "[" + input + "]";
+    char[] value = "value".toCharArray();
+
+    assertThat(new EmailMasker().mask(email, 0, email.length)).isEqualTo(17);
+    assertThat(new RrnMasker().mask(rrn, 0, rrn.length)).isEqualTo(13);
+    assertThat(custom.mask(value, 0, value.length)).isEqualTo(7);
+    assertThat(new String(email)).isEqualTo("test@example.com");
+    assertThat(new String(rrn)).isEqualTo("850209");
+    assertThat(new String(value)).isEqualTo("value");
+  }
+
+  @Test
+  @DisplayName("Should mask char[] fields only when enabled")
+  void shouldMaskCharArrayFieldsWhenEnabled() {
+    SecureDto dto = new SecureDto("홍길동", "010-1234-5678");
+    SecureDto untouched = new SecureDto("홍길동", "010-1234-5678");
+
+    engine.mask(dto);
+    new MaskingEngine().mask(untouched);
+
+    assertThat(new String(dto.name)).isEqualTo("홍*동");
+    assertThat(new String(dto.phone)).isEqualTo("010-****-5678");
+    assertThat(new String(untouched.name)).isEqualTo("홍길동");
+  }
+
+  @Test
+  @DisplayName("Should keep the array when the length is unchanged and clear it otherwise")
+  void shouldReplaceArrayWhenLengthChanges() {
+    SecureDto dto = new SecureDto("김철수", "010-1234-5678");
+    dto.email = "test@example.com".toCharArray();
+    char[] name = dto.name;
+    char[] email = dto.email;
+
+    engine.mask(dto);
+
+    assertThat(dto.name).isSameAs(name);
+    assertThat(new String(dto.email)).isEqualTo("te***@example.com");
+    assertThat(dto.email).isNotSameAs(email);
+    assertThat(email).isEqualTo(new char[email.length]);
+  }
+
+  @Test
+  @DisplayName("Should mask char[] components of records and leave originals alone in copies")
+  void shouldMaskRecordsAndCopies() {
+    char[] rrn = "850209-1234567".toCharArray();
+    SecureRecord record = new SecureRecord(rrn);
+    SecureDto dto = new SecureDto("홍길동", "010-1234-5678");
+
+    SecureRecord masked = engine.mask(record);
+    SecureDto copy = engine.maskedCopy(dto);
+
+    // The length is unchanged, so the record keeps its array and is not rebuilt
+    assertThat(masked).isSameAs(record);
+    assertThat(new String(rrn)).isEqualTo("850209-*******");
+    assertThat(new String(copy.name)).isEqualTo("홍*동");
+    assertThat(new String(dto.name)).isEqualTo("홍길동");
+    assertThat(Arrays.equals(copy.phone, dto.phone)).isFalse();
+  }
+
+  static class SecureDto {
+    @Masked(MaskType.NAME)
+    char[] name;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    char[] phone;
+
+    @Masked(MaskType.EMAIL)
+    char[] email;
+
+    SecureDto() {}
+
+    SecureDto(String name, String phone) {
+      this.name = name.toCharArray();
+      this.phone = phone.toCharArray();
+    }
+  }
+
+  record SecureRecord(@Masked(MaskType.RESIDENT_REGISTRATION_NUMBER) char[] rrn) {}
+}
@@ -0,0 +1,196 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.exception.MaskingFailureStrategy;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ClassMaskerGeneratorTest {
+
+  private final MaskingEngine engine = MaskingEngine.builder().generateClassMaskers(true).build();
+
+  @Test
+  @DisplayName("Should generate a hidden class masker for an eligible DTO")
+  void shouldGenerateForEligibleDto() {
+    ClassMasker<Object> masker = ClassMaskerGenerator.generate(UserDto.class, plans(UserDto.class));
+
+    assertThat(masker).isNotNull();
+    assertThat(masker.getClass().isHidden()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should not generate for records or final masked fields")
+  void shouldSkipIneligibleClasses() {
+    assertThat(ClassMaskerGenerator.generate(UserRecord.class, plans(UserRecord.class))).isNull();
+    assertThat(ClassMaskerGenerator.generate(FinalDto.class, plans(FinalDto.class))).isNull();
+    assertThat(ClassMaskerGenerator.generate(ChildDto.class, plans(ChildDto.class))).isNull();
+  }
+
+  @Test
+  @DisplayName("Should mask annotated, regex and nested fields through the generated class")
+  void shouldMaskThroughGeneratedClass() {
+    UserDto user = new UserDto();
+    user.name = "홍길동";
+    user.email = "test@example.com";
+    user.code = "123-456-7890";
+    user.address = new AddressDto("서울시 101동");
+    user.others = new ArrayList<>(List.of(new AddressDto("경기도 202동")));
+
+    engine.mask(user);
+
+    assertThat(user.name).isEqualTo("홍*동");
+    assertThat(user.email).isEqualTo("te***@example.com");
+    assertThat(user.code).isEqualTo("123-***-7890");
+    assertThat(user.address.fullAddress).isEqualTo("서울시 ***동");
+    assertThat(user.others.get(0).fullAddress).isEqualTo("경기도 ***동");
+  }
+
+  @Test
+  @DisplayName("Should fall back to reflection for classes that cannot be generated")
+  void shouldFallBackToReflection() {
+    ChildDto child = new ChildDto();
+    child.setSecret("secret");
+    child.email = "test@example.com";
+
+    engine.mask(child);
+
+    assertThat(child.getSecret()).isEqualTo("s***t");
+    assertThat(child.email).isEqualTo("te***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should apply failure strategies inside generated classes")
+  void shouldApplyFailureStrategies() {
+    assertThatThrownBy(() -> engine.mask(new BrokenDto()))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("Error masking field 'value'");
+
+    BrokenDto ignored = new BrokenDto();
+    MaskingEngine.builder()
+        .failureStrategy(MaskingFailureStrategy.IGNORE)
+        .generateClassMaskers(true)
+        .build()
+        .mask(ignored);
+    assertThat(ignored.value).isEqualTo("test");
+    assertThat(ignored.email).isEqualTo("te***@example.com");
+
+    BrokenDto nulled = new BrokenDto();
+    MaskingEngine.builder()
+        .failureStrategy(MaskingFailureStrategy.REPLACE_WITH_NULL)
+        .generateClassMaskers(true)
+        .build()
+        .mask(nulled);
+    assertThat(nulled.value).isNull();
+    assertThat(nulled.email).isEqualTo("te***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should null the owning field when a nested value fails in a generated class")
+  void shouldNullNestedFailureThroughGeneratedClass() {
+    UserDto user = new UserDto();
+    user.email = "test@example.com";
+    user.address = new AddressDto("서울시 101동");
+    user.others = new ArrayList<>(List.of(new AddressDto("경기도 202동")));
+
+    MaskingEngine.builder()
+        .failureStrategy(MaskingFailureStrategy.REPLACE_WITH_NULL)
+        .generateClassMaskers(true)
+        .maxDepth(1)
+        .build()
+        .mask(user);
+
+    assertThat(user.email).isEqualTo("te***@example.com");
+    assertThat(user.address.fullAddress).isEqualTo("서울시 ***동");
+    // others -> list (depth 1) -> element (depth 2)
+    assertThat(user.others).isNull();
+  }
+
+  private static FieldPlan[] plans(Class<?> type) {
+    List<FieldPlan> plans = new ArrayList<>();
+    for (Class<?> c = type; c != Object.class && c != Record.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        field.setAccessible(true);
+        FieldAccessor accessor = FieldAccessor.of(field, FieldAccessStrategy.REFLECTION);
+        Masked masked = field.getAnnotation(Masked.class);
+        plans.add(
+            masked != null
+                ? FieldPlan.mask(field, accessor, MaskerFactory.getMasker(masked.value()))
+                : FieldPlan.recurse(field, accessor));
+      }
+    }
+    return plans.toArray(new FieldPlan[0]);
+  }
+
+  static class UserDto {
+    @Masked(MaskType.NAME)
+    private String name;
+
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    @MaskedPattern(regex = "(\\d{3})-\\d{3}-(\\d{4})", replacement = "$1-***-$2")
+    String code;
+
+    AddressDto address;
+
+    List<AddressDto> others;
+  }
+
+  static class AddressDto {
+    @Masked(MaskType.ADDRESS)
+    String fullAddress;
+
+    AddressDto(String fullAddress) {
+      this.fullAddress = fullAddress;
+    }
+  }
+
+  record UserRecord(@Masked(MaskType.EMAIL) String email) {}
+
+  static class FinalDto {
+    @Masked(MaskType.EMAIL)
+    final String email = "test@example.com";
+  }
+
+  static class ParentDto {
+    @Masked private String secret;
+
+    String getSecret() {
+      return secret;
+    }
+
+    void setSecret(String secret) {
+      this.secret = secret;
+    }
+  }
+
+  static class ChildDto extends ParentDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+  }
+
+  static class BrokenDto {
+    @Masked(value = MaskType.CUSTOM, masker = BrokenMasker.class)
+    String value = "test";
+
+    @Masked(MaskType.EMAIL)
+    String email = "test@example.com";
+  }
+
+  public static class BrokenMasker implements Masker {
+    @Override
+    public String mask(String input) {
+      throw new RuntimeException("Intentional failure");
+    }
+  }
+}
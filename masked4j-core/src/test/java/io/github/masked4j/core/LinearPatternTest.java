@@ -0,0 +1,184 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.annotation.RegexEngine;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link LinearPattern} with {@link Pattern} on masking regexes and random values, and
+ * checks how the linear-time engine is selected and validated.
+ */
+class LinearPatternTest {
+
+  private static final int ITERATIONS = 2_000;
+
+  private static final String[][] PATTERNS = {
+    {"(\\d{3})-(\\d{3,4})-(\\d{4})", "$1-***-$3"},
+    {"^(.{2}).*$", "$1***"},
+    {"(?<id>[\\w.]+)@([a-z]+)\\.com", "${id}@***.com"},
+    {"\\b\\d{4}\\b", "****"},
+    {"\\d", "*"},
+    {"[^\\s-]+?(\\d)", "<$1>"},
+    {"(a|ab)(c|bcd)?", "[$1|$2]"},
+    {"x*", "-"},
+    {"(?:\\d\\s?)+$", "#"},
+    {"\\S+\\Z", "\\$"},
+    {"[가-힣]{2,}|\\B\\w", "_"},
+    {"(.)\\s*(.)", "$2$1"}
+  };
+  // Digits and word characters, separators, line terminators, Hangul and a surrogate pair
+  private static final String ALPHABET = "0123456789abcx.-@ _\t\n\r 가힣😊";
+
+  @Test
+  @DisplayName("Should replace exactly like java.util.regex on random values")
+  void shouldMatchJdkReplaceAll() {
+    Random random = new Random(17);
+    for (String[] entry : PATTERNS) {
+      Pattern expected = Pattern.compile(entry[0]);
+      LinearPattern actual = LinearPattern.compile(entry[0]);
+      for (int i = 0; i < ITERATIONS; i++) {
+        String value = randomValue(random);
+        assertThat(actual.replaceAll(value, entry[1]))
+            .as("%s on '%s'", entry[0], value)
+            .isEqualTo(expected.matcher(value).replaceAll(entry[1]));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should match in linear time where java.util.regex backtracks exponentially")
+  void shouldNotBacktrack() {
+    String value = "a".repeat(50_000) + "!";
+
+    // java.util.regex does not finish this within any reasonable time
+    assertThat(LinearPattern.compile("(a+)+b").replaceAll(value, "*")).isEqualTo(value);
+    assertThat(LinearPattern.compile("(a|aa)*c").replaceAll(value, "*")).isEqualTo(value);
+  }
+
+  @Test
+  @DisplayName("Should reject constructs outside the supported subset")
+  void shouldRejectUnsupportedConstructs() {
+    String[] unsupported = {"(a)\\1", "a(?=b)", "(?<!a)b", "(?>a+)", "a++", "(?i)a", "\\p{L}"};
+    for (String regex : unsupported) {
+      assertThatThrownBy(() -> LinearPattern.compile(regex))
+          .as(regex)
+          .isInstanceOf(PatternSyntaxException.class)
+          .hasMessageContaining("is not supported by the linear-time engine");
+    }
+    // Invalid regexes fail like they do with java.util.regex
+    assertThatThrownBy(() -> LinearPattern.compile("(a"))
+        .isInstanceOf(PatternSyntaxException.class)
+        .hasMessageContaining("Unclosed group");
+  }
+
+  @Test
+  @DisplayName("Should report malformed replacements like java.util.regex")
+  void shouldRejectMalformedReplacements() {
+    LinearPattern pattern = LinearPattern.compile("(\\d)");
+
+    assertThatThrownBy(() -> pattern.replaceAll("1", "$2"))
+        .isInstanceOf(IndexOutOfBoundsException.class)
+        .hasMessage("No group 2");
+    assertThatThrownBy(() -> pattern.replaceAll("1", "${name}"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("No group with name {name}");
+    // Not checked without a match, as with Matcher.replaceAll
+    assertThat(pattern.replaceAll("a", "$2")).isEqualTo("a");
+  }
+
+  @Test
+  @DisplayName("Should run @MaskedPattern on the engine chosen per field or globally")
+  void shouldSelectEngine() {
+    EngineDto dto = new EngineDto();
+    MaskingEngine.builder().regexEngine(RegexEngine.LINEAR).build().mask(dto);
+
+    assertThat(dto.linear).isEqualTo("010-****");
+    assertThat(dto.byDefault).isEqualTo("A***");
+    // Explicitly JDK, so lookahead stays available
+    assertThat(dto.jdk).isEqualTo("***-123");
+
+    UnsupportedDto unsupported = new UnsupportedDto();
+    new MaskingEngine().mask(unsupported);
+    assertThat(unsupported.value).isEqualTo("*");
+    assertThatThrownBy(
+            () ->
+                MaskingEngine.builder()
+                    .regexEngine(RegexEngine.LINEAR)
+                    .build()
+                    .mask(new UnsupportedDto()))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("backreference is not supported by the linear-time engine");
+  }
+
+  @Test
+  @DisplayName("Should run regex maskers on the linear-time engine")
+  void shouldMaskWithLinearRegexMasker() {
+    RegexMasker masker = new RegexMasker("(\\w)\\w*@", "$1***@", RegexEngine.LINEAR);
+
+    assertThat(masker.mask("john@example.com")).isEqualTo("j***@example.com");
+    assertThatThrownBy(() -> new RegexMasker("(?=a)", "*", RegexEngine.LINEAR).mask("a"))
+        .isInstanceOf(MaskingConfigurationException.class);
+  }
+
+  @Test
+  @DisplayName("Should report patterns outside the linear-time subset")
+  void shouldValidateLinearPatterns() {
+    // DEFAULT patterns only need to be supported when linear matching is the default
+    assertThatCode(() -> Masked4JValidator.validatePatterns(UnsupportedDto.class))
+        .doesNotThrowAnyException();
+    assertThatThrownBy(() -> Masked4JValidator.validateLinearPatterns(UnsupportedDto.class))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("UnsupportedDto.value: regex '(\\d)\\1' is outside the linear");
+    assertThatThrownBy(() -> Masked4JValidator.validatePatterns(UnsupportedLinearDto.class))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("UnsupportedLinearDto.value: regex 'a(?=b)' is outside the linear");
+    assertThat(Masked4JValidator.validatePattern("a(?=b)", "*", RegexEngine.JDK)).isEmpty();
+  }
+
+  private static String randomValue(Random random) {
+    StringBuilder value = new StringBuilder();
+    int length = random.nextInt(12);
+    for (int i = 0; i < length; i++) {
+      int index = random.nextInt(ALPHABET.length());
+      char c = ALPHABET.charAt(index);
+      value.append(c);
+      if (Character.isHighSurrogate(c)) {
+        value.append(ALPHABET.charAt(index + 1));
+      } else if (Character.isLowSurrogate(c)) {
+        // Occasionally leave one unpaired
+        value.setLength(value.length() - (random.nextBoolean() ? 1 : 0));
+      }
+    }
+    return value.toString();
+  }
+
+  static class EngineDto {
+    @MaskedPattern(regex = "(\\d{3})-\\d{4}", replacement = "$1-****", engine = RegexEngine.LINEAR)
+    String linear = "010-1234";
+
+    @MaskedPattern(regex = "\\B\\w", replacement = "*")
+    String byDefault = "ABCD";
+
+    @MaskedPattern(regex = "\\w+(?=-)", replacement = "***", engine = RegexEngine.JDK)
+    String jdk = "abc-123";
+  }
+
+  static class UnsupportedDto {
+    @MaskedPattern(regex = "(\\d)\\1", replacement = "*")
+    String value = "11";
+  }
+
+  static class UnsupportedLinearDto {
+    @MaskedPattern(regex = "a(?=b)", replacement = "*", engine = RegexEngine.LINEAR)
+    String value;
+  }
+}
@@ -0,0 +1,220 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import io.github.masked4j.exception.MaskingFailureStrategy;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MaskedCopyTest {
+
+  private final MaskingEngine engine = new MaskingEngine();
+
+  @Test
+  @DisplayName("Should return a masked copy and leave the original untouched")
+  void shouldCopyWithoutMutatingOriginal() {
+    UserDto user = new UserDto("test@example.com", "010-1234-5678");
+    user.joined = LocalDate.of(2024, 1, 1);
+    user.profile = new ProfileDto("secret");
+    user.settings = new SettingsDto("dark");
+
+    UserDto copy = engine.maskedCopy(user);
+
+    assertThat(copy).isNotSameAs(user);
+    assertThat(copy.email).isEqualTo("te***@example.com");
+    assertThat(copy.phone).isEqualTo("010-****-5678");
+    assertThat(copy.profile).isNotSameAs(user.profile);
+    assertThat(copy.profile.nickname).isEqualTo("s***t");
+    assertThat(user.email).isEqualTo("test@example.com");
+    assertThat(user.profile.nickname).isEqualTo("secret");
+    // Unchanged values and subtrees are shared
+    assertThat(copy.id).isEqualTo(42L);
+    assertThat(copy.joined).isSameAs(user.joined);
+    assertThat(copy.settings).isSameAs(user.settings);
+  }
+
+  @Test
+  @DisplayName("Should return the original when nothing needs masking")
+  void shouldShareUnchangedGraphs() {
+    UserDto user = new UserDto(null, null);
+    List<SettingsDto> settings = new ArrayList<>(List.of(new SettingsDto("dark")));
+
+    assertThat(engine.maskedCopy(user)).isSameAs(user);
+    assertThat(engine.maskedCopy(settings)).isSameAs(settings);
+    assertThat(engine.<Object>maskedCopy("plain")).isEqualTo("plain");
+  }
+
+  @Test
+  @DisplayName("Should copy collections, maps and arrays that contain masked values")
+  void shouldCopyContainers() {
+    ProfileDto shared = new ProfileDto("secret");
+    List<ProfileDto> list = new ArrayList<>(List.of(shared, new ProfileDto("other")));
+    Map<String, ProfileDto> map = new TreeMap<>(Map.of("a", shared));
+    ProfileDto[] array = {shared};
+    Map<String, Object> root = new HashMap<>();
+    root.put("list", list);
+    root.put("map", map);
+    root.put("array", array);
+    root.put("immutable", List.of(shared));
+
+    Map<String, Object> copy = engine.maskedCopy(root);
+
+    @SuppressWarnings("unchecked")
+    List<ProfileDto> copiedList = (List<ProfileDto>) copy.get("list");
+    @SuppressWarnings("unchecked")
+    Map<String, ProfileDto> copiedMap = (Map<String, ProfileDto>) copy.get("map");
+    ProfileDto[] copiedArray = (ProfileDto[]) copy.get("array");
+    assertThat(copiedList).isInstanceOf(ArrayList.class).isNotSameAs(list);
+    assertThat(copiedList.get(0).nickname).isEqualTo("s***t");
+    assertThat(copiedList.get(1).nickname).isEqualTo("o***r");
+    assertThat(copiedMap).isInstanceOf(TreeMap.class);
+    // The shared element is copied once and stays shared
+    assertThat(copiedMap.get("a")).isSameAs(copiedList.get(0));
+    assertThat(copiedArray[0]).isSameAs(copiedList.get(0));
+    assertThat(((List<?>) copy.get("immutable")).get(0)).isSameAs(copiedList.get(0));
+    assertThat(shared.nickname).isEqualTo("secret");
+  }
+
+  @Test
+  @DisplayName("Should preserve cycles in the copy")
+  void shouldCopyCycles() {
+    NodeDto parent = new NodeDto("parent@example.com");
+    NodeDto child = new NodeDto("child@example.com");
+    parent.children.add(child);
+    child.parent = parent;
+
+    NodeDto copy = engine.maskedCopy(parent);
+
+    assertThat(copy).isNotSameAs(parent);
+    assertThat(copy.email).isEqualTo("pa***@example.com");
+    NodeDto copiedChild = copy.children.get(0);
+    assertThat(copiedChild).isNotSameAs(child);
+    assertThat(copiedChild.email).isEqualTo("ch***@example.com");
+    assertThat(copiedChild.parent).isSameAs(copy);
+    assertThat(parent.email).isEqualTo("parent@example.com");
+    assertThat(child.parent).isSameAs(parent);
+  }
+
+  @Test
+  @DisplayName("Should apply the failure strategy to the copy only")
+  void shouldApplyFailureStrategyToCopy() {
+    InvalidDto invalid = new InvalidDto("value");
+    assertThatThrownBy(() -> engine.maskedCopy(invalid))
+        .isInstanceOf(MaskingConfigurationException.class);
+
+    InvalidDto nulled =
+        new MaskingEngine(MaskingFailureStrategy.REPLACE_WITH_NULL).maskedCopy(invalid);
+    assertThat(nulled).isNotSameAs(invalid);
+    assertThat(nulled.value).isNull();
+    assertThat(invalid.value).isEqualTo("value");
+
+    InvalidDto ignored = new MaskingEngine(MaskingFailureStrategy.IGNORE).maskedCopy(invalid);
+    assertThat(ignored).isSameAs(invalid);
+  }
+
+  @Test
+  @DisplayName("Should report classes without a no-arg constructor that need copying")
+  void shouldReportUncopyableClasses() {
+    HolderDto holder = new HolderDto();
+    holder.value = new NoDefaultConstructorDto("test@example.com");
+
+    assertThatThrownBy(() -> engine.maskedCopy(holder))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("no accessible no-arg constructor");
+
+    HolderDto nulled =
+        new MaskingEngine(MaskingFailureStrategy.REPLACE_WITH_NULL).maskedCopy(holder);
+    assertThat(nulled.value).isNull();
+    assertThat(holder.value.email).isEqualTo("test@example.com");
+  }
+
+  static class UserDto {
+    long id = 42L;
+
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    @Masked(MaskType.PHONE_NUMBER)
+    String phone;
+
+    LocalDate joined;
+    ProfileDto profile;
+    SettingsDto settings;
+
+    UserDto() {}
+
+    UserDto(String email, String phone) {
+      this.email = email;
+      this.phone = phone;
+    }
+  }
+
+  static class ProfileDto {
+    @Masked String nickname;
+
+    ProfileDto() {}
+
+    ProfileDto(String nickname) {
+      this.nickname = nickname;
+    }
+  }
+
+  static class SettingsDto {
+    String theme;
+    List<String> tags = new ArrayList<>();
+
+    SettingsDto(String theme) {
+      this.theme = theme;
+    }
+  }
+
+  static class NodeDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    NodeDto parent;
+    List<NodeDto> children = new ArrayList<>();
+
+    NodeDto() {}
+
+    NodeDto(String email) {
+      this.email = email;
+    }
+  }
+
+  static class InvalidDto {
+    @MaskedPattern(regex = "[", replacement = "***")
+    String value;
+
+    InvalidDto() {}
+
+    InvalidDto(String value) {
+      this.value = value;
+    }
+  }
+
+  static class HolderDto {
+    NoDefaultConstructorDto value;
+  }
+
+  static class NoDefaultConstructorDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    NoDefaultConstructorDto(String email) {
+      this.email = email;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.nio.CharBuffer;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MaskerBufferTest {
+
+  private static final List<String> INPUTS =
+      List.of(
+          "",
+          "a",
+          "ab",
+          "test@example.com",
+          "ab@example.com",
+          "no-at-sign",
+          "4558-1234-5678-0116",
+          "4558123456780116",
+          "홍길동",
+          "남궁민수",
+          "850209-1234567",
+          "8502091234567",
+          "서울시 성북구 북악산로 123동 456호",
+          "010-1234-5678",
+          "01012345678",
+          "02-123-4567",
+          "192.168.0.1",
+          "2001:db8::1",
+          "123-45-67890",
+          "1234567890",
+          "서울-12-345678-10",
+          "12 34 567890 11",
+          "M12345678",
+          "110-123-456789",
+          "😊Hello🌏");
+
+  @Test
+  @DisplayName("Should append the same result as mask(String) for every built-in masker")
+  void shouldMatchStringResult() {
+    for (MaskType type : MaskType.values()) {
+      if (type == MaskType.CUSTOM) {
+        continue;
+      }
+      Masker masker = MaskerFactory.getMasker(type);
+      for (String input : INPUTS) {
+        StringBuilder out = new StringBuilder();
+        masker.mask(input, out);
+        assertThat(out.toString()).isEqualTo(masker.mask(input));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should append to the existing buffer content and accept any CharSequence")
+  void shouldAppendToBuffer() {
+    StringBuilder out = new StringBuilder("email=");
+
+    new EmailMasker().mask(CharBuffer.wrap("test@example.com"), out);
+    out.append(", card=");
+    new CreditCardMasker().mask(new StringBuilder("4558-1234-5678-0116"), out);
+
+    assertThat(out.toString()).isEqualTo("email=te***@example.com, card=4558-12**-****-0116");
+  }
+
+  @Test
+  @DisplayName("Should fall back to mask(String) for custom maskers")
+  void shouldDelegateForCustomMaskers() {
+    Masker custom = input -> input.toUpperCase();
+    StringBuilder out = new StringBuilder(">");
+
+    custom.mask("value", out);
+
+    assertThat(out.toString()).isEqualTo(">VALUE");
+  }
+
+  @Test
+  @DisplayName("Should leave the buffer untouched when a regex mask fails")
+  void shouldDiscardPartialRegexOutput() {
+    RegexMasker masker = new RegexMasker("(\\d+)", "$2");
+    StringBuilder out = new StringBuilder("prefix");
+
+    assertThatThrownBy(() -> masker.mask("abc 123", out))
+        .isInstanceOf(MaskingProcessException.class);
+    assertThat(out.toString()).isEqualTo("prefix");
+  }
+}
@@ -0,0 +1,186 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.masked4j.Masker;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the hand-written scanners of the phone, IP, driver's license and address maskers with
+ * the regular expressions they replaced, on random values built to be close to valid ones.
+ */
+class MaskerDifferentialTest {
+
+  private static final int ITERATIONS = 20_000;
+
+  private static final Pattern PHONE_PATTERN =
+      Pattern.compile("^(\\d{2,3})-?(\\d{3,4})-?(\\d{4})$");
+  private static final Pattern IPV4_PATTERN =
+      Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
+  private static final Pattern LICENSE_PATTERN =
+      Pattern.compile("^([가-힣]{2}|\\d{2})[-\\s]?(\\d{2})[-\\s]?(\\d{6})[-\\s]?(\\d{2})$");
+  private static final Pattern ADDRESS_PATTERN = Pattern.compile("(\\d+)(?=\\s*(동|호|번지|층|가|읍|면))");
+
+  private static final String[] SEEDS = {
+    "010-1234-5678",
+    "01012345678",
+    "02-123-4567",
+    "192.168.0.1",
+    "1.22.3.44",
+    "서울-12-345678-10",
+    "12 34 567890 11",
+    "서울12345678\t10",
+    "101동 1204호",
+    "산 12번지 3층"
+  };
+  private static final int[] GROUP_LENGTHS = {0, 1, 2, 2, 3, 3, 4, 4, 6, 7};
+  // 'x' stands for no separator, joining two groups into one
+  private static final String SEPARATORS = "-.:  \t\u000b동호번xxx";
+  // Near misses: separators, suffixes and digits the regex does not accept
+  private static final String ALPHABET = "-.: \t\n가서울힣동호번지층읍면a٣１😊";
+
+  @Test
+  @DisplayName("Should mask phone numbers exactly like the regex implementation")
+  void shouldMatchPhoneRegex() {
+    verify(new PhoneNumberMasker(), MaskerDifferentialTest::phoneRegex);
+  }
+
+  @Test
+  @DisplayName("Should mask IP addresses exactly like the regex implementation")
+  void shouldMatchIpRegex() {
+    verify(new IpMasker(), MaskerDifferentialTest::ipRegex);
+  }
+
+  @Test
+  @DisplayName("Should mask driver's license numbers exactly like the regex implementation")
+  void shouldMatchDriversLicenseRegex() {
+    verify(new DriversLicenseMasker(), MaskerDifferentialTest::licenseRegex);
+  }
+
+  @Test
+  @DisplayName("Should mask addresses exactly like the regex implementation")
+  void shouldMatchAddressRegex() {
+    verify(new AddressMasker(), MaskerDifferentialTest::addressRegex);
+  }
+
+  private static void verify(Masker masker, UnaryOperator<String> reference) {
+    Random random = new Random(42);
+    for (int i = 0; i < ITERATIONS; i++) {
+      String input = randomValue(random);
+      String expected = reference.apply(input);
+
+      StringBuilder out = new StringBuilder();
+      masker.mask(new StringBuilder(input), out);
+      char[] buf = (input + "          ").toCharArray();
+      int length = masker.mask(buf, 0, input.length());
+
+      assertThat(masker.mask(input)).as(input).isEqualTo(expected);
+      assertThat(out.toString()).as(input).isEqualTo(expected);
+      assertThat(new String(buf, 0, length)).as(input).isEqualTo(expected);
+    }
+  }
+
+  /**
+   * Returns either a valid value with a few random edits, or a value built from groups of mostly
+   * digits with the group lengths and separators of the formats under test.
+   */
+  private static String randomValue(Random random) {
+    if (random.nextBoolean()) {
+      StringBuilder value = new StringBuilder(SEEDS[random.nextInt(SEEDS.length)]);
+      for (int edits = random.nextInt(3); edits > 0 && value.length() > 0; edits--) {
+        int index = random.nextInt(value.length());
+        char c = randomChar(random);
+        switch (random.nextInt(3)) {
+          case 0:
+            value.setCharAt(index, c);
+            break;
+          case 1:
+            value.insert(index, c);
+            break;
+          default:
+            value.deleteCharAt(index);
+        }
+      }
+      return value.toString();
+    }
+
+    StringBuilder value = new StringBuilder();
+    if (random.nextInt(4) == 0) {
+      value.append(random.nextBoolean() ? "서울" : "가힣");
+    }
+    int groups = 1 + random.nextInt(5);
+    for (int group = 0; group < groups; group++) {
+      int length = GROUP_LENGTHS[random.nextInt(GROUP_LENGTHS.length)];
+      for (int i = 0; i < length; i++) {
+        value.append(randomChar(random));
+      }
+      if (group < groups - 1) {
+        char separator = SEPARATORS.charAt(random.nextInt(SEPARATORS.length()));
+        if (separator != 'x') {
+          value.append(separator);
+        }
+      }
+    }
+    return value.toString();
+  }
+
+  private static char randomChar(Random random) {
+    return random.nextInt(8) == 0
+        ? ALPHABET.charAt(random.nextInt(ALPHABET.length()))
+        : (char) ('0' + random.nextInt(10));
+  }
+
+  private static String phoneRegex(String input) {
+    Matcher matcher = PHONE_PATTERN.matcher(input);
+    if (!matcher.matches()) {
+      return input;
+    }
+    String separator = input.contains("-") ? "-" : "";
+    return matcher.group(1)
+        + separator
+        + "*".repeat(matcher.group(2).length())
+        + separator
+        + matcher.group(3);
+  }
+
+  private static String ipRegex(String input) {
+    Matcher matcher = IPV4_PATTERN.matcher(input);
+    if (matcher.matches()) {
+      return input.substring(0, matcher.end(2)) + ".***." + matcher.group(4);
+    }
+    int lastColonIndex = input.lastIndexOf(':');
+    if (lastColonIndex != -1 && lastColonIndex < input.length() - 1) {
+      return input.substring(0, lastColonIndex + 1) + "****";
+    }
+    return input;
+  }
+
+  private static String licenseRegex(String input) {
+    Matcher matcher = LICENSE_PATTERN.matcher(input);
+    if (!matcher.matches()) {
+      return input;
+    }
+    String separator = input.contains("-") ? "-" : input.contains(" ") ? " " : "";
+    return matcher.group(1)
+        + separator
+        + matcher.group(2)
+        + separator
+        + "******"
+        + separator
+        + matcher.group(4);
+  }
+
+  private static String addressRegex(String input) {
+    Matcher matcher = ADDRESS_PATTERN.matcher(input);
+    StringBuilder out = new StringBuilder();
+    while (matcher.find()) {
+      matcher.appendReplacement(out, "*".repeat(matcher.group(1).length()));
+    }
+    return matcher.appendTail(out).toString();
+  }
+}
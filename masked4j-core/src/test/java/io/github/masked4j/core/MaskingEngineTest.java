@@ -0,0 +1,374 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import io.github.masked4j.exception.MaskingFailureStrategy;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MaskingEngineTest {
+
+  private final MaskingEngine engine = new MaskingEngine();
+
+  @Test
+  @DisplayName("Should mask inherited fields using the cached plan on repeated calls")
+  void shouldMaskInheritedFieldsRepeatedly() {
+    for (int i = 0; i < 3; i++) {
+      ChildDto dto = new ChildDto("test@example.com", "010-1234-5678");
+      engine.mask(dto);
+      assertThat(dto.email).isEqualTo("te***@example.com");
+      assertThat(dto.phone).isEqualTo("010-****-5678");
+    }
+  }
+
+  @Test
+  @DisplayName("Should only report misconfigured fields when they hold a value")
+  void shouldReportMisconfigurationLazily() {
+    InvalidDto empty = new InvalidDto(null);
+    assertThat(engine.mask(empty).value).isNull();
+
+    InvalidDto filled = new InvalidDto("value");
+    assertThatThrownBy(() -> engine.mask(filled))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("Invalid regex pattern '['");
+  }
+
+  @Test
+  @DisplayName("Should produce the same result with every field access strategy")
+  void shouldMaskWithEveryFieldAccessStrategy() {
+    for (FieldAccessStrategy strategy : FieldAccessStrategy.values()) {
+      MaskingEngine configured = MaskingEngine.builder().fieldAccessStrategy(strategy).build();
+      FinalFieldDto dto = new FinalFieldDto("850209-1234567", new ParentDto("test@example.com"));
+
+      configured.mask(dto);
+
+      assertThat(dto.rrn).isEqualTo("850209-*******");
+      assertThat(dto.parent.email).isEqualTo("te***@example.com");
+    }
+  }
+
+  @Test
+  @DisplayName("Should mask cyclic parent/child graphs once per object")
+  void shouldMaskCyclicGraph() {
+    TreeNode parent = new TreeNode("parent@example.com");
+    TreeNode child = new TreeNode("child@example.com");
+    parent.children.add(child);
+    child.parent = parent;
+    // Shared reference: must not be masked twice
+    child.children.add(parent);
+
+    engine.mask(parent);
+
+    assertThat(parent.email).isEqualTo("pa***@example.com");
+    assertThat(child.email).isEqualTo("ch***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should apply the failure strategy when the maximum depth is exceeded")
+  void shouldLimitDepth() {
+    TreeNode root = chain(5);
+
+    assertThatThrownBy(() -> MaskingEngine.builder().maxDepth(3).build().mask(root))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("Maximum masking depth of 3 exceeded");
+
+    TreeNode nulled = chain(5);
+    MaskingEngine.builder()
+        .maxDepth(4)
+        .failureStrategy(MaskingFailureStrategy.REPLACE_WITH_NULL)
+        .build()
+        .mask(nulled);
+    // Depth counts the children lists too: node -> list -> node
+    assertThat(nulled.email).isEqualTo("no***@example.com");
+    assertThat(nulled.children.get(0).children.get(0).email).isEqualTo("no***@example.com");
+    assertThat(nulled.children.get(0).children.get(0).children).isNull();
+  }
+
+  @Test
+  @DisplayName("Should mask graphs deeper than 64 levels with the default depth limit")
+  void shouldMaskDeepGraphsByDefault() {
+    // node -> list -> node, so 100 nodes span about 200 levels
+    TreeNode root = chain(100);
+
+    engine.mask(root);
+
+    TreeNode last = root;
+    while (last.children != null && !last.children.isEmpty()) {
+      last = last.children.get(0);
+    }
+    assertThat(last.email).isEqualTo("no***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should apply the failure strategy to elements of a root collection")
+  void shouldHandleRootElementFailures() {
+    // The node in the inner list is at depth 2
+    List<TreeNode> inner = new ArrayList<>(List.of(new TreeNode("inner@example.com")));
+    List<Object> nodes = new ArrayList<>(List.of(inner, new TreeNode("outer@example.com")));
+
+    MaskingEngine.builder()
+        .maxDepth(1)
+        .failureStrategy(MaskingFailureStrategy.REPLACE_WITH_NULL)
+        .build()
+        .mask(nodes);
+
+    assertThat(inner.get(0)).isNull();
+    assertThat(((TreeNode) nodes.get(1)).email).isEqualTo("ou***@example.com");
+    assertThatCode(
+            () ->
+                MaskingEngine.builder()
+                    .maxDepth(1)
+                    .failureStrategy(MaskingFailureStrategy.IGNORE)
+                    .build()
+                    .mask(List.of(List.of(new TreeNode("inner@example.com")))))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("Should stop cyclic graphs at the maximum depth when cycle detection is disabled")
+  void shouldStopCyclesWithoutDetection() {
+    TreeNode node = new TreeNode("node@example.com");
+    node.parent = node;
+
+    assertThatThrownBy(() -> MaskingEngine.builder().detectCycles(false).build().mask(node))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("Maximum masking depth of " + MaskingEngine.DEFAULT_MAX_DEPTH);
+  }
+
+  @Test
+  @DisplayName("Should mask very deep graphs without growing the call stack")
+  void shouldMaskDeepGraphIteratively() {
+    TreeNode root = new TreeNode("node@example.com");
+    TreeNode current = root;
+    for (int i = 1; i < 10_000; i++) {
+      TreeNode next = new TreeNode("node@example.com");
+      next.parent = current;
+      current = next;
+    }
+
+    // Within the default depth limit
+    MaskingEngine.builder().build().mask(current);
+
+    for (TreeNode node = current; node != null; node = node.parent) {
+      assertThat(node.email).isEqualTo("no***@example.com");
+    }
+  }
+
+  @Test
+  @DisplayName("Should visit nested values in field order")
+  void shouldVisitInFieldOrder() {
+    OrderedDto dto = new OrderedDto();
+    dto.first = new InvalidDto("first");
+    dto.second = new InvalidDto("second");
+
+    assertThatThrownBy(() -> engine.mask(dto))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("Invalid regex pattern '['");
+    assertThat(dto.second.value).isEqualTo("second");
+
+    OrderedDto nulled = new OrderedDto();
+    nulled.first = new InvalidDto("first");
+    nulled.second = new InvalidDto("second");
+    MaskingEngine.builder()
+        .failureStrategy(MaskingFailureStrategy.REPLACE_WITH_NULL)
+        .build()
+        .mask(nulled);
+    assertThat(nulled.first.value).isNull();
+    assertThat(nulled.second.value).isNull();
+  }
+
+  @Test
+  @DisplayName("Should mask large lists and arrays in parallel with the same result")
+  void shouldMaskInParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      MaskingEngine parallel =
+          MaskingEngine.builder().parallelThreshold(100).parallelPool(pool).build();
+      TreeNode shared = new TreeNode("shared@example.com");
+      List<TreeNode> rows = new ArrayList<>();
+      for (int i = 0; i < 5_000; i++) {
+        TreeNode row = new TreeNode("row@example.com");
+        row.parent = shared;
+        rows.add(row);
+      }
+      TreeNode[] array = rows.subList(0, 1_000).toArray(new TreeNode[0]);
+
+      parallel.mask(List.of(rows, array));
+
+      for (TreeNode row : rows) {
+        assertThat(row.email).isEqualTo("ro***@example.com");
+      }
+      // Reached from every row, but masked exactly once
+      assertThat(shared.email).isEqualTo("sh***@example.com");
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should rethrow the original failure from parallel masking")
+  void shouldRethrowParallelFailure() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      MaskingEngine parallel =
+          MaskingEngine.builder().parallelThreshold(10).parallelPool(pool).build();
+      List<InvalidDto> rows = new ArrayList<>();
+      for (int i = 0; i < 1_000; i++) {
+        rows.add(new InvalidDto("value"));
+      }
+
+      assertThatThrownBy(() -> parallel.mask(rows))
+          .isInstanceOf(MaskingConfigurationException.class)
+          .hasMessageContaining("Invalid regex pattern '['");
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should skip subtrees whose types cannot contain masked fields")
+  void shouldSkipMaskFreeSubtrees() {
+    // A cycle through mask-free nodes would exceed the depth limit if it were traversed
+    PlainNode first = new PlainNode("first");
+    PlainNode second = new PlainNode("second");
+    first.next = second;
+    second.next = first;
+    HolderDto holder = new HolderDto("test@example.com");
+    holder.plain = first;
+    holder.payload = second;
+    holder.values = List.of(first, second);
+
+    MaskingEngine.builder().detectCycles(false).maxDepth(4).build().mask(holder);
+
+    assertThat(holder.email).isEqualTo("te***@example.com");
+    assertThat(first.value).isEqualTo("first");
+    assertThat(engine.mayContainMaskedValues(first)).isFalse();
+    assertThat(engine.mayContainMaskedValues("test@example.com")).isFalse();
+    assertThat(engine.mayContainMaskedValues(null)).isFalse();
+    assertThat(engine.mayContainMaskedValues(holder)).isTrue();
+    assertThat(engine.mayContainMaskedValues(List.of())).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should check polymorphic fields by their runtime type")
+  void shouldMaskPolymorphicFieldsByRuntimeType() {
+    HolderDto holder = new HolderDto("test@example.com");
+    holder.payload = new ParentDto("object@example.com");
+    holder.values = List.of(new ChildDto("list@example.com", "010-1234-5678"));
+    holder.parent = new ChildDto("child@example.com", "010-1234-5678");
+
+    engine.mask(holder);
+
+    assertThat(((ParentDto) holder.payload).email).isEqualTo("ob***@example.com");
+    ChildDto element = (ChildDto) holder.values.get(0);
+    assertThat(element.email).isEqualTo("li***@example.com");
+    assertThat(element.phone).isEqualTo("010-****-5678");
+    // Declared as ParentDto, but the ChildDto field is masked as well
+    assertThat(((ChildDto) holder.parent).phone).isEqualTo("010-****-5678");
+  }
+
+  private static TreeNode chain(int length) {
+    TreeNode root = new TreeNode("node@example.com");
+    TreeNode current = root;
+    for (int i = 1; i < length; i++) {
+      TreeNode next = new TreeNode("node@example.com");
+      current.children.add(next);
+      current = next;
+    }
+    return root;
+  }
+
+  static class TreeNode {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    TreeNode parent;
+
+    List<TreeNode> children = new ArrayList<>();
+
+    TreeNode(String email) {
+      this.email = email;
+    }
+  }
+
+  static final class PlainNode {
+    String value;
+    PlainNode next;
+    List<String> tags = new ArrayList<>();
+    UUID id = UUID.randomUUID();
+
+    PlainNode(String value) {
+      this.value = value;
+    }
+  }
+
+  static class HolderDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    PlainNode plain;
+    Object payload;
+    List<?> values;
+    ParentDto parent;
+
+    HolderDto(String email) {
+      this.email = email;
+    }
+  }
+
+  static class OrderedDto {
+    InvalidDto first;
+    InvalidDto second;
+  }
+
+  static class ParentDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    ParentDto(String email) {
+      this.email = email;
+    }
+  }
+
+  static class ChildDto extends ParentDto {
+    @Masked(MaskType.PHONE_NUMBER)
+    String phone;
+
+    ChildDto(String email, String phone) {
+      super(email);
+      this.phone = phone;
+    }
+  }
+
+  static class InvalidDto {
+    @MaskedPattern(regex = "[", replacement = "***")
+    String value;
+
+    InvalidDto(String value) {
+      this.value = value;
+    }
+  }
+
+  static class FinalFieldDto {
+    @Masked(MaskType.RESIDENT_REGISTRATION_NUMBER)
+    private final String rrn;
+
+    private final ParentDto parent;
+
+    FinalFieldDto(String rrn, ParentDto parent) {
+      this.rrn = rrn;
+      this.parent = parent;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskedPattern;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PatternCacheTest {
+
+  @Test
+  @DisplayName("Should compile a regex once and count hits and misses")
+  void shouldCacheCompiledPatterns() {
+    PatternCache cache = new PatternCache(8);
+
+    Pattern first = cache.get("\\d+");
+    Pattern second = cache.get("\\d+");
+    Pattern caseInsensitive = cache.get("\\d+", Pattern.CASE_INSENSITIVE);
+
+    assertThat(second).isSameAs(first);
+    // Flags are part of the key
+    assertThat(caseInsensitive).isNotSameAs(first);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should evict the least recently used pattern when full")
+  void shouldEvictLeastRecentlyUsed() {
+    PatternCache cache = new PatternCache(2);
+    Pattern a = cache.get("a");
+    cache.get("b");
+    cache.get("a");
+
+    cache.get("c");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(cache.get("a")).isSameAs(a);
+    long misses = cache.missCount();
+    cache.get("b");
+    assertThat(cache.missCount()).isEqualTo(misses + 1);
+  }
+
+  @Test
+  @DisplayName("Should share objects built around a regex within the same bound as patterns")
+  void shouldCacheObjectsBuiltAroundRegexes() {
+    PatternCache cache = new PatternCache(2);
+    cache.get("a");
+
+    RegexMasker masker =
+        cache.computeIfAbsent(
+            List.of("b", "*"), RegexMasker.class, () -> new RegexMasker("b", "*"));
+
+    assertThat(cache.computeIfAbsent(List.of("b", "*"), RegexMasker.class, () -> null))
+        .isSameAs(masker);
+    cache.get("c");
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(
+            cache.computeIfAbsent(
+                List.of("b", "*"), RegexMasker.class, () -> new RegexMasker("b", "*")))
+        .isSameAs(masker);
+    assertThat(cache.get("a")).isNotNull();
+    assertThat(cache.missCount()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should not cache invalid regexes")
+  void shouldNotCacheInvalidRegexes() {
+    PatternCache cache = new PatternCache(8);
+
+    assertThatThrownBy(() -> cache.get("[")).isInstanceOf(PatternSyntaxException.class);
+    cache.prewarm(List.of("[", "\\w+"));
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should prewarm the cache with validated @MaskedPattern regexes")
+  void shouldPrewarmFromValidator() {
+    PatternCache cache = new PatternCache(8);
+
+    Masked4JValidator.prewarmPatterns(cache, PatternDto.class);
+    MaskingEngine engine = MaskingEngine.builder().patternCache(cache).build();
+    PatternDto dto = new PatternDto();
+    engine.mask(dto);
+
+    assertThat(dto.code).isEqualTo("AB-****");
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.missCount()).isZero();
+    assertThatThrownBy(() -> Masked4JValidator.prewarmPatterns(cache, InvalidDto.class))
+        .isInstanceOf(MaskingConfigurationException.class);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should let regex maskers share a cache and keep their pattern after eviction")
+  void shouldShareCacheWithRegexMaskers() {
+    PatternCache cache = new PatternCache(1);
+    RegexMasker digits = new RegexMasker("\\d", "*", cache);
+    RegexMasker sameDigits = new RegexMasker("\\d", "#", cache);
+
+    assertThat(digits.mask("a1b2")).isEqualTo("a*b*");
+    assertThat(sameDigits.mask("a1b2")).isEqualTo("a#b#");
+    assertThat(new RegexMasker("[a-z]", "_", cache).mask("a1")).isEqualTo("_1");
+    assertThat(digits.mask("c3")).isEqualTo("c*");
+
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  static class PatternDto {
+    @MaskedPattern(regex = "(\\w{2})-\\d{4}", replacement = "$1-****")
+    String code = "AB-1234";
+
+    @MaskedPattern(regex = "\\d", replacement = "*")
+    String pin;
+  }
+
+  static class InvalidDto {
+    @MaskedPattern(regex = "(", replacement = "*")
+    String value;
+  }
+}
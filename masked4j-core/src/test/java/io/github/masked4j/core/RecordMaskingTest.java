@@ -0,0 +1,181 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.exception.MaskingFailureStrategy;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RecordMaskingTest {
+
+  private final MaskingEngine engine = new MaskingEngine();
+
+  @Test
+  @DisplayName("Should return a rebuilt record when the root is a record")
+  void shouldRebuildRootRecord() {
+    UserRecord user = new UserRecord(1L, "test@example.com", "010-1234-5678");
+
+    UserRecord masked = engine.mask(user);
+
+    assertThat(masked).isNotSameAs(user);
+    assertThat(masked.id()).isEqualTo(1L);
+    assertThat(masked.email()).isEqualTo("te***@example.com");
+    assertThat(masked.phone()).isEqualTo("010-****-5678");
+    // Records are immutable, the original keeps its values
+    assertThat(user.email()).isEqualTo("test@example.com");
+  }
+
+  @Test
+  @DisplayName("Should return the same record when nothing needs masking")
+  void shouldKeepUnchangedRecord() {
+    UserRecord user = new UserRecord(1L, null, null);
+    PlainRecord plain = new PlainRecord("value", 3);
+
+    assertThat(engine.mask(user)).isSameAs(user);
+    assertThat(engine.mask(plain)).isSameAs(plain);
+  }
+
+  @Test
+  @DisplayName("Should replace records held in fields, lists, maps and arrays")
+  void shouldReplaceRecordsInContainers() {
+    HolderDto holder = new HolderDto();
+    holder.user = new UserRecord(1L, "field@example.com", null);
+    holder.users.add(new UserRecord(2L, "list@example.com", null));
+    holder.byName.put("map", new UserRecord(3L, "map@example.com", null));
+    holder.array = new UserRecord[] {new UserRecord(4L, "array@example.com", null)};
+
+    engine.mask(holder);
+
+    assertThat(holder.user.email()).isEqualTo("fi***@example.com");
+    assertThat(holder.users.get(0).email()).isEqualTo("li***@example.com");
+    assertThat(holder.byName.get("map").email()).isEqualTo("ma***@example.com");
+    assertThat(holder.array[0].email()).isEqualTo("ar***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should rebuild records nested in records from the inside out")
+  void shouldRebuildNestedRecords() {
+    OrderRecord order =
+        new OrderRecord(
+            new UserRecord(1L, "test@example.com", null),
+            List.of(new ProfileDto("secret")),
+            "Hong Gil Dong");
+
+    OrderRecord masked = engine.mask(order);
+
+    assertThat(masked).isNotSameAs(order);
+    assertThat(masked.customer().email()).isEqualTo("te***@example.com");
+    assertThat(masked.customerName()).isEqualTo("H***********g");
+    // Mutable values inside a record are masked in place
+    assertThat(masked.profiles()).isSameAs(order.profiles());
+    assertThat(masked.profiles().get(0).nickname).isEqualTo("s***t");
+  }
+
+  @Test
+  @DisplayName("Should replace a shared record everywhere it is referenced")
+  void shouldReplaceSharedRecord() {
+    UserRecord shared = new UserRecord(1L, "test@example.com", null);
+    HolderDto holder = new HolderDto();
+    holder.user = shared;
+    holder.users.add(shared);
+    holder.byName.put("shared", shared);
+
+    engine.mask(holder);
+
+    assertThat(holder.user.email()).isEqualTo("te***@example.com");
+    assertThat(holder.users.get(0)).isSameAs(holder.user);
+    assertThat(holder.byName.get("shared")).isSameAs(holder.user);
+  }
+
+  @Test
+  @DisplayName("Should replace records held by fields of generated class maskers")
+  void shouldReplaceRecordsWithGeneratedMaskers() {
+    MaskingEngine generating = MaskingEngine.builder().generateClassMaskers(true).build();
+    HolderDto holder = new HolderDto();
+    holder.user = new UserRecord(1L, "test@example.com", null);
+
+    generating.mask(holder);
+
+    assertThat(holder.user.email()).isEqualTo("te***@example.com");
+  }
+
+  @Test
+  @DisplayName("Should rebuild records in masked copies")
+  void shouldCopyRecords() {
+    HolderDto holder = new HolderDto();
+    holder.user = new UserRecord(1L, "test@example.com", null);
+
+    HolderDto copy = engine.maskedCopy(holder);
+
+    assertThat(copy).isNotSameAs(holder);
+    assertThat(copy.user.email()).isEqualTo("te***@example.com");
+    assertThat(holder.user.email()).isEqualTo("test@example.com");
+  }
+
+  @Test
+  @DisplayName("Should apply the failure strategy when the canonical constructor rejects a value")
+  void shouldHandleConstructorFailures() {
+    HolderDto holder = new HolderDto();
+    holder.validated = new ValidatedRecord("test@example.com");
+
+    assertThatThrownBy(() -> engine.mask(new ValidatedRecord("test@example.com")))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining(ValidatedRecord.class.getName());
+
+    new MaskingEngine(MaskingFailureStrategy.REPLACE_WITH_NULL).mask(holder);
+    assertThat(holder.validated).isNull();
+  }
+
+  @Test
+  @DisplayName("Should report the record itself when it cannot be replaced")
+  void shouldReportUnreplaceableRecord() {
+    HolderDto holder = new HolderDto();
+    holder.users = List.of(new UserRecord(1L, "test@example.com", "010-1234-5678"));
+
+    assertThatThrownBy(() -> engine.mask(holder))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("Error masking field 'users'")
+        .hasMessageContaining("Value: 'UserRecord[id=1, email=test@example.com")
+        .hasMessageNotContaining("RecordState");
+  }
+
+  record UserRecord(
+      long id, @Masked(MaskType.EMAIL) String email, @Masked(MaskType.PHONE_NUMBER) String phone) {}
+
+  record PlainRecord(String value, int count) {}
+
+  record OrderRecord(
+      UserRecord customer, List<ProfileDto> profiles, @Masked(MaskType.NAME) String customerName) {}
+
+  record ValidatedRecord(@Masked(MaskType.EMAIL) String email) {
+    ValidatedRecord {
+      if (email.contains("*")) {
+        throw new IllegalArgumentException("email must not be masked");
+      }
+    }
+  }
+
+  static class HolderDto {
+    UserRecord user;
+    ValidatedRecord validated;
+    List<UserRecord> users = new ArrayList<>();
+    Map<String, UserRecord> byName = new HashMap<>();
+    UserRecord[] array;
+  }
+
+  static class ProfileDto {
+    @Masked String nickname;
+
+    ProfileDto(String nickname) {
+      this.nickname = nickname;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TextScannerTest {
+
+  private final TextScanner scanner = new TextScanner();
+
+  @Test
+  @DisplayName("Should mask every detectable type with its built-in masker")
+  void shouldMaskEveryType() {
+    assertThat(scanner.mask("mail john.doe@example.com now"))
+        .isEqualTo("mail jo***@example.com now");
+    assertThat(scanner.mask("rrn 850209-1234567 / 8502091234567"))
+        .isEqualTo("rrn 850209-******* / 850209*******");
+    assertThat(scanner.mask("card 4558-1234-5678-0116, 4558 1234 5678 0116, 4111111111111111"))
+        .isEqualTo("card 4558-12**-****-0116, 4558 12** **** 0116, 411111******1111");
+    assertThat(scanner.mask("tel 010-1234-5678, 02-123-4567, 01012345678"))
+        .isEqualTo("tel 010-****-5678, 02-***-4567, 010****5678");
+    assertThat(scanner.mask("from 192.168.0.1:8080 and 2001:db8::1"))
+        .isEqualTo("from 192.168.***.1:8080 and 2001:db8::****");
+    assertThat(scanner.mask("brn 123-45-67890")).isEqualTo("brn 123-45-*****");
+    assertThat(scanner.mask("license 서울-12-345678-10, 11-22-333333-44"))
+        .isEqualTo("license 서울-12-******-10, 11-22-******-44");
+    assertThat(scanner.mask("passport M12345678, M123A4567"))
+        .isEqualTo("passport M1234****, M123A****");
+    assertThat(scanner.mask("account 110-123-456789")).isEqualTo("account 110-123-45****");
+  }
+
+  @Test
+  @DisplayName("Should leave tokens that are part of longer words or numbers untouched")
+  void shouldRespectTokenBoundaries() {
+    String text =
+        "order 2024-01-15 12:30:45 v1.2.3.4.5 10.0.0.256 id8502091234567 4111111111111112"
+            + " 010-1234-56789-1 M12345678a x@localhost";
+
+    assertThat(scanner.mask(text)).isSameAs(text);
+    // Two letter-only hex words joined by :: are not IPv6 addresses
+    String words = "dead::beef a::b cafe::face std::map";
+    assertThat(scanner.mask(words)).isSameAs(words);
+    assertThat(scanner.mask("fe80::1 a::b::c ab::cd::ef dead:beef::cafe"))
+        .isEqualTo("fe80::**** a::b::c ab::cd::ef dead:beef::****");
+    // Korean particles and punctuation end a token
+    assertThat(scanner.mask("전화010-1234-5678로 연락. 메일 test@example.com입니다."))
+        .isEqualTo("전화010-****-5678로 연락. 메일 te***@example.com입니다.");
+  }
+
+  @Test
+  @DisplayName("Should detect only the configured types")
+  void shouldScanConfiguredTypesOnly() {
+    TextScanner phonesOnly = new TextScanner(MaskType.PHONE_NUMBER);
+
+    assertThat(phonesOnly.types()).containsExactly(MaskType.PHONE_NUMBER);
+    // A phone number is never masked as a bank account when phones are not scanned for
+    assertThat(new TextScanner(MaskType.BANK_ACCOUNT).mask("010-1234-5678"))
+        .isEqualTo("010-1234-5678");
+    assertThat(phonesOnly.mask("010-1234-5678 a@example.com"))
+        .isEqualTo("010-****-5678 a@example.com");
+    assertThatThrownBy(() -> new TextScanner(MaskType.NAME))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("NAME");
+  }
+
+  @Test
+  @DisplayName("Should prefilter texts that cannot contain a match")
+  void shouldPrefilterCandidates() {
+    assertThat(scanner.hasCandidates("request took 12 ms, 3 rows, ratio 0.97")).isFalse();
+    assertThat(scanner.hasCandidates("")).isFalse();
+    // The shortest form of each type passes
+    assertThat(scanner.hasCandidates("a@b.cd")).isTrue();
+    assertThat(scanner.hasCandidates("ip 1.2.3.4")).isTrue();
+    assertThat(scanner.hasCandidates("ip a::1")).isTrue();
+    assertThat(scanner.hasCandidates("ip abcd:ef:ab:cd:ef:ab:cd:ef")).isTrue();
+    assertThat(scanner.mask("ip abcd:ef:ab:cd:ef:ab:cd:ef"))
+        .isEqualTo("ip abcd:ef:ab:cd:ef:ab:cd:****");
+  }
+
+  @Test
+  @DisplayName("Should append to a buffer and scan large texts in one pass")
+  void shouldMaskIntoBuffer() {
+    StringBuilder text = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      text.append("user ").append(i).append(" from 10.1.2.3 as admin@example.com\n");
+      expected.append("user ").append(i).append(" from 10.1.***.3 as ad***@example.com\n");
+    }
+    StringBuilder out = new StringBuilder("> ");
+
+    scanner.mask(text, out);
+
+    assertThat(out.toString()).isEqualTo("> " + expected);
+  }
+}
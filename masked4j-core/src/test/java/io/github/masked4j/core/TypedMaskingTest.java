@@ -0,0 +1,97 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TypedMaskingTest {
+
+  private final MaskingEngine engine = new MaskingEngine();
+
+  @Test
+  @DisplayName("Should mask Optional, collection and array values in place")
+  void shouldMaskContainers() {
+    ContactDto dto = new ContactDto();
+    List<String> phones = dto.phones;
+
+    engine.mask(dto);
+
+    assertThat(dto.email).contains("te***@example.com");
+    assertThat(dto.phones).isSameAs(phones).containsExactly("010-****-5678", null, "02-***-4567");
+    assertThat(dto.fixedPhones).containsExactly("010-****-5678");
+    assertThat(dto.emails).containsExactly("ab***@example.com", "***@example.com");
+    assertThat(dto.aliases).containsExactly("h***", null);
+    assertThat(dto.missing).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should mask numbers in fields that can hold text and keep typed numbers")
+  void shouldMaskNumbers() {
+    NumberDto dto = new NumberDto();
+
+    engine.mask(dto);
+
+    assertThat(dto.account).isEqualTo("1234****");
+    assertThat(dto.code).isEqualTo("****");
+    // An Integer field cannot hold masked text
+    assertThat(dto.pin).isEqualTo(1234);
+  }
+
+  @Test
+  @DisplayName("Should mask containers in copies without modifying the original")
+  void shouldCopyContainers() {
+    ContactDto dto = new ContactDto();
+
+    ContactDto copy = engine.maskedCopy(dto);
+
+    assertThat(copy.phones).containsExactly("010-****-5678", null, "02-***-4567");
+    assertThat(copy.emails).containsExactly("ab***@example.com", "***@example.com");
+    assertThat(copy.aliases).containsExactly("h***", null);
+    assertThat(dto.phones).containsExactly("010-1234-5678", null, "02-123-4567");
+    assertThat(dto.emails).containsExactly("abcd@example.com", "a@example.com");
+    assertThat(dto.aliases).containsExactly("hong", null);
+    assertThat(dto.email).contains("test@example.com");
+  }
+
+  static class ContactDto {
+    @Masked(MaskType.EMAIL)
+    Optional<String> email = Optional.of("test@example.com");
+
+    @Masked(MaskType.EMAIL)
+    Optional<String> missing = Optional.empty();
+
+    @Masked(MaskType.PHONE_NUMBER)
+    List<String> phones = new ArrayList<>(Arrays.asList("010-1234-5678", null, "02-123-4567"));
+
+    // Unmodifiable, so it is replaced by a masked copy
+    @Masked(MaskType.PHONE_NUMBER)
+    List<String> fixedPhones = List.of("010-1234-5678");
+
+    @Masked(MaskType.EMAIL)
+    Set<String> emails = new LinkedHashSet<>(List.of("abcd@example.com", "a@example.com"));
+
+    @MaskedPattern(regex = "(?<=.).", replacement = "*")
+    String[] aliases = {"hong", null};
+  }
+
+  static class NumberDto {
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    Object account = 12345678L;
+
+    @MaskedPattern(regex = "\\d", replacement = "*")
+    CharSequence code = new StringBuilder("1234");
+
+    @MaskedPattern(regex = "\\d", replacement = "*")
+    Integer pin = 1234;
+  }
+}
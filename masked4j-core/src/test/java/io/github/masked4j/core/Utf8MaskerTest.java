@@ -0,0 +1,147 @@
+package io.github.masked4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.Masker;
+import io.github.masked4j.Utf8Masker;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class Utf8MaskerTest {
+
+  private static final List<Utf8Masker> MASKERS =
+      List.of(
+          new EmailMasker(),
+          new CreditCardMasker(),
+          new DefaultStringMasker(),
+          new NameMasker(),
+          new RrnMasker(),
+          new PhoneNumberMasker(),
+          new IpMasker(),
+          new BusinessRegistrationNumberMasker(),
+          new DriversLicenseMasker(),
+          new PassportMasker(),
+          new BankAccountMasker());
+
+  private static final List<String> INPUTS =
+      List.of(
+          "",
+          "a",
+          "홍길",
+          "홍길동",
+          "남궁민수",
+          "test@example.com",
+          "홍길동@example.com",
+          "4558-1234-5678-0116",
+          "４５５８-１２３４-５６７８-０１１６",
+          "850209-1234567",
+          "8502091234567",
+          "850209",
+          "010-1234-5678",
+          "01012345678",
+          "0101234-5678",
+          "02-123-4567",
+          "010-1234-567",
+          "192.168.0.1",
+          "1234.168.0.1",
+          "2001:db8::1",
+          "fe80::",
+          "123-45-67890",
+          "1234567890",
+          "서울-12-345678-10",
+          "서울 12 345678 10",
+          "12-34-567890-11",
+          "서울12345678\t10",
+          "M12345678",
+          "110-123-456789",
+          "Ünïcödé ✓");
+
+  @Test
+  @DisplayName("Should produce the UTF-8 encoding of mask(String) from heap and direct buffers")
+  void shouldMatchStringResult() {
+    for (Utf8Masker masker : MASKERS) {
+      for (String input : INPUTS) {
+        byte[] expected = masker.mask(input).getBytes(StandardCharsets.UTF_8);
+        assertThat(maskUtf8(masker, input, false)).isEqualTo(expected);
+        assertThat(maskUtf8(masker, input, true)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep supplementary characters whole instead of splitting surrogate pairs")
+  void shouldNotSplitSupplementaryCharacters() {
+    // mask(String) would cut the emoji in half and encode the lone surrogates as '?'
+    assertThat(maskUtf8(new NameMasker(), "😊Hello🌏", false))
+        .isEqualTo("😊*****🌏".getBytes(StandardCharsets.UTF_8));
+    assertThat(maskUtf8(new DefaultStringMasker(), "😊Hello🌏", true))
+        .isEqualTo("😊***🌏".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Should only read between the position and the limit of the source")
+  void shouldRespectSourceBounds() {
+    ByteBuffer src = ByteBuffer.wrap("[010-1234-5678]".getBytes(StandardCharsets.UTF_8));
+    src.position(1).limit(14);
+    ByteBuffer dst = ByteBuffer.allocate(32);
+
+    new PhoneNumberMasker().maskUtf8(src, dst);
+
+    assertThat(src.position()).isEqualTo(14);
+    assertThat(new String(dst.array(), 0, dst.position(), StandardCharsets.UTF_8))
+        .isEqualTo("010-****-5678");
+  }
+
+  @Test
+  @DisplayName("Should fall back to mask(String) for maskers without a UTF-8 implementation")
+  void shouldFallBackForOtherMaskers() {
+    Masker custom = input -> input.toUpperCase();
+    ByteBuffer dst = ByteBuffer.allocate(64);
+
+    Utf8Masker.mask(custom, utf8("value"), dst);
+    Utf8Masker.mask(new AddressMasker(), utf8(" 서울시 123동"), dst);
+
+    assertThat(new String(dst.array(), 0, dst.position(), StandardCharsets.UTF_8))
+        .isEqualTo("VALUE 서울시 ***동");
+  }
+
+  @Test
+  @DisplayName("Should leave the source position unchanged when the destination is too small")
+  void shouldReportOverflow() {
+    ByteBuffer src = utf8("850209-1234567");
+    ByteBuffer fallbackSrc = utf8("서울시 123동");
+
+    assertThatThrownBy(() -> new RrnMasker().maskUtf8(src, ByteBuffer.allocate(4)))
+        .isInstanceOf(BufferOverflowException.class);
+    assertThatThrownBy(
+            () -> Utf8Masker.mask(new AddressMasker(), fallbackSrc, ByteBuffer.allocate(4)))
+        .isInstanceOf(BufferOverflowException.class);
+    assertThat(src.position()).isZero();
+    assertThat(fallbackSrc.position()).isZero();
+  }
+
+  private static byte[] maskUtf8(Utf8Masker masker, String input, boolean direct) {
+    byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer src =
+        direct ? ByteBuffer.allocateDirect(bytes.length) : ByteBuffer.allocate(bytes.length);
+    src.put(bytes).flip();
+    int capacity = bytes.length + 16;
+    ByteBuffer dst = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+
+    masker.maskUtf8(src, dst);
+
+    assertThat(src.hasRemaining()).isFalse();
+    byte[] result = new byte[dst.flip().remaining()];
+    dst.get(result);
+    return result;
+  }
+
+  private static ByteBuffer utf8(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.masked4j.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Masks the same values through JSON, Smile and CBOR and compares the decoded results. */
+class BinaryFormatMaskingTest {
+
+  private static final List<JsonFactory> FACTORIES =
+      List.of(
+          new JsonFactory(),
+          new SmileFactory(),
+          // Shared string values rule out writing masked values as raw UTF-8
+          new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES),
+          new CBORFactory());
+
+  @Test
+  @DisplayName("Should write the same masked values in every format")
+  void shouldMaskInEveryFormat() throws Exception {
+    List<CustomerDto> customers = Collections.nCopies(3, new CustomerDto());
+
+    for (JsonFactory factory : FACTORIES) {
+      ObjectMapper mapper = new ObjectMapper(factory).registerModule(new MaskedModule());
+
+      JsonNode tree = mapper.readTree(mapper.writeValueAsBytes(customers));
+
+      assertThat(tree.size()).as(factory.getFormatName()).isEqualTo(3);
+      for (JsonNode customer : tree) {
+        assertThat(customer.get("email").asText()).isEqualTo("te***@example.com");
+        assertThat(customer.get("name").asText()).isEqualTo("홍*동");
+        assertThat(customer.get("phones").get(0).asText()).isEqualTo("010-****-5678");
+        assertThat(customer.get("phones").get(1).asText()).isEqualTo("02-***-4567");
+        assertThat(customer.get("account").asText()).isEqualTo("1234****");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should mask binary token streams by path")
+  void shouldStreamMaskBinaryFormats() throws Exception {
+    JsonStreamMasker masker =
+        JsonStreamMasker.builder()
+            .field("email", MaskType.EMAIL)
+            .path("$.phones[*]", MaskType.PHONE_NUMBER)
+            .build();
+
+    for (JsonFactory factory : FACTORIES) {
+      ObjectMapper mapper = new ObjectMapper(factory);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (JsonParser parser = factory.createParser(mapper.writeValueAsBytes(new CustomerDto()));
+          JsonGenerator generator = factory.createGenerator(out)) {
+        masker.mask(parser, generator);
+      }
+
+      JsonNode tree = mapper.readTree(out.toByteArray());
+
+      assertThat(tree.get("email").asText())
+          .as(factory.getFormatName())
+          .isEqualTo("te***@example.com");
+      assertThat(tree.get("name").asText()).isEqualTo("홍길동");
+      assertThat(tree.get("phones").get(1).asText()).isEqualTo("02-***-4567");
+      assertThat(tree.get("account").asLong()).isEqualTo(12345678L);
+    }
+  }
+
+  static class CustomerDto {
+    @Masked(MaskType.EMAIL)
+    public String email = "test@example.com";
+
+    @Masked(MaskType.NAME)
+    public String name = "홍길동";
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public List<String> phones = List.of("010-1234-5678", "02-123-4567");
+
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    public long account = 12345678L;
+  }
+}
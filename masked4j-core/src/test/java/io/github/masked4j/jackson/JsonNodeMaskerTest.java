@@ -0,0 +1,91 @@
+package io.github.masked4j.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.exception.MaskingProcessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JsonNodeMaskerTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  @DisplayName("Should mask a tree in place by field names and paths")
+  void shouldMaskTreeInPlace() throws Exception {
+    JsonNodeMasker masker =
+        JsonNodeMasker.builder()
+            .field("email", MaskType.EMAIL)
+            .path("$.payment.card", MaskType.CREDIT_CARD)
+            .path("$.phones[*]", MaskType.PHONE_NUMBER)
+            .path("$.address", MaskType.STRING)
+            .build();
+    ObjectNode event = mapper.createObjectNode();
+    event.put("action", "signup");
+    event.putObject("actor").put("email", "test@example.com").put("id", 42);
+    event.putObject("payment").put("card", "1234-5678-9012-3456").put("email", "a@b.io");
+    event.putArray("phones").add("010-1234-5678").add("02-123-4567");
+    event.putObject("address").put("city", "Seoul").put("zip", 12345);
+    JsonNode action = event.get("action");
+
+    JsonNode result = masker.mask(event);
+
+    assertThat(result).isSameAs(event);
+    assertThat(mapper.writeValueAsString(event))
+        .isEqualTo(
+            "{\"action\":\"signup\",\"actor\":{\"email\":\"te***@example.com\",\"id\":42},"
+                + "\"payment\":{\"card\":\"1234-56**-****-3456\",\"email\":\"***@b.io\"},"
+                + "\"phones\":[\"010-****-5678\",\"02-***-4567\"],"
+                + "\"address\":{\"city\":\"S***l\",\"zip\":\"1***5\"}}");
+    assertThat(event.get("action")).isSameAs(action);
+  }
+
+  @Test
+  @DisplayName("Should keep nodes whose masked value does not change")
+  void shouldNotReplaceUnchangedValues() throws Exception {
+    JsonNodeMasker masker = JsonNodeMasker.builder().field("phone", MaskType.PHONE_NUMBER).build();
+    JsonNode tree = mapper.readTree("{\"a\":{\"phone\":\"unknown\"},\"b\":[{\"phone\":true}]}");
+    JsonNode phone = tree.get("a").get("phone");
+    JsonNode flag = tree.get("b").get(0).get("phone");
+
+    masker.mask(tree);
+
+    assertThat(tree.get("a").get("phone")).isSameAs(phone);
+    assertThat(tree.get("b").get(0).get("phone")).isSameAs(flag);
+  }
+
+  @Test
+  @DisplayName("Should return a masked node for a selected root value")
+  void shouldMaskRootValue() {
+    JsonNodeMasker masker = JsonNodeMasker.builder().path("$", MaskType.EMAIL).build();
+
+    assertThat(masker.mask(TextNode.valueOf("test@example.com")))
+        .isEqualTo(TextNode.valueOf("te***@example.com"));
+    assertThat(masker.mask(null)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should report the field whose masker failed")
+  void shouldReportMaskerFailures() {
+    JsonNodeMasker masker =
+        JsonNodeMasker.builder()
+            .field(
+                "secret",
+                input -> {
+                  throw new IllegalStateException("boom");
+                })
+            .build();
+    ObjectNode tree = mapper.createObjectNode();
+    tree.putObject("nested").put("secret", "x");
+
+    assertThatThrownBy(() -> masker.mask(tree))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessage("Failed to mask the value of 'secret'");
+  }
+}
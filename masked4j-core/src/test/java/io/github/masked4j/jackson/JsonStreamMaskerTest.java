@@ -0,0 +1,159 @@
+package io.github.masked4j.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.exception.MaskingConfigurationException;
+import io.github.masked4j.exception.MaskingProcessException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JsonStreamMaskerTest {
+
+  @Test
+  @DisplayName("Should mask the values selected by JSON paths")
+  void shouldMaskByPath() {
+    JsonStreamMasker masker =
+        JsonStreamMasker.builder()
+            .path("$.user.email", MaskType.EMAIL)
+            .path("$.orders[*].card", MaskType.CREDIT_CARD)
+            .path("$.orders[1]['ip']", MaskType.IP_ADDRESS)
+            .path("$.user..phone", MaskType.PHONE_NUMBER)
+            .build();
+    String json =
+        "{\"user\":{\"email\":\"test@example.com\",\"name\":\"홍길동\","
+            + "\"contact\":{\"phone\":\"010-1234-5678\"}},"
+            + "\"orders\":[{\"card\":\"1234-5678-9012-3456\",\"ip\":\"10.1.2.3\"},"
+            + "{\"card\":\"1234567890123456\",\"ip\":\"10.1.2.3\"}],"
+            + "\"email\":\"top@example.com\",\"phone\":\"010-1234-5678\"}";
+
+    assertThat(masker.mask(json))
+        .isEqualTo(
+            "{\"user\":{\"email\":\"te***@example.com\",\"name\":\"홍길동\","
+                + "\"contact\":{\"phone\":\"010-****-5678\"}},"
+                + "\"orders\":[{\"card\":\"1234-56**-****-3456\",\"ip\":\"10.1.2.3\"},"
+                + "{\"card\":\"123456******3456\",\"ip\":\"10.1.***.3\"}],"
+                + "\"email\":\"top@example.com\",\"phone\":\"010-1234-5678\"}");
+  }
+
+  @Test
+  @DisplayName("Should mask fields by name at any depth, including whole objects and numbers")
+  void shouldMaskByFieldName() {
+    JsonStreamMasker masker =
+        JsonStreamMasker.builder()
+            .field("account", MaskType.BANK_ACCOUNT)
+            .field("secret", MaskType.STRING)
+            // The first rule wins over later ones for the same value
+            .path("$.account", MaskType.STRING)
+            .build();
+    String json =
+        "[{\"account\":\"110-123-456789\",\"flag\":true},"
+            + "{\"nested\":{\"account\":1101234567}},"
+            + "{\"secret\":{\"pin\":\"1234\",\"codes\":[12,null,\"ab\\\"c\"],\"ok\":false}}]";
+
+    assertThat(masker.mask(json))
+        .isEqualTo(
+            "[{\"account\":\"110-123-45****\",\"flag\":true},"
+                + "{\"nested\":{\"account\":\"110123****\"}},"
+                + "{\"secret\":{\"pin\":\"1***4\","
+                + "\"codes\":[\"***\",null,\"a***c\"],\"ok\":false}}]");
+    assertThat(masker.mask("{\"account\":\"110-123-456789\"}"))
+        .isEqualTo("{\"account\":\"110-123-45****\"}");
+  }
+
+  @Test
+  @DisplayName("Should stream NDJSON of any length without buffering it")
+  void shouldMaskNdjsonStream() throws Exception {
+    JsonStreamMasker masker = JsonStreamMasker.builder().field("email", MaskType.EMAIL).build();
+    int lines = 200_000;
+    byte[] line =
+        "{\"id\":1,\"email\":\"user@example.com\",\"tags\":[\"a\",\"b\"]}\n"
+            .getBytes(StandardCharsets.UTF_8);
+    byte[] expected =
+        "{\"id\":1,\"email\":\"us***@example.com\",\"tags\":[\"a\",\"b\"]}\n"
+            .getBytes(StandardCharsets.UTF_8);
+    LineChecker out = new LineChecker(expected);
+
+    masker.maskNdjson(new RepeatingInputStream(line, lines), out);
+
+    assertThat(out.lines).isEqualTo(lines);
+    assertThat(out.mismatches).isZero();
+  }
+
+  @Test
+  @DisplayName("Should report invalid paths and failing maskers")
+  void shouldReportErrors() {
+    assertThatThrownBy(() -> JsonStreamMasker.builder().path("user.email", MaskType.EMAIL))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessage("Invalid JSON path 'user.email': must start with '$' at index 0");
+    assertThatThrownBy(() -> JsonStreamMasker.builder().path("$.items[1", MaskType.EMAIL))
+        .isInstanceOf(MaskingConfigurationException.class)
+        .hasMessageContaining("expected ']'");
+
+    JsonStreamMasker failing =
+        JsonStreamMasker.builder()
+            .path(
+                "$.value",
+                input -> {
+                  throw new IllegalStateException("boom");
+                })
+            .build();
+    assertThatThrownBy(() -> failing.mask("{\"value\":\"x\"}"))
+        .isInstanceOf(MaskingProcessException.class)
+        .hasMessageContaining("'value' at line 1");
+  }
+
+  /** Serves the same line over and over without holding the whole input. */
+  private static final class RepeatingInputStream extends InputStream {
+    private final byte[] line;
+    private int remaining;
+    private int pos;
+
+    RepeatingInputStream(byte[] line, int count) {
+      this.line = line;
+      this.remaining = count;
+    }
+
+    @Override
+    public int read() {
+      if (remaining == 0) {
+        return -1;
+      }
+      int b = line[pos++];
+      if (pos == line.length) {
+        pos = 0;
+        remaining--;
+      }
+      return b;
+    }
+  }
+
+  /** Compares each written line with the expected one without keeping the output. */
+  private static final class LineChecker extends OutputStream {
+    private final byte[] expected;
+    private int pos;
+    private boolean matches = true;
+    private int lines;
+    private int mismatches;
+
+    LineChecker(byte[] expected) {
+      this.expected = expected;
+    }
+
+    @Override
+    public void write(int b) {
+      matches &= pos < expected.length && expected[pos] == (byte) b;
+      pos++;
+      if (b == '\n') {
+        lines++;
+        mismatches += matches && pos == expected.length ? 0 : 1;
+        pos = 0;
+        matches = true;
+      }
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package io.github.masked4j.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import io.github.masked4j.Masker;
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import io.github.masked4j.annotation.MaskedPattern;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MaskingSerializerTest {
+
+  private final ObjectMapper mapper = new ObjectMapper().registerModule(new MaskedModule());
+
+  @Test
+  @DisplayName("Should write masked values to character and byte output")
+  void shouldWriteMaskedValues() throws Exception {
+    UserDto user = new UserDto("test@example.com", "홍길동", "he said \"hi\"");
+    // The masked note ends with a quote that must still be escaped
+    String expected =
+        "{\"email\":\"te***@example.com\",\"name\":\"홍*동\",\"note\":\"h**********\\\"\"}";
+
+    assertThat(mapper.writeValueAsString(user)).isEqualTo(expected);
+    assertThat(new String(mapper.writeValueAsBytes(user), StandardCharsets.UTF_8))
+        .isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Should reuse the buffer across values of different lengths")
+  void shouldReuseBuffer() throws Exception {
+    String longName = "가".repeat(10_000);
+    List<UserDto> users =
+        List.of(
+            new UserDto("long@example.com", longName, null), new UserDto("ab@x.io", "김철", null));
+
+    String json = mapper.writeValueAsString(users);
+
+    assertThat(json).contains("\"name\":\"가" + "*".repeat(9_998) + "가\"");
+    assertThat(json).contains("{\"email\":\"***@x.io\",\"name\":\"김*\",\"note\":null}");
+  }
+
+  @Test
+  @DisplayName("Should mask with custom maskers that only implement mask(String)")
+  void shouldSupportCustomMaskers() throws Exception {
+    CustomDto dto = new CustomDto();
+    dto.value = "secret";
+
+    assertThat(mapper.writeValueAsString(dto)).isEqualTo("{\"value\":\"[SECRET]\"}");
+  }
+
+  @Test
+  @DisplayName("Should share one serializer per masker and pattern across properties and mappers")
+  void shouldShareSerializers() throws Exception {
+    List<JsonSerializer<Object>> user = propertySerializers(mapper, UserDto.class);
+    List<JsonSerializer<Object>> other =
+        propertySerializers(new ObjectMapper().registerModule(new MaskedModule()), UserDto.class);
+
+    assertThat(user.get(0)).isInstanceOf(MaskingSerializer.class);
+    assertThat(user.get(1)).isSameAs(user.get(2));
+    assertThat(other).isEqualTo(user);
+    assertThat(propertySerializers(mapper, PatternDto.class).get(0))
+        .isSameAs(propertySerializers(mapper, PatternDto.class).get(1));
+  }
+
+  @Test
+  @DisplayName("Should mask non-String properties by their string form and keep nulls")
+  void shouldMaskNonStringProperties() throws Exception {
+    PatternDto dto = new PatternDto();
+    dto.number = 12345678L;
+
+    assertThat(mapper.writeValueAsString(dto))
+        .isEqualTo("{\"first\":null,\"second\":null,\"number\":\"1234****\"}");
+  }
+
+  @Test
+  @DisplayName("Should mask the content of Optional, collection and array properties")
+  void shouldMaskContainers() throws Exception {
+    ContactDto dto = new ContactDto();
+    dto.email = Optional.of("test@example.com");
+    dto.phones = Arrays.asList("010-1234-5678", null);
+    dto.aliases = new String[] {"hong"};
+    dto.accounts = new long[] {12345678L};
+
+    assertThat(mapper.writeValueAsString(dto))
+        .isEqualTo(
+            "{\"email\":\"te***@example.com\",\"missing\":null,"
+                + "\"phones\":[\"010-****-5678\",null],\"aliases\":[\"h***\"],"
+                + "\"accounts\":[\"1234****\"],\"pin\":\"****\"}");
+  }
+
+  private static List<JsonSerializer<Object>> propertySerializers(
+      ObjectMapper mapper, Class<?> type) throws Exception {
+    BeanSerializer serializer =
+        (BeanSerializer) mapper.getSerializerProviderInstance().findValueSerializer(type);
+    List<JsonSerializer<Object>> serializers = new ArrayList<>();
+    serializer
+        .properties()
+        .forEachRemaining(p -> serializers.add(((BeanPropertyWriter) p).getSerializer()));
+    return serializers;
+  }
+
+  static class UserDto {
+    @Masked(MaskType.EMAIL)
+    public String email;
+
+    @Masked(MaskType.NAME)
+    public String name;
+
+    @Masked(MaskType.NAME)
+    public String note;
+
+    UserDto(String email, String name, String note) {
+      this.email = email;
+      this.name = name;
+      this.note = note;
+    }
+  }
+
+  public static class UpperCaseMasker implements Masker {
+    @Override
+    public String mask(String input) {
+      return "[" + input.toUpperCase() + "]";
+    }
+  }
+
+  static class CustomDto {
+    @Masked(value = MaskType.CUSTOM, masker = UpperCaseMasker.class)
+    public String value;
+  }
+
+  static class PatternDto {
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    public String first;
+
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    public String second;
+
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    public Long number;
+  }
+
+  static class ContactDto {
+    @Masked(MaskType.EMAIL)
+    public Optional<String> email;
+
+    @Masked(MaskType.EMAIL)
+    public Optional<String> missing = Optional.empty();
+
+    @Masked(MaskType.PHONE_NUMBER)
+    public List<String> phones;
+
+    @MaskedPattern(regex = "(?<=.).", replacement = "*")
+    public String[] aliases;
+
+    @MaskedPattern(regex = "\\d{4}$", replacement = "****")
+    public long[] accounts;
+
+    @MaskedPattern(regex = "\\d", replacement = "*")
+    public int pin = 1234;
+  }
+}
@@ -0,0 +1,8 @@
+dependencies {
+    api(project(":masked4j-core"))
+    compileOnly("org.apache.logging.log4j:log4j-core")
+    // Generates the plugin index Log4j2 discovers the plugins by
+    annotationProcessor("org.apache.logging.log4j:log4j-core")
+
+    testImplementation("org.apache.logging.log4j:log4j-core")
+}
@@ -0,0 +1,131 @@
+package io.github.masked4j.log4j2;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.TextScanner;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.LocationAware;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+/**
+ * Layout that formats events like {@link PatternLayout} and masks personal data in the result with
+ * a {@link TextScanner}:
+ *
+ * <pre>{@code
+ * <MaskedPatternLayout pattern="%d %-5level %logger - %msg%n%ex" types="EMAIL,PHONE_NUMBER"/>
+ * }</pre>
+ *
+ * <p>Every detectable type is masked unless {@code types} is set. The whole formatted line is
+ * scanned, including the stack trace; dates, times and other text of the pattern are not detected
+ * as personal data.
+ *
+ * <p>The layout is garbage-free like {@code PatternLayout}: events are formatted into a per-thread
+ * {@code StringBuilder}, masked into Log4j2's reusable {@code StringBuilder} and written through
+ * the layout's {@code StringBuilderEncoder}, so nothing is allocated in steady state.
+ */
+@Plugin(
+    name = "MaskedPatternLayout",
+    category = Node.CATEGORY,
+    elementType = Layout.ELEMENT_TYPE,
+    printObject = true)
+public final class MaskedPatternLayout extends AbstractStringLayout implements LocationAware {
+  private static final int INITIAL_CAPACITY = 256;
+  private static final ThreadLocal<StringBuilder> FORMATTED =
+      ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+  private final PatternLayout layout;
+  private final TextScanner scanner;
+
+  private MaskedPatternLayout(
+      Configuration config, Charset charset, PatternLayout layout, TextScanner scanner) {
+    super(config, charset, null, null);
+    this.layout = layout;
+    this.scanner = scanner;
+  }
+
+  /**
+   * Creates a layout.
+   *
+   * @param pattern the {@link PatternLayout} conversion pattern
+   * @param types comma-separated {@link MaskType} names, or {@code null} for every detectable type
+   * @param charset the charset to encode with
+   * @param config the configuration
+   * @return the layout
+   * @throws IllegalArgumentException if a type is unknown or cannot be detected in text
+   */
+  @PluginFactory
+  public static MaskedPatternLayout createLayout(
+      @PluginAttribute(value = "pattern", defaultString = PatternLayout.DEFAULT_CONVERSION_PATTERN)
+          String pattern,
+      @PluginAttribute("types") String types,
+      @PluginAttribute(value = "charset", defaultString = "UTF-8") Charset charset,
+      @PluginConfiguration Configuration config) {
+    PatternLayout layout =
+        PatternLayout.newBuilder()
+            .withPattern(pattern)
+            .withCharset(charset)
+            .withConfiguration(config)
+            .build();
+    return new MaskedPatternLayout(config, charset, layout, scanner(types));
+  }
+
+  private static TextScanner scanner(String types) {
+    if (types == null || types.isBlank()) {
+      return new TextScanner();
+    }
+    return new TextScanner(
+        Arrays.stream(types.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .map(MaskType::valueOf)
+            .toArray(MaskType[]::new));
+  }
+
+  @Override
+  public String toSerializable(LogEvent event) {
+    return format(event).toString();
+  }
+
+  @Override
+  public void encode(LogEvent event, ByteBufferDestination destination) {
+    StringBuilder text = format(event);
+    getStringBuilderEncoder().encode(text, destination);
+    trimToMaxSize(text);
+  }
+
+  /** Formats an event with the pattern and masks it into Log4j2's reusable builder. */
+  private StringBuilder format(LogEvent event) {
+    StringBuilder formatted = FORMATTED.get();
+    formatted.setLength(0);
+    layout.serialize(event, formatted);
+    StringBuilder text = getStringBuilder();
+    scanner.mask(formatted, text);
+    trimToMaxSize(formatted);
+    return text;
+  }
+
+  @Override
+  public boolean requiresLocation() {
+    return layout.requiresLocation();
+  }
+
+  @Override
+  public String getContentType() {
+    return "text/plain; charset=" + getCharset();
+  }
+
+  @Override
+  public String toString() {
+    return "MaskedPatternLayout(" + layout.getConversionPattern() + ")";
+  }
+}
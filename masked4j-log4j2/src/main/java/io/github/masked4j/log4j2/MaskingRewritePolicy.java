@@ -0,0 +1,128 @@
+package io.github.masked4j.log4j2;
+
+import io.github.masked4j.core.MaskingEngine;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.message.ParameterConsumer;
+import org.apache.logging.log4j.message.ParameterVisitable;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableObjectMessage;
+import org.apache.logging.log4j.message.ReusableParameterizedMessage;
+
+/**
+ * Rewrite policy that masks {@code @Masked} fields of the objects passed as log parameters, for use
+ * in a {@code Rewrite} appender:
+ *
+ * <pre>{@code
+ * <Rewrite name="Masked">
+ *   <AppenderRef ref="Console"/>
+ *   <MaskingRewritePolicy/>
+ * </Rewrite>
+ * }</pre>
+ *
+ * <p>Parameters of parameterized and object messages are replaced with {@link
+ * MaskingEngine#maskedCopy(Object) masked copies}, so the objects owned by the caller are never
+ * modified. Events are checked parameter by parameter against the per-class cache of {@link
+ * MaskingEngine#mayContainMaskedValues(Object)}; events without such a parameter, the vast
+ * majority, are returned as they are without allocating, including reusable messages of
+ * garbage-free logging. Only events that need masking are copied.
+ */
+@Plugin(
+    name = "MaskingRewritePolicy",
+    category = Core.CATEGORY_NAME,
+    elementType = "rewritePolicy",
+    printObject = true)
+public final class MaskingRewritePolicy implements RewritePolicy {
+  private static final ParameterConsumer<ParameterCheck> CHECK =
+      (parameter, index, check) -> check.found |= check.engine.mayContainMaskedValues(parameter);
+
+  private final MaskingEngine engine;
+  private final ThreadLocal<ParameterCheck> checks;
+
+  /**
+   * Creates a policy masking with the given engine.
+   *
+   * @param engine the engine to create masked copies with
+   */
+  public MaskingRewritePolicy(MaskingEngine engine) {
+    this.engine = engine;
+    this.checks = ThreadLocal.withInitial(() -> new ParameterCheck(engine));
+  }
+
+  /**
+   * Creates a policy masking with a default {@link MaskingEngine}.
+   *
+   * @return the policy
+   */
+  @PluginFactory
+  public static MaskingRewritePolicy createPolicy() {
+    return new MaskingRewritePolicy(new MaskingEngine());
+  }
+
+  @Override
+  public LogEvent rewrite(LogEvent source) {
+    Message message = source.getMessage();
+    if (!(isParameterized(message) || isObject(message)) || !hasMaskableParameter(message)) {
+      return source;
+    }
+    Object[] parameters = message.getParameters().clone();
+    for (int i = 0; i < parameters.length; i++) {
+      if (engine.mayContainMaskedValues(parameters[i])) {
+        parameters[i] = engine.maskedCopy(parameters[i]);
+      }
+    }
+    Message masked =
+        isObject(message)
+            ? new ObjectMessage(parameters[0])
+            : new ParameterizedMessage(message.getFormat(), parameters, message.getThrowable());
+    return new Log4jLogEvent.Builder(source).setMessage(masked).build();
+  }
+
+  private boolean hasMaskableParameter(Message message) {
+    if (message instanceof ParameterVisitable) {
+      // Reusable messages would copy their parameters into a new array
+      ParameterCheck check = checks.get();
+      check.found = false;
+      ((ParameterVisitable) message).forEachParameter(CHECK, check);
+      return check.found;
+    }
+    Object[] parameters = message.getParameters();
+    if (parameters != null) {
+      for (Object parameter : parameters) {
+        if (engine.mayContainMaskedValues(parameter)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isParameterized(Message message) {
+    return message instanceof ParameterizedMessage
+        || message instanceof ReusableParameterizedMessage;
+  }
+
+  private static boolean isObject(Message message) {
+    return message instanceof ObjectMessage || message instanceof ReusableObjectMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "MaskingRewritePolicy";
+  }
+
+  private static final class ParameterCheck {
+    private final MaskingEngine engine;
+    private boolean found;
+
+    ParameterCheck(MaskingEngine engine) {
+      this.engine = engine;
+    }
+  }
+}
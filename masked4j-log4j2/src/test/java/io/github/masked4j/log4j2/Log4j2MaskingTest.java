@@ -0,0 +1,95 @@
+package io.github.masked4j.log4j2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.annotation.Masked;
+import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.message.ReusableParameterizedMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class Log4j2MaskingTest {
+
+  private final MaskingRewritePolicy policy = MaskingRewritePolicy.createPolicy();
+
+  @Test
+  @DisplayName("Should mask @Masked fields of parameters without modifying them")
+  void shouldMaskParameters() {
+    UserDto user = new UserDto("john@example.com");
+
+    LogEvent rewritten = policy.rewrite(event(new ParameterizedMessage("saved {} #{}", user, 7)));
+    LogEvent object = policy.rewrite(event(new ObjectMessage(user)));
+
+    assertThat(rewritten.getMessage().getFormattedMessage())
+        .isEqualTo("saved UserDto(jo***@example.com) #7");
+    assertThat(object.getMessage().getFormattedMessage()).isEqualTo("UserDto(jo***@example.com)");
+    assertThat(user.email).isEqualTo("john@example.com");
+  }
+
+  @Test
+  @DisplayName("Should return events without maskable parameters unchanged")
+  void shouldKeepEventsWithoutMaskableParameters() {
+    ReusableMessageFactory messages = new ReusableMessageFactory();
+    LogEvent plain = event(messages.newMessage("took {} ms for {}", 12, "john@example.com"));
+
+    assertThat(plain.getMessage()).isInstanceOf(ReusableParameterizedMessage.class);
+    assertThat(policy.rewrite(plain)).isSameAs(plain);
+
+    LogEvent maskable = event(messages.newMessage("saved {}", new UserDto("john@example.com")));
+    assertThat(policy.rewrite(maskable).getMessage().getFormattedMessage())
+        .isEqualTo("saved UserDto(jo***@example.com)");
+  }
+
+  @Test
+  @DisplayName("Should mask personal data in the formatted line")
+  void shouldMaskLayoutOutput() {
+    MaskedPatternLayout layout =
+        MaskedPatternLayout.createLayout(
+            "%level %msg%n", "EMAIL,PHONE_NUMBER", StandardCharsets.UTF_8, null);
+    LogEvent event =
+        event(
+            new ParameterizedMessage(
+                "call {} or {} from {}", "010-1234-5678", "admin@example.com", "10.1.2.3"));
+
+    assertThat(layout.toSerializable(event))
+        .isEqualTo("INFO call 010-****-5678 or ad***@example.com from 10.1.2.3\n");
+    assertThat(new String(layout.toByteArray(event), StandardCharsets.UTF_8))
+        .isEqualTo("INFO call 010-****-5678 or ad***@example.com from 10.1.2.3\n");
+    assertThatThrownBy(
+            () -> MaskedPatternLayout.createLayout("%msg", "NAME", StandardCharsets.UTF_8, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static LogEvent event(Message message) {
+    return Log4jLogEvent.newBuilder()
+        .setLoggerName(Log4j2MaskingTest.class.getName())
+        .setLevel(Level.INFO)
+        .setMessage(message)
+        .build();
+  }
+
+  static class UserDto {
+    @Masked(MaskType.EMAIL)
+    String email;
+
+    UserDto() {}
+
+    UserDto(String email) {
+      this.email = email;
+    }
+
+    @Override
+    public String toString() {
+      return "UserDto(" + email + ")";
+    }
+  }
+}
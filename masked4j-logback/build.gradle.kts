@@ -0,0 +1,6 @@
+dependencies {
+    api(project(":masked4j-core"))
+    compileOnly("ch.qos.logback:logback-classic")
+
+    testImplementation("ch.qos.logback:logback-classic")
+}
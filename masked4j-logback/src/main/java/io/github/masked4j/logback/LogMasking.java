@@ -0,0 +1,59 @@
+package io.github.masked4j.logback;
+
+import io.github.masked4j.annotation.MaskType;
+import io.github.masked4j.core.TextScanner;
+import java.util.List;
+
+/** Masks log text with a {@link TextScanner} into a per-thread buffer. */
+final class LogMasking {
+  /** Scanner for every detectable type, shared by components configured without types. */
+  static final TextScanner ALL_TYPES = new TextScanner();
+
+  private static final int INITIAL_CAPACITY = 256;
+  // Buffers grown beyond this by an unusually long message are not retained
+  private static final int MAX_RETAINED_CAPACITY = 16384;
+  private static final ThreadLocal<StringBuilder> BUFFERS =
+      ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+  private LogMasking() {}
+
+  /**
+   * Creates a scanner for the given type names.
+   *
+   * @param names {@link MaskType} names, blank entries are ignored
+   * @return the scanner, {@link #ALL_TYPES} if no name is given
+   * @throws IllegalArgumentException if a name is unknown or the type cannot be detected in text
+   */
+  static TextScanner scanner(List<String> names) {
+    if (names == null || names.stream().allMatch(name -> name == null || name.isBlank())) {
+      return ALL_TYPES;
+    }
+    return new TextScanner(
+        names.stream()
+            .filter(name -> name != null && !name.isBlank())
+            .map(name -> MaskType.valueOf(name.trim()))
+            .toArray(MaskType[]::new));
+  }
+
+  /**
+   * Masks a log text. Texts the scanner's prefilter rejects are returned without being copied.
+   *
+   * @param scanner the scanner to use
+   * @param text the text to mask, may be {@code null}
+   * @return the masked text, the same instance if nothing was masked
+   */
+  static String mask(TextScanner scanner, String text) {
+    if (text == null || !scanner.hasCandidates(text)) {
+      return text;
+    }
+    StringBuilder buffer = BUFFERS.get();
+    buffer.setLength(0);
+    scanner.mask(text, buffer);
+    // Masking only ever replaces characters, so an equal buffer means nothing was found
+    String masked = text.contentEquals(buffer) ? text : buffer.toString();
+    if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+      BUFFERS.set(new StringBuilder(INITIAL_CAPACITY));
+    }
+    return masked;
+  }
+}
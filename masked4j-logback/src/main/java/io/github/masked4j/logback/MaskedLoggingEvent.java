@@ -0,0 +1,134 @@
+package io.github.masked4j.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import io.github.masked4j.core.TextScanner;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+
+/**
+ * A view of a logging event whose message and throwable are masked on first access. Everything
+ * else, including the argument array, is passed through unchanged.
+ */
+final class MaskedLoggingEvent implements ILoggingEvent {
+  private final ILoggingEvent delegate;
+  private final TextScanner scanner;
+  private String message;
+  private String formattedMessage;
+  private IThrowableProxy throwableProxy;
+
+  MaskedLoggingEvent(ILoggingEvent delegate, TextScanner scanner) {
+    this.delegate = delegate;
+    this.scanner = scanner;
+  }
+
+  @Override
+  public String getMessage() {
+    if (message == null) {
+      message = LogMasking.mask(scanner, delegate.getMessage());
+    }
+    return message;
+  }
+
+  @Override
+  public String getFormattedMessage() {
+    if (formattedMessage == null) {
+      formattedMessage = LogMasking.mask(scanner, delegate.getFormattedMessage());
+    }
+    return formattedMessage;
+  }
+
+  @Override
+  public IThrowableProxy getThrowableProxy() {
+    if (throwableProxy == null) {
+      throwableProxy = MaskedThrowableProxy.wrap(delegate.getThrowableProxy(), scanner);
+    }
+    return throwableProxy;
+  }
+
+  @Override
+  public String getThreadName() {
+    return delegate.getThreadName();
+  }
+
+  @Override
+  public Level getLevel() {
+    return delegate.getLevel();
+  }
+
+  @Override
+  public Object[] getArgumentArray() {
+    return delegate.getArgumentArray();
+  }
+
+  @Override
+  public String getLoggerName() {
+    return delegate.getLoggerName();
+  }
+
+  @Override
+  public LoggerContextVO getLoggerContextVO() {
+    return delegate.getLoggerContextVO();
+  }
+
+  @Override
+  public StackTraceElement[] getCallerData() {
+    return delegate.getCallerData();
+  }
+
+  @Override
+  public boolean hasCallerData() {
+    return delegate.hasCallerData();
+  }
+
+  @Override
+  public List<Marker> getMarkerList() {
+    return delegate.getMarkerList();
+  }
+
+  @Override
+  public Map<String, String> getMDCPropertyMap() {
+    return delegate.getMDCPropertyMap();
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  public Map<String, String> getMdc() {
+    return delegate.getMdc();
+  }
+
+  @Override
+  public long getTimeStamp() {
+    return delegate.getTimeStamp();
+  }
+
+  @Override
+  public int getNanoseconds() {
+    return delegate.getNanoseconds();
+  }
+
+  @Override
+  public Instant getInstant() {
+    return delegate.getInstant();
+  }
+
+  @Override
+  public long getSequenceNumber() {
+    return delegate.getSequenceNumber();
+  }
+
+  @Override
+  public List<KeyValuePair> getKeyValuePairs() {
+    return delegate.getKeyValuePairs();
+  }
+
+  @Override
+  public void prepareForDeferredProcessing() {
+    delegate.prepareForDeferredProcessing();
+  }
+}
@@ -0,0 +1,39 @@
+package io.github.masked4j.logback;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.github.masked4j.core.TextScanner;
+
+/**
+ * Pattern converter that outputs the formatted log message with personal data masked by a {@link
+ * TextScanner}. Register it in place of {@code %msg}:
+ *
+ * <pre>{@code
+ * <conversionRule conversionWord="maskedMsg"
+ *                 converterClass="io.github.masked4j.logback.MaskedMessageConverter"/>
+ * <pattern>%d %-5level %logger - %maskedMsg%n</pattern>
+ * }</pre>
+ *
+ * <p>Every detectable type is masked unless the types are listed as options, for example {@code
+ * %maskedMsg{EMAIL,PHONE_NUMBER}}. Messages without a candidate character are output as they are,
+ * without being copied.
+ */
+public class MaskedMessageConverter extends ClassicConverter {
+  private TextScanner scanner = LogMasking.ALL_TYPES;
+
+  @Override
+  public void start() {
+    try {
+      scanner = LogMasking.scanner(getOptionList());
+    } catch (IllegalArgumentException e) {
+      addError("Invalid mask types " + getOptionList() + ", masking all detectable types", e);
+      scanner = LogMasking.ALL_TYPES;
+    }
+    super.start();
+  }
+
+  @Override
+  public String convert(ILoggingEvent event) {
+    return LogMasking.mask(scanner, event.getFormattedMessage());
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.masked4j.logback;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import io.github.masked4j.core.TextScanner;
+
+/** A throwable proxy whose message and the messages of its causes are masked on access. */
+final class MaskedThrowableProxy implements IThrowableProxy {
+  private final IThrowableProxy delegate;
+  private final TextScanner scanner;
+  private String message;
+  private boolean messageMasked;
+  private IThrowableProxy cause;
+  private IThrowableProxy[] suppressed;
+
+  MaskedThrowableProxy(IThrowableProxy delegate, TextScanner scanner) {
+    this.delegate = delegate;
+    this.scanner = scanner;
+  }
+
+  static IThrowableProxy wrap(IThrowableProxy proxy, TextScanner scanner) {
+    return proxy == null || proxy instanceof MaskedThrowableProxy
+        ? proxy
+        : new MaskedThrowableProxy(proxy, scanner);
+  }
+
+  @Override
+  public String getMessage() {
+    if (!messageMasked) {
+      message = LogMasking.mask(scanner, delegate.getMessage());
+      messageMasked = true;
+    }
+    return message;
+  }
+
+  @Override
+  public String getClassName() {
+    return delegate.getClassName();
+  }
+
+  @Override
+  public StackTraceElementProxy[] getStackTraceElementProxyArray() {
+    return delegate.getStackTraceElementProxyArray();
+  }
+
+  @Override
+  public int getCommonFrames() {
+    return delegate.getCommonFrames();
+  }
+
+  @Override
+  public IThrowableProxy getCause() {
+    if (cause == null) {
+      cause = wrap(delegate.getCause(), scanner);
+    }
+    return cause;
+  }
+
+  @Override
+  public IThrowableProxy[] getSuppressed() {
+    if (suppressed == null) {
+      IThrowableProxy[] original = delegate.getSuppressed();
+      if (original == null) {
+        return null;
+      }
+      suppressed = new IThrowableProxy[original.length];
+      for (int i = 0; i < original.length; i++) {
+        suppressed[i] = wrap(original[i], scanner);
+      }
+    }
+    return suppressed;
+  }
+
+  @Override
+  public boolean isCyclic() {
+    return delegate.isCyclic();
+  }
+}
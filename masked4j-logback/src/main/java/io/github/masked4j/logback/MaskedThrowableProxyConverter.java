@@ -0,0 +1,25 @@
+package io.github.masked4j.logback;
+
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+
+/**
+ * Pattern converter that outputs stack traces like {@code %ex}, with personal data masked in the
+ * messages of the exception and its causes and suppressed exceptions. Register it in place of
+ * {@code %ex}:
+ *
+ * <pre>{@code
+ * <conversionRule conversionWord="maskedEx"
+ *                 converterClass="io.github.masked4j.logback.MaskedThrowableProxyConverter"/>
+ * <pattern>%d %-5level %logger - %maskedMsg%n%maskedEx</pattern>
+ * }</pre>
+ *
+ * <p>It accepts the same options as {@code %ex}, such as a depth, and masks every detectable type.
+ */
+public class MaskedThrowableProxyConverter extends ThrowableProxyConverter {
+
+  @Override
+  protected String throwableProxyToString(IThrowableProxy proxy) {
+    return super.throwableProxyToString(new MaskedThrowableProxy(proxy, LogMasking.ALL_TYPES));
+  }
+}
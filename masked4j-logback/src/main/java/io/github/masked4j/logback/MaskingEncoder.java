@@ -0,0 +1,105 @@
+package io.github.masked4j.logback;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+import io.github.masked4j.core.TextScanner;
+import java.util.Arrays;
+
+/**
+ * Encoder that masks personal data in the formatted message and the throwable of each event before
+ * passing it to another encoder. It works with any encoder, including ones whose layout cannot be
+ * changed:
+ *
+ * <pre>{@code
+ * <encoder class="io.github.masked4j.logback.MaskingEncoder">
+ *   <types>EMAIL,PHONE_NUMBER</types>
+ *   <encoder class="ch.qos.logback.classic.encoder.PatternLayoutEncoder">
+ *     <pattern>%d %-5level %logger - %msg%n</pattern>
+ *   </encoder>
+ * </encoder>
+ * }</pre>
+ *
+ * <p>Every detectable type is masked unless {@code types} is set. The event is wrapped rather than
+ * copied, and messages without a candidate character are passed on as they are, so the encoder adds
+ * little work to an appender or an {@code AsyncAppender} worker thread. Argument arrays, MDC values
+ * and key-value pairs are not masked.
+ */
+public class MaskingEncoder extends EncoderBase<ILoggingEvent> {
+  private static final byte[] EMPTY = new byte[0];
+
+  private Encoder<ILoggingEvent> encoder;
+  private String types;
+  private TextScanner scanner = LogMasking.ALL_TYPES;
+
+  public Encoder<ILoggingEvent> getEncoder() {
+    return encoder;
+  }
+
+  /**
+   * Sets the encoder that writes the masked events.
+   *
+   * @param encoder the encoder to delegate to
+   */
+  public void setEncoder(Encoder<ILoggingEvent> encoder) {
+    this.encoder = encoder;
+  }
+
+  public String getTypes() {
+    return types;
+  }
+
+  /**
+   * Sets the types to mask.
+   *
+   * @param types comma-separated {@link io.github.masked4j.annotation.MaskType} names
+   */
+  public void setTypes(String types) {
+    this.types = types;
+  }
+
+  @Override
+  public void start() {
+    if (encoder == null) {
+      addError("No nested encoder set for " + getClass().getSimpleName());
+      return;
+    }
+    try {
+      scanner = LogMasking.scanner(types == null ? null : Arrays.asList(types.split(",")));
+    } catch (IllegalArgumentException e) {
+      addError("Invalid mask types [" + types + "], masking all detectable types", e);
+      scanner = LogMasking.ALL_TYPES;
+    }
+    if (!encoder.isStarted()) {
+      encoder.start();
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    if (encoder != null) {
+      encoder.stop();
+    }
+  }
+
+  @Override
+  public byte[] headerBytes() {
+    return isStarted() ? encoder.headerBytes() : EMPTY;
+  }
+
+  @Override
+  public byte[] encode(ILoggingEvent event) {
+    if (!isStarted()) {
+      // start() reported the missing encoder
+      return EMPTY;
+    }
+    return encoder.encode(new MaskedLoggingEvent(event, scanner));
+  }
+
+  @Override
+  public byte[] footerBytes() {
+    return isStarted() ? encoder.footerBytes() : EMPTY;
+  }
+}
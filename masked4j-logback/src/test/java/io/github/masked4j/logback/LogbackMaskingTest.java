@@ -0,0 +1,97 @@
+package io.github.masked4j.logback;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogbackMaskingTest {
+
+  private final LoggerContext context = new LoggerContext();
+  private final Logger logger = context.getLogger(LogbackMaskingTest.class);
+
+  @Test
+  @DisplayName("Should mask the formatted message with the configured types")
+  void shouldMaskMessage() {
+    MaskedMessageConverter converter = new MaskedMessageConverter();
+    converter.setContext(context);
+    converter.setOptionList(List.of("EMAIL"));
+    converter.start();
+
+    ILoggingEvent plain = event("login ok", null);
+    assertThat(converter.convert(event("user {} from {}", null, "john@example.com", "10.1.2.3")))
+        .isEqualTo("user jo***@example.com from 10.1.2.3");
+    assertThat(converter.convert(plain)).isSameAs(plain.getFormattedMessage());
+  }
+
+  @Test
+  @DisplayName("Should mask messages and throwables before passing events to the nested encoder")
+  void shouldMaskThroughEncoder() {
+    PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+    patternEncoder.setContext(context);
+    patternEncoder.setPattern("%level %msg%n%ex{1}");
+    MaskingEncoder encoder = new MaskingEncoder();
+    encoder.setContext(context);
+    encoder.setEncoder(patternEncoder);
+    encoder.start();
+
+    IllegalStateException error =
+        new IllegalStateException(
+            "no account for 010-1234-5678", new RuntimeException("rrn 850209-1234567"));
+    String output = encode(encoder, event("call {}", error, "010-1234-5678"));
+
+    assertThat(encoder.isStarted()).isTrue();
+    assertThat(output)
+        .startsWith("INFO call 010-****-5678\n")
+        .contains("IllegalStateException: no account for 010-****-5678")
+        .contains("RuntimeException: rrn 850209-*******")
+        .doesNotContain("1234-5678")
+        .doesNotContain("1234567");
+  }
+
+  @Test
+  @DisplayName("Should report a missing nested encoder and write nothing")
+  void shouldNotStartWithoutNestedEncoder() {
+    MaskingEncoder encoder = new MaskingEncoder();
+    encoder.setContext(context);
+    encoder.start();
+
+    assertThat(encoder.isStarted()).isFalse();
+    assertThat(context.getStatusManager().getCopyOfStatusList())
+        .anyMatch(status -> status.getMessage().startsWith("No nested encoder set"));
+    assertThat(encoder.headerBytes()).isEmpty();
+    assertThat(encoder.encode(event("mail {}", null, "john@example.com"))).isEmpty();
+    assertThat(encoder.footerBytes()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should mask exception messages with the throwable converter")
+  void shouldMaskThrowable() {
+    MaskedThrowableProxyConverter converter = new MaskedThrowableProxyConverter();
+    converter.setContext(context);
+    converter.start();
+
+    Exception error = new Exception("mail admin@example.com");
+    error.addSuppressed(new Exception("card 4558-1234-5678-0116"));
+
+    assertThat(converter.convert(event("failed", error)))
+        .contains("Exception: mail ad***@example.com")
+        .contains("Suppressed: java.lang.Exception: card 4558-12**-****-0116");
+  }
+
+  private ILoggingEvent event(String message, Throwable error, Object... arguments) {
+    return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, error, arguments);
+  }
+
+  private static String encode(MaskingEncoder encoder, ILoggingEvent event) {
+    return new String(encoder.encode(event), StandardCharsets.UTF_8);
+  }
+}
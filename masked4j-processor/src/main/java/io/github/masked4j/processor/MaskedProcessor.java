@@ -0,0 +1,475 @@
+package io.github.masked4j.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.github.masked4j.annotation.RegexEngine;
+import io.github.masked4j.core.ClassMasker;
+import io.github.masked4j.core.Masked4JValidator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor for {@code @Masked} and {@code @MaskedPattern}.
+ *
+ * <p>For every class declaring masked fields, the processor:
+ *
+ * <ul>
+ *   <li>reports conflicting annotations and invalid {@code @MaskedPattern} regexes as compile
+ *       errors, using the same rules as {@link Masked4JValidator#validatePatterns(Class[])};
+ *   <li>generates a {@link ClassMasker} named after {@link ClassMasker#generatedClassName(String)}
+ *       (e.g. {@code UserDtoMasking}) that masks the class without reflection, and registers it in
+ *       {@code META-INF/services/io.github.masked4j.core.ClassMasker}. {@code MaskingEngine} picks
+ *       it up through {@link java.util.ServiceLoader} before scanning the class reflectively.
+ * </ul>
+ *
+ * <p>A masker is only generated when every relevant field can be reached from the same package,
+ * either directly or through a JavaBean getter (and setter for masked fields), and no field name is
+ * declared twice in the class hierarchy. Other classes, such as records, classes with private
+ * fields and no accessors, or subclasses hiding an inherited field, keep using reflection.
+ */
+@SupportedAnnotationTypes({
+  MaskedProcessor.MASKED,
+  MaskedProcessor.MASKED_PATTERN,
+})
+public class MaskedProcessor extends AbstractProcessor {
+  static final String MASKED = "io.github.masked4j.annotation.Masked";
+  static final String MASKED_PATTERN = "io.github.masked4j.annotation.MaskedPattern";
+  static final String SERVICES = "META-INF/services/" + ClassMasker.class.getName();
+
+  // Binary names of the maskers generated in this compilation, registered once processing is over
+  private final Set<String> generated = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.FIELD) {
+          types.add((TypeElement) element.getEnclosingElement());
+        }
+      }
+    }
+
+    for (TypeElement type : types) {
+      boolean valid = true;
+      for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+        valid &= validate(type, field);
+      }
+      if (valid) {
+        generate(type);
+      }
+    }
+    if (roundEnv.processingOver() && !generated.isEmpty()) {
+      writeServices();
+    }
+    return false;
+  }
+
+  private boolean validate(TypeElement type, VariableElement field) {
+    AnnotationMirror masked = annotation(field, MASKED);
+    AnnotationMirror maskedPattern = annotation(field, MASKED_PATTERN);
+
+    if (masked != null && maskedPattern != null) {
+      error(
+          field,
+          String.format(
+              "Field '%s' in class '%s' has both @Masked and @MaskedPattern annotations."
+                  + " Only one masking annotation is allowed per field.",
+              field.getSimpleName(), type.getQualifiedName()));
+      return false;
+    }
+
+    if (maskedPattern != null) {
+      String regex = (String) value(maskedPattern, "regex");
+      String replacement = (String) value(maskedPattern, "replacement");
+      List<String> problems =
+          Masked4JValidator.validatePattern(regex, replacement, regexEngine(maskedPattern));
+      for (String problem : problems) {
+        error(
+            field,
+            String.format(
+                "Invalid @MaskedPattern configuration: %s.%s: %s",
+                type.getSimpleName(), field.getSimpleName(), problem));
+      }
+      return problems.isEmpty();
+    }
+    return true;
+  }
+
+  private void generate(TypeElement type) {
+    List<FieldModel> fields = collectFields(type);
+    if (fields == null || fields.isEmpty()) {
+      return;
+    }
+
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String generatedName = ClassMasker.generatedClassName(binaryName);
+    int lastDot = generatedName.lastIndexOf('.');
+    String packageName = lastDot < 0 ? "" : generatedName.substring(0, lastDot);
+    String simpleName = generatedName.substring(lastDot + 1);
+    String targetType = typeReference(type);
+
+    StringBuilder src = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      src.append("package ").append(packageName).append(";\n\n");
+    }
+    src.append("@javax.annotation.processing.Generated(\"")
+        .append(MaskedProcessor.class.getName())
+        .append("\")\n");
+    src.append("public final class ")
+        .append(simpleName)
+        .append(" implements io.github.masked4j.core.ClassMasker<")
+        .append(targetType)
+        .append("> {\n");
+
+    for (int i = 0; i < fields.size(); i++) {
+      FieldModel field = fields.get(i);
+      if (field.maskerExpression != null) {
+        src.append("  private final io.github.masked4j.Masker masker")
+            .append(i)
+            .append(" = ")
+            .append(field.maskerExpression)
+            .append(";\n");
+      }
+    }
+
+    src.append("\n  @Override\n  public Class<?> maskedClass() {\n    return ")
+        .append(type.getQualifiedName())
+        .append(".class;\n  }\n");
+
+    src.append("\n  @Override\n  public void mask(")
+        .append(targetType)
+        .append(" target, io.github.masked4j.core.MaskingContext context) {\n");
+    for (int i = 0; i < fields.size(); i++) {
+      FieldModel field = fields.get(i);
+      String value = "value" + i;
+      src.append("    ")
+          .append(field.maskerExpression != null ? "String " : "Object ")
+          .append(value)
+          .append(" = target.")
+          .append(field.read)
+          .append(";\n");
+      src.append("    if (").append(value).append(" != null) {\n");
+      if (field.maskerExpression == null) {
+        src.append("      context.maskNested(target, \"")
+            .append(field.name)
+            .append("\", ")
+            .append(value)
+            .append(");\n");
+        src.append("    }\n");
+        continue;
+      }
+      src.append("      try {\n");
+      src.append("        target.")
+          .append(field.write("masker" + i + ".mask(" + value + ")"))
+          .append(";\n");
+      src.append("      } catch (RuntimeException e) {\n");
+      src.append("        if (context.onFailure(target, \"")
+          .append(field.name)
+          .append("\", ")
+          .append(value)
+          .append(", e)) {\n");
+      src.append("          target.").append(field.write("null")).append(";\n");
+      src.append("        }\n");
+      src.append("      }\n");
+      src.append("    }\n");
+    }
+    src.append("  }\n}\n");
+
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(generatedName, type).openWriter()) {
+      writer.write(src.toString());
+      generated.add(generatedName);
+    } catch (IOException e) {
+      error(type, "Failed to write " + generatedName + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes the service registrations of the generated maskers, keeping those of an earlier
+   * compilation into the same output, e.g. an incremental build.
+   */
+  private void writeServices() {
+    Filer filer = processingEnv.getFiler();
+    try {
+      FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICES);
+      try (BufferedReader reader =
+          new BufferedReader(new InputStreamReader(existing.openInputStream(), UTF_8))) {
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+          if (!line.isBlank()) {
+            generated.add(line.trim());
+          }
+        }
+      }
+    } catch (IOException e) {
+      // No earlier registrations
+    }
+    try (Writer writer =
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES).openWriter()) {
+      for (String name : generated) {
+        writer.write(name);
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Failed to write " + SERVICES + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Collects the fields the generated masker handles, mirroring {@code MaskingEngine}'s plan:
+   * masked {@code String} fields and every field that may contain nested masked data.
+   *
+   * @return the fields, or {@code null} if the class cannot be masked without reflection
+   */
+  private List<FieldModel> collectFields(TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS || !isReachable(type)) {
+      return null;
+    }
+    PackageElement targetPackage = processingEnv.getElementUtils().getPackageOf(type);
+
+    List<FieldModel> fields = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    TypeElement current = type;
+    while (current != null && !isBasicType(current.getQualifiedName().toString())) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        if (!names.add(field.getSimpleName().toString())) {
+          // A subclass field of the same name hides this one from target.<name> and its accessors
+          return null;
+        }
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+          continue;
+        }
+        AnnotationMirror masked = annotation(field, MASKED);
+        AnnotationMirror maskedPattern = annotation(field, MASKED_PATTERN);
+        boolean annotated = masked != null || maskedPattern != null;
+        if (!annotated && isBasicType(field.asType())) {
+          continue;
+        }
+
+        FieldModel model = new FieldModel(field.getSimpleName().toString());
+        if (isAccessible(field, targetPackage)) {
+          model.read = model.name;
+          model.write = field.getModifiers().contains(Modifier.FINAL) ? null : model.name;
+        } else {
+          String getter = accessor(current, targetPackage, "get", field, 0);
+          model.read = getter == null ? null : getter + "()";
+          model.write = accessor(current, targetPackage, "set", field, 1);
+          model.setter = true;
+        }
+
+        if (annotated) {
+          if (!field.asType().toString().equals("java.lang.String")
+              || model.read == null
+              || model.write == null) {
+            return null;
+          }
+          model.maskerExpression = maskerExpression(masked, maskedPattern);
+        } else if (model.read == null) {
+          return null;
+        }
+        fields.add(model);
+      }
+      current = superclass(current);
+    }
+    return fields;
+  }
+
+  private String maskerExpression(AnnotationMirror masked, AnnotationMirror maskedPattern) {
+    if (maskedPattern != null) {
+      // DEFAULT runs on the JDK engine; MaskingEngine skips the generated masker when its own
+      // default differs
+      RegexEngine engine = regexEngine(maskedPattern);
+      return "new io.github.masked4j.core.RegexMasker("
+          + processingEnv.getElementUtils().getConstantExpression(value(maskedPattern, "regex"))
+          + ", "
+          + processingEnv
+              .getElementUtils()
+              .getConstantExpression(value(maskedPattern, "replacement"))
+          + (engine == RegexEngine.DEFAULT
+              ? ""
+              : ", io.github.masked4j.annotation.RegexEngine." + engine)
+          + ")";
+    }
+    String maskType = String.valueOf(value(masked, "value"));
+    if (maskType.equals("CUSTOM")) {
+      return "io.github.masked4j.core.MaskerFactory.getMasker("
+          + value(masked, "masker")
+          + ".class)";
+    }
+    return "io.github.masked4j.core.MaskerFactory.getMasker("
+        + "io.github.masked4j.annotation.MaskType."
+        + maskType
+        + ")";
+  }
+
+  /** Whether a generated top-level class in the same package can reference the type. */
+  private boolean isReachable(TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      TypeElement element = (TypeElement) current;
+      if (element.getModifiers().contains(Modifier.PRIVATE)
+          || (element.getNestingKind() != NestingKind.TOP_LEVEL
+              && element.getNestingKind() != NestingKind.MEMBER)) {
+        return false;
+      }
+      current = element.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private boolean isAccessible(Element member, PackageElement targetPackage) {
+    Set<Modifier> modifiers = member.getModifiers();
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    return modifiers.contains(Modifier.PUBLIC)
+        || processingEnv.getElementUtils().getPackageOf(member).equals(targetPackage);
+  }
+
+  /**
+   * Finds an accessible, non-static JavaBean accessor for a field.
+   *
+   * @return the method name, or {@code null} if there is no usable accessor
+   */
+  private String accessor(
+      TypeElement owner,
+      PackageElement targetPackage,
+      String prefix,
+      VariableElement field,
+      int parameters) {
+    String fieldName = field.getSimpleName().toString();
+    String name = prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+      if (method.getSimpleName().contentEquals(name)
+          && method.getParameters().size() == parameters
+          && !method.getModifiers().contains(Modifier.STATIC)
+          && isAccessible(method, targetPackage)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  private TypeElement superclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  private String typeReference(TypeElement type) {
+    StringBuilder reference = new StringBuilder(type.getQualifiedName());
+    int typeParameters = type.getTypeParameters().size();
+    if (typeParameters > 0) {
+      reference.append('<');
+      for (int i = 0; i < typeParameters; i++) {
+        reference.append(i == 0 ? "?" : ", ?");
+      }
+      reference.append('>');
+    }
+    return reference.toString();
+  }
+
+  /** Mirrors {@code MaskingEngine}'s notion of types that never contain masked fields. */
+  private static boolean isBasicType(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return true;
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    return isBasicType(element.getQualifiedName().toString());
+  }
+
+  private static boolean isBasicType(String qualifiedName) {
+    return qualifiedName.startsWith("java.lang.")
+        || qualifiedName.startsWith("java.math.")
+        || qualifiedName.startsWith("java.time.");
+  }
+
+  private static AnnotationMirror annotation(Element element, String annotationType) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationType)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private Object value(AnnotationMirror mirror, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+  private RegexEngine regexEngine(AnnotationMirror maskedPattern) {
+    return RegexEngine.valueOf(String.valueOf(value(maskedPattern, "engine")));
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  /** How the generated code reads and writes one field. */
+  private static final class FieldModel {
+    private final String name;
+    private String read;
+    private String write;
+    private boolean setter;
+    private String maskerExpression;
+
+    FieldModel(String name) {
+      this.name = name;
+    }
+
+    String write(String valueExpression) {
+      return setter ? write + "(" + valueExpression + ")" : write + " = " + valueExpression;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package io.github.masked4j.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.masked4j.core.ClassMasker;
+import io.github.masked4j.core.MaskingEngine;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MaskedProcessorTest {
+
+  private static final String USER_DTO =
+      "package com.example;\n"
+          + "import io.github.masked4j.annotation.*;\n"
+          + "import java.util.List;\n"
+          + "public class UserDto {\n"
+          + "  @Masked(MaskType.EMAIL) String email;\n"
+          + "  @Masked private String name;\n"
+          + "  @MaskedPattern(regex = \"(\\\\d{3})-\\\\d{3}-(\\\\d{4})\",\n"
+          + "      replacement = \"$1-***-$2\")\n"
+          + "  public String phone;\n"
+          + "  List<AddressDto> addresses;\n"
+          + "  public String getName() { return name; }\n"
+          + "  public void setName(String name) { this.name = name; }\n"
+          + "  public static class AddressDto {\n"
+          + "    @Masked(MaskType.ADDRESS) String fullAddress;\n"
+          + "  }\n"
+          + "}\n";
+
+  @Test
+  @DisplayName("Should generate a ClassMasker that the engine uses")
+  void shouldGenerateClassMasker() throws Exception {
+    Path output = Files.createTempDirectory("masked4j-processor");
+    List<Diagnostic<? extends JavaFileObject>> diagnostics =
+        compile(output, "com/example/UserDto.java", USER_DTO);
+
+    assertThat(errors(diagnostics)).isEmpty();
+    assertThat(Files.exists(output.resolve("com/example/UserDtoMasking.class"))).isTrue();
+    assertThat(Files.exists(output.resolve("com/example/UserDto_AddressDtoMasking.class")))
+        .isTrue();
+    assertThat(Files.readAllLines(output.resolve(MaskedProcessor.SERVICES)))
+        .containsExactly("com.example.UserDtoMasking", "com.example.UserDto_AddressDtoMasking");
+
+    try (URLClassLoader loader =
+        new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+      Class<?> userType = loader.loadClass("com.example.UserDto");
+      Class<?> addressType = loader.loadClass("com.example.UserDto$AddressDto");
+      assertThat(ClassMasker.class.isAssignableFrom(loader.loadClass("com.example.UserDtoMasking")))
+          .isTrue();
+      List<Class<?>> maskedClasses = new ArrayList<>();
+      for (ClassMasker<?> masker : ServiceLoader.load(ClassMasker.class, loader)) {
+        maskedClasses.add(masker.maskedClass());
+      }
+      assertThat(maskedClasses).contains(userType, addressType);
+
+      Object address = newInstance(addressType);
+      set(address, "fullAddress", "서울시 101동");
+      Object user = newInstance(userType);
+      set(user, "email", "test@example.com");
+      set(user, "name", "secret");
+      set(user, "phone", "010-123-4567");
+      set(user, "addresses", new ArrayList<>(List.of(address)));
+
+      new MaskingEngine().mask(user);
+
+      assertThat(get(user, "email")).isEqualTo("te***@example.com");
+      assertThat(get(user, "name")).isEqualTo("s***t");
+      assertThat(get(user, "phone")).isEqualTo("010-***-4567");
+      assertThat(get(address, "fullAddress")).isEqualTo("서울시 ***동");
+    }
+  }
+
+  @Test
+  @DisplayName("Should report invalid regex and conflicting annotations at compile time")
+  void shouldReportInvalidConfiguration() throws Exception {
+    String source =
+        "package com.example;\n"
+            + "import io.github.masked4j.annotation.*;\n"
+            + "public class InvalidDto {\n"
+            + "  @MaskedPattern(regex = \"[\", replacement = \"***\") String broken;\n"
+            + "  @MaskedPattern(regex = \"(\\\\d+)\", replacement = \"$2\") String badGroup;\n"
+            + "  @Masked @MaskedPattern(regex = \".*\", replacement = \"***\") String conflict;\n"
+            + "  @MaskedPattern(regex = \"(a)\\\\1\", replacement = \"*\",\n"
+            + "      engine = RegexEngine.LINEAR)\n"
+            + "  String backreference;\n"
+            + "}\n";
+    Path output = Files.createTempDirectory("masked4j-processor");
+
+    List<String> errors = errors(compile(output, "com/example/InvalidDto.java", source));
+
+    assertThat(errors).hasSize(4);
+    assertThat(String.join("\n", errors))
+        .contains("InvalidDto.broken: invalid regex '['")
+        .contains("InvalidDto.backreference: regex '(a)\\1' is outside the linear-time subset")
+        .contains("InvalidDto.badGroup: replacement references group $2")
+        .contains("has both @Masked and @MaskedPattern");
+    assertThat(Files.exists(output.resolve("com/example/InvalidDtoMasking.class"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should skip generation when a masked field is not reachable")
+  void shouldSkipUnreachableFields() throws Exception {
+    String source =
+        "package com.example;\n"
+            + "import io.github.masked4j.annotation.*;\n"
+            + "public class PrivateDto {\n"
+            + "  @Masked(MaskType.EMAIL) private String email;\n"
+            + "}\n";
+    Path output = Files.createTempDirectory("masked4j-processor");
+
+    assertThat(errors(compile(output, "com/example/PrivateDto.java", source))).isEmpty();
+    assertThat(Files.exists(output.resolve("com/example/PrivateDto.class"))).isTrue();
+    assertThat(Files.exists(output.resolve("com/example/PrivateDtoMasking.class"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should leave classes hiding an inherited field to reflection")
+  void shouldSkipShadowedFields() throws Exception {
+    String source =
+        "package com.example;\n"
+            + "import io.github.masked4j.annotation.*;\n"
+            + "public class AccountDto extends BaseDto {\n"
+            + "  @Masked String email;\n"
+            + "}\n"
+            + "class BaseDto {\n"
+            + "  @Masked(MaskType.EMAIL) String email;\n"
+            + "}\n";
+    Path output = Files.createTempDirectory("masked4j-processor");
+
+    assertThat(errors(compile(output, "com/example/AccountDto.java", source))).isEmpty();
+    assertThat(Files.exists(output.resolve("com/example/BaseDtoMasking.class"))).isTrue();
+    assertThat(Files.exists(output.resolve("com/example/AccountDtoMasking.class"))).isFalse();
+
+    try (URLClassLoader loader =
+        new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+      Class<?> accountType = loader.loadClass("com.example.AccountDto");
+      Object account = newInstance(accountType);
+      set(account, "email", "secret");
+      Field inherited = accountType.getSuperclass().getDeclaredField("email");
+      inherited.setAccessible(true);
+      inherited.set(account, "test@example.com");
+
+      new MaskingEngine().mask(account);
+
+      assertThat(get(account, "email")).isEqualTo("s***t");
+      assertThat(inherited.get(account)).isEqualTo("te***@example.com");
+    }
+  }
+
+  private static List<Diagnostic<? extends JavaFileObject>> compile(
+      Path output, String path, String source) throws IOException {
+    Path sourceRoot = Files.createTempDirectory("masked4j-sources");
+    Path file = sourceRoot.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+      List<String> options =
+          List.of(
+              "-d",
+              output.toString(),
+              "-classpath",
+              System.getProperty("java.class.path"),
+              "-encoding",
+              "UTF-8");
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              options,
+              null,
+              fileManager.getJavaFileObjects(new File(file.toString())));
+      task.setProcessors(List.of(new MaskedProcessor()));
+      task.call();
+    }
+    return diagnostics.getDiagnostics();
+  }
+
+  private static List<String> errors(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+    List<String> errors = new ArrayList<>();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(diagnostic.getMessage(Locale.ROOT));
+      }
+    }
+    return errors;
+  }
+
+  private static Object newInstance(Class<?> type) throws ReflectiveOperationException {
+    return type.getDeclaredConstructor().newInstance();
+  }
+
+  private static void set(Object target, String name, Object value)
+      throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  private static Object get(Object target, String name) throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    return field.get(target);
+  }
+}
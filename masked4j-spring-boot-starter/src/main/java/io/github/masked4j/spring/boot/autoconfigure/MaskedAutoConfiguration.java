@@ -28,18 +28,19 @@ import org.springframework.context.annotation.Bean;
 public class MaskedAutoConfiguration {
 
   /**
-   * Creates a {@link MaskedModule} bean.
+   * Creates a {@link MaskedModule} bean with the configured regex engine.
    *
+   * @param properties the Masked4J properties
    * @return the masked module
    */
   @Bean
   @ConditionalOnMissingBean
-  public MaskedModule maskedModule() {
-    return new MaskedModule();
+  public MaskedModule maskedModule(MaskedProperties properties) {
+    return new MaskedModule(properties.getRegexEngine());
   }
 
   /**
-   * Creates a {@link MaskingEngine} bean with the configured failure strategy.
+   * Creates a {@link MaskingEngine} bean with the configured failure strategy and traversal limits.
    *
    * @param properties the Masked4J properties
    * @return the masking engine
@@ -47,8 +48,14 @@ public class MaskedAutoConfiguration {
   @Bean
   @ConditionalOnMissingBean
   public MaskingEngine maskingEngine(MaskedProperties properties) {
-    MaskingFailureStrategy strategy = convertStrategy(properties.getFailureStrategy());
-    return new MaskingEngine(strategy);
+    return MaskingEngine.builder()
+        .failureStrategy(convertStrategy(properties.getFailureStrategy()))
+        .detectCycles(properties.isDetectCycles())
+        .maxDepth(properties.getMaxDepth())
+        .parallelThreshold(properties.getParallelThreshold())
+        .maskCharArrays(properties.isMaskCharArrays())
+        .regexEngine(properties.getRegexEngine())
+        .build();
   }
 
   private MaskingFailureStrategy convertStrategy(MaskedProperties.FailureStrategy strategy) {
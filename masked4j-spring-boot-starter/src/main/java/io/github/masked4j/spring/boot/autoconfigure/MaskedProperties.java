@@ -1,5 +1,6 @@
 package io.github.masked4j.spring.boot.autoconfigure;
 
+import io.github.masked4j.annotation.RegexEngine;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /** Configuration properties for Masked4J. */
@@ -20,6 +21,35 @@ public class MaskedProperties {
    */
   private FailureStrategy failureStrategy = FailureStrategy.FAIL_FAST;
 
+  /**
+   * Whether objects already visited during a masking call are skipped, making cyclic graphs (e.g.
+   * bidirectional JPA relations) safe.
+   */
+  private boolean detectCycles = true;
+
+  /**
+   * Maximum nesting depth of masked object graphs. Deeper values are treated as masking failures.
+   */
+  private int maxDepth = 100_000;
+
+  /**
+   * Minimum size of a list or array whose elements are masked in parallel on the common
+   * ForkJoinPool. {@code 0} disables parallel masking.
+   */
+  private int parallelThreshold = 0;
+
+  /**
+   * Whether {@code @Masked} fields of type {@code char[]} are masked in place. Disabled by default.
+   */
+  private boolean maskCharArrays = false;
+
+  /**
+   * Engine that runs {@code @MaskedPattern} regexes which do not choose one. {@code LINEAR} bounds
+   * masking time by the length of the value; {@code DEFAULT} and {@code JDK} use {@code
+   * java.util.regex}.
+   */
+  private RegexEngine regexEngine = RegexEngine.DEFAULT;
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -36,6 +66,46 @@ public class MaskedProperties {
     this.failureStrategy = failureStrategy;
   }
 
+  public boolean isDetectCycles() {
+    return detectCycles;
+  }
+
+  public void setDetectCycles(boolean detectCycles) {
+    this.detectCycles = detectCycles;
+  }
+
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  public void setMaxDepth(int maxDepth) {
+    this.maxDepth = maxDepth;
+  }
+
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  public void setParallelThreshold(int parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public boolean isMaskCharArrays() {
+    return maskCharArrays;
+  }
+
+  public void setMaskCharArrays(boolean maskCharArrays) {
+    this.maskCharArrays = maskCharArrays;
+  }
+
+  public RegexEngine getRegexEngine() {
+    return regexEngine;
+  }
+
+  public void setRegexEngine(RegexEngine regexEngine) {
+    this.regexEngine = regexEngine;
+  }
+
   /** Strategy for handling masking failures. Maps to {@code MaskingFailureStrategy}. */
   public enum FailureStrategy {
     /** Throws a {@code MaskingException} immediately. Best for development. */
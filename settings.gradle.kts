@@ -5,6 +5,9 @@ plugins {
 rootProject.name = "masked4j"
 
 include("masked4j-core")
+include("masked4j-processor")
+include("masked4j-logback")
+include("masked4j-log4j2")
 include("masked4j-spring-boot-starter")
 include("examples:spring-boot-sample")
 include("masked4j-benchmark")